@@ -88,6 +88,56 @@ CREATE TABLE `operations` (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
+--
+-- Table structure for table `budgets`
+--
+
+DROP TABLE IF EXISTS `budgets`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!40101 SET character_set_client = utf8 */;
+CREATE TABLE `budgets` (
+  `id` varchar(45) NOT NULL,
+  `sync_account` int(11) NOT NULL,
+  `name` varchar(45) NOT NULL,
+  `start_time` timestamp NOT NULL DEFAULT '0000-00-00 00:00:00',
+  `end_time` timestamp NULL DEFAULT NULL COMMENT 'null for open-ended budgets',
+  `covered_account_id` varchar(45) DEFAULT NULL COMMENT 'null if budget counts all accounts',
+  `flags` bigint(20) unsigned NOT NULL DEFAULT 0,
+  `repeat_seconds` bigint(20) unsigned DEFAULT NULL,
+  `warning_amount` varchar(45) DEFAULT NULL,
+  `max_amount` varchar(45) DEFAULT NULL,
+  `max_daily_amount` varchar(45) DEFAULT NULL,
+  `last_modified` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  `deleted` boolean NOT NULL DEFAULT FALSE COMMENT 'mark of deleted entity for indicating to clients',
+  PRIMARY KEY (`id`,`sync_account`),
+  KEY `covered_account_idx` (`covered_account_id`),
+  CONSTRAINT `covered_account_fk` FOREIGN KEY (`covered_account_id`) REFERENCES `accounts` (`id`) ON DELETE SET NULL ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `budget_items`
+--
+
+DROP TABLE IF EXISTS `budget_items`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!40101 SET character_set_client = utf8 */;
+CREATE TABLE `budget_items` (
+  `id` varchar(45) NOT NULL,
+  `sync_account` int(11) NOT NULL,
+  `parent_budget_id` varchar(45) NOT NULL,
+  `category_id` varchar(45) NOT NULL,
+  `max_amount` varchar(45) DEFAULT NULL,
+  `last_modified` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  `deleted` boolean NOT NULL DEFAULT FALSE COMMENT 'mark of deleted entity for indicating to clients',
+  PRIMARY KEY (`id`,`sync_account`),
+  KEY `parent_budget_idx` (`parent_budget_id`),
+  KEY `budget_category_idx` (`category_id`),
+  CONSTRAINT `parent_budget_fk` FOREIGN KEY (`parent_budget_id`) REFERENCES `budgets` (`id`) ON DELETE CASCADE ON UPDATE CASCADE,
+  CONSTRAINT `budget_category_fk` FOREIGN KEY (`category_id`) REFERENCES `categories` (`id`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `sync_accounts`
 --
@@ -1,6 +1,6 @@
 #include "syncclientsocket.h"
 
-SyncClientSocket::SyncClientSocket(QObject *parent) : QTcpSocket(parent), state(NOT_IDENTIFIED), transactionOpened(false), pendingMessageSize(0), conn(NULL)
+SyncClientSocket::SyncClientSocket(QObject *parent) : QTcpSocket(parent), state(NOT_IDENTIFIED), transactionOpened(false), chunked(false), pipelined(false), budgets(false), pendingMessageSize(0), conn(NULL)
 {
     qDebug() << tr("Got new connection!");
     connect(this, &QTcpSocket::readyRead, this, &SyncClientSocket::readClientData); //we should handle this in socket's own thread
@@ -36,6 +36,70 @@ void SyncClientSocket::setState(const SyncState &value)
     state = value;
 }
 
+// order of entity states, requests and responses of each entity type alternate
+static const SyncClientSocket::SyncState SEQUENTIAL_ORDER[] = {
+    SyncClientSocket::WAITING_ACCOUNTS, SyncClientSocket::SENT_ACCOUNTS,
+    SyncClientSocket::WAITING_CATEGORIES, SyncClientSocket::SENT_CATEGORIES,
+    SyncClientSocket::WAITING_OPERATIONS, SyncClientSocket::SENT_OPERATIONS,
+    SyncClientSocket::WAITING_BUDGETS, SyncClientSocket::SENT_BUDGETS,
+    SyncClientSocket::WAITING_BUDGET_ITEMS, SyncClientSocket::SENT_BUDGET_ITEMS
+};
+
+// order of entity states in pipelined mode, all requests come first, then all responses
+static const SyncClientSocket::SyncState PIPELINED_ORDER[] = {
+    SyncClientSocket::WAITING_ACCOUNTS, SyncClientSocket::WAITING_CATEGORIES, SyncClientSocket::WAITING_OPERATIONS,
+    SyncClientSocket::WAITING_BUDGETS, SyncClientSocket::WAITING_BUDGET_ITEMS,
+    SyncClientSocket::SENT_ACCOUNTS, SyncClientSocket::SENT_CATEGORIES, SyncClientSocket::SENT_OPERATIONS,
+    SyncClientSocket::SENT_BUDGETS, SyncClientSocket::SENT_BUDGET_ITEMS
+};
+
+static const int ENTITY_STATE_COUNT = sizeof(SEQUENTIAL_ORDER) / sizeof(SEQUENTIAL_ORDER[0]);
+
+// whether entity type of state is synced with this client, older clients don't know budgets
+bool SyncClientSocket::isSynced(SyncState entityState) const
+{
+    switch(entityState)
+    {
+        case WAITING_BUDGETS:
+        case SENT_BUDGETS:
+        case WAITING_BUDGET_ITEMS:
+        case SENT_BUDGET_ITEMS:
+            return budgets;
+        default:
+            return true;
+    }
+}
+
+// last entity state synced with this client
+SyncClientSocket::SyncState SyncClientSocket::lastState() const
+{
+    const SyncState* const order = pipelined ? PIPELINED_ORDER : SEQUENTIAL_ORDER;
+    int i = ENTITY_STATE_COUNT - 1;
+    while(!isSynced(order[i]))
+        --i;
+    return order[i];
+}
+
+// moves to next synced entity state, finishes sync after the last one
+void SyncClientSocket::advance()
+{
+    const SyncState* const order = pipelined ? PIPELINED_ORDER : SEQUENTIAL_ORDER;
+    int i = 0;
+    while(i < ENTITY_STATE_COUNT && order[i] != state)
+        ++i;
+    if(i == ENTITY_STATE_COUNT) // not an entity state
+        return;
+
+    for(++i; i < ENTITY_STATE_COUNT; ++i)
+        if(isSynced(order[i]))
+        {
+            setState(order[i]);
+            return;
+        }
+
+    finishProcessing();
+}
+
 void SyncClientSocket::initDbConnection()
 {
     conn = new QSqlDatabase(QSqlDatabase::addDatabase("QMYSQL", QString::number(socketDescriptor())));
@@ -150,40 +214,24 @@ void SyncClientSocket::handleMessage(const QByteArray& incomingData)
                 interruptProcessing();
             break;
         }
-        case WAITING_ACCOUNTS:     // wait accounts
-        {
-            handleGeneric<sync::EntityRequest, sync::EntityResponse>(incomingData);
-            setState(SENT_ACCOUNTS);
-            break;
-        }
-        case SENT_ACCOUNTS: // wait response
-        {
-            handleGeneric<sync::EntityResponse, sync::EntityAck>(incomingData);
-            setState(WAITING_CATEGORIES);
-            break;
-        }
-        case WAITING_CATEGORIES: // wait categories
-        {
-            handleGeneric<sync::EntityRequest, sync::EntityResponse>(incomingData);
-            setState(SENT_CATEGORIES);
-            break;
-        }
-        case SENT_CATEGORIES: // sent response
-        {
-            handleGeneric<sync::EntityResponse, sync::EntityAck>(incomingData);
-            setState(WAITING_OPERATIONS);
-            break;
-        }
-        case WAITING_OPERATIONS: // wait operations
+        case WAITING_ACCOUNTS:     // wait entity requests
+        case WAITING_CATEGORIES:
+        case WAITING_OPERATIONS:
+        case WAITING_BUDGETS:
+        case WAITING_BUDGET_ITEMS:
         {
-            handleGeneric<sync::EntityRequest, sync::EntityResponse>(incomingData);
-            setState(SENT_OPERATIONS);
+            handleEntityRequest(incomingData);
+            advance();
             break;
         }
-        case SENT_OPERATIONS: // sent response
+        case SENT_ACCOUNTS:        // wait entity responses
+        case SENT_CATEGORIES:
+        case SENT_OPERATIONS:
+        case SENT_BUDGETS:
+        case SENT_BUDGET_ITEMS:
         {
-            handleGeneric<sync::EntityResponse, sync::EntityAck>(incomingData);
-            finishProcessing();
+            if(handleEntityResponse(incomingData)) // last chunk is received
+                advance();
             break;
         }
         default:
@@ -236,6 +284,7 @@ sync::SyncResponse SyncClientSocket::handle(const sync::SyncRequest& request)
                 // successfully inserted log:pass pair
                 userId = createSyncAcc.lastInsertId().toULongLong();
                 response.set_syncack(sync::SyncResponse::OK);
+                acceptCapabilities(request, &response);
                 setState(WAITING_ACCOUNTS);
             }
             break;
@@ -259,6 +308,7 @@ sync::SyncResponse SyncClientSocket::handle(const sync::SyncRequest& request)
                 userId = checkExists.value(0).toULongLong();
 
                 response.set_syncack(sync::SyncResponse::OK);
+                acceptCapabilities(request, &response);
                 setState(WAITING_ACCOUNTS);
                 break;
             }
@@ -270,93 +320,182 @@ sync::SyncResponse SyncClientSocket::handle(const sync::SyncRequest& request)
     return response;
 }
 
-sync::EntityResponse SyncClientSocket::handle(const sync::EntityRequest &request)
+/**
+ * @brief SyncClientSocket::sendEntities
+ *
+ * Sends entities changed on server after time known to client. In chunked mode they are sent
+ * in chunks of requested size, in order of change time, so the whole diff is never held in memory
+ *
+ * @param request - request from client with last known server time
+ */
+void SyncClientSocket::sendEntities(const sync::EntityRequest &request)
 {
     sync::EntityResponse response;
+    const int chunkSize = chunked && request.has_chunksize() ? qBound(1, (int) request.chunksize(), MAX_CHUNK_SIZE) : 0; // 0 - all in one
 
     // entity type that should be processed is FULLY DETERMINED ONLY BY CURRENT STATE (!)
 
-    // we should select all entities present on server
-    QSqlQuery selectSyncedEntities(*conn);
-    // get all known entities on server
+    // columns and table of entities, position and limit of each page are appended below
+    QString select;
     switch(state)
     {
         case WAITING_ACCOUNTS:
-        selectSyncedEntities.prepare("SELECT id, name, description, currency, amount, color, last_modified, deleted FROM accounts WHERE sync_account = :userId AND last_modified > :lastModified");
+            select = "SELECT id, name, description, currency, amount, color, last_modified, deleted FROM accounts";
             break;
         case WAITING_CATEGORIES:
-        selectSyncedEntities.prepare("SELECT id, name, type, preferred_account_id, last_modified, deleted FROM categories WHERE sync_account = :userId AND last_modified > :lastModified");
+            select = "SELECT id, name, type, preferred_account_id, last_modified, deleted FROM categories";
             break;
         case WAITING_OPERATIONS:
-        selectSyncedEntities.prepare("SELECT id, description, amount, category_id, time, orderer_id, beneficiar_id, converting_rate, last_modified, deleted FROM operations WHERE sync_account = :userId AND last_modified > :lastModified");
+            select = "SELECT id, description, amount, category_id, time, orderer_id, beneficiar_id, converting_rate, last_modified, deleted FROM operations";
+            break;
+        case WAITING_BUDGETS:
+            select = "SELECT id, name, start_time, end_time, covered_account_id, flags, repeat_seconds, warning_amount, max_amount, max_daily_amount, last_modified, deleted FROM budgets";
+            break;
+        case WAITING_BUDGET_ITEMS:
+            select = "SELECT id, parent_budget_id, category_id, max_amount, last_modified, deleted FROM budget_items";
             break;
         default:
             qDebug() << tr("Unknown entity type processing!");
             interruptProcessing();
-            return response;
-    }
-    selectSyncedEntities.bindValue(":userId", userId);
-    selectSyncedEntities.bindValue(":lastModified", QDateTime::fromMSecsSinceEpoch(request.lastknownservertimestamp()));
-
-    if(!selectSyncedEntities.exec())
-    {
-        qDebug() << tr("cannot retrieve nonsynced entities, db error %1").arg(selectSyncedEntities.lastError().text());
-        interruptProcessing();
-        return response; // empty response
+            return;
     }
 
-    while(selectSyncedEntities.next()) // iterate over all the modified entities
+    // entities are read in pages of chunk size, each starting after change time and ID of the last sent one,
+    // so only one chunk of rows is fetched from DB at a time
+    QDateTime afterTime = QDateTime::fromMSecsSinceEpoch(request.lastknownservertimestamp());
+    QString afterId; // empty for the first page
+    while(true)
     {
-        sync::Entity * const entity = response.add_modified();
-        entity->set_id(selectSyncedEntities.value("id").toString().toStdString());
-        entity->set_deleted(selectSyncedEntities.value("deleted").toBool());
-        switch(state)
-        {
-        case WAITING_ACCOUNTS:
+        QString sql = select + " WHERE sync_account = :userId AND ";
+        sql += afterId.isEmpty() ? "last_modified > :afterTime" : "(last_modified > :afterTime OR (last_modified = :sameTime AND id > :afterId))";
+        sql += " ORDER BY last_modified, id";
+        if(chunkSize)
+            sql += " LIMIT :limit";
+
+        QSqlQuery selectSyncedEntities(*conn);
+        selectSyncedEntities.setForwardOnly(true);
+        selectSyncedEntities.prepare(sql);
+        selectSyncedEntities.bindValue(":userId", userId);
+        selectSyncedEntities.bindValue(":afterTime", afterTime);
+        if(!afterId.isEmpty())
         {
-            sync::Account* const account = entity->mutable_account();
-            account->set_name(selectSyncedEntities.value("name").toString().toStdString());
-            if(!selectSyncedEntities.value("description").isNull())
-                account->set_description(selectSyncedEntities.value("description").toString().toStdString());
-            account->set_currency(selectSyncedEntities.value("currency").toString().toStdString());
-            account->set_amount(selectSyncedEntities.value("amount").toString().toStdString());
-            account->set_color(selectSyncedEntities.value("color").toInt());
-            break;
+            selectSyncedEntities.bindValue(":sameTime", afterTime);
+            selectSyncedEntities.bindValue(":afterId", afterId);
         }
-        case WAITING_CATEGORIES:
+        if(chunkSize)
+            selectSyncedEntities.bindValue(":limit", chunkSize);
+
+        if(!selectSyncedEntities.exec())
         {
-            sync::Category* const category = entity->mutable_category();
-            category->set_name(selectSyncedEntities.value("name").toString().toStdString());
-            category->set_type(selectSyncedEntities.value("type").toInt());
-            if(!selectSyncedEntities.value("preferred_account_id").isNull())
-                category->set_preferredaccount(selectSyncedEntities.value("preferred_account_id").toString().toStdString());
-            break;
+            qDebug() << tr("cannot retrieve nonsynced entities, db error %1").arg(selectSyncedEntities.lastError().text());
+            interruptProcessing();
+            writeDelimited(response); // empty response
+            return;
         }
-        case WAITING_OPERATIONS:
+
+        int rows = 0;
+        while(selectSyncedEntities.next()) // iterate over modified entities of the page
         {
-            sync::Operation* const operation = entity->mutable_operation();
-            if(!selectSyncedEntities.value("description").isNull())
-                operation->set_description(selectSyncedEntities.value("description").toString().toStdString());
-            operation->set_amount(selectSyncedEntities.value("amount").toString().toStdString());
-            operation->set_time(selectSyncedEntities.value("time").toDateTime().toMSecsSinceEpoch());
-            operation->set_categoryid(selectSyncedEntities.value("category_id").toString().toStdString());
-            if(!selectSyncedEntities.value("orderer_id").isNull())
-                operation->set_ordererid(selectSyncedEntities.value("orderer_id").toString().toStdString());
-            if(!selectSyncedEntities.value("beneficiar_id").isNull())
-                operation->set_beneficiarid(selectSyncedEntities.value("beneficiar_id").toString().toStdString());
-            if(!selectSyncedEntities.value("converting_rate").isNull())
-                operation->set_convertingrate(selectSyncedEntities.value("converting_rate").toDouble());
-            operation->set_amount(selectSyncedEntities.value("amount").toString().toStdString());
-            break;
+            ++rows;
+            const QDateTime lastModified = selectSyncedEntities.value("last_modified").toDateTime();
+            afterTime = lastModified;
+            afterId = selectSyncedEntities.value("id").toString();
+
+            sync::Entity * const entity = response.add_modified();
+            entity->set_id(selectSyncedEntities.value("id").toString().toStdString());
+            entity->set_deleted(selectSyncedEntities.value("deleted").toBool());
+            entity->set_lastmodified(lastModified.toMSecsSinceEpoch());
+            switch(state)
+            {
+            case WAITING_ACCOUNTS:
+            {
+                sync::Account* const account = entity->mutable_account();
+                account->set_name(selectSyncedEntities.value("name").toString().toStdString());
+                if(!selectSyncedEntities.value("description").isNull())
+                    account->set_description(selectSyncedEntities.value("description").toString().toStdString());
+                account->set_currency(selectSyncedEntities.value("currency").toString().toStdString());
+                account->set_amount(selectSyncedEntities.value("amount").toString().toStdString());
+                account->set_color(selectSyncedEntities.value("color").toInt());
+                break;
+            }
+            case WAITING_CATEGORIES:
+            {
+                sync::Category* const category = entity->mutable_category();
+                category->set_name(selectSyncedEntities.value("name").toString().toStdString());
+                category->set_type(selectSyncedEntities.value("type").toInt());
+                if(!selectSyncedEntities.value("preferred_account_id").isNull())
+                    category->set_preferredaccount(selectSyncedEntities.value("preferred_account_id").toString().toStdString());
+                break;
+            }
+            case WAITING_OPERATIONS:
+            {
+                sync::Operation* const operation = entity->mutable_operation();
+                if(!selectSyncedEntities.value("description").isNull())
+                    operation->set_description(selectSyncedEntities.value("description").toString().toStdString());
+                operation->set_amount(selectSyncedEntities.value("amount").toString().toStdString());
+                operation->set_time(selectSyncedEntities.value("time").toDateTime().toMSecsSinceEpoch());
+                operation->set_categoryid(selectSyncedEntities.value("category_id").toString().toStdString());
+                if(!selectSyncedEntities.value("orderer_id").isNull())
+                    operation->set_ordererid(selectSyncedEntities.value("orderer_id").toString().toStdString());
+                if(!selectSyncedEntities.value("beneficiar_id").isNull())
+                    operation->set_beneficiarid(selectSyncedEntities.value("beneficiar_id").toString().toStdString());
+                if(!selectSyncedEntities.value("converting_rate").isNull())
+                    operation->set_convertingrate(selectSyncedEntities.value("converting_rate").toDouble());
+                operation->set_amount(selectSyncedEntities.value("amount").toString().toStdString());
+                break;
+            }
+            case WAITING_BUDGETS:
+            {
+                sync::Budget* const budget = entity->mutable_budget();
+                budget->set_name(selectSyncedEntities.value("name").toString().toStdString());
+                budget->set_from(selectSyncedEntities.value("start_time").toDateTime().toMSecsSinceEpoch());
+                if(!selectSyncedEntities.value("end_time").isNull())
+                    budget->set_till(selectSyncedEntities.value("end_time").toDateTime().toMSecsSinceEpoch());
+                if(!selectSyncedEntities.value("covered_account_id").isNull())
+                    budget->set_coveredaccountid(selectSyncedEntities.value("covered_account_id").toString().toStdString());
+                budget->set_flags(selectSyncedEntities.value("flags").toULongLong());
+                if(!selectSyncedEntities.value("repeat_seconds").isNull())
+                    budget->set_repeattimeseconds(selectSyncedEntities.value("repeat_seconds").toULongLong());
+                if(!selectSyncedEntities.value("warning_amount").isNull())
+                    budget->set_warningamount(selectSyncedEntities.value("warning_amount").toString().toStdString());
+                if(!selectSyncedEntities.value("max_amount").isNull())
+                    budget->set_maxamount(selectSyncedEntities.value("max_amount").toString().toStdString());
+                if(!selectSyncedEntities.value("max_daily_amount").isNull())
+                    budget->set_maxdailyamount(selectSyncedEntities.value("max_daily_amount").toString().toStdString());
+                break;
+            }
+            case WAITING_BUDGET_ITEMS:
+            {
+                sync::BudgetItem* const item = entity->mutable_budgetitem();
+                item->set_parentbudgetid(selectSyncedEntities.value("parent_budget_id").toString().toStdString());
+                item->set_categoryid(selectSyncedEntities.value("category_id").toString().toStdString());
+                if(!selectSyncedEntities.value("max_amount").isNull())
+                    item->set_maxamount(selectSyncedEntities.value("max_amount").toString().toStdString());
+                break;
+            }
+            default:
+                qDebug() << tr("Unknown entity type processing!");
+                interruptProcessing();
+                return;
+            }
         }
-        default:
-            qDebug() << tr("Unknown entity type processing!");
-            interruptProcessing();
-            return response;
+
+        if(!chunkSize || rows < chunkSize) // no more pages
+            break;
+
+        // chunk is full and more entities may follow
+        response.set_continuation(QString("%1:%2").arg(afterTime.toMSecsSinceEpoch()).arg(afterId).toStdString());
+        if(!writeDelimited(response))
+        {
+            qDebug() << tr("Error sending entity chunk to client! error string %1").arg(this->errorString());
+            return;
         }
+        response.Clear();
     }
 
-    return response;
+    // last chunk, without continuation
+    if(!writeDelimited(response))
+        qDebug() << tr("Error sending %2 to client! error string %1").arg(this->errorString()).arg(response.GetMetadata().descriptor->name().data());
 }
 
 /**
@@ -397,6 +536,14 @@ sync::EntityAck SyncClientSocket::handle(const sync::EntityResponse &response)
             adder.prepare("INSERT INTO operations(sync_account, id, deleted, description, amount, category_id, time, orderer_id, beneficiar_id, converting_rate) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
             modifier.prepare("UPDATE operations SET description = ?, amount = ?, category_id = ?, time = ?, orderer_id = ?, beneficiar_id = ?, converting_rate = ?, deleted = ? WHERE sync_account = ? AND id = ?");
             break;
+        case SENT_BUDGETS:
+            adder.prepare("INSERT INTO budgets(sync_account, id, deleted, name, start_time, end_time, covered_account_id, flags, repeat_seconds, warning_amount, max_amount, max_daily_amount) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            modifier.prepare("UPDATE budgets SET name = ?, start_time = ?, end_time = ?, covered_account_id = ?, flags = ?, repeat_seconds = ?, warning_amount = ?, max_amount = ?, max_daily_amount = ?, deleted = ? WHERE sync_account = ? AND id = ?");
+            break;
+        case SENT_BUDGET_ITEMS:
+            adder.prepare("INSERT INTO budget_items(sync_account, id, deleted, parent_budget_id, category_id, max_amount) VALUES(?, ?, ?, ?, ?, ?)");
+            modifier.prepare("UPDATE budget_items SET parent_budget_id = ?, category_id = ?, max_amount = ?, deleted = ? WHERE sync_account = ? AND id = ?");
+            break;
         default:
             qDebug() << tr("Unknown entity type processing!");
             interruptProcessing();
@@ -466,6 +613,49 @@ sync::EntityAck SyncClientSocket::handle(const sync::EntityResponse &response)
                 adder.addBindValue(QVariant(QVariant::Double)); // no converting rate
             break;
         }
+        case SENT_BUDGETS:
+        {
+            const sync::Budget& budget = entity.budget();
+            adder.addBindValue(budget.name().data());
+            adder.addBindValue(QDateTime::fromMSecsSinceEpoch(budget.from()));
+            if(budget.has_till())
+                adder.addBindValue(QDateTime::fromMSecsSinceEpoch(budget.till()));
+            else
+                adder.addBindValue(QVariant(QVariant::DateTime)); // open-ended
+            if(budget.has_coveredaccountid())
+                adder.addBindValue(budget.coveredaccountid().data());
+            else
+                adder.addBindValue(QVariant(QVariant::String)); // all accounts
+            adder.addBindValue(static_cast<qulonglong>(budget.flags()));
+            if(budget.has_repeattimeseconds())
+                adder.addBindValue(static_cast<qulonglong>(budget.repeattimeseconds()));
+            else
+                adder.addBindValue(QVariant(QVariant::ULongLong));
+            if(budget.has_warningamount())
+                adder.addBindValue(budget.warningamount().data());
+            else
+                adder.addBindValue(QVariant(QVariant::String));
+            if(budget.has_maxamount())
+                adder.addBindValue(budget.maxamount().data());
+            else
+                adder.addBindValue(QVariant(QVariant::String));
+            if(budget.has_maxdailyamount())
+                adder.addBindValue(budget.maxdailyamount().data());
+            else
+                adder.addBindValue(QVariant(QVariant::String));
+            break;
+        }
+        case SENT_BUDGET_ITEMS:
+        {
+            const sync::BudgetItem& item = entity.budgetitem();
+            adder.addBindValue(item.parentbudgetid().data());
+            adder.addBindValue(item.categoryid().data());
+            if(item.has_maxamount())
+                adder.addBindValue(item.maxamount().data());
+            else
+                adder.addBindValue(QVariant(QVariant::String));
+            break;
+        }
         default:
             qDebug() << tr("Unknown entity type processing!");
             interruptProcessing();
@@ -541,6 +731,49 @@ sync::EntityAck SyncClientSocket::handle(const sync::EntityResponse &response)
                     modifier.addBindValue(QVariant(QVariant::String));
                 break;
             }
+            case SENT_BUDGETS:
+            {
+                const sync::Budget& budget = entity.budget();
+                modifier.addBindValue(budget.name().data());
+                modifier.addBindValue(QDateTime::fromMSecsSinceEpoch(budget.from()));
+                if(budget.has_till())
+                    modifier.addBindValue(QDateTime::fromMSecsSinceEpoch(budget.till()));
+                else
+                    modifier.addBindValue(QVariant(QVariant::DateTime)); // open-ended
+                if(budget.has_coveredaccountid())
+                    modifier.addBindValue(budget.coveredaccountid().data());
+                else
+                    modifier.addBindValue(QVariant(QVariant::String)); // all accounts
+                modifier.addBindValue(static_cast<qulonglong>(budget.flags()));
+                if(budget.has_repeattimeseconds())
+                    modifier.addBindValue(static_cast<qulonglong>(budget.repeattimeseconds()));
+                else
+                    modifier.addBindValue(QVariant(QVariant::ULongLong));
+                if(budget.has_warningamount())
+                    modifier.addBindValue(budget.warningamount().data());
+                else
+                    modifier.addBindValue(QVariant(QVariant::String));
+                if(budget.has_maxamount())
+                    modifier.addBindValue(budget.maxamount().data());
+                else
+                    modifier.addBindValue(QVariant(QVariant::String));
+                if(budget.has_maxdailyamount())
+                    modifier.addBindValue(budget.maxdailyamount().data());
+                else
+                    modifier.addBindValue(QVariant(QVariant::String));
+                break;
+            }
+            case SENT_BUDGET_ITEMS:
+            {
+                const sync::BudgetItem& item = entity.budgetitem();
+                modifier.addBindValue(item.parentbudgetid().data());
+                modifier.addBindValue(item.categoryid().data());
+                if(item.has_maxamount())
+                    modifier.addBindValue(item.maxamount().data());
+                else
+                    modifier.addBindValue(QVariant(QVariant::String));
+                break;
+            }
             default:
                 qDebug() << tr("Unknown entity type processing!");
                 interruptProcessing();
@@ -560,6 +793,9 @@ sync::EntityAck SyncClientSocket::handle(const sync::EntityResponse &response)
         modifier.finish();
     }
 
+    if(!isAcknowledged(response)) // chunk of many or pipelined entity type, acknowledged after the last one
+        return ack;
+
     QSqlQuery newTimeRetriever(*conn);
     newTimeRetriever.exec("SELECT CURRENT_TIMESTAMP()");
     if(newTimeRetriever.exec() && newTimeRetriever.next())
@@ -573,6 +809,67 @@ sync::EntityAck SyncClientSocket::handle(const sync::EntityResponse &response)
     return ack;
 }
 
+void SyncClientSocket::acceptCapabilities(const sync::SyncRequest& request, sync::SyncResponse* const response)
+{
+    for(int i = 0; i < request.capabilities_size(); ++i)
+        switch(request.capabilities(i))
+        {
+            case sync::SyncRequest::CHUNKED_ENTITIES:
+                chunked = true;
+                response->add_capabilities(sync::SyncRequest::CHUNKED_ENTITIES);
+                break;
+            case sync::SyncRequest::PIPELINED:
+                pipelined = true;
+                response->add_capabilities(sync::SyncRequest::PIPELINED);
+                break;
+            case sync::SyncRequest::BUDGETS:
+                budgets = true;
+                response->add_capabilities(sync::SyncRequest::BUDGETS);
+                break;
+        }
+}
+
+// ack is sent after the last chunk of entity type, in pipelined mode only after the last entity type
+bool SyncClientSocket::isAcknowledged(const sync::EntityResponse& response) const
+{
+    if(response.has_continuation())
+        return false;
+
+    return !pipelined || state == lastState();
+}
+
+void SyncClientSocket::handleEntityRequest(const QByteArray& incomingData)
+{
+    sync::EntityRequest request;
+    if(!request.ParseFromArray(incomingData.constData(), incomingData.size()))
+        qDebug() << tr("error parsing %1 request from client!").arg(request.GetMetadata().descriptor->name().data());
+
+    sendEntities(request);
+}
+
+/**
+ * @brief SyncClientSocket::handleEntityResponse
+ * @param incomingData - entities or chunk of entities from client
+ * @return true if this was the last chunk, false if more chunks follow
+ */
+bool SyncClientSocket::handleEntityResponse(const QByteArray& incomingData)
+{
+    sync::EntityResponse response;
+    if(!response.ParseFromArray(incomingData.constData(), incomingData.size()))
+        qDebug() << tr("error parsing %1 request from client!").arg(response.GetMetadata().descriptor->name().data());
+
+    const sync::EntityAck ack = handle(response);
+    if(response.has_continuation())
+        return false;
+
+    if(!isAcknowledged(response)) // pipelined, single ack after all entity types
+        return true;
+
+    if(!writeDelimited(ack))
+        qDebug() << tr("Error sending %2 to client! error string %1").arg(this->errorString()).arg(ack.GetMetadata().descriptor->name().data());
+    return true;
+}
+
 template<typename REQ, typename RESP> void SyncClientSocket::handleGeneric(const QByteArray& incomingData)
 {
     // accept request
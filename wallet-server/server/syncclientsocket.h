@@ -42,6 +42,12 @@ namespace pbuf = google::protobuf;
  * 5) Server modifies its data and sends confirmation (with IDs) to client
  * 6) Sync is finished
  *
+ * If client announces CHUNKED_ENTITIES capability, entity responses of steps 3 and 4 are sent as
+ * sequences of chunks, each but the last one having continuation set. Ack is sent after the last chunk only
+ *
+ * If client announces PIPELINED capability, it sends requests for all entity types first, server answers all of them,
+ * then client sends its entities of all types and server replies with a single ack after the last type
+ *
  */
 
 class SyncTcpServer;
@@ -63,9 +69,15 @@ public:
         SENT_CATEGORIES,
         WAITING_OPERATIONS,
         SENT_OPERATIONS,
+        WAITING_BUDGETS,
+        SENT_BUDGETS,
+        WAITING_BUDGET_ITEMS,
+        SENT_BUDGET_ITEMS,
         ERROR
     };
 
+    static const int MAX_CHUNK_SIZE = 1000; // entities per chunk, whatever client asks for
+
     enum EntityState
     {
         EQUAL = 0,
@@ -93,13 +105,24 @@ private:
     void handleMessage(const QByteArray& incomingData);
 
     sync::SyncResponse handle(const sync::SyncRequest& request);
-    sync::EntityResponse handle(const sync::EntityRequest& request);
+    void sendEntities(const sync::EntityRequest& request);
     sync::EntityAck handle(const sync::EntityResponse& response);
 
+    void advance();
+    bool isSynced(SyncState entityState) const;
+    SyncState lastState() const;
+    bool isAcknowledged(const sync::EntityResponse& response) const;
+    void acceptCapabilities(const sync::SyncRequest& request, sync::SyncResponse* const response);
+    void handleEntityRequest(const QByteArray& incomingData);
+    bool handleEntityResponse(const QByteArray& incomingData);
+
     template<typename REQ, typename RESP> void handleGeneric(const QByteArray& incomingData);
 
     SyncState state;
     bool transactionOpened;
+    bool chunked; // client accepted CHUNKED_ENTITIES capability
+    bool pipelined; // client accepted PIPELINED capability
+    bool budgets; // client accepted BUDGETS capability
     quint32 pendingMessageSize;
 
     QSqlDatabase* conn;
@@ -27,6 +27,7 @@ const ::google::protobuf::Descriptor* SyncRequest_descriptor_ = NULL;
 const ::google::protobuf::internal::GeneratedMessageReflection*
   SyncRequest_reflection_ = NULL;
 const ::google::protobuf::EnumDescriptor* SyncRequest_SyncType_descriptor_ = NULL;
+const ::google::protobuf::EnumDescriptor* SyncRequest_Capability_descriptor_ = NULL;
 const ::google::protobuf::Descriptor* SyncResponse_descriptor_ = NULL;
 const ::google::protobuf::internal::GeneratedMessageReflection*
   SyncResponse_reflection_ = NULL;
@@ -69,10 +70,11 @@ void protobuf_AssignDesc_sync_5fprotocol_2eproto() {
       "sync_protocol.proto");
   GOOGLE_CHECK(file != NULL);
   SyncRequest_descriptor_ = file->message_type(0);
-  static const int SyncRequest_offsets_[3] = {
+  static const int SyncRequest_offsets_[4] = {
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(SyncRequest, account_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(SyncRequest, password_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(SyncRequest, synctype_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(SyncRequest, capabilities_),
   };
   SyncRequest_reflection_ =
     new ::google::protobuf::internal::GeneratedMessageReflection(
@@ -86,9 +88,11 @@ void protobuf_AssignDesc_sync_5fprotocol_2eproto() {
       ::google::protobuf::MessageFactory::generated_factory(),
       sizeof(SyncRequest));
   SyncRequest_SyncType_descriptor_ = SyncRequest_descriptor_->enum_type(0);
+  SyncRequest_Capability_descriptor_ = SyncRequest_descriptor_->enum_type(1);
   SyncResponse_descriptor_ = file->message_type(1);
-  static const int SyncResponse_offsets_[1] = {
+  static const int SyncResponse_offsets_[2] = {
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(SyncResponse, syncack_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(SyncResponse, capabilities_),
   };
   SyncResponse_reflection_ =
     new ::google::protobuf::internal::GeneratedMessageReflection(
@@ -103,8 +107,9 @@ void protobuf_AssignDesc_sync_5fprotocol_2eproto() {
       sizeof(SyncResponse));
   SyncResponse_SyncAck_descriptor_ = SyncResponse_descriptor_->enum_type(0);
   EntityRequest_descriptor_ = file->message_type(2);
-  static const int EntityRequest_offsets_[1] = {
+  static const int EntityRequest_offsets_[2] = {
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(EntityRequest, lastknownservertimestamp_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(EntityRequest, chunksize_),
   };
   EntityRequest_reflection_ =
     new ::google::protobuf::internal::GeneratedMessageReflection(
@@ -118,9 +123,10 @@ void protobuf_AssignDesc_sync_5fprotocol_2eproto() {
       ::google::protobuf::MessageFactory::generated_factory(),
       sizeof(EntityRequest));
   EntityResponse_descriptor_ = file->message_type(3);
-  static const int EntityResponse_offsets_[2] = {
+  static const int EntityResponse_offsets_[3] = {
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(EntityResponse, modified_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(EntityResponse, added_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(EntityResponse, continuation_),
   };
   EntityResponse_reflection_ =
     new ::google::protobuf::internal::GeneratedMessageReflection(
@@ -149,13 +155,15 @@ void protobuf_AssignDesc_sync_5fprotocol_2eproto() {
       ::google::protobuf::MessageFactory::generated_factory(),
       sizeof(EntityAck));
   Entity_descriptor_ = file->message_type(5);
-  static const int Entity_offsets_[6] = {
+  static const int Entity_offsets_[8] = {
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Entity, id_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Entity, deleted_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Entity, account_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Entity, operation_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Entity, category_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Entity, budget_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Entity, budgetitem_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Entity, lastmodified_),
   };
   Entity_reflection_ =
     new ::google::protobuf::internal::GeneratedMessageReflection(
@@ -226,12 +234,16 @@ void protobuf_AssignDesc_sync_5fprotocol_2eproto() {
       ::google::protobuf::MessageFactory::generated_factory(),
       sizeof(Category));
   Budget_descriptor_ = file->message_type(9);
-  static const int Budget_offsets_[5] = {
+  static const int Budget_offsets_[9] = {
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, name_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, from_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, till_),
     GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, coveredaccountid_),
-    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, content_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, flags_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, repeattimeseconds_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, warningamount_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, maxamount_),
+    GOOGLE_PROTOBUF_GENERATED_MESSAGE_FIELD_OFFSET(Budget, maxdailyamount_),
   };
   Budget_reflection_ =
     new ::google::protobuf::internal::GeneratedMessageReflection(
@@ -332,39 +344,49 @@ void protobuf_AddDesc_sync_5fprotocol_2eproto() {
 
   ::google::protobuf::DescriptorPool::InternalAddGeneratedFile(
     "\n\023sync_protocol.proto\022\026com.adonai.wallet"
-    ".sync\"\225\001\n\013SyncRequest\022\017\n\007account\030\001 \002(\t\022\020"
+    ".sync\"\233\002\n\013SyncRequest\022\017\n\007account\030\001 \002(\t\022\020"
     "\n\010password\030\002 \002(\t\022>\n\010syncType\030\003 \002(\0162,.com"
     ".adonai.wallet.sync.SyncRequest.SyncType"
-    "\"#\n\010SyncType\022\014\n\010REGISTER\020\000\022\t\n\005MERGE\020\001\"\261\001"
-    "\n\014SyncResponse\022=\n\007syncAck\030\001 \002(\0162,.com.ad"
-    "onai.wallet.sync.SyncResponse.SyncAck\"b\n"
-    "\007SyncAck\022\007\n\002OK\020\310\001\022\023\n\016ACCOUNT_EXISTS\020\222\003\022\017"
-    "\n\nAUTH_WRONG\020\223\003\022\024\n\017ALREADY_SYNCING\020\231\003\022\022\n"
-    "\rUNKNOWN_ERROR\020\347\007\"1\n\rEntityRequest\022 \n\030la"
-    "stKnownServerTimestamp\030\001 \002(\004\"q\n\016EntityRe"
-    "sponse\0220\n\010modified\030\001 \003(\0132\036.com.adonai.wa"
-    "llet.sync.Entity\022-\n\005added\030\002 \003(\0132\036.com.ad"
-    "onai.wallet.sync.Entity\"\'\n\tEntityAck\022\032\n\022"
-    "newServerTimestamp\030\001 \002(\004\"\361\001\n\006Entity\022\n\n\002I"
-    "D\030\001 \002(\t\022\017\n\007deleted\030\002 \002(\010\0220\n\007account\030\003 \001("
-    "\0132\037.com.adonai.wallet.sync.Account\0224\n\top"
-    "eration\030\004 \001(\0132!.com.adonai.wallet.sync.O"
-    "peration\0222\n\010category\030\005 \001(\0132 .com.adonai."
-    "wallet.sync.Category\022.\n\006budget\030\006 \001(\0132\036.c"
-    "om.adonai.wallet.sync.Budget\"]\n\007Account\022"
-    "\014\n\004name\030\002 \002(\t\022\020\n\010currency\030\003 \002(\t\022\016\n\006amoun"
-    "t\030\004 \002(\t\022\023\n\013description\030\005 \001(\t\022\r\n\005color\030\006 "
-    "\001(\005\"\223\001\n\tOperation\022\014\n\004time\030\002 \002(\004\022\022\n\ncateg"
-    "oryId\030\003 \002(\t\022\016\n\006amount\030\004 \002(\t\022\023\n\013descripti"
-    "on\030\005 \001(\t\022\021\n\tordererId\030\006 \001(\t\022\024\n\014beneficia"
-    "rId\030\007 \001(\t\022\026\n\016convertingRate\030\010 \001(\001\"@\n\010Cat"
-    "egory\022\014\n\004name\030\002 \002(\t\022\014\n\004type\030\003 \002(\r\022\030\n\020pre"
-    "ferredAccount\030\004 \001(\t\"\201\001\n\006Budget\022\014\n\004name\030\002"
-    " \002(\t\022\014\n\004from\030\003 \002(\004\022\014\n\004till\030\004 \002(\t\022\030\n\020cove"
-    "redAccountId\030\005 \001(\t\0223\n\007content\030\006 \003(\0132\".co"
-    "m.adonai.wallet.sync.BudgetItem\"K\n\nBudge"
-    "tItem\022\026\n\016parentBudgetId\030\002 \002(\t\022\022\n\ncategor"
-    "yId\030\003 \002(\t\022\021\n\tmaxAmount\030\004 \002(\004", 1348);
+    "\022D\n\014capabilities\030\004 \003(\0162..com.adonai.wall"
+    "et.sync.SyncRequest.Capability\"#\n\010SyncTy"
+    "pe\022\014\n\010REGISTER\020\000\022\t\n\005MERGE\020\001\">\n\nCapabilit"
+    "y\022\024\n\020CHUNKED_ENTITIES\020\001\022\r\n\tPIPELINED\020\002\022\013"
+    "\n\007BUDGETS\020\003\"\367\001\n\014SyncResponse\022=\n\007syncAck\030"
+    "\001 \002(\0162,.com.adonai.wallet.sync.SyncRespo"
+    "nse.SyncAck\022D\n\014capabilities\030\002 \003(\0162..com."
+    "adonai.wallet.sync.SyncRequest.Capabilit"
+    "y\"b\n\007SyncAck\022\007\n\002OK\020\310\001\022\023\n\016ACCOUNT_EXISTS\020"
+    "\222\003\022\017\n\nAUTH_WRONG\020\223\003\022\024\n\017ALREADY_SYNCING\020\231"
+    "\003\022\022\n\rUNKNOWN_ERROR\020\347\007\"D\n\rEntityRequest\022 "
+    "\n\030lastKnownServerTimestamp\030\001 \002(\004\022\021\n\tchun"
+    "kSize\030\002 \001(\r\"\207\001\n\016EntityResponse\0220\n\010modifi"
+    "ed\030\001 \003(\0132\036.com.adonai.wallet.sync.Entity"
+    "\022-\n\005added\030\002 \003(\0132\036.com.adonai.wallet.sync"
+    ".Entity\022\024\n\014continuation\030\003 \001(\t\"\'\n\tEntityA"
+    "ck\022\032\n\022newServerTimestamp\030\001 \002(\004\"\277\002\n\006Entit"
+    "y\022\n\n\002ID\030\001 \002(\t\022\017\n\007deleted\030\002 \002(\010\0220\n\007accoun"
+    "t\030\003 \001(\0132\037.com.adonai.wallet.sync.Account"
+    "\0224\n\toperation\030\004 \001(\0132!.com.adonai.wallet."
+    "sync.Operation\0222\n\010category\030\005 \001(\0132 .com.a"
+    "donai.wallet.sync.Category\022.\n\006budget\030\006 \001"
+    "(\0132\036.com.adonai.wallet.sync.Budget\0226\n\nbu"
+    "dgetItem\030\007 \001(\0132\".com.adonai.wallet.sync."
+    "BudgetItem\022\024\n\014lastModified\030\010 \001(\004\"]\n\007Acco"
+    "unt\022\014\n\004name\030\002 \002(\t\022\020\n\010currency\030\003 \002(\t\022\016\n\006a"
+    "mount\030\004 \002(\t\022\023\n\013description\030\005 \001(\t\022\r\n\005colo"
+    "r\030\006 \001(\005\"\223\001\n\tOperation\022\014\n\004time\030\002 \002(\004\022\022\n\nc"
+    "ategoryId\030\003 \002(\t\022\016\n\006amount\030\004 \002(\t\022\023\n\013descr"
+    "iption\030\005 \001(\t\022\021\n\tordererId\030\006 \001(\t\022\024\n\014benef"
+    "iciarId\030\007 \001(\t\022\026\n\016convertingRate\030\010 \001(\001\"@\n"
+    "\010Category\022\014\n\004name\030\002 \002(\t\022\014\n\004type\030\003 \002(\r\022\030\n"
+    "\020preferredAccount\030\004 \001(\t\"\270\001\n\006Budget\022\014\n\004na"
+    "me\030\002 \002(\t\022\014\n\004from\030\003 \002(\004\022\014\n\004till\030\004 \001(\004\022\030\n\020"
+    "coveredAccountId\030\005 \001(\t\022\r\n\005flags\030\007 \001(\004\022\031\n"
+    "\021repeatTimeSeconds\030\010 \001(\004\022\025\n\rwarningAmoun"
+    "t\030\t \001(\t\022\021\n\tmaxAmount\030\n \001(\t\022\026\n\016maxDailyAm"
+    "ount\030\013 \001(\t\"K\n\nBudgetItem\022\026\n\016parentBudget"
+    "Id\030\002 \002(\t\022\022\n\ncategoryId\030\003 \002(\t\022\021\n\tmaxAmoun"
+    "t\030\004 \001(\t", 1727);
   ::google::protobuf::MessageFactory::InternalRegisterGeneratedFile(
     "sync_protocol.proto", &protobuf_RegisterTypes);
   SyncRequest::default_instance_ = new SyncRequest();
@@ -422,10 +444,34 @@ const SyncRequest_SyncType SyncRequest::SyncType_MIN;
 const SyncRequest_SyncType SyncRequest::SyncType_MAX;
 const int SyncRequest::SyncType_ARRAYSIZE;
 #endif  // _MSC_VER
+const ::google::protobuf::EnumDescriptor* SyncRequest_Capability_descriptor() {
+  protobuf_AssignDescriptorsOnce();
+  return SyncRequest_Capability_descriptor_;
+}
+bool SyncRequest_Capability_IsValid(int value) {
+  switch(value) {
+    case 1:
+    case 2:
+    case 3:
+      return true;
+    default:
+      return false;
+  }
+}
+
+#ifndef _MSC_VER
+const SyncRequest_Capability SyncRequest::CHUNKED_ENTITIES;
+const SyncRequest_Capability SyncRequest::PIPELINED;
+const SyncRequest_Capability SyncRequest::BUDGETS;
+const SyncRequest_Capability SyncRequest::Capability_MIN;
+const SyncRequest_Capability SyncRequest::Capability_MAX;
+const int SyncRequest::Capability_ARRAYSIZE;
+#endif  // _MSC_VER
 #ifndef _MSC_VER
 const int SyncRequest::kAccountFieldNumber;
 const int SyncRequest::kPasswordFieldNumber;
 const int SyncRequest::kSyncTypeFieldNumber;
+const int SyncRequest::kCapabilitiesFieldNumber;
 #endif  // !_MSC_VER
 
 SyncRequest::SyncRequest()
@@ -504,6 +550,7 @@ void SyncRequest::Clear() {
     }
     synctype_ = 0;
   }
+  capabilities_.Clear();
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
   mutable_unknown_fields()->Clear();
 }
@@ -567,6 +614,32 @@ bool SyncRequest::MergePartialFromCodedStream(
         } else {
           goto handle_unusual;
         }
+        if (input->ExpectTag(32)) goto parse_capabilities;
+        break;
+      }
+
+      // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;
+      case 4: {
+        if (tag == 32) {
+         parse_capabilities:
+          int value;
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPrimitive<
+                   int, ::google::protobuf::internal::WireFormatLite::TYPE_ENUM>(
+                 input, &value)));
+          if (::com::adonai::wallet::sync::SyncRequest_Capability_IsValid(value)) {
+            add_capabilities(static_cast< ::com::adonai::wallet::sync::SyncRequest_Capability >(value));
+          } else {
+            mutable_unknown_fields()->AddVarint(4, value);
+          }
+        } else if (tag == 34) {
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPackedEnumNoInline(
+                 input,
+                 &::com::adonai::wallet::sync::SyncRequest_Capability_IsValid,
+                 this->mutable_capabilities())));
+        } else {
+          goto handle_unusual;
+        }
+        if (input->ExpectTag(32)) goto parse_capabilities;
         if (input->ExpectAtEnd()) goto success;
         break;
       }
@@ -622,6 +695,12 @@ void SyncRequest::SerializeWithCachedSizes(
       3, this->synctype(), output);
   }
 
+  // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;
+  for (int i = 0; i < this->capabilities_size(); i++) {
+    ::google::protobuf::internal::WireFormatLite::WriteEnum(
+      4, this->capabilities(i), output);
+  }
+
   if (!unknown_fields().empty()) {
     ::google::protobuf::internal::WireFormat::SerializeUnknownFields(
         unknown_fields(), output);
@@ -660,6 +739,12 @@ void SyncRequest::SerializeWithCachedSizes(
       3, this->synctype(), target);
   }
 
+  // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;
+  for (int i = 0; i < this->capabilities_size(); i++) {
+    target = ::google::protobuf::internal::WireFormatLite::WriteEnumToArray(
+      4, this->capabilities(i), target);
+  }
+
   if (!unknown_fields().empty()) {
     target = ::google::protobuf::internal::WireFormat::SerializeUnknownFieldsToArray(
         unknown_fields(), target);
@@ -693,6 +778,16 @@ int SyncRequest::ByteSize() const {
     }
 
   }
+  // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;
+  {
+    int data_size = 0;
+    for (int i = 0; i < this->capabilities_size(); i++) {
+      data_size += ::google::protobuf::internal::WireFormatLite::EnumSize(
+        this->capabilities(i));
+    }
+    total_size += 1 * this->capabilities_size() + data_size;
+  }
+
   if (!unknown_fields().empty()) {
     total_size +=
       ::google::protobuf::internal::WireFormat::ComputeUnknownFieldsSize(
@@ -718,6 +813,7 @@ void SyncRequest::MergeFrom(const ::google::protobuf::Message& from) {
 
 void SyncRequest::MergeFrom(const SyncRequest& from) {
   GOOGLE_CHECK_NE(&from, this);
+  capabilities_.MergeFrom(from.capabilities_);
   if (from._has_bits_[0 / 32] & (0xffu << (0 % 32))) {
     if (from.has_account()) {
       set_account(from.account());
@@ -755,6 +851,7 @@ void SyncRequest::Swap(SyncRequest* other) {
     std::swap(account_, other->account_);
     std::swap(password_, other->password_);
     std::swap(synctype_, other->synctype_);
+    capabilities_.Swap(&other->capabilities_);
     std::swap(_has_bits_[0], other->_has_bits_[0]);
     _unknown_fields_.Swap(&other->_unknown_fields_);
     std::swap(_cached_size_, other->_cached_size_);
@@ -801,6 +898,7 @@ const int SyncResponse::SyncAck_ARRAYSIZE;
 #endif  // _MSC_VER
 #ifndef _MSC_VER
 const int SyncResponse::kSyncAckFieldNumber;
+const int SyncResponse::kCapabilitiesFieldNumber;
 #endif  // !_MSC_VER
 
 SyncResponse::SyncResponse()
@@ -858,6 +956,7 @@ SyncResponse* SyncResponse::New() const {
 
 void SyncResponse::Clear() {
   syncack_ = 200;
+  capabilities_.Clear();
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
   mutable_unknown_fields()->Clear();
 }
@@ -887,6 +986,32 @@ bool SyncResponse::MergePartialFromCodedStream(
         } else {
           goto handle_unusual;
         }
+        if (input->ExpectTag(16)) goto parse_capabilities;
+        break;
+      }
+
+      // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;
+      case 2: {
+        if (tag == 16) {
+         parse_capabilities:
+          int value;
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPrimitive<
+                   int, ::google::protobuf::internal::WireFormatLite::TYPE_ENUM>(
+                 input, &value)));
+          if (::com::adonai::wallet::sync::SyncRequest_Capability_IsValid(value)) {
+            add_capabilities(static_cast< ::com::adonai::wallet::sync::SyncRequest_Capability >(value));
+          } else {
+            mutable_unknown_fields()->AddVarint(2, value);
+          }
+        } else if (tag == 18) {
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPackedEnumNoInline(
+                 input,
+                 &::com::adonai::wallet::sync::SyncRequest_Capability_IsValid,
+                 this->mutable_capabilities())));
+        } else {
+          goto handle_unusual;
+        }
+        if (input->ExpectTag(16)) goto parse_capabilities;
         if (input->ExpectAtEnd()) goto success;
         break;
       }
@@ -922,6 +1047,12 @@ void SyncResponse::SerializeWithCachedSizes(
       1, this->syncack(), output);
   }
 
+  // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;
+  for (int i = 0; i < this->capabilities_size(); i++) {
+    ::google::protobuf::internal::WireFormatLite::WriteEnum(
+      2, this->capabilities(i), output);
+  }
+
   if (!unknown_fields().empty()) {
     ::google::protobuf::internal::WireFormat::SerializeUnknownFields(
         unknown_fields(), output);
@@ -938,6 +1069,12 @@ void SyncResponse::SerializeWithCachedSizes(
       1, this->syncack(), target);
   }
 
+  // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;
+  for (int i = 0; i < this->capabilities_size(); i++) {
+    target = ::google::protobuf::internal::WireFormatLite::WriteEnumToArray(
+      2, this->capabilities(i), target);
+  }
+
   if (!unknown_fields().empty()) {
     target = ::google::protobuf::internal::WireFormat::SerializeUnknownFieldsToArray(
         unknown_fields(), target);
@@ -957,6 +1094,16 @@ int SyncResponse::ByteSize() const {
     }
 
   }
+  // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;
+  {
+    int data_size = 0;
+    for (int i = 0; i < this->capabilities_size(); i++) {
+      data_size += ::google::protobuf::internal::WireFormatLite::EnumSize(
+        this->capabilities(i));
+    }
+    total_size += 1 * this->capabilities_size() + data_size;
+  }
+
   if (!unknown_fields().empty()) {
     total_size +=
       ::google::protobuf::internal::WireFormat::ComputeUnknownFieldsSize(
@@ -982,6 +1129,7 @@ void SyncResponse::MergeFrom(const ::google::protobuf::Message& from) {
 
 void SyncResponse::MergeFrom(const SyncResponse& from) {
   GOOGLE_CHECK_NE(&from, this);
+  capabilities_.MergeFrom(from.capabilities_);
   if (from._has_bits_[0 / 32] & (0xffu << (0 % 32))) {
     if (from.has_syncack()) {
       set_syncack(from.syncack());
@@ -1011,6 +1159,7 @@ bool SyncResponse::IsInitialized() const {
 void SyncResponse::Swap(SyncResponse* other) {
   if (other != this) {
     std::swap(syncack_, other->syncack_);
+    capabilities_.Swap(&other->capabilities_);
     std::swap(_has_bits_[0], other->_has_bits_[0]);
     _unknown_fields_.Swap(&other->_unknown_fields_);
     std::swap(_cached_size_, other->_cached_size_);
@@ -1030,6 +1179,7 @@ void SyncResponse::Swap(SyncResponse* other) {
 
 #ifndef _MSC_VER
 const int EntityRequest::kLastKnownServerTimestampFieldNumber;
+const int EntityRequest::kChunkSizeFieldNumber;
 #endif  // !_MSC_VER
 
 EntityRequest::EntityRequest()
@@ -1051,6 +1201,7 @@ EntityRequest::EntityRequest(const EntityRequest& from)
 void EntityRequest::SharedCtor() {
   _cached_size_ = 0;
   lastknownservertimestamp_ = GOOGLE_ULONGLONG(0);
+  chunksize_ = 0u;
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
 }
 
@@ -1086,7 +1237,21 @@ EntityRequest* EntityRequest::New() const {
 }
 
 void EntityRequest::Clear() {
-  lastknownservertimestamp_ = GOOGLE_ULONGLONG(0);
+#define OFFSET_OF_FIELD_(f) (reinterpret_cast<char*>(      \
+  &reinterpret_cast<EntityRequest*>(16)->f) - \
+   reinterpret_cast<char*>(16))
+
+#define ZR_(first, last) do {                              \
+    size_t f = OFFSET_OF_FIELD_(first);                    \
+    size_t n = OFFSET_OF_FIELD_(last) - f + sizeof(last);  \
+    ::memset(&first, 0, n);                                \
+  } while (0)
+
+  ZR_(lastknownservertimestamp_, chunksize_);
+
+#undef OFFSET_OF_FIELD_
+#undef ZR_
+
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
   mutable_unknown_fields()->Clear();
 }
@@ -1111,6 +1276,21 @@ bool EntityRequest::MergePartialFromCodedStream(
         } else {
           goto handle_unusual;
         }
+        if (input->ExpectTag(16)) goto parse_chunkSize;
+        break;
+      }
+
+      // optional uint32 chunkSize = 2;
+      case 2: {
+        if (tag == 16) {
+         parse_chunkSize:
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPrimitive<
+                   ::google::protobuf::uint32, ::google::protobuf::internal::WireFormatLite::TYPE_UINT32>(
+                 input, &chunksize_)));
+          set_has_chunksize();
+        } else {
+          goto handle_unusual;
+        }
         if (input->ExpectAtEnd()) goto success;
         break;
       }
@@ -1145,6 +1325,11 @@ void EntityRequest::SerializeWithCachedSizes(
     ::google::protobuf::internal::WireFormatLite::WriteUInt64(1, this->lastknownservertimestamp(), output);
   }
 
+  // optional uint32 chunkSize = 2;
+  if (has_chunksize()) {
+    ::google::protobuf::internal::WireFormatLite::WriteUInt32(2, this->chunksize(), output);
+  }
+
   if (!unknown_fields().empty()) {
     ::google::protobuf::internal::WireFormat::SerializeUnknownFields(
         unknown_fields(), output);
@@ -1160,6 +1345,11 @@ void EntityRequest::SerializeWithCachedSizes(
     target = ::google::protobuf::internal::WireFormatLite::WriteUInt64ToArray(1, this->lastknownservertimestamp(), target);
   }
 
+  // optional uint32 chunkSize = 2;
+  if (has_chunksize()) {
+    target = ::google::protobuf::internal::WireFormatLite::WriteUInt32ToArray(2, this->chunksize(), target);
+  }
+
   if (!unknown_fields().empty()) {
     target = ::google::protobuf::internal::WireFormat::SerializeUnknownFieldsToArray(
         unknown_fields(), target);
@@ -1179,6 +1369,13 @@ int EntityRequest::ByteSize() const {
           this->lastknownservertimestamp());
     }
 
+    // optional uint32 chunkSize = 2;
+    if (has_chunksize()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::UInt32Size(
+          this->chunksize());
+    }
+
   }
   if (!unknown_fields().empty()) {
     total_size +=
@@ -1209,6 +1406,9 @@ void EntityRequest::MergeFrom(const EntityRequest& from) {
     if (from.has_lastknownservertimestamp()) {
       set_lastknownservertimestamp(from.lastknownservertimestamp());
     }
+    if (from.has_chunksize()) {
+      set_chunksize(from.chunksize());
+    }
   }
   mutable_unknown_fields()->MergeFrom(from.unknown_fields());
 }
@@ -1234,6 +1434,7 @@ bool EntityRequest::IsInitialized() const {
 void EntityRequest::Swap(EntityRequest* other) {
   if (other != this) {
     std::swap(lastknownservertimestamp_, other->lastknownservertimestamp_);
+    std::swap(chunksize_, other->chunksize_);
     std::swap(_has_bits_[0], other->_has_bits_[0]);
     _unknown_fields_.Swap(&other->_unknown_fields_);
     std::swap(_cached_size_, other->_cached_size_);
@@ -1254,6 +1455,7 @@ void EntityRequest::Swap(EntityRequest* other) {
 #ifndef _MSC_VER
 const int EntityResponse::kModifiedFieldNumber;
 const int EntityResponse::kAddedFieldNumber;
+const int EntityResponse::kContinuationFieldNumber;
 #endif  // !_MSC_VER
 
 EntityResponse::EntityResponse()
@@ -1273,7 +1475,9 @@ EntityResponse::EntityResponse(const EntityResponse& from)
 }
 
 void EntityResponse::SharedCtor() {
+  ::google::protobuf::internal::GetEmptyString();
   _cached_size_ = 0;
+  continuation_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
 }
 
@@ -1283,6 +1487,9 @@ EntityResponse::~EntityResponse() {
 }
 
 void EntityResponse::SharedDtor() {
+  if (continuation_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete continuation_;
+  }
   if (this != default_instance_) {
   }
 }
@@ -1309,6 +1516,11 @@ EntityResponse* EntityResponse::New() const {
 }
 
 void EntityResponse::Clear() {
+  if (has_continuation()) {
+    if (continuation_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+      continuation_->clear();
+    }
+  }
   modified_.Clear();
   added_.Clear();
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
@@ -1349,6 +1561,23 @@ bool EntityResponse::MergePartialFromCodedStream(
           goto handle_unusual;
         }
         if (input->ExpectTag(18)) goto parse_added;
+        if (input->ExpectTag(26)) goto parse_continuation;
+        break;
+      }
+
+      // optional string continuation = 3;
+      case 3: {
+        if (tag == 26) {
+         parse_continuation:
+          DO_(::google::protobuf::internal::WireFormatLite::ReadString(
+                input, this->mutable_continuation()));
+          ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+            this->continuation().data(), this->continuation().length(),
+            ::google::protobuf::internal::WireFormat::PARSE,
+            "continuation");
+        } else {
+          goto handle_unusual;
+        }
         if (input->ExpectAtEnd()) goto success;
         break;
       }
@@ -1390,6 +1619,16 @@ void EntityResponse::SerializeWithCachedSizes(
       2, this->added(i), output);
   }
 
+  // optional string continuation = 3;
+  if (has_continuation()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->continuation().data(), this->continuation().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "continuation");
+    ::google::protobuf::internal::WireFormatLite::WriteStringMaybeAliased(
+      3, this->continuation(), output);
+  }
+
   if (!unknown_fields().empty()) {
     ::google::protobuf::internal::WireFormat::SerializeUnknownFields(
         unknown_fields(), output);
@@ -1414,6 +1653,17 @@ void EntityResponse::SerializeWithCachedSizes(
         2, this->added(i), target);
   }
 
+  // optional string continuation = 3;
+  if (has_continuation()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->continuation().data(), this->continuation().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "continuation");
+    target =
+      ::google::protobuf::internal::WireFormatLite::WriteStringToArray(
+        3, this->continuation(), target);
+  }
+
   if (!unknown_fields().empty()) {
     target = ::google::protobuf::internal::WireFormat::SerializeUnknownFieldsToArray(
         unknown_fields(), target);
@@ -1425,6 +1675,15 @@ void EntityResponse::SerializeWithCachedSizes(
 int EntityResponse::ByteSize() const {
   int total_size = 0;
 
+  if (_has_bits_[2 / 32] & (0xffu << (2 % 32))) {
+    // optional string continuation = 3;
+    if (has_continuation()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::StringSize(
+          this->continuation());
+    }
+
+  }
   // repeated .com.adonai.wallet.sync.Entity modified = 1;
   total_size += 1 * this->modified_size();
   for (int i = 0; i < this->modified_size(); i++) {
@@ -1468,6 +1727,11 @@ void EntityResponse::MergeFrom(const EntityResponse& from) {
   GOOGLE_CHECK_NE(&from, this);
   modified_.MergeFrom(from.modified_);
   added_.MergeFrom(from.added_);
+  if (from._has_bits_[2 / 32] & (0xffu << (2 % 32))) {
+    if (from.has_continuation()) {
+      set_continuation(from.continuation());
+    }
+  }
   mutable_unknown_fields()->MergeFrom(from.unknown_fields());
 }
 
@@ -1494,6 +1758,7 @@ void EntityResponse::Swap(EntityResponse* other) {
   if (other != this) {
     modified_.Swap(&other->modified_);
     added_.Swap(&other->added_);
+    std::swap(continuation_, other->continuation_);
     std::swap(_has_bits_[0], other->_has_bits_[0]);
     _unknown_fields_.Swap(&other->_unknown_fields_);
     std::swap(_cached_size_, other->_cached_size_);
@@ -1741,6 +2006,8 @@ const int Entity::kAccountFieldNumber;
 const int Entity::kOperationFieldNumber;
 const int Entity::kCategoryFieldNumber;
 const int Entity::kBudgetFieldNumber;
+const int Entity::kBudgetItemFieldNumber;
+const int Entity::kLastModifiedFieldNumber;
 #endif  // !_MSC_VER
 
 Entity::Entity()
@@ -1754,6 +2021,7 @@ void Entity::InitAsDefaultInstance() {
   operation_ = const_cast< ::com::adonai::wallet::sync::Operation*>(&::com::adonai::wallet::sync::Operation::default_instance());
   category_ = const_cast< ::com::adonai::wallet::sync::Category*>(&::com::adonai::wallet::sync::Category::default_instance());
   budget_ = const_cast< ::com::adonai::wallet::sync::Budget*>(&::com::adonai::wallet::sync::Budget::default_instance());
+  budgetitem_ = const_cast< ::com::adonai::wallet::sync::BudgetItem*>(&::com::adonai::wallet::sync::BudgetItem::default_instance());
 }
 
 Entity::Entity(const Entity& from)
@@ -1772,6 +2040,8 @@ void Entity::SharedCtor() {
   operation_ = NULL;
   category_ = NULL;
   budget_ = NULL;
+  budgetitem_ = NULL;
+  lastmodified_ = GOOGLE_ULONGLONG(0);
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
 }
 
@@ -1789,6 +2059,7 @@ void Entity::SharedDtor() {
     delete operation_;
     delete category_;
     delete budget_;
+    delete budgetitem_;
   }
 }
 
@@ -1814,13 +2085,23 @@ Entity* Entity::New() const {
 }
 
 void Entity::Clear() {
-  if (_has_bits_[0 / 32] & 63) {
+#define OFFSET_OF_FIELD_(f) (reinterpret_cast<char*>(      \
+  &reinterpret_cast<Entity*>(16)->f) - \
+   reinterpret_cast<char*>(16))
+
+#define ZR_(first, last) do {                              \
+    size_t f = OFFSET_OF_FIELD_(first);                    \
+    size_t n = OFFSET_OF_FIELD_(last) - f + sizeof(last);  \
+    ::memset(&first, 0, n);                                \
+  } while (0)
+
+  if (_has_bits_[0 / 32] & 255) {
+    ZR_(lastmodified_, deleted_);
     if (has_id()) {
       if (id_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
         id_->clear();
       }
     }
-    deleted_ = false;
     if (has_account()) {
       if (account_ != NULL) account_->::com::adonai::wallet::sync::Account::Clear();
     }
@@ -1833,7 +2114,14 @@ void Entity::Clear() {
     if (has_budget()) {
       if (budget_ != NULL) budget_->::com::adonai::wallet::sync::Budget::Clear();
     }
+    if (has_budgetitem()) {
+      if (budgetitem_ != NULL) budgetitem_->::com::adonai::wallet::sync::BudgetItem::Clear();
+    }
   }
+
+#undef OFFSET_OF_FIELD_
+#undef ZR_
+
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
   mutable_unknown_fields()->Clear();
 }
@@ -1927,6 +2215,34 @@ bool Entity::MergePartialFromCodedStream(
         } else {
           goto handle_unusual;
         }
+        if (input->ExpectTag(58)) goto parse_budgetItem;
+        break;
+      }
+
+      // optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;
+      case 7: {
+        if (tag == 58) {
+         parse_budgetItem:
+          DO_(::google::protobuf::internal::WireFormatLite::ReadMessageNoVirtual(
+               input, mutable_budgetitem()));
+        } else {
+          goto handle_unusual;
+        }
+        if (input->ExpectTag(64)) goto parse_lastModified;
+        break;
+      }
+
+      // optional uint64 lastModified = 8;
+      case 8: {
+        if (tag == 64) {
+         parse_lastModified:
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPrimitive<
+                   ::google::protobuf::uint64, ::google::protobuf::internal::WireFormatLite::TYPE_UINT64>(
+                 input, &lastmodified_)));
+          set_has_lastmodified();
+        } else {
+          goto handle_unusual;
+        }
         if (input->ExpectAtEnd()) goto success;
         break;
       }
@@ -1995,6 +2311,17 @@ void Entity::SerializeWithCachedSizes(
       6, this->budget(), output);
   }
 
+  // optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;
+  if (has_budgetitem()) {
+    ::google::protobuf::internal::WireFormatLite::WriteMessageMaybeToArray(
+      7, this->budgetitem(), output);
+  }
+
+  // optional uint64 lastModified = 8;
+  if (has_lastmodified()) {
+    ::google::protobuf::internal::WireFormatLite::WriteUInt64(8, this->lastmodified(), output);
+  }
+
   if (!unknown_fields().empty()) {
     ::google::protobuf::internal::WireFormat::SerializeUnknownFields(
         unknown_fields(), output);
@@ -2049,6 +2376,18 @@ void Entity::SerializeWithCachedSizes(
         6, this->budget(), target);
   }
 
+  // optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;
+  if (has_budgetitem()) {
+    target = ::google::protobuf::internal::WireFormatLite::
+      WriteMessageNoVirtualToArray(
+        7, this->budgetitem(), target);
+  }
+
+  // optional uint64 lastModified = 8;
+  if (has_lastmodified()) {
+    target = ::google::protobuf::internal::WireFormatLite::WriteUInt64ToArray(8, this->lastmodified(), target);
+  }
+
   if (!unknown_fields().empty()) {
     target = ::google::protobuf::internal::WireFormat::SerializeUnknownFieldsToArray(
         unknown_fields(), target);
@@ -2101,6 +2440,20 @@ int Entity::ByteSize() const {
           this->budget());
     }
 
+    // optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;
+    if (has_budgetitem()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::MessageSizeNoVirtual(
+          this->budgetitem());
+    }
+
+    // optional uint64 lastModified = 8;
+    if (has_lastmodified()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::UInt64Size(
+          this->lastmodified());
+    }
+
   }
   if (!unknown_fields().empty()) {
     total_size +=
@@ -2146,6 +2499,12 @@ void Entity::MergeFrom(const Entity& from) {
     if (from.has_budget()) {
       mutable_budget()->::com::adonai::wallet::sync::Budget::MergeFrom(from.budget());
     }
+    if (from.has_budgetitem()) {
+      mutable_budgetitem()->::com::adonai::wallet::sync::BudgetItem::MergeFrom(from.budgetitem());
+    }
+    if (from.has_lastmodified()) {
+      set_lastmodified(from.lastmodified());
+    }
   }
   mutable_unknown_fields()->MergeFrom(from.unknown_fields());
 }
@@ -2177,6 +2536,9 @@ bool Entity::IsInitialized() const {
   if (has_budget()) {
     if (!this->budget().IsInitialized()) return false;
   }
+  if (has_budgetitem()) {
+    if (!this->budgetitem().IsInitialized()) return false;
+  }
   return true;
 }
 
@@ -2188,6 +2550,8 @@ void Entity::Swap(Entity* other) {
     std::swap(operation_, other->operation_);
     std::swap(category_, other->category_);
     std::swap(budget_, other->budget_);
+    std::swap(budgetitem_, other->budgetitem_);
+    std::swap(lastmodified_, other->lastmodified_);
     std::swap(_has_bits_[0], other->_has_bits_[0]);
     _unknown_fields_.Swap(&other->_unknown_fields_);
     std::swap(_cached_size_, other->_cached_size_);
@@ -3574,7 +3938,11 @@ const int Budget::kNameFieldNumber;
 const int Budget::kFromFieldNumber;
 const int Budget::kTillFieldNumber;
 const int Budget::kCoveredAccountIdFieldNumber;
-const int Budget::kContentFieldNumber;
+const int Budget::kFlagsFieldNumber;
+const int Budget::kRepeatTimeSecondsFieldNumber;
+const int Budget::kWarningAmountFieldNumber;
+const int Budget::kMaxAmountFieldNumber;
+const int Budget::kMaxDailyAmountFieldNumber;
 #endif  // !_MSC_VER
 
 Budget::Budget()
@@ -3598,8 +3966,13 @@ void Budget::SharedCtor() {
   _cached_size_ = 0;
   name_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
   from_ = GOOGLE_ULONGLONG(0);
-  till_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+  till_ = GOOGLE_ULONGLONG(0);
   coveredaccountid_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+  flags_ = GOOGLE_ULONGLONG(0);
+  repeattimeseconds_ = GOOGLE_ULONGLONG(0);
+  warningamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+  maxamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+  maxdailyamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
 }
 
@@ -3612,12 +3985,18 @@ void Budget::SharedDtor() {
   if (name_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
     delete name_;
   }
-  if (till_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
-    delete till_;
-  }
   if (coveredaccountid_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
     delete coveredaccountid_;
   }
+  if (warningamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete warningamount_;
+  }
+  if (maxamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete maxamount_;
+  }
+  if (maxdailyamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete maxdailyamount_;
+  }
   if (this != default_instance_) {
   }
 }
@@ -3644,25 +4023,49 @@ Budget* Budget::New() const {
 }
 
 void Budget::Clear() {
-  if (_has_bits_[0 / 32] & 15) {
+#define OFFSET_OF_FIELD_(f) (reinterpret_cast<char*>(      \
+  &reinterpret_cast<Budget*>(16)->f) - \
+   reinterpret_cast<char*>(16))
+
+#define ZR_(first, last) do {                              \
+    size_t f = OFFSET_OF_FIELD_(first);                    \
+    size_t n = OFFSET_OF_FIELD_(last) - f + sizeof(last);  \
+    ::memset(&first, 0, n);                                \
+  } while (0)
+
+  if (_has_bits_[0 / 32] & 255) {
+    ZR_(from_, till_);
+    ZR_(flags_, repeattimeseconds_);
     if (has_name()) {
       if (name_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
         name_->clear();
       }
     }
-    from_ = GOOGLE_ULONGLONG(0);
-    if (has_till()) {
-      if (till_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
-        till_->clear();
-      }
-    }
     if (has_coveredaccountid()) {
       if (coveredaccountid_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
         coveredaccountid_->clear();
       }
     }
+    if (has_warningamount()) {
+      if (warningamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+        warningamount_->clear();
+      }
+    }
+    if (has_maxamount()) {
+      if (maxamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+        maxamount_->clear();
+      }
+    }
   }
-  content_.Clear();
+  if (has_maxdailyamount()) {
+    if (maxdailyamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+      maxdailyamount_->clear();
+    }
+  }
+
+#undef OFFSET_OF_FIELD_
+#undef ZR_
+
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
   mutable_unknown_fields()->Clear();
 }
@@ -3704,20 +4107,18 @@ bool Budget::MergePartialFromCodedStream(
         } else {
           goto handle_unusual;
         }
-        if (input->ExpectTag(34)) goto parse_till;
+        if (input->ExpectTag(32)) goto parse_till;
         break;
       }
 
-      // required string till = 4;
+      // optional uint64 till = 4;
       case 4: {
-        if (tag == 34) {
+        if (tag == 32) {
          parse_till:
-          DO_(::google::protobuf::internal::WireFormatLite::ReadString(
-                input, this->mutable_till()));
-          ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
-            this->till().data(), this->till().length(),
-            ::google::protobuf::internal::WireFormat::PARSE,
-            "till");
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPrimitive<
+                   ::google::protobuf::uint64, ::google::protobuf::internal::WireFormatLite::TYPE_UINT64>(
+                 input, &till_)));
+          set_has_till();
         } else {
           goto handle_unusual;
         }
@@ -3738,20 +4139,87 @@ bool Budget::MergePartialFromCodedStream(
         } else {
           goto handle_unusual;
         }
-        if (input->ExpectTag(50)) goto parse_content;
+        if (input->ExpectTag(56)) goto parse_flags;
         break;
       }
 
-      // repeated .com.adonai.wallet.sync.BudgetItem content = 6;
-      case 6: {
-        if (tag == 50) {
-         parse_content:
-          DO_(::google::protobuf::internal::WireFormatLite::ReadMessageNoVirtual(
-                input, add_content()));
+      // optional uint64 flags = 7;
+      case 7: {
+        if (tag == 56) {
+         parse_flags:
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPrimitive<
+                   ::google::protobuf::uint64, ::google::protobuf::internal::WireFormatLite::TYPE_UINT64>(
+                 input, &flags_)));
+          set_has_flags();
+        } else {
+          goto handle_unusual;
+        }
+        if (input->ExpectTag(64)) goto parse_repeatTimeSeconds;
+        break;
+      }
+
+      // optional uint64 repeatTimeSeconds = 8;
+      case 8: {
+        if (tag == 64) {
+         parse_repeatTimeSeconds:
+          DO_((::google::protobuf::internal::WireFormatLite::ReadPrimitive<
+                   ::google::protobuf::uint64, ::google::protobuf::internal::WireFormatLite::TYPE_UINT64>(
+                 input, &repeattimeseconds_)));
+          set_has_repeattimeseconds();
+        } else {
+          goto handle_unusual;
+        }
+        if (input->ExpectTag(74)) goto parse_warningAmount;
+        break;
+      }
+
+      // optional string warningAmount = 9;
+      case 9: {
+        if (tag == 74) {
+         parse_warningAmount:
+          DO_(::google::protobuf::internal::WireFormatLite::ReadString(
+                input, this->mutable_warningamount()));
+          ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+            this->warningamount().data(), this->warningamount().length(),
+            ::google::protobuf::internal::WireFormat::PARSE,
+            "warningamount");
+        } else {
+          goto handle_unusual;
+        }
+        if (input->ExpectTag(82)) goto parse_maxAmount;
+        break;
+      }
+
+      // optional string maxAmount = 10;
+      case 10: {
+        if (tag == 82) {
+         parse_maxAmount:
+          DO_(::google::protobuf::internal::WireFormatLite::ReadString(
+                input, this->mutable_maxamount()));
+          ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+            this->maxamount().data(), this->maxamount().length(),
+            ::google::protobuf::internal::WireFormat::PARSE,
+            "maxamount");
+        } else {
+          goto handle_unusual;
+        }
+        if (input->ExpectTag(90)) goto parse_maxDailyAmount;
+        break;
+      }
+
+      // optional string maxDailyAmount = 11;
+      case 11: {
+        if (tag == 90) {
+         parse_maxDailyAmount:
+          DO_(::google::protobuf::internal::WireFormatLite::ReadString(
+                input, this->mutable_maxdailyamount()));
+          ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+            this->maxdailyamount().data(), this->maxdailyamount().length(),
+            ::google::protobuf::internal::WireFormat::PARSE,
+            "maxdailyamount");
         } else {
           goto handle_unusual;
         }
-        if (input->ExpectTag(50)) goto parse_content;
         if (input->ExpectAtEnd()) goto success;
         break;
       }
@@ -3796,14 +4264,9 @@ void Budget::SerializeWithCachedSizes(
     ::google::protobuf::internal::WireFormatLite::WriteUInt64(3, this->from(), output);
   }
 
-  // required string till = 4;
+  // optional uint64 till = 4;
   if (has_till()) {
-    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
-      this->till().data(), this->till().length(),
-      ::google::protobuf::internal::WireFormat::SERIALIZE,
-      "till");
-    ::google::protobuf::internal::WireFormatLite::WriteStringMaybeAliased(
-      4, this->till(), output);
+    ::google::protobuf::internal::WireFormatLite::WriteUInt64(4, this->till(), output);
   }
 
   // optional string coveredAccountId = 5;
@@ -3816,10 +4279,44 @@ void Budget::SerializeWithCachedSizes(
       5, this->coveredaccountid(), output);
   }
 
-  // repeated .com.adonai.wallet.sync.BudgetItem content = 6;
-  for (int i = 0; i < this->content_size(); i++) {
-    ::google::protobuf::internal::WireFormatLite::WriteMessageMaybeToArray(
-      6, this->content(i), output);
+  // optional uint64 flags = 7;
+  if (has_flags()) {
+    ::google::protobuf::internal::WireFormatLite::WriteUInt64(7, this->flags(), output);
+  }
+
+  // optional uint64 repeatTimeSeconds = 8;
+  if (has_repeattimeseconds()) {
+    ::google::protobuf::internal::WireFormatLite::WriteUInt64(8, this->repeattimeseconds(), output);
+  }
+
+  // optional string warningAmount = 9;
+  if (has_warningamount()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->warningamount().data(), this->warningamount().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "warningamount");
+    ::google::protobuf::internal::WireFormatLite::WriteStringMaybeAliased(
+      9, this->warningamount(), output);
+  }
+
+  // optional string maxAmount = 10;
+  if (has_maxamount()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->maxamount().data(), this->maxamount().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "maxamount");
+    ::google::protobuf::internal::WireFormatLite::WriteStringMaybeAliased(
+      10, this->maxamount(), output);
+  }
+
+  // optional string maxDailyAmount = 11;
+  if (has_maxdailyamount()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->maxdailyamount().data(), this->maxdailyamount().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "maxdailyamount");
+    ::google::protobuf::internal::WireFormatLite::WriteStringMaybeAliased(
+      11, this->maxdailyamount(), output);
   }
 
   if (!unknown_fields().empty()) {
@@ -3848,15 +4345,9 @@ void Budget::SerializeWithCachedSizes(
     target = ::google::protobuf::internal::WireFormatLite::WriteUInt64ToArray(3, this->from(), target);
   }
 
-  // required string till = 4;
+  // optional uint64 till = 4;
   if (has_till()) {
-    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
-      this->till().data(), this->till().length(),
-      ::google::protobuf::internal::WireFormat::SERIALIZE,
-      "till");
-    target =
-      ::google::protobuf::internal::WireFormatLite::WriteStringToArray(
-        4, this->till(), target);
+    target = ::google::protobuf::internal::WireFormatLite::WriteUInt64ToArray(4, this->till(), target);
   }
 
   // optional string coveredAccountId = 5;
@@ -3870,11 +4361,47 @@ void Budget::SerializeWithCachedSizes(
         5, this->coveredaccountid(), target);
   }
 
-  // repeated .com.adonai.wallet.sync.BudgetItem content = 6;
-  for (int i = 0; i < this->content_size(); i++) {
-    target = ::google::protobuf::internal::WireFormatLite::
-      WriteMessageNoVirtualToArray(
-        6, this->content(i), target);
+  // optional uint64 flags = 7;
+  if (has_flags()) {
+    target = ::google::protobuf::internal::WireFormatLite::WriteUInt64ToArray(7, this->flags(), target);
+  }
+
+  // optional uint64 repeatTimeSeconds = 8;
+  if (has_repeattimeseconds()) {
+    target = ::google::protobuf::internal::WireFormatLite::WriteUInt64ToArray(8, this->repeattimeseconds(), target);
+  }
+
+  // optional string warningAmount = 9;
+  if (has_warningamount()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->warningamount().data(), this->warningamount().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "warningamount");
+    target =
+      ::google::protobuf::internal::WireFormatLite::WriteStringToArray(
+        9, this->warningamount(), target);
+  }
+
+  // optional string maxAmount = 10;
+  if (has_maxamount()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->maxamount().data(), this->maxamount().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "maxamount");
+    target =
+      ::google::protobuf::internal::WireFormatLite::WriteStringToArray(
+        10, this->maxamount(), target);
+  }
+
+  // optional string maxDailyAmount = 11;
+  if (has_maxdailyamount()) {
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->maxdailyamount().data(), this->maxdailyamount().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "maxdailyamount");
+    target =
+      ::google::protobuf::internal::WireFormatLite::WriteStringToArray(
+        11, this->maxdailyamount(), target);
   }
 
   if (!unknown_fields().empty()) {
@@ -3903,10 +4430,10 @@ int Budget::ByteSize() const {
           this->from());
     }
 
-    // required string till = 4;
+    // optional uint64 till = 4;
     if (has_till()) {
       total_size += 1 +
-        ::google::protobuf::internal::WireFormatLite::StringSize(
+        ::google::protobuf::internal::WireFormatLite::UInt64Size(
           this->till());
     }
 
@@ -3917,15 +4444,44 @@ int Budget::ByteSize() const {
           this->coveredaccountid());
     }
 
+    // optional uint64 flags = 7;
+    if (has_flags()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::UInt64Size(
+          this->flags());
+    }
+
+    // optional uint64 repeatTimeSeconds = 8;
+    if (has_repeattimeseconds()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::UInt64Size(
+          this->repeattimeseconds());
+    }
+
+    // optional string warningAmount = 9;
+    if (has_warningamount()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::StringSize(
+          this->warningamount());
+    }
+
+    // optional string maxAmount = 10;
+    if (has_maxamount()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::StringSize(
+          this->maxamount());
+    }
+
   }
-  // repeated .com.adonai.wallet.sync.BudgetItem content = 6;
-  total_size += 1 * this->content_size();
-  for (int i = 0; i < this->content_size(); i++) {
-    total_size +=
-      ::google::protobuf::internal::WireFormatLite::MessageSizeNoVirtual(
-        this->content(i));
-  }
+  if (_has_bits_[8 / 32] & (0xffu << (8 % 32))) {
+    // optional string maxDailyAmount = 11;
+    if (has_maxdailyamount()) {
+      total_size += 1 +
+        ::google::protobuf::internal::WireFormatLite::StringSize(
+          this->maxdailyamount());
+    }
 
+  }
   if (!unknown_fields().empty()) {
     total_size +=
       ::google::protobuf::internal::WireFormat::ComputeUnknownFieldsSize(
@@ -3951,7 +4507,6 @@ void Budget::MergeFrom(const ::google::protobuf::Message& from) {
 
 void Budget::MergeFrom(const Budget& from) {
   GOOGLE_CHECK_NE(&from, this);
-  content_.MergeFrom(from.content_);
   if (from._has_bits_[0 / 32] & (0xffu << (0 % 32))) {
     if (from.has_name()) {
       set_name(from.name());
@@ -3965,6 +4520,23 @@ void Budget::MergeFrom(const Budget& from) {
     if (from.has_coveredaccountid()) {
       set_coveredaccountid(from.coveredaccountid());
     }
+    if (from.has_flags()) {
+      set_flags(from.flags());
+    }
+    if (from.has_repeattimeseconds()) {
+      set_repeattimeseconds(from.repeattimeseconds());
+    }
+    if (from.has_warningamount()) {
+      set_warningamount(from.warningamount());
+    }
+    if (from.has_maxamount()) {
+      set_maxamount(from.maxamount());
+    }
+  }
+  if (from._has_bits_[8 / 32] & (0xffu << (8 % 32))) {
+    if (from.has_maxdailyamount()) {
+      set_maxdailyamount(from.maxdailyamount());
+    }
   }
   mutable_unknown_fields()->MergeFrom(from.unknown_fields());
 }
@@ -3982,9 +4554,8 @@ void Budget::CopyFrom(const Budget& from) {
 }
 
 bool Budget::IsInitialized() const {
-  if ((_has_bits_[0] & 0x00000007) != 0x00000007) return false;
+  if ((_has_bits_[0] & 0x00000003) != 0x00000003) return false;
 
-  if (!::google::protobuf::internal::AllAreInitialized(this->content())) return false;
   return true;
 }
 
@@ -3994,7 +4565,11 @@ void Budget::Swap(Budget* other) {
     std::swap(from_, other->from_);
     std::swap(till_, other->till_);
     std::swap(coveredaccountid_, other->coveredaccountid_);
-    content_.Swap(&other->content_);
+    std::swap(flags_, other->flags_);
+    std::swap(repeattimeseconds_, other->repeattimeseconds_);
+    std::swap(warningamount_, other->warningamount_);
+    std::swap(maxamount_, other->maxamount_);
+    std::swap(maxdailyamount_, other->maxdailyamount_);
     std::swap(_has_bits_[0], other->_has_bits_[0]);
     _unknown_fields_.Swap(&other->_unknown_fields_);
     std::swap(_cached_size_, other->_cached_size_);
@@ -4039,7 +4614,7 @@ void BudgetItem::SharedCtor() {
   _cached_size_ = 0;
   parentbudgetid_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
   categoryid_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
-  maxamount_ = GOOGLE_ULONGLONG(0);
+  maxamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
 }
 
@@ -4055,6 +4630,9 @@ void BudgetItem::SharedDtor() {
   if (categoryid_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
     delete categoryid_;
   }
+  if (maxamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete maxamount_;
+  }
   if (this != default_instance_) {
   }
 }
@@ -4092,7 +4670,11 @@ void BudgetItem::Clear() {
         categoryid_->clear();
       }
     }
-    maxamount_ = GOOGLE_ULONGLONG(0);
+    if (has_maxamount()) {
+      if (maxamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+        maxamount_->clear();
+      }
+    }
   }
   ::memset(_has_bits_, 0, sizeof(_has_bits_));
   mutable_unknown_fields()->Clear();
@@ -4137,18 +4719,20 @@ bool BudgetItem::MergePartialFromCodedStream(
         } else {
           goto handle_unusual;
         }
-        if (input->ExpectTag(32)) goto parse_maxAmount;
+        if (input->ExpectTag(34)) goto parse_maxAmount;
         break;
       }
 
-      // required uint64 maxAmount = 4;
+      // optional string maxAmount = 4;
       case 4: {
-        if (tag == 32) {
+        if (tag == 34) {
          parse_maxAmount:
-          DO_((::google::protobuf::internal::WireFormatLite::ReadPrimitive<
-                   ::google::protobuf::uint64, ::google::protobuf::internal::WireFormatLite::TYPE_UINT64>(
-                 input, &maxamount_)));
-          set_has_maxamount();
+          DO_(::google::protobuf::internal::WireFormatLite::ReadString(
+                input, this->mutable_maxamount()));
+          ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+            this->maxamount().data(), this->maxamount().length(),
+            ::google::protobuf::internal::WireFormat::PARSE,
+            "maxamount");
         } else {
           goto handle_unusual;
         }
@@ -4201,9 +4785,14 @@ void BudgetItem::SerializeWithCachedSizes(
       3, this->categoryid(), output);
   }
 
-  // required uint64 maxAmount = 4;
+  // optional string maxAmount = 4;
   if (has_maxamount()) {
-    ::google::protobuf::internal::WireFormatLite::WriteUInt64(4, this->maxamount(), output);
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->maxamount().data(), this->maxamount().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "maxamount");
+    ::google::protobuf::internal::WireFormatLite::WriteStringMaybeAliased(
+      4, this->maxamount(), output);
   }
 
   if (!unknown_fields().empty()) {
@@ -4238,9 +4827,15 @@ void BudgetItem::SerializeWithCachedSizes(
         3, this->categoryid(), target);
   }
 
-  // required uint64 maxAmount = 4;
+  // optional string maxAmount = 4;
   if (has_maxamount()) {
-    target = ::google::protobuf::internal::WireFormatLite::WriteUInt64ToArray(4, this->maxamount(), target);
+    ::google::protobuf::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->maxamount().data(), this->maxamount().length(),
+      ::google::protobuf::internal::WireFormat::SERIALIZE,
+      "maxamount");
+    target =
+      ::google::protobuf::internal::WireFormatLite::WriteStringToArray(
+        4, this->maxamount(), target);
   }
 
   if (!unknown_fields().empty()) {
@@ -4269,10 +4864,10 @@ int BudgetItem::ByteSize() const {
           this->categoryid());
     }
 
-    // required uint64 maxAmount = 4;
+    // optional string maxAmount = 4;
     if (has_maxamount()) {
       total_size += 1 +
-        ::google::protobuf::internal::WireFormatLite::UInt64Size(
+        ::google::protobuf::internal::WireFormatLite::StringSize(
           this->maxamount());
     }
 
@@ -4329,7 +4924,7 @@ void BudgetItem::CopyFrom(const BudgetItem& from) {
 }
 
 bool BudgetItem::IsInitialized() const {
-  if ((_has_bits_[0] & 0x00000007) != 0x00000007) return false;
+  if ((_has_bits_[0] & 0x00000003) != 0x00000003) return false;
 
   return true;
 }
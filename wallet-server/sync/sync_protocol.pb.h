@@ -68,6 +68,26 @@ inline bool SyncRequest_SyncType_Parse(
   return ::google::protobuf::internal::ParseNamedEnum<SyncRequest_SyncType>(
     SyncRequest_SyncType_descriptor(), name, value);
 }
+enum SyncRequest_Capability {
+  SyncRequest_Capability_CHUNKED_ENTITIES = 1,
+  SyncRequest_Capability_PIPELINED = 2,
+  SyncRequest_Capability_BUDGETS = 3
+};
+bool SyncRequest_Capability_IsValid(int value);
+const SyncRequest_Capability SyncRequest_Capability_Capability_MIN = SyncRequest_Capability_CHUNKED_ENTITIES;
+const SyncRequest_Capability SyncRequest_Capability_Capability_MAX = SyncRequest_Capability_BUDGETS;
+const int SyncRequest_Capability_Capability_ARRAYSIZE = SyncRequest_Capability_Capability_MAX + 1;
+
+const ::google::protobuf::EnumDescriptor* SyncRequest_Capability_descriptor();
+inline const ::std::string& SyncRequest_Capability_Name(SyncRequest_Capability value) {
+  return ::google::protobuf::internal::NameOfEnum(
+    SyncRequest_Capability_descriptor(), value);
+}
+inline bool SyncRequest_Capability_Parse(
+    const ::std::string& name, SyncRequest_Capability* value) {
+  return ::google::protobuf::internal::ParseNamedEnum<SyncRequest_Capability>(
+    SyncRequest_Capability_descriptor(), name, value);
+}
 enum SyncResponse_SyncAck {
   SyncResponse_SyncAck_OK = 200,
   SyncResponse_SyncAck_ACCOUNT_EXISTS = 402,
@@ -167,6 +187,31 @@ class SyncRequest : public ::google::protobuf::Message {
     return SyncRequest_SyncType_Parse(name, value);
   }
 
+  typedef SyncRequest_Capability Capability;
+  static const Capability CHUNKED_ENTITIES = SyncRequest_Capability_CHUNKED_ENTITIES;
+  static const Capability PIPELINED = SyncRequest_Capability_PIPELINED;
+  static const Capability BUDGETS = SyncRequest_Capability_BUDGETS;
+  static inline bool Capability_IsValid(int value) {
+    return SyncRequest_Capability_IsValid(value);
+  }
+  static const Capability Capability_MIN =
+    SyncRequest_Capability_Capability_MIN;
+  static const Capability Capability_MAX =
+    SyncRequest_Capability_Capability_MAX;
+  static const int Capability_ARRAYSIZE =
+    SyncRequest_Capability_Capability_ARRAYSIZE;
+  static inline const ::google::protobuf::EnumDescriptor*
+  Capability_descriptor() {
+    return SyncRequest_Capability_descriptor();
+  }
+  static inline const ::std::string& Capability_Name(Capability value) {
+    return SyncRequest_Capability_Name(value);
+  }
+  static inline bool Capability_Parse(const ::std::string& name,
+      Capability* value) {
+    return SyncRequest_Capability_Parse(name, value);
+  }
+
   // accessors -------------------------------------------------------
 
   // required string account = 1;
@@ -200,6 +245,16 @@ class SyncRequest : public ::google::protobuf::Message {
   inline ::com::adonai::wallet::sync::SyncRequest_SyncType synctype() const;
   inline void set_synctype(::com::adonai::wallet::sync::SyncRequest_SyncType value);
 
+  // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;
+  inline int capabilities_size() const;
+  inline void clear_capabilities();
+  static const int kCapabilitiesFieldNumber = 4;
+  inline ::com::adonai::wallet::sync::SyncRequest_Capability capabilities(int index) const;
+  inline void set_capabilities(int index, ::com::adonai::wallet::sync::SyncRequest_Capability value);
+  inline void add_capabilities(::com::adonai::wallet::sync::SyncRequest_Capability value);
+  inline const ::google::protobuf::RepeatedField<int>& capabilities() const;
+  inline ::google::protobuf::RepeatedField<int>* mutable_capabilities();
+
   // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.SyncRequest)
  private:
   inline void set_has_account();
@@ -215,6 +270,7 @@ class SyncRequest : public ::google::protobuf::Message {
   mutable int _cached_size_;
   ::std::string* account_;
   ::std::string* password_;
+  ::google::protobuf::RepeatedField<int> capabilities_;
   int synctype_;
   friend void  protobuf_AddDesc_sync_5fprotocol_2eproto();
   friend void protobuf_AssignDesc_sync_5fprotocol_2eproto();
@@ -312,6 +368,16 @@ class SyncResponse : public ::google::protobuf::Message {
   inline ::com::adonai::wallet::sync::SyncResponse_SyncAck syncack() const;
   inline void set_syncack(::com::adonai::wallet::sync::SyncResponse_SyncAck value);
 
+  // repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;
+  inline int capabilities_size() const;
+  inline void clear_capabilities();
+  static const int kCapabilitiesFieldNumber = 2;
+  inline ::com::adonai::wallet::sync::SyncRequest_Capability capabilities(int index) const;
+  inline void set_capabilities(int index, ::com::adonai::wallet::sync::SyncRequest_Capability value);
+  inline void add_capabilities(::com::adonai::wallet::sync::SyncRequest_Capability value);
+  inline const ::google::protobuf::RepeatedField<int>& capabilities() const;
+  inline ::google::protobuf::RepeatedField<int>* mutable_capabilities();
+
   // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.SyncResponse)
  private:
   inline void set_has_syncack();
@@ -321,6 +387,7 @@ class SyncResponse : public ::google::protobuf::Message {
 
   ::google::protobuf::uint32 _has_bits_[1];
   mutable int _cached_size_;
+  ::google::protobuf::RepeatedField<int> capabilities_;
   int syncack_;
   friend void  protobuf_AddDesc_sync_5fprotocol_2eproto();
   friend void protobuf_AssignDesc_sync_5fprotocol_2eproto();
@@ -391,16 +458,26 @@ class EntityRequest : public ::google::protobuf::Message {
   inline ::google::protobuf::uint64 lastknownservertimestamp() const;
   inline void set_lastknownservertimestamp(::google::protobuf::uint64 value);
 
+  // optional uint32 chunkSize = 2;
+  inline bool has_chunksize() const;
+  inline void clear_chunksize();
+  static const int kChunkSizeFieldNumber = 2;
+  inline ::google::protobuf::uint32 chunksize() const;
+  inline void set_chunksize(::google::protobuf::uint32 value);
+
   // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.EntityRequest)
  private:
   inline void set_has_lastknownservertimestamp();
   inline void clear_has_lastknownservertimestamp();
+  inline void set_has_chunksize();
+  inline void clear_has_chunksize();
 
   ::google::protobuf::UnknownFieldSet _unknown_fields_;
 
   ::google::protobuf::uint32 _has_bits_[1];
   mutable int _cached_size_;
   ::google::protobuf::uint64 lastknownservertimestamp_;
+  ::google::protobuf::uint32 chunksize_;
   friend void  protobuf_AddDesc_sync_5fprotocol_2eproto();
   friend void protobuf_AssignDesc_sync_5fprotocol_2eproto();
   friend void protobuf_ShutdownFile_sync_5fprotocol_2eproto();
@@ -487,8 +564,22 @@ class EntityResponse : public ::google::protobuf::Message {
   inline ::google::protobuf::RepeatedPtrField< ::com::adonai::wallet::sync::Entity >*
       mutable_added();
 
+  // optional string continuation = 3;
+  inline bool has_continuation() const;
+  inline void clear_continuation();
+  static const int kContinuationFieldNumber = 3;
+  inline const ::std::string& continuation() const;
+  inline void set_continuation(const ::std::string& value);
+  inline void set_continuation(const char* value);
+  inline void set_continuation(const char* value, size_t size);
+  inline ::std::string* mutable_continuation();
+  inline ::std::string* release_continuation();
+  inline void set_allocated_continuation(::std::string* continuation);
+
   // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.EntityResponse)
  private:
+  inline void set_has_continuation();
+  inline void clear_has_continuation();
 
   ::google::protobuf::UnknownFieldSet _unknown_fields_;
 
@@ -496,6 +587,7 @@ class EntityResponse : public ::google::protobuf::Message {
   mutable int _cached_size_;
   ::google::protobuf::RepeatedPtrField< ::com::adonai::wallet::sync::Entity > modified_;
   ::google::protobuf::RepeatedPtrField< ::com::adonai::wallet::sync::Entity > added_;
+  ::std::string* continuation_;
   friend void  protobuf_AddDesc_sync_5fprotocol_2eproto();
   friend void protobuf_AssignDesc_sync_5fprotocol_2eproto();
   friend void protobuf_ShutdownFile_sync_5fprotocol_2eproto();
@@ -692,6 +784,22 @@ class Entity : public ::google::protobuf::Message {
   inline ::com::adonai::wallet::sync::Budget* release_budget();
   inline void set_allocated_budget(::com::adonai::wallet::sync::Budget* budget);
 
+  // optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;
+  inline bool has_budgetitem() const;
+  inline void clear_budgetitem();
+  static const int kBudgetItemFieldNumber = 7;
+  inline const ::com::adonai::wallet::sync::BudgetItem& budgetitem() const;
+  inline ::com::adonai::wallet::sync::BudgetItem* mutable_budgetitem();
+  inline ::com::adonai::wallet::sync::BudgetItem* release_budgetitem();
+  inline void set_allocated_budgetitem(::com::adonai::wallet::sync::BudgetItem* budgetitem);
+
+  // optional uint64 lastModified = 8;
+  inline bool has_lastmodified() const;
+  inline void clear_lastmodified();
+  static const int kLastModifiedFieldNumber = 8;
+  inline ::google::protobuf::uint64 lastmodified() const;
+  inline void set_lastmodified(::google::protobuf::uint64 value);
+
   // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.Entity)
  private:
   inline void set_has_id();
@@ -706,6 +814,10 @@ class Entity : public ::google::protobuf::Message {
   inline void clear_has_category();
   inline void set_has_budget();
   inline void clear_has_budget();
+  inline void set_has_budgetitem();
+  inline void clear_has_budgetitem();
+  inline void set_has_lastmodified();
+  inline void clear_has_lastmodified();
 
   ::google::protobuf::UnknownFieldSet _unknown_fields_;
 
@@ -716,6 +828,8 @@ class Entity : public ::google::protobuf::Message {
   ::com::adonai::wallet::sync::Operation* operation_;
   ::com::adonai::wallet::sync::Category* category_;
   ::com::adonai::wallet::sync::Budget* budget_;
+  ::com::adonai::wallet::sync::BudgetItem* budgetitem_;
+  ::google::protobuf::uint64 lastmodified_;
   bool deleted_;
   friend void  protobuf_AddDesc_sync_5fprotocol_2eproto();
   friend void protobuf_AssignDesc_sync_5fprotocol_2eproto();
@@ -1210,17 +1324,12 @@ class Budget : public ::google::protobuf::Message {
   inline ::google::protobuf::uint64 from() const;
   inline void set_from(::google::protobuf::uint64 value);
 
-  // required string till = 4;
+  // optional uint64 till = 4;
   inline bool has_till() const;
   inline void clear_till();
   static const int kTillFieldNumber = 4;
-  inline const ::std::string& till() const;
-  inline void set_till(const ::std::string& value);
-  inline void set_till(const char* value);
-  inline void set_till(const char* value, size_t size);
-  inline ::std::string* mutable_till();
-  inline ::std::string* release_till();
-  inline void set_allocated_till(::std::string* till);
+  inline ::google::protobuf::uint64 till() const;
+  inline void set_till(::google::protobuf::uint64 value);
 
   // optional string coveredAccountId = 5;
   inline bool has_coveredaccountid() const;
@@ -1234,17 +1343,55 @@ class Budget : public ::google::protobuf::Message {
   inline ::std::string* release_coveredaccountid();
   inline void set_allocated_coveredaccountid(::std::string* coveredaccountid);
 
-  // repeated .com.adonai.wallet.sync.BudgetItem content = 6;
-  inline int content_size() const;
-  inline void clear_content();
-  static const int kContentFieldNumber = 6;
-  inline const ::com::adonai::wallet::sync::BudgetItem& content(int index) const;
-  inline ::com::adonai::wallet::sync::BudgetItem* mutable_content(int index);
-  inline ::com::adonai::wallet::sync::BudgetItem* add_content();
-  inline const ::google::protobuf::RepeatedPtrField< ::com::adonai::wallet::sync::BudgetItem >&
-      content() const;
-  inline ::google::protobuf::RepeatedPtrField< ::com::adonai::wallet::sync::BudgetItem >*
-      mutable_content();
+  // optional uint64 flags = 7;
+  inline bool has_flags() const;
+  inline void clear_flags();
+  static const int kFlagsFieldNumber = 7;
+  inline ::google::protobuf::uint64 flags() const;
+  inline void set_flags(::google::protobuf::uint64 value);
+
+  // optional uint64 repeatTimeSeconds = 8;
+  inline bool has_repeattimeseconds() const;
+  inline void clear_repeattimeseconds();
+  static const int kRepeatTimeSecondsFieldNumber = 8;
+  inline ::google::protobuf::uint64 repeattimeseconds() const;
+  inline void set_repeattimeseconds(::google::protobuf::uint64 value);
+
+  // optional string warningAmount = 9;
+  inline bool has_warningamount() const;
+  inline void clear_warningamount();
+  static const int kWarningAmountFieldNumber = 9;
+  inline const ::std::string& warningamount() const;
+  inline void set_warningamount(const ::std::string& value);
+  inline void set_warningamount(const char* value);
+  inline void set_warningamount(const char* value, size_t size);
+  inline ::std::string* mutable_warningamount();
+  inline ::std::string* release_warningamount();
+  inline void set_allocated_warningamount(::std::string* warningamount);
+
+  // optional string maxAmount = 10;
+  inline bool has_maxamount() const;
+  inline void clear_maxamount();
+  static const int kMaxAmountFieldNumber = 10;
+  inline const ::std::string& maxamount() const;
+  inline void set_maxamount(const ::std::string& value);
+  inline void set_maxamount(const char* value);
+  inline void set_maxamount(const char* value, size_t size);
+  inline ::std::string* mutable_maxamount();
+  inline ::std::string* release_maxamount();
+  inline void set_allocated_maxamount(::std::string* maxamount);
+
+  // optional string maxDailyAmount = 11;
+  inline bool has_maxdailyamount() const;
+  inline void clear_maxdailyamount();
+  static const int kMaxDailyAmountFieldNumber = 11;
+  inline const ::std::string& maxdailyamount() const;
+  inline void set_maxdailyamount(const ::std::string& value);
+  inline void set_maxdailyamount(const char* value);
+  inline void set_maxdailyamount(const char* value, size_t size);
+  inline ::std::string* mutable_maxdailyamount();
+  inline ::std::string* release_maxdailyamount();
+  inline void set_allocated_maxdailyamount(::std::string* maxdailyamount);
 
   // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.Budget)
  private:
@@ -1256,6 +1403,16 @@ class Budget : public ::google::protobuf::Message {
   inline void clear_has_till();
   inline void set_has_coveredaccountid();
   inline void clear_has_coveredaccountid();
+  inline void set_has_flags();
+  inline void clear_has_flags();
+  inline void set_has_repeattimeseconds();
+  inline void clear_has_repeattimeseconds();
+  inline void set_has_warningamount();
+  inline void clear_has_warningamount();
+  inline void set_has_maxamount();
+  inline void clear_has_maxamount();
+  inline void set_has_maxdailyamount();
+  inline void clear_has_maxdailyamount();
 
   ::google::protobuf::UnknownFieldSet _unknown_fields_;
 
@@ -1263,9 +1420,13 @@ class Budget : public ::google::protobuf::Message {
   mutable int _cached_size_;
   ::std::string* name_;
   ::google::protobuf::uint64 from_;
-  ::std::string* till_;
+  ::google::protobuf::uint64 till_;
   ::std::string* coveredaccountid_;
-  ::google::protobuf::RepeatedPtrField< ::com::adonai::wallet::sync::BudgetItem > content_;
+  ::google::protobuf::uint64 flags_;
+  ::google::protobuf::uint64 repeattimeseconds_;
+  ::std::string* warningamount_;
+  ::std::string* maxamount_;
+  ::std::string* maxdailyamount_;
   friend void  protobuf_AddDesc_sync_5fprotocol_2eproto();
   friend void protobuf_AssignDesc_sync_5fprotocol_2eproto();
   friend void protobuf_ShutdownFile_sync_5fprotocol_2eproto();
@@ -1352,12 +1513,17 @@ class BudgetItem : public ::google::protobuf::Message {
   inline ::std::string* release_categoryid();
   inline void set_allocated_categoryid(::std::string* categoryid);
 
-  // required uint64 maxAmount = 4;
+  // optional string maxAmount = 4;
   inline bool has_maxamount() const;
   inline void clear_maxamount();
   static const int kMaxAmountFieldNumber = 4;
-  inline ::google::protobuf::uint64 maxamount() const;
-  inline void set_maxamount(::google::protobuf::uint64 value);
+  inline const ::std::string& maxamount() const;
+  inline void set_maxamount(const ::std::string& value);
+  inline void set_maxamount(const char* value);
+  inline void set_maxamount(const char* value, size_t size);
+  inline ::std::string* mutable_maxamount();
+  inline ::std::string* release_maxamount();
+  inline void set_allocated_maxamount(::std::string* maxamount);
 
   // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.BudgetItem)
  private:
@@ -1374,7 +1540,7 @@ class BudgetItem : public ::google::protobuf::Message {
   mutable int _cached_size_;
   ::std::string* parentbudgetid_;
   ::std::string* categoryid_;
-  ::google::protobuf::uint64 maxamount_;
+  ::std::string* maxamount_;
   friend void  protobuf_AddDesc_sync_5fprotocol_2eproto();
   friend void protobuf_AssignDesc_sync_5fprotocol_2eproto();
   friend void protobuf_ShutdownFile_sync_5fprotocol_2eproto();
@@ -1566,6 +1732,38 @@ inline void SyncRequest::set_synctype(::com::adonai::wallet::sync::SyncRequest_S
   // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.SyncRequest.syncType)
 }
 
+// repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;
+inline int SyncRequest::capabilities_size() const {
+  return capabilities_.size();
+}
+inline void SyncRequest::clear_capabilities() {
+  capabilities_.Clear();
+}
+inline ::com::adonai::wallet::sync::SyncRequest_Capability SyncRequest::capabilities(int index) const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.SyncRequest.capabilities)
+  return static_cast< ::com::adonai::wallet::sync::SyncRequest_Capability >(capabilities_.Get(index));
+}
+inline void SyncRequest::set_capabilities(int index, ::com::adonai::wallet::sync::SyncRequest_Capability value) {
+  assert(::com::adonai::wallet::sync::SyncRequest_Capability_IsValid(value));
+  capabilities_.Set(index, value);
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.SyncRequest.capabilities)
+}
+inline void SyncRequest::add_capabilities(::com::adonai::wallet::sync::SyncRequest_Capability value) {
+  assert(::com::adonai::wallet::sync::SyncRequest_Capability_IsValid(value));
+  capabilities_.Add(value);
+  // @@protoc_insertion_point(field_add:com.adonai.wallet.sync.SyncRequest.capabilities)
+}
+inline const ::google::protobuf::RepeatedField<int>&
+SyncRequest::capabilities() const {
+  // @@protoc_insertion_point(field_list:com.adonai.wallet.sync.SyncRequest.capabilities)
+  return capabilities_;
+}
+inline ::google::protobuf::RepeatedField<int>*
+SyncRequest::mutable_capabilities() {
+  // @@protoc_insertion_point(field_mutable_list:com.adonai.wallet.sync.SyncRequest.capabilities)
+  return &capabilities_;
+}
+
 // -------------------------------------------------------------------
 
 // SyncResponse
@@ -1595,6 +1793,38 @@ inline void SyncResponse::set_syncack(::com::adonai::wallet::sync::SyncResponse_
   // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.SyncResponse.syncAck)
 }
 
+// repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;
+inline int SyncResponse::capabilities_size() const {
+  return capabilities_.size();
+}
+inline void SyncResponse::clear_capabilities() {
+  capabilities_.Clear();
+}
+inline ::com::adonai::wallet::sync::SyncRequest_Capability SyncResponse::capabilities(int index) const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.SyncResponse.capabilities)
+  return static_cast< ::com::adonai::wallet::sync::SyncRequest_Capability >(capabilities_.Get(index));
+}
+inline void SyncResponse::set_capabilities(int index, ::com::adonai::wallet::sync::SyncRequest_Capability value) {
+  assert(::com::adonai::wallet::sync::SyncRequest_Capability_IsValid(value));
+  capabilities_.Set(index, value);
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.SyncResponse.capabilities)
+}
+inline void SyncResponse::add_capabilities(::com::adonai::wallet::sync::SyncRequest_Capability value) {
+  assert(::com::adonai::wallet::sync::SyncRequest_Capability_IsValid(value));
+  capabilities_.Add(value);
+  // @@protoc_insertion_point(field_add:com.adonai.wallet.sync.SyncResponse.capabilities)
+}
+inline const ::google::protobuf::RepeatedField<int>&
+SyncResponse::capabilities() const {
+  // @@protoc_insertion_point(field_list:com.adonai.wallet.sync.SyncResponse.capabilities)
+  return capabilities_;
+}
+inline ::google::protobuf::RepeatedField<int>*
+SyncResponse::mutable_capabilities() {
+  // @@protoc_insertion_point(field_mutable_list:com.adonai.wallet.sync.SyncResponse.capabilities)
+  return &capabilities_;
+}
+
 // -------------------------------------------------------------------
 
 // EntityRequest
@@ -1623,6 +1853,30 @@ inline void EntityRequest::set_lastknownservertimestamp(::google::protobuf::uint
   // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.EntityRequest.lastKnownServerTimestamp)
 }
 
+// optional uint32 chunkSize = 2;
+inline bool EntityRequest::has_chunksize() const {
+  return (_has_bits_[0] & 0x00000002u) != 0;
+}
+inline void EntityRequest::set_has_chunksize() {
+  _has_bits_[0] |= 0x00000002u;
+}
+inline void EntityRequest::clear_has_chunksize() {
+  _has_bits_[0] &= ~0x00000002u;
+}
+inline void EntityRequest::clear_chunksize() {
+  chunksize_ = 0u;
+  clear_has_chunksize();
+}
+inline ::google::protobuf::uint32 EntityRequest::chunksize() const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.EntityRequest.chunkSize)
+  return chunksize_;
+}
+inline void EntityRequest::set_chunksize(::google::protobuf::uint32 value) {
+  set_has_chunksize();
+  chunksize_ = value;
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.EntityRequest.chunkSize)
+}
+
 // -------------------------------------------------------------------
 
 // EntityResponse
@@ -1687,6 +1941,82 @@ EntityResponse::mutable_added() {
   return &added_;
 }
 
+// optional string continuation = 3;
+inline bool EntityResponse::has_continuation() const {
+  return (_has_bits_[0] & 0x00000004u) != 0;
+}
+inline void EntityResponse::set_has_continuation() {
+  _has_bits_[0] |= 0x00000004u;
+}
+inline void EntityResponse::clear_has_continuation() {
+  _has_bits_[0] &= ~0x00000004u;
+}
+inline void EntityResponse::clear_continuation() {
+  if (continuation_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    continuation_->clear();
+  }
+  clear_has_continuation();
+}
+inline const ::std::string& EntityResponse::continuation() const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.EntityResponse.continuation)
+  return *continuation_;
+}
+inline void EntityResponse::set_continuation(const ::std::string& value) {
+  set_has_continuation();
+  if (continuation_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    continuation_ = new ::std::string;
+  }
+  continuation_->assign(value);
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.EntityResponse.continuation)
+}
+inline void EntityResponse::set_continuation(const char* value) {
+  set_has_continuation();
+  if (continuation_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    continuation_ = new ::std::string;
+  }
+  continuation_->assign(value);
+  // @@protoc_insertion_point(field_set_char:com.adonai.wallet.sync.EntityResponse.continuation)
+}
+inline void EntityResponse::set_continuation(const char* value, size_t size) {
+  set_has_continuation();
+  if (continuation_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    continuation_ = new ::std::string;
+  }
+  continuation_->assign(reinterpret_cast<const char*>(value), size);
+  // @@protoc_insertion_point(field_set_pointer:com.adonai.wallet.sync.EntityResponse.continuation)
+}
+inline ::std::string* EntityResponse::mutable_continuation() {
+  set_has_continuation();
+  if (continuation_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    continuation_ = new ::std::string;
+  }
+  // @@protoc_insertion_point(field_mutable:com.adonai.wallet.sync.EntityResponse.continuation)
+  return continuation_;
+}
+inline ::std::string* EntityResponse::release_continuation() {
+  clear_has_continuation();
+  if (continuation_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    return NULL;
+  } else {
+    ::std::string* temp = continuation_;
+    continuation_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+    return temp;
+  }
+}
+inline void EntityResponse::set_allocated_continuation(::std::string* continuation) {
+  if (continuation_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete continuation_;
+  }
+  if (continuation) {
+    set_has_continuation();
+    continuation_ = continuation;
+  } else {
+    clear_has_continuation();
+    continuation_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+  }
+  // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.EntityResponse.continuation)
+}
+
 // -------------------------------------------------------------------
 
 // EntityAck
@@ -1983,6 +2313,71 @@ inline void Entity::set_allocated_budget(::com::adonai::wallet::sync::Budget* bu
   // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.Entity.budget)
 }
 
+// optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;
+inline bool Entity::has_budgetitem() const {
+  return (_has_bits_[0] & 0x00000040u) != 0;
+}
+inline void Entity::set_has_budgetitem() {
+  _has_bits_[0] |= 0x00000040u;
+}
+inline void Entity::clear_has_budgetitem() {
+  _has_bits_[0] &= ~0x00000040u;
+}
+inline void Entity::clear_budgetitem() {
+  if (budgetitem_ != NULL) budgetitem_->::com::adonai::wallet::sync::BudgetItem::Clear();
+  clear_has_budgetitem();
+}
+inline const ::com::adonai::wallet::sync::BudgetItem& Entity::budgetitem() const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.Entity.budgetItem)
+  return budgetitem_ != NULL ? *budgetitem_ : *default_instance_->budgetitem_;
+}
+inline ::com::adonai::wallet::sync::BudgetItem* Entity::mutable_budgetitem() {
+  set_has_budgetitem();
+  if (budgetitem_ == NULL) budgetitem_ = new ::com::adonai::wallet::sync::BudgetItem;
+  // @@protoc_insertion_point(field_mutable:com.adonai.wallet.sync.Entity.budgetItem)
+  return budgetitem_;
+}
+inline ::com::adonai::wallet::sync::BudgetItem* Entity::release_budgetitem() {
+  clear_has_budgetitem();
+  ::com::adonai::wallet::sync::BudgetItem* temp = budgetitem_;
+  budgetitem_ = NULL;
+  return temp;
+}
+inline void Entity::set_allocated_budgetitem(::com::adonai::wallet::sync::BudgetItem* budgetitem) {
+  delete budgetitem_;
+  budgetitem_ = budgetitem;
+  if (budgetitem) {
+    set_has_budgetitem();
+  } else {
+    clear_has_budgetitem();
+  }
+  // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.Entity.budgetItem)
+}
+
+// optional uint64 lastModified = 8;
+inline bool Entity::has_lastmodified() const {
+  return (_has_bits_[0] & 0x00000080u) != 0;
+}
+inline void Entity::set_has_lastmodified() {
+  _has_bits_[0] |= 0x00000080u;
+}
+inline void Entity::clear_has_lastmodified() {
+  _has_bits_[0] &= ~0x00000080u;
+}
+inline void Entity::clear_lastmodified() {
+  lastmodified_ = GOOGLE_ULONGLONG(0);
+  clear_has_lastmodified();
+}
+inline ::google::protobuf::uint64 Entity::lastmodified() const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.Entity.lastModified)
+  return lastmodified_;
+}
+inline void Entity::set_lastmodified(::google::protobuf::uint64 value) {
+  set_has_lastmodified();
+  lastmodified_ = value;
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.Entity.lastModified)
+}
+
 // -------------------------------------------------------------------
 
 // Account
@@ -3031,7 +3426,7 @@ inline void Budget::set_from(::google::protobuf::uint64 value) {
   // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.Budget.from)
 }
 
-// required string till = 4;
+// optional uint64 till = 4;
 inline bool Budget::has_till() const {
   return (_has_bits_[0] & 0x00000004u) != 0;
 }
@@ -3042,70 +3437,18 @@ inline void Budget::clear_has_till() {
   _has_bits_[0] &= ~0x00000004u;
 }
 inline void Budget::clear_till() {
-  if (till_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
-    till_->clear();
-  }
+  till_ = GOOGLE_ULONGLONG(0);
   clear_has_till();
 }
-inline const ::std::string& Budget::till() const {
+inline ::google::protobuf::uint64 Budget::till() const {
   // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.Budget.till)
-  return *till_;
+  return till_;
 }
-inline void Budget::set_till(const ::std::string& value) {
+inline void Budget::set_till(::google::protobuf::uint64 value) {
   set_has_till();
-  if (till_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
-    till_ = new ::std::string;
-  }
-  till_->assign(value);
+  till_ = value;
   // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.Budget.till)
 }
-inline void Budget::set_till(const char* value) {
-  set_has_till();
-  if (till_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
-    till_ = new ::std::string;
-  }
-  till_->assign(value);
-  // @@protoc_insertion_point(field_set_char:com.adonai.wallet.sync.Budget.till)
-}
-inline void Budget::set_till(const char* value, size_t size) {
-  set_has_till();
-  if (till_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
-    till_ = new ::std::string;
-  }
-  till_->assign(reinterpret_cast<const char*>(value), size);
-  // @@protoc_insertion_point(field_set_pointer:com.adonai.wallet.sync.Budget.till)
-}
-inline ::std::string* Budget::mutable_till() {
-  set_has_till();
-  if (till_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
-    till_ = new ::std::string;
-  }
-  // @@protoc_insertion_point(field_mutable:com.adonai.wallet.sync.Budget.till)
-  return till_;
-}
-inline ::std::string* Budget::release_till() {
-  clear_has_till();
-  if (till_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
-    return NULL;
-  } else {
-    ::std::string* temp = till_;
-    till_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
-    return temp;
-  }
-}
-inline void Budget::set_allocated_till(::std::string* till) {
-  if (till_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
-    delete till_;
-  }
-  if (till) {
-    set_has_till();
-    till_ = till;
-  } else {
-    clear_has_till();
-    till_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
-  }
-  // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.Budget.till)
-}
 
 // optional string coveredAccountId = 5;
 inline bool Budget::has_coveredaccountid() const {
@@ -3183,34 +3526,280 @@ inline void Budget::set_allocated_coveredaccountid(::std::string* coveredaccount
   // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.Budget.coveredAccountId)
 }
 
-// repeated .com.adonai.wallet.sync.BudgetItem content = 6;
-inline int Budget::content_size() const {
-  return content_.size();
+// optional uint64 flags = 7;
+inline bool Budget::has_flags() const {
+  return (_has_bits_[0] & 0x00000010u) != 0;
 }
-inline void Budget::clear_content() {
-  content_.Clear();
+inline void Budget::set_has_flags() {
+  _has_bits_[0] |= 0x00000010u;
+}
+inline void Budget::clear_has_flags() {
+  _has_bits_[0] &= ~0x00000010u;
+}
+inline void Budget::clear_flags() {
+  flags_ = GOOGLE_ULONGLONG(0);
+  clear_has_flags();
+}
+inline ::google::protobuf::uint64 Budget::flags() const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.Budget.flags)
+  return flags_;
+}
+inline void Budget::set_flags(::google::protobuf::uint64 value) {
+  set_has_flags();
+  flags_ = value;
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.Budget.flags)
+}
+
+// optional uint64 repeatTimeSeconds = 8;
+inline bool Budget::has_repeattimeseconds() const {
+  return (_has_bits_[0] & 0x00000020u) != 0;
+}
+inline void Budget::set_has_repeattimeseconds() {
+  _has_bits_[0] |= 0x00000020u;
+}
+inline void Budget::clear_has_repeattimeseconds() {
+  _has_bits_[0] &= ~0x00000020u;
+}
+inline void Budget::clear_repeattimeseconds() {
+  repeattimeseconds_ = GOOGLE_ULONGLONG(0);
+  clear_has_repeattimeseconds();
+}
+inline ::google::protobuf::uint64 Budget::repeattimeseconds() const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.Budget.repeatTimeSeconds)
+  return repeattimeseconds_;
+}
+inline void Budget::set_repeattimeseconds(::google::protobuf::uint64 value) {
+  set_has_repeattimeseconds();
+  repeattimeseconds_ = value;
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.Budget.repeatTimeSeconds)
+}
+
+// optional string warningAmount = 9;
+inline bool Budget::has_warningamount() const {
+  return (_has_bits_[0] & 0x00000040u) != 0;
+}
+inline void Budget::set_has_warningamount() {
+  _has_bits_[0] |= 0x00000040u;
+}
+inline void Budget::clear_has_warningamount() {
+  _has_bits_[0] &= ~0x00000040u;
+}
+inline void Budget::clear_warningamount() {
+  if (warningamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    warningamount_->clear();
+  }
+  clear_has_warningamount();
+}
+inline const ::std::string& Budget::warningamount() const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.Budget.warningAmount)
+  return *warningamount_;
+}
+inline void Budget::set_warningamount(const ::std::string& value) {
+  set_has_warningamount();
+  if (warningamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    warningamount_ = new ::std::string;
+  }
+  warningamount_->assign(value);
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.Budget.warningAmount)
+}
+inline void Budget::set_warningamount(const char* value) {
+  set_has_warningamount();
+  if (warningamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    warningamount_ = new ::std::string;
+  }
+  warningamount_->assign(value);
+  // @@protoc_insertion_point(field_set_char:com.adonai.wallet.sync.Budget.warningAmount)
+}
+inline void Budget::set_warningamount(const char* value, size_t size) {
+  set_has_warningamount();
+  if (warningamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    warningamount_ = new ::std::string;
+  }
+  warningamount_->assign(reinterpret_cast<const char*>(value), size);
+  // @@protoc_insertion_point(field_set_pointer:com.adonai.wallet.sync.Budget.warningAmount)
+}
+inline ::std::string* Budget::mutable_warningamount() {
+  set_has_warningamount();
+  if (warningamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    warningamount_ = new ::std::string;
+  }
+  // @@protoc_insertion_point(field_mutable:com.adonai.wallet.sync.Budget.warningAmount)
+  return warningamount_;
+}
+inline ::std::string* Budget::release_warningamount() {
+  clear_has_warningamount();
+  if (warningamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    return NULL;
+  } else {
+    ::std::string* temp = warningamount_;
+    warningamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+    return temp;
+  }
+}
+inline void Budget::set_allocated_warningamount(::std::string* warningamount) {
+  if (warningamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete warningamount_;
+  }
+  if (warningamount) {
+    set_has_warningamount();
+    warningamount_ = warningamount;
+  } else {
+    clear_has_warningamount();
+    warningamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+  }
+  // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.Budget.warningAmount)
+}
+
+// optional string maxAmount = 10;
+inline bool Budget::has_maxamount() const {
+  return (_has_bits_[0] & 0x00000080u) != 0;
+}
+inline void Budget::set_has_maxamount() {
+  _has_bits_[0] |= 0x00000080u;
+}
+inline void Budget::clear_has_maxamount() {
+  _has_bits_[0] &= ~0x00000080u;
+}
+inline void Budget::clear_maxamount() {
+  if (maxamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_->clear();
+  }
+  clear_has_maxamount();
+}
+inline const ::std::string& Budget::maxamount() const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.Budget.maxAmount)
+  return *maxamount_;
+}
+inline void Budget::set_maxamount(const ::std::string& value) {
+  set_has_maxamount();
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_ = new ::std::string;
+  }
+  maxamount_->assign(value);
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.Budget.maxAmount)
+}
+inline void Budget::set_maxamount(const char* value) {
+  set_has_maxamount();
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_ = new ::std::string;
+  }
+  maxamount_->assign(value);
+  // @@protoc_insertion_point(field_set_char:com.adonai.wallet.sync.Budget.maxAmount)
+}
+inline void Budget::set_maxamount(const char* value, size_t size) {
+  set_has_maxamount();
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_ = new ::std::string;
+  }
+  maxamount_->assign(reinterpret_cast<const char*>(value), size);
+  // @@protoc_insertion_point(field_set_pointer:com.adonai.wallet.sync.Budget.maxAmount)
+}
+inline ::std::string* Budget::mutable_maxamount() {
+  set_has_maxamount();
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_ = new ::std::string;
+  }
+  // @@protoc_insertion_point(field_mutable:com.adonai.wallet.sync.Budget.maxAmount)
+  return maxamount_;
+}
+inline ::std::string* Budget::release_maxamount() {
+  clear_has_maxamount();
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    return NULL;
+  } else {
+    ::std::string* temp = maxamount_;
+    maxamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+    return temp;
+  }
+}
+inline void Budget::set_allocated_maxamount(::std::string* maxamount) {
+  if (maxamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete maxamount_;
+  }
+  if (maxamount) {
+    set_has_maxamount();
+    maxamount_ = maxamount;
+  } else {
+    clear_has_maxamount();
+    maxamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+  }
+  // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.Budget.maxAmount)
 }
-inline const ::com::adonai::wallet::sync::BudgetItem& Budget::content(int index) const {
-  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.Budget.content)
-  return content_.Get(index);
+
+// optional string maxDailyAmount = 11;
+inline bool Budget::has_maxdailyamount() const {
+  return (_has_bits_[0] & 0x00000100u) != 0;
+}
+inline void Budget::set_has_maxdailyamount() {
+  _has_bits_[0] |= 0x00000100u;
+}
+inline void Budget::clear_has_maxdailyamount() {
+  _has_bits_[0] &= ~0x00000100u;
+}
+inline void Budget::clear_maxdailyamount() {
+  if (maxdailyamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxdailyamount_->clear();
+  }
+  clear_has_maxdailyamount();
 }
-inline ::com::adonai::wallet::sync::BudgetItem* Budget::mutable_content(int index) {
-  // @@protoc_insertion_point(field_mutable:com.adonai.wallet.sync.Budget.content)
-  return content_.Mutable(index);
+inline const ::std::string& Budget::maxdailyamount() const {
+  // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.Budget.maxDailyAmount)
+  return *maxdailyamount_;
 }
-inline ::com::adonai::wallet::sync::BudgetItem* Budget::add_content() {
-  // @@protoc_insertion_point(field_add:com.adonai.wallet.sync.Budget.content)
-  return content_.Add();
+inline void Budget::set_maxdailyamount(const ::std::string& value) {
+  set_has_maxdailyamount();
+  if (maxdailyamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxdailyamount_ = new ::std::string;
+  }
+  maxdailyamount_->assign(value);
+  // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.Budget.maxDailyAmount)
 }
-inline const ::google::protobuf::RepeatedPtrField< ::com::adonai::wallet::sync::BudgetItem >&
-Budget::content() const {
-  // @@protoc_insertion_point(field_list:com.adonai.wallet.sync.Budget.content)
-  return content_;
+inline void Budget::set_maxdailyamount(const char* value) {
+  set_has_maxdailyamount();
+  if (maxdailyamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxdailyamount_ = new ::std::string;
+  }
+  maxdailyamount_->assign(value);
+  // @@protoc_insertion_point(field_set_char:com.adonai.wallet.sync.Budget.maxDailyAmount)
 }
-inline ::google::protobuf::RepeatedPtrField< ::com::adonai::wallet::sync::BudgetItem >*
-Budget::mutable_content() {
-  // @@protoc_insertion_point(field_mutable_list:com.adonai.wallet.sync.Budget.content)
-  return &content_;
+inline void Budget::set_maxdailyamount(const char* value, size_t size) {
+  set_has_maxdailyamount();
+  if (maxdailyamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxdailyamount_ = new ::std::string;
+  }
+  maxdailyamount_->assign(reinterpret_cast<const char*>(value), size);
+  // @@protoc_insertion_point(field_set_pointer:com.adonai.wallet.sync.Budget.maxDailyAmount)
+}
+inline ::std::string* Budget::mutable_maxdailyamount() {
+  set_has_maxdailyamount();
+  if (maxdailyamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxdailyamount_ = new ::std::string;
+  }
+  // @@protoc_insertion_point(field_mutable:com.adonai.wallet.sync.Budget.maxDailyAmount)
+  return maxdailyamount_;
+}
+inline ::std::string* Budget::release_maxdailyamount() {
+  clear_has_maxdailyamount();
+  if (maxdailyamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    return NULL;
+  } else {
+    ::std::string* temp = maxdailyamount_;
+    maxdailyamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+    return temp;
+  }
+}
+inline void Budget::set_allocated_maxdailyamount(::std::string* maxdailyamount) {
+  if (maxdailyamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete maxdailyamount_;
+  }
+  if (maxdailyamount) {
+    set_has_maxdailyamount();
+    maxdailyamount_ = maxdailyamount;
+  } else {
+    clear_has_maxdailyamount();
+    maxdailyamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+  }
+  // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.Budget.maxDailyAmount)
 }
 
 // -------------------------------------------------------------------
@@ -3369,7 +3958,7 @@ inline void BudgetItem::set_allocated_categoryid(::std::string* categoryid) {
   // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.BudgetItem.categoryId)
 }
 
-// required uint64 maxAmount = 4;
+// optional string maxAmount = 4;
 inline bool BudgetItem::has_maxamount() const {
   return (_has_bits_[0] & 0x00000004u) != 0;
 }
@@ -3380,18 +3969,70 @@ inline void BudgetItem::clear_has_maxamount() {
   _has_bits_[0] &= ~0x00000004u;
 }
 inline void BudgetItem::clear_maxamount() {
-  maxamount_ = GOOGLE_ULONGLONG(0);
+  if (maxamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_->clear();
+  }
   clear_has_maxamount();
 }
-inline ::google::protobuf::uint64 BudgetItem::maxamount() const {
+inline const ::std::string& BudgetItem::maxamount() const {
   // @@protoc_insertion_point(field_get:com.adonai.wallet.sync.BudgetItem.maxAmount)
-  return maxamount_;
+  return *maxamount_;
 }
-inline void BudgetItem::set_maxamount(::google::protobuf::uint64 value) {
+inline void BudgetItem::set_maxamount(const ::std::string& value) {
   set_has_maxamount();
-  maxamount_ = value;
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_ = new ::std::string;
+  }
+  maxamount_->assign(value);
   // @@protoc_insertion_point(field_set:com.adonai.wallet.sync.BudgetItem.maxAmount)
 }
+inline void BudgetItem::set_maxamount(const char* value) {
+  set_has_maxamount();
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_ = new ::std::string;
+  }
+  maxamount_->assign(value);
+  // @@protoc_insertion_point(field_set_char:com.adonai.wallet.sync.BudgetItem.maxAmount)
+}
+inline void BudgetItem::set_maxamount(const char* value, size_t size) {
+  set_has_maxamount();
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_ = new ::std::string;
+  }
+  maxamount_->assign(reinterpret_cast<const char*>(value), size);
+  // @@protoc_insertion_point(field_set_pointer:com.adonai.wallet.sync.BudgetItem.maxAmount)
+}
+inline ::std::string* BudgetItem::mutable_maxamount() {
+  set_has_maxamount();
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    maxamount_ = new ::std::string;
+  }
+  // @@protoc_insertion_point(field_mutable:com.adonai.wallet.sync.BudgetItem.maxAmount)
+  return maxamount_;
+}
+inline ::std::string* BudgetItem::release_maxamount() {
+  clear_has_maxamount();
+  if (maxamount_ == &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    return NULL;
+  } else {
+    ::std::string* temp = maxamount_;
+    maxamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+    return temp;
+  }
+}
+inline void BudgetItem::set_allocated_maxamount(::std::string* maxamount) {
+  if (maxamount_ != &::google::protobuf::internal::GetEmptyStringAlreadyInited()) {
+    delete maxamount_;
+  }
+  if (maxamount) {
+    set_has_maxamount();
+    maxamount_ = maxamount;
+  } else {
+    clear_has_maxamount();
+    maxamount_ = const_cast< ::std::string*>(&::google::protobuf::internal::GetEmptyStringAlreadyInited());
+  }
+  // @@protoc_insertion_point(field_set_allocated:com.adonai.wallet.sync.BudgetItem.maxAmount)
+}
 
 
 // @@protoc_insertion_point(namespace_scope)
@@ -3410,6 +4051,11 @@ template <>
 inline const EnumDescriptor* GetEnumDescriptor< ::com::adonai::wallet::sync::SyncRequest_SyncType>() {
   return ::com::adonai::wallet::sync::SyncRequest_SyncType_descriptor();
 }
+template <> struct is_proto_enum< ::com::adonai::wallet::sync::SyncRequest_Capability> : ::google::protobuf::internal::true_type {};
+template <>
+inline const EnumDescriptor* GetEnumDescriptor< ::com::adonai::wallet::sync::SyncRequest_Capability>() {
+  return ::com::adonai::wallet::sync::SyncRequest_Capability_descriptor();
+}
 template <> struct is_proto_enum< ::com::adonai::wallet::sync::SyncResponse_SyncAck> : ::google::protobuf::internal::true_type {};
 template <>
 inline const EnumDescriptor* GetEnumDescriptor< ::com::adonai::wallet::sync::SyncResponse_SyncAck>() {
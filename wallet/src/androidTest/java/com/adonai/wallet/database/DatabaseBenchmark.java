@@ -0,0 +1,67 @@
+package com.adonai.wallet.database;
+
+import android.content.Context;
+import android.test.AndroidTestCase;
+import android.test.RenamingDelegatingContext;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+/**
+ * Base of benchmarks that need real SQLite. Each test gets fresh database in files prefixed
+ * with {@link #FILE_PREFIX}, so app data is not touched.
+ * <br/>
+ * Results are logged with benchmark class name as tag: run {@code gradlew connectedAndroidTest}
+ * and read them from logcat.
+ */
+public abstract class DatabaseBenchmark extends AndroidTestCase {
+
+    protected static final String FILE_PREFIX = "benchmark.";
+
+    protected final String TAG = getClass().getSimpleName();
+
+    protected Context mContext;
+    protected PersistManager mHelper;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mContext = new RenamingDelegatingContext(getContext(), FILE_PREFIX);
+        mHelper = new PersistManager(mContext);
+        mContext.deleteDatabase(mHelper.getDatabaseName()); // left by interrupted run
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        mHelper.close();
+        mContext.deleteDatabase(mHelper.getDatabaseName());
+        super.tearDown();
+    }
+
+    /**
+     * Runs measured code several times
+     * @param runs number of runs
+     * @param measured code to measure
+     * @return median time of one run, in milliseconds
+     */
+    protected static double medianMillis(int runs, Callable<?> measured) throws Exception {
+        final long[] nanos = new long[runs];
+        for (int i = 0; i < runs; ++i) {
+            final long started = System.nanoTime();
+            measured.call();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos[runs / 2] / 1000000.0;
+    }
+
+    protected static long millisSince(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1000000;
+    }
+
+    protected void report(String format, Object... args) {
+        Log.i(TAG, String.format(Locale.US, format, args));
+    }
+}
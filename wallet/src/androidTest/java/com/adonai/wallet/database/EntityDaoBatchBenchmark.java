@@ -0,0 +1,74 @@
+package com.adonai.wallet.database;
+
+import com.adonai.wallet.entities.Account;
+import com.adonai.wallet.entities.Category;
+import com.adonai.wallet.entities.Currency;
+import com.adonai.wallet.entities.Operation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Compares creating operations one by one with {@link EntityDao#createAll(java.util.Collection)}.
+ * Operation DAO has write hooks, so each single create runs its own transaction, as it does in the app
+ */
+public class EntityDaoBatchBenchmark extends DatabaseBenchmark {
+
+    private static final int ROWS = 10000;
+
+    private Category mCategory;
+    private Account mAccount;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        final Currency currency = new Currency("USD");
+        mHelper.getCurrencyDao().createIfNotExists(currency);
+
+        mCategory = new Category("Benchmark", Category.CategoryType.EXPENSE);
+        mHelper.getCategoryDao().create(mCategory);
+
+        mAccount = new Account();
+        mAccount.setName("Benchmark");
+        mAccount.setCurrency(currency);
+        mAccount.setAmount(BigDecimal.ZERO);
+        mHelper.getAccountDao().create(mAccount);
+    }
+
+    public void testSingleCreatesAgainstBatch() throws Exception {
+        final EntityDao<Operation> dao = mHelper.getEntityDao(Operation.class);
+
+        final List<Operation> singles = newOperations();
+        long started = System.nanoTime();
+        for (Operation operation : singles)
+            dao.create(operation);
+        final long singleMillis = millisSince(started);
+
+        final List<Operation> batch = newOperations();
+        started = System.nanoTime();
+        dao.createAll(batch);
+        final long batchMillis = millisSince(started);
+
+        report("%d operations: single creates %d ms (%.3f ms/row), createAll %d ms (%.3f ms/row), %.1fx",
+                ROWS, singleMillis, (double) singleMillis / ROWS, batchMillis, (double) batchMillis / ROWS,
+                (double) singleMillis / Math.max(batchMillis, 1));
+
+        assertEquals(2 * ROWS, dao.countOf());
+        assertTrue(batchMillis < singleMillis);
+    }
+
+    private List<Operation> newOperations() {
+        final List<Operation> operations = new ArrayList<>(ROWS);
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < ROWS; ++i) {
+            final Operation operation = new Operation(BigDecimal.valueOf(i % 10000 + 1, 2), mCategory);
+            operation.setTime(new Date(now - i * 60000L));
+            operation.setDescription("operation " + i);
+            operation.setOrderer(mAccount);
+            operations.add(operation);
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,74 @@
+package com.adonai.wallet.database;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import com.adonai.wallet.entities.Operation;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Compares SUM over amounts stored as text, as {@link BigDecimal} columns were before database version 10,
+ * with SUM over scaled integers written by {@link MoneyPersister}. Both tables get the same 1M amounts
+ */
+public class MoneySumBenchmark extends DatabaseBenchmark {
+
+    private static final int ROWS = 1000000;
+    private static final int CATEGORIES = 20;
+    private static final int RUNS = 5;
+
+    public void testSumOverTextAgainstScaledIntegers() throws Exception {
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        db.execSQL("CREATE TABLE amount_text (category INTEGER NOT NULL, amount VARCHAR NOT NULL)");
+        db.execSQL("CREATE TABLE amount_scaled (category INTEGER NOT NULL, amount BIGINT NOT NULL)");
+        db.execSQL("CREATE INDEX amount_text_category_idx ON amount_text (category)");
+        db.execSQL("CREATE INDEX amount_scaled_category_idx ON amount_scaled (category)");
+
+        final long started = System.nanoTime();
+        final SQLiteStatement text = db.compileStatement("INSERT INTO amount_text (category, amount) VALUES (?, ?)");
+        final SQLiteStatement scaled = db.compileStatement("INSERT INTO amount_scaled (category, amount) VALUES (?, ?)");
+        final Random random = new Random(42);
+        long expected = 0;
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < ROWS; ++i) {
+                final BigDecimal amount = BigDecimal.valueOf(random.nextInt(10000000), 2);
+                text.bindLong(1, i % CATEGORIES);
+                text.bindString(2, amount.toPlainString());
+                text.executeInsert();
+                scaled.bindLong(1, i % CATEGORIES);
+                scaled.bindLong(2, MoneyPersister.toMinorUnits(amount));
+                scaled.executeInsert();
+                expected += MoneyPersister.toMinorUnits(amount);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            text.close();
+            scaled.close();
+        }
+        report("seeded %d rows in %d ms", ROWS, millisSince(started));
+
+        final EntityDao<Operation> dao = mHelper.getEntityDao(Operation.class); // any DAO runs raw queries over its DB
+        assertEquals(expected, dao.queryRawValue("SELECT SUM(amount) FROM amount_scaled"));
+
+        final double textAll = medianMillis(RUNS, sum(dao, "SELECT SUM(amount) FROM amount_text"));
+        final double scaledAll = medianMillis(RUNS, sum(dao, "SELECT SUM(amount) FROM amount_scaled"));
+        final double textCategory = medianMillis(RUNS, sum(dao, "SELECT SUM(amount) FROM amount_text WHERE category = 7"));
+        final double scaledCategory = medianMillis(RUNS, sum(dao, "SELECT SUM(amount) FROM amount_scaled WHERE category = 7"));
+
+        report("SUM over %d rows: text %.1f ms, scaled integers %.1f ms", ROWS, textAll, scaledAll);
+        report("SUM over %d rows of one category: text %.1f ms, scaled integers %.1f ms", ROWS / CATEGORIES, textCategory, scaledCategory);
+    }
+
+    private static Callable<Long> sum(final EntityDao<Operation> dao, final String query) {
+        return new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return dao.queryRawValue(query);
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.adonai.wallet.database;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import com.adonai.wallet.entities.Account;
+import com.adonai.wallet.entities.Category;
+import com.adonai.wallet.entities.Currency;
+import com.adonai.wallet.entities.Entity;
+import com.adonai.wallet.entities.Operation;
+import com.j256.ormlite.android.AndroidDatabaseResults;
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.stmt.QueryBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Measures search by {@link OperationSearchIndex#matching} on 200k operations, the way operations list runs it:
+ * query is ordered by time, its row count is read and first row is built.
+ * Target is under 50 ms for each query
+ */
+public class OperationSearchBenchmark extends DatabaseBenchmark {
+
+    private static final int ROWS = 200000;
+    private static final int WORDS = 2000;
+    private static final int CATEGORIES = 20;
+    private static final int ACCOUNTS = 5;
+    private static final int RUNS = 5;
+    private static final double TARGET_MILLIS = 50;
+
+    private static final String[] SYLLABLES = {"ba", "ko", "mi", "ru", "te", "lo", "sa", "ni", "pe", "du",
+            "ga", "vo", "zi", "fu", "he", "jo", "ka", "li", "mo", "nu"};
+
+    public void testSearch() throws Exception {
+        seed();
+
+        // words of descriptions repeat about 300 times each, category names about 10000 times
+        search("single word", word(1234));
+        search("word prefix", word(1234).substring(0, 4));
+        search("two words", word(1234) + " " + word(77));
+        search("category name", "category " + word(3));
+        search("no match", "nothing");
+    }
+
+    private void search(String kind, final String text) throws Exception {
+        final EntityDao<Operation> dao = mHelper.getEntityDao(Operation.class);
+        final int[] found = new int[1];
+        final double millis = medianMillis(RUNS, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                final QueryBuilder<Operation, UUID> qb = dao.queryBuilder().orderBy("time", false);
+                OperationSearchIndex.matching(qb.where().eq("deleted", false).and(), text);
+                final CloseableIterator<Operation> cursor = dao.iterator(qb.prepare());
+                try {
+                    found[0] = ((AndroidDatabaseResults) cursor.getRawResults()).getCount();
+                    if (found[0] > 0)
+                        cursor.first();
+                } finally {
+                    cursor.closeQuietly();
+                }
+                return null;
+            }
+        });
+        report("search for %s \"%s\": %d operations found in %.1f ms", kind, text, found[0], millis);
+        assertTrue(kind + " search took " + millis + " ms", millis < TARGET_MILLIS);
+    }
+
+    /**
+     * Inserts operations with SQL, bypassing DAO hooks, then indexes them all at once as migration does
+     */
+    private void seed() throws Exception {
+        final Currency currency = new Currency("USD");
+        mHelper.getCurrencyDao().createIfNotExists(currency);
+        final UUID[] categories = new UUID[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; ++i) {
+            final Category category = new Category("category " + word(i), Category.CategoryType.EXPENSE);
+            mHelper.getCategoryDao().create(category);
+            categories[i] = category.getId();
+        }
+        final UUID[] accounts = new UUID[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; ++i) {
+            final Account account = new Account();
+            account.setName("account " + word(i));
+            account.setCurrency(currency);
+            account.setAmount(BigDecimal.ZERO);
+            mHelper.getAccountDao().create(account);
+            accounts[i] = account.getId();
+        }
+
+        final long started = System.nanoTime();
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final SQLiteStatement insert = db.compileStatement("INSERT INTO operation (_id, time, amount, category_id, description, orderer_id, deleted, sync_state)" +
+                " VALUES (?, ?, ?, ?, ?, ?, 0, " + Entity.SyncState.NEW.ordinal() + ")");
+        final Random random = new Random(42);
+        final long now = System.currentTimeMillis();
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < ROWS; ++i) {
+                insert.bindBlob(1, UuidPersister.toBytes(UUID.randomUUID()));
+                insert.bindLong(2, now - i * 60000L);
+                insert.bindLong(3, random.nextInt(10000000));
+                insert.bindBlob(4, UuidPersister.toBytes(categories[random.nextInt(CATEGORIES)]));
+                insert.bindString(5, word(random.nextInt(WORDS)) + " " + word(random.nextInt(WORDS)) + " " + word(random.nextInt(WORDS)));
+                insert.bindBlob(6, UuidPersister.toBytes(accounts[random.nextInt(ACCOUNTS)]));
+                insert.executeInsert();
+            }
+            OperationSearchIndex.createTables(db);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+        report("seeded and indexed %d operations in %d ms", ROWS, millisSince(started));
+    }
+
+    /**
+     * @return distinct word made of three syllables for each number below 8000
+     */
+    private static String word(int number) {
+        return SYLLABLES[number % 20] + SYLLABLES[number / 20 % 20] + SYLLABLES[number / 400 % 20];
+    }
+}
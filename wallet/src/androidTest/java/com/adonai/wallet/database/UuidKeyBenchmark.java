@@ -0,0 +1,146 @@
+package com.adonai.wallet.database;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Compares operation table with IDs stored as 36-character strings, as they were before database version 11,
+ * with IDs stored as 16-byte blobs by {@link UuidPersister}: database file size and time of lookup by primary key.
+ * Both databases get the same 500k operations and the same indexes
+ */
+public class UuidKeyBenchmark extends DatabaseBenchmark {
+
+    private static final int ROWS = 500000;
+    private static final int CATEGORIES = 50;
+    private static final int ACCOUNTS = 10;
+    private static final int LOOKUP_EVERY = 50; // every 50th operation is looked up, 10k lookups
+    private static final int RUNS = 5;
+
+    private static final String TEXT_DB = "uuid_text.db";
+    private static final String BLOB_DB = "uuid_blob.db";
+
+    private static final String[] INDEXES = {
+            "CREATE INDEX operation_time_idx ON operation (time)",
+            "CREATE INDEX operation_category_time_idx ON operation (category_id, time)",
+            "CREATE INDEX operation_orderer_time_idx ON operation (orderer_id, time)",
+            "CREATE INDEX operation_beneficiar_time_idx ON operation (beneficiar_id, time)",
+            "CREATE INDEX operation_last_modified_idx ON operation (last_modified)",
+            "CREATE INDEX operation_sync_state_idx ON operation (sync_state)"
+    };
+
+    @Override
+    protected void tearDown() throws Exception {
+        mContext.deleteDatabase(TEXT_DB);
+        mContext.deleteDatabase(BLOB_DB);
+        super.tearDown();
+    }
+
+    public void testTextKeysAgainstBlobKeys() throws Exception {
+        final List<UUID> lookedUp = new ArrayList<>(ROWS / LOOKUP_EVERY);
+        final long textBytes = seed(TEXT_DB, "VARCHAR", lookedUp);
+        final long blobBytes = seed(BLOB_DB, "BLOB", new ArrayList<UUID>());
+        report("DB file with %d operations: text IDs %.1f MB (%d bytes/row), blob IDs %.1f MB (%d bytes/row)",
+                ROWS, textBytes / 1048576.0, textBytes / ROWS, blobBytes / 1048576.0, blobBytes / ROWS);
+
+        final double textMillis = lookup(TEXT_DB, false, lookedUp);
+        final double blobMillis = lookup(BLOB_DB, true, lookedUp);
+        report("%d lookups by ID: text IDs %.1f ms (%.1f us each), blob IDs %.1f ms (%.1f us each)",
+                lookedUp.size(), textMillis, textMillis * 1000 / lookedUp.size(), blobMillis, blobMillis * 1000 / lookedUp.size());
+
+        assertTrue(blobBytes < textBytes);
+    }
+
+    /**
+     * Creates database with operation table keyed by IDs of specified type and fills it.
+     * Same random seed gives same rows for both types
+     * @return size of database file in bytes
+     */
+    private long seed(String name, String idType, List<UUID> lookedUp) {
+        mContext.deleteDatabase(name);
+        final SQLiteDatabase db = mContext.openOrCreateDatabase(name, 0, null);
+        final boolean blob = idType.equals("BLOB");
+        final long started = System.nanoTime();
+        try {
+            db.execSQL("CREATE TABLE operation (_id " + idType + " PRIMARY KEY, time BIGINT NOT NULL, amount BIGINT NOT NULL, " +
+                    "category_id " + idType + " NOT NULL, description VARCHAR, orderer_id " + idType + ", beneficiar_id " + idType + ", " +
+                    "deleted SMALLINT NOT NULL, last_modified BIGINT, sync_state INTEGER NOT NULL)");
+            for (String index : INDEXES)
+                db.execSQL(index);
+
+            final Random random = new Random(42);
+            final UUID[] categories = randomIds(random, CATEGORIES);
+            final UUID[] accounts = randomIds(random, ACCOUNTS);
+            final long now = System.currentTimeMillis();
+            final SQLiteStatement insert = db.compileStatement("INSERT INTO operation (_id, time, amount, category_id, description, orderer_id, deleted, last_modified, sync_state)" +
+                    " VALUES (?, ?, ?, ?, ?, ?, 0, ?, 0)");
+            db.beginTransaction();
+            try {
+                for (int i = 0; i < ROWS; ++i) {
+                    final UUID id = new UUID(random.nextLong(), random.nextLong());
+                    if (i % LOOKUP_EVERY == 0)
+                        lookedUp.add(id);
+                    bindId(insert, 1, id, blob);
+                    insert.bindLong(2, now - i * 60000L);
+                    insert.bindLong(3, random.nextInt(10000000));
+                    bindId(insert, 4, categories[random.nextInt(CATEGORIES)], blob);
+                    insert.bindString(5, "operation " + i);
+                    bindId(insert, 6, accounts[random.nextInt(ACCOUNTS)], blob);
+                    insert.bindLong(7, now);
+                    insert.executeInsert();
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                insert.close();
+            }
+        } finally {
+            db.close();
+        }
+        report("seeded %s in %d ms", name, millisSince(started));
+        return mContext.getDatabasePath(name).length();
+    }
+
+    /**
+     * @return median time of looking up all specified operations by ID, in milliseconds
+     */
+    private double lookup(String name, final boolean blob, final List<UUID> ids) throws Exception {
+        final SQLiteDatabase db = mContext.openOrCreateDatabase(name, 0, null);
+        final SQLiteStatement select = db.compileStatement("SELECT time FROM operation WHERE _id = ?");
+        try {
+            return medianMillis(RUNS, new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    long sum = 0;
+                    for (UUID id : ids) {
+                        bindId(select, 1, id, blob);
+                        sum += select.simpleQueryForLong();
+                    }
+                    return sum;
+                }
+            });
+        } finally {
+            select.close();
+            db.close();
+        }
+    }
+
+    private static UUID[] randomIds(Random random, int count) {
+        final UUID[] ids = new UUID[count];
+        for (int i = 0; i < count; ++i)
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+        return ids;
+    }
+
+    private static void bindId(SQLiteStatement statement, int index, UUID id, boolean blob) {
+        if (blob)
+            statement.bindBlob(index, UuidPersister.toBytes(id));
+        else
+            statement.bindString(index, id.toString());
+    }
+}
@@ -107,11 +107,12 @@ public class AccountDialogFragment extends WalletBaseDialogFragment implements D
 
         Account tmp;
         if(getArguments() != null && getArguments().containsKey(ACCOUNT_REFERENCE))  { // modifying existing account
-            tmp = DbProvider.getHelper().getAccountDao().queryForId(UUID.fromString(getArguments().getString(ACCOUNT_REFERENCE)));
+            // edit a copy, cached account is shared with lists and pending writes until this one is written
+            tmp = DbProvider.getHelper().getEntityDao(Account.class).queryDetached(UUID.fromString(getArguments().getString(ACCOUNT_REFERENCE)));
         } else // creating new
             tmp = new Account();
         fillAccountFieldsFromGUI(tmp);
-        DbProvider.getHelper().getAccountDao().createOrUpdate(tmp);
+        DbProvider.getHelper().getWriteExecutor().createOrUpdate(DbProvider.getHelper().getAccountDao(), tmp);
     }
 
     public class ColorSpinnerAdapter extends ArrayAdapter<String> implements SpinnerAdapter {
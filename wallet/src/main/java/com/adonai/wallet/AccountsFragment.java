@@ -23,11 +23,11 @@ import android.widget.ListView;
 import android.widget.TextView;
 
 import com.adonai.wallet.database.AbstractAsyncLoader;
+import com.adonai.wallet.database.ChangeSet;
 import com.adonai.wallet.database.DbProvider;
 import com.adonai.wallet.database.EntityDao;
 import com.adonai.wallet.entities.Account;
 import com.adonai.wallet.adapters.UUIDCursorAdapter;
-import com.j256.ormlite.android.AndroidDatabaseResults;
 
 import java.sql.SQLException;
 import java.util.Arrays;
@@ -97,8 +97,7 @@ public class AccountsFragment extends WalletBaseListFragment {
                 view = convertView;
 
             try {
-                ((AndroidDatabaseResults) mCursor.getRawResults()).moveAbsolute(position);
-                Account acc = mCursor.current();
+                Account acc = getRow(position);
 
                 final int accColor = acc.getColor();
                 final float[] rounds = new float[8];
@@ -184,6 +183,11 @@ public class AccountsFragment extends WalletBaseListFragment {
                     return new AccountsAdapter();
                 }
 
+                @Override
+                protected boolean onRowsChanged(ChangeSet changes) {
+                    return changes.isUpdateOnly() && mData.patchRows(changes.getUpdated());
+                }
+
                 @Override
                 protected void onForceLoad() {
                     if(mData != null) { // close old adapter before loading new one
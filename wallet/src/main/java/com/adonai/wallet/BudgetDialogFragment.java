@@ -150,7 +150,7 @@ public class BudgetDialogFragment extends WalletBaseDialogFragment implements Vi
                 tmp.setMaxDailyAmount(null);
             }
 
-            DbProvider.getHelper().getBudgetDao().createOrUpdate(tmp);
+            DbProvider.getHelper().getWriteExecutor().createOrUpdate(DbProvider.getHelper().getBudgetDao(), tmp);
             dismiss();
         } catch (IllegalArgumentException iae) {
             Toast.makeText(getWalletActivity(), iae.getMessage(), Toast.LENGTH_SHORT).show();
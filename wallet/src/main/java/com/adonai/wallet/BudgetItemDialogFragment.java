@@ -95,14 +95,14 @@ public class BudgetItemDialogFragment extends WalletBaseDialogFragment implement
             BudgetItem bi = DbProvider.getHelper().getBudgetItemDao().queryForId(UUID.fromString(getArguments().getString(BUDGET_ITEM_REFERENCE)));
             bi.setMaxAmount(amount);
             bi.setCategory(DbProvider.getHelper().getCategoryDao().queryForId(mCategoryAdapter.getItemUUID(mCategorySelector.getSelectedItemPosition())));
-            DbProvider.getHelper().getBudgetItemDao().update(bi);
+            DbProvider.getHelper().getWriteExecutor().update(DbProvider.getHelper().getBudgetItemDao(), bi);
             dismiss();
         } else { // new budget item
             Budget budget = DbProvider.getHelper().getBudgetDao().queryForId(UUID.fromString(getArguments().getString(BUDGET_REFERENCE)));
             final BudgetItem tempBudget = new BudgetItem(budget);
             tempBudget.setMaxAmount(amount);
             tempBudget.setCategory(DbProvider.getHelper().getCategoryDao().queryForId(mCategoryAdapter.getItemUUID(mCategorySelector.getSelectedItemPosition())));
-            DbProvider.getHelper().getBudgetItemDao().create(tempBudget);
+            DbProvider.getHelper().getWriteExecutor().create(DbProvider.getHelper().getBudgetItemDao(), tempBudget);
             dismiss();
         }
     }
@@ -17,6 +17,7 @@ import android.widget.AdapterView;
 import android.widget.ListView;
 
 import com.adonai.wallet.database.AbstractAsyncLoader;
+import com.adonai.wallet.database.ChangeSet;
 import com.adonai.wallet.database.DbProvider;
 import com.adonai.wallet.database.EntityDao;
 import com.adonai.wallet.entities.Account;
@@ -89,8 +90,7 @@ public class BudgetsFragment extends WalletBaseListFragment {
                 view = (BudgetView) convertView;
 
             try {
-                mCursor.first();
-                final Budget forView = mCursor.moveRelative(position);
+                final Budget forView = getRow(position);
                 view.setBudget(forView);
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -147,6 +147,12 @@ public class BudgetsFragment extends WalletBaseListFragment {
                     return new BudgetsAdapter();
                 }
 
+                @Override
+                protected boolean onRowsChanged(ChangeSet changes) {
+                    // budget item changes alter expanded views and amounts, reload in that case
+                    return changes.getEntityClass() == Budget.class && changes.isUpdateOnly() && mData.patchRows(changes.getUpdated());
+                }
+
                 @Override
                 protected void onForceLoad() {
                     if(mData != null) { // close old adapter before loading new one
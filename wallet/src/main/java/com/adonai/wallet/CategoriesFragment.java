@@ -27,7 +27,6 @@ import com.adonai.wallet.database.EntityDao;
 import com.adonai.wallet.entities.Account;
 import com.adonai.wallet.entities.Category;
 import com.adonai.wallet.adapters.UUIDCursorAdapter;
-import com.j256.ormlite.android.AndroidDatabaseResults;
 
 import java.sql.SQLException;
 import java.util.UUID;
@@ -140,8 +139,7 @@ public class CategoriesFragment extends WalletBaseListFragment {
                 view = convertView;
 
             try {
-                ((AndroidDatabaseResults) mCursor.getRawResults()).moveAbsolute(position);
-                Category cat = mCursor.current();
+                Category cat = getRow(position);
 
                 final TextView name = (TextView) view.findViewById(android.R.id.text1);
                 name.setText(cat.getName());
@@ -194,7 +192,7 @@ public class CategoriesFragment extends WalletBaseListFragment {
                     break;
                 case 1: // delete
                     final UUID categoryId = adapter.getItemUUID(mItemPosition);
-                    DbProvider.getHelper().getCategoryDao().deleteById(categoryId);
+                    DbProvider.getHelper().getWriteExecutor().deleteById(DbProvider.getHelper().getCategoryDao(), categoryId);
                     break;
             }
         }
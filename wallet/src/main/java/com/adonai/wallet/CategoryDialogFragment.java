@@ -100,7 +100,8 @@ public class CategoryDialogFragment extends WalletBaseDialogFragment implements
     public void onClick(DialogInterface dialog, int which) {
         Category tmp;
         if(getArguments() != null && getArguments().containsKey(CATEGORY_REFERENCE)) { // modifying existing category
-            tmp = DbProvider.getHelper().getCategoryDao().queryForId(UUID.fromString(getArguments().getString(CATEGORY_REFERENCE)));
+            // edit a copy, cached category is shared with lists and pending writes until this one is written
+            tmp = DbProvider.getHelper().getEntityDao(Category.class).queryDetached(UUID.fromString(getArguments().getString(CATEGORY_REFERENCE)));
         } else {
             tmp = new Category();
         }
@@ -112,7 +113,7 @@ public class CategoryDialogFragment extends WalletBaseDialogFragment implements
         } else if (tmp.getPreferredAccount() != null) {
             tmp.setPreferredAccount(null);
         }
-        DbProvider.getHelper().getCategoryDao().createOrUpdate(tmp);
+        DbProvider.getHelper().getWriteExecutor().createOrUpdate(DbProvider.getHelper().getCategoryDao(), tmp);
         dismiss();
     }
 
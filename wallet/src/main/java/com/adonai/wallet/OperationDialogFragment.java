@@ -19,6 +19,7 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.adonai.wallet.database.DbProvider;
+import com.adonai.wallet.database.WriteExecutor;
 import com.adonai.wallet.entities.Account;
 import com.adonai.wallet.entities.Category;
 import com.adonai.wallet.entities.Operation;
@@ -27,10 +28,10 @@ import com.adonai.wallet.adapters.UUIDSpinnerAdapter;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 import static com.adonai.wallet.CategoriesFragment.CategoriesAdapter;
 import static com.adonai.wallet.Utils.getValue;
@@ -285,27 +286,33 @@ public class OperationDialogFragment extends WalletBaseDialogFragment implements
 
     @Override
     public void onClick(DialogInterface dialog, int which) {
-        try {
+        try { // fields are read and checked here, DB is written in background
+            final WriteExecutor writer = DbProvider.getHelper().getWriteExecutor();
             if (getArguments() != null && getArguments().containsKey(OPERATION_REFERENCE)) { // operation is already applied, need to revert it and re-apply again
-                UUID revertId = UUID.fromString(getArguments().getString(OPERATION_REFERENCE));
-                Operation revertOp = DbProvider.getHelper().getOperationDao().queryForId(revertId);
-                if (Operation.revertOperation(revertOp)) { // revert original one and apply ours
-                    fillOperationFields(revertOp);
-                    Operation.applyOperation(revertOp);
-                    dismiss();
-                }
-                else
-                    throw new IllegalStateException("Cannot reapply operation!"); // should never happen!!
+                final UUID revertId = UUID.fromString(getArguments().getString(OPERATION_REFERENCE));
+                final Operation revertOp = DbProvider.getHelper().getOperationDao().queryForId(revertId);
+                final Operation reapplyOp = DbProvider.getHelper().getOperationDao().queryForId(revertId); // to be filled while original is kept for revert
+                fillOperationFields(reapplyOp);
+                writer.submit("reapply operation", new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        if (!Operation.revertOperation(revertOp)) // revert original one and apply ours
+                            throw new IllegalStateException("Cannot reapply operation!"); // should never happen!!
+                        reapplyOp.setBackup(revertOp.getBackup()); // revert backs up synced version, keep it
+                        return Operation.applyOperation(reapplyOp);
+                    }
+                });
             } else { // create new operation with data from fields specified
-                Operation toCreate = new Operation();
+                final Operation toCreate = new Operation();
                 fillOperationFields(toCreate);
-                if (Operation.applyOperation(toCreate)) // all succeeded
-                    dismiss();
-                else
-                    throw new IllegalStateException("Cannot apply operation!"); // should never happen!!
+                writer.submit("apply operation", new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        return Operation.applyOperation(toCreate);
+                    }
+                });
             }
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+            dismiss();
         } catch (IllegalArgumentException ex) {
             Toast.makeText(getWalletActivity(), ex.getMessage(), Toast.LENGTH_SHORT).show();
         }
@@ -1,5 +1,6 @@
 package com.adonai.wallet;
 
+import android.app.Activity;
 import android.app.AlertDialog;
 import android.content.BroadcastReceiver;
 import android.content.Context;
@@ -23,20 +24,22 @@ import android.widget.AdapterView;
 import android.widget.ListView;
 
 import com.adonai.wallet.database.AbstractAsyncLoader;
+import com.adonai.wallet.database.ChangeSet;
 import com.adonai.wallet.database.DbProvider;
 import com.adonai.wallet.database.EntityDao;
 import com.adonai.wallet.entities.Account;
 import com.adonai.wallet.entities.Operation;
 import com.adonai.wallet.adapters.UUIDCursorAdapter;
 import com.adonai.wallet.view.OperationView;
-import com.j256.ormlite.android.AndroidDatabaseResults;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.QueryBuilder;
 
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 import static com.adonai.wallet.WalletBaseFilterFragment.FilterType;
 
@@ -92,7 +95,7 @@ public class OperationsFragment extends WalletBaseListFragment {
             case R.id.operation_filter:
                 // form filtering map
                 Map<String, Pair<FilterType, String>> allowedToFilter = new HashMap<>(3);
-                allowedToFilter.put(getString(R.string.description), Pair.create(FilterType.TEXT, "description"));
+                allowedToFilter.put(getString(R.string.description), Pair.create(FilterType.FULL_TEXT, "description"));
                 allowedToFilter.put(getString(R.string.amount), Pair.create(FilterType.AMOUNT, "amount"));
                 allowedToFilter.put(getString(R.string.category), Pair.create(FilterType.FOREIGN_ID, "category"));
                 allowedToFilter.put(getString(R.string.date), Pair.create(FilterType.DATE, "time"));
@@ -109,9 +112,21 @@ public class OperationsFragment extends WalletBaseListFragment {
     }
 
     private class OperationsAdapter extends UUIDCursorAdapter<Operation> implements WalletBaseFilterFragment.FilterCursorListener<Operation> {
+
+        private static final int BOUND_ROWS_TRACKED = 64;
+
+        // recently shown rows, needed to check whether updated operation keeps its place in time ordering
+        private final Map<UUID, Operation> mBoundRows = new LinkedHashMap<UUID, Operation>(BOUND_ROWS_TRACKED, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Operation> eldest) {
+                return size() > BOUND_ROWS_TRACKED;
+            }
+        };
+
         public OperationsAdapter() {
+            // unfiltered list has no lower time bound, so it reaches archived operations too
             super(getActivity(), Operation.class,
-                    DbProvider.getHelper().getEntityDao(Operation.class).queryBuilder().orderBy("time", false));
+                    DbProvider.getHelper().getHistoryDao(Operation.class, null).queryBuilder().orderBy("time", false));
         }
 
         @Override
@@ -125,8 +140,8 @@ public class OperationsFragment extends WalletBaseListFragment {
                 view = (OperationView) convertView;
 
             try {
-                ((AndroidDatabaseResults) mCursor.getRawResults()).moveAbsolute(position);
-                Operation op = mCursor.current();
+                Operation op = getRow(position);
+                mBoundRows.put(op.getId(), op);
                 view.setOperation(op);
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -135,6 +150,15 @@ public class OperationsFragment extends WalletBaseListFragment {
             return view;
         }
 
+        @Override
+        protected boolean isPositionKept(Operation fresh) {
+            if(isListFiltered) // updated row may not match filter anymore
+                return false;
+
+            final Operation shown = mBoundRows.get(fresh.getId());
+            return shown != null && shown.getTime().equals(fresh.getTime());
+        }
+
         @Override
         public void onFilterCompleted(QueryBuilder<Operation, UUID> qBuilder) {
             setQuery(qBuilder);
@@ -147,9 +171,7 @@ public class OperationsFragment extends WalletBaseListFragment {
         public void setQuery(QueryBuilder<Operation, UUID> qBuilder) {
             try {
                 qBuilder.orderBy("time", false);
-                mQuery = qBuilder.prepare();
-                mCursor = mDao.iterator(mQuery);
-                notifyDataSetChanged();
+                setQuery(qBuilder.prepare());
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
@@ -180,24 +202,53 @@ public class OperationsFragment extends WalletBaseListFragment {
         }
 
         @Override
-        public void onClick(DialogInterface dialog, int which) {
-            try {
-                OperationsAdapter adapter = (OperationsAdapter) mEntityList.getAdapter();
-                final UUID opID = adapter.getItemUUID(mItemPosition);
-                final Operation operation = DbProvider.getHelper().getOperationDao().queryForId(opID);
-                switch (which) {
-                    case 0: // modify
-                        OperationDialogFragment.forOperation(operation.getId().toString()).show(getFragmentManager(), "opModify");
-                        break;
-                    case 1: // delete
-                        mOperationDeleter.handleRemoveAttempt(operation);
-                        break;
-                    case 2: // cancel operation
-                        Operation.revertOperation(operation);
-                        break;
+        public void onClick(DialogInterface dialog, final int which) {
+            OperationsAdapter adapter = (OperationsAdapter) mEntityList.getAdapter();
+            final UUID opID = adapter.getItemUUID(mItemPosition);
+            final Operation operation = DbProvider.getHelper().getOperationDao().queryForId(opID);
+            if(operation != null) {
+                handleChoice(which, operation);
+                return;
+            }
+
+            // shown from archive, move it back on writer thread to change it, then continue here
+            final Activity activity = getActivity();
+            DbProvider.getHelper().getWriteExecutor().submit("restore archived operation", new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    final Operation restored = DbProvider.getHelper().getOperationArchive().restore(opID);
+                    if(restored == null)
+                        throw new IllegalStateException("Operation is neither in list nor in archive");
+
+                    activity.runOnUiThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            if(isAdded())
+                                handleChoice(which, restored);
+                        }
+                    });
+                    return null;
                 }
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
+            });
+        }
+
+        private void handleChoice(int which, Operation operation) {
+            switch (which) {
+                case 0: // modify
+                    OperationDialogFragment.forOperation(operation.getId().toString()).show(getFragmentManager(), "opModify");
+                    break;
+                case 1: // delete
+                    mOperationDeleter.handleRemoveAttempt(operation);
+                    break;
+                case 2: // cancel operation
+                    final Operation toRevert = operation;
+                    DbProvider.getHelper().getWriteExecutor().submit("revert operation", new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() throws Exception {
+                            return Operation.revertOperation(toRevert);
+                        }
+                    });
+                    break;
             }
         }
     }
@@ -234,10 +285,16 @@ public class OperationsFragment extends WalletBaseListFragment {
                     if(!isStarted()) // task was cancelled
                         return null;
 
-                    // check the DB for accounts
+                    // foreign fields of each operation are resolved from cache then
+                    DbProvider.getHelper().preloadReferences();
                     return new OperationsAdapter();
                 }
 
+                @Override
+                protected boolean onRowsChanged(ChangeSet changes) {
+                    return changes.isUpdateOnly() && mData.patchRows(changes.getUpdated());
+                }
+
                 @Override
                 protected void onForceLoad() {
                     if(mData != null) { // close old adapter before loading new one
@@ -13,20 +13,16 @@ import android.widget.SpinnerAdapter;
 
 import com.adonai.wallet.adapters.WithDefaultAdapter;
 import com.adonai.wallet.database.DbProvider;
-import com.adonai.wallet.database.EntityDao;
+import com.adonai.wallet.database.MoneyPersister;
+import com.adonai.wallet.database.OperationRollup;
 import com.adonai.wallet.entities.Account;
 import com.adonai.wallet.entities.Category;
-import com.adonai.wallet.entities.Operation;
-import com.j256.ormlite.stmt.QueryBuilder;
-import com.j256.ormlite.stmt.Where;
 
-import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -87,113 +83,75 @@ public class StatisticsShowFragment extends Fragment {
 
     private void fillOperationsByTime(Account acc, Category cat) {
         // get list of operations for last 3 months
-        try {
-            Calendar last3Months = Calendar.getInstance();
-            last3Months.setLenient(true);
-            last3Months.set(Calendar.DATE, last3Months.get(Calendar.DATE) - 90);
-            
-            EntityDao<Operation> dao = DbProvider.getHelper().getDao(Operation.class);
-            QueryBuilder<Operation, UUID> qb = dao.queryBuilder().orderBy("time", true);
-            Where<Operation, UUID> whereExpense = qb.where().ge("time", last3Months.getTime());
-            Where<Operation, UUID> whereBeneficiar = dao.queryBuilder().where().ge("time", last3Months.getTime());
-            if(acc != null) {
-                whereExpense.and().eq("orderer_id", acc).and().isNull("beneficiar_id");
-                whereBeneficiar.and().eq("beneficiar_id", acc).and().isNull("orderer_id");
-            } else {
-                whereExpense.and().isNotNull("orderer_id").and().isNull("beneficiar_id");
-                whereBeneficiar.and().isNotNull("beneficiar_id").and().isNull("orderer_id");
-            }
-            if(cat != null) {
-                whereExpense.and().eq("category_id", cat);
-                whereBeneficiar.and().eq("category_id", cat);
-            }
-
-            qb.setWhere(whereExpense);
-            List<Operation> expenseOperations = qb.query();
-
-            qb.setWhere(whereBeneficiar);
-            List<Operation> benefitOperations = qb.query();
-            
-            // fill array of points
-            List<PointValue> expensePoints = new ArrayList<>(expenseOperations.size());
-            Map<Long, Float> expensesByDay = new LinkedHashMap<>();
-            for(Operation op : expenseOperations) {
-                Long day = floorToDay(op.getTime());
-                if(expensesByDay.containsKey(day)) {
-                    expensesByDay.put(day, expensesByDay.get(day) + op.getAmount().floatValue());
-                } else {
-                    expensesByDay.put(day, op.getAmount().floatValue());
-                }
-            }
-            
-            for(Long key : expensesByDay.keySet()) {
-                expensePoints.add(new PointValue(key, expensesByDay.get(key)));
-            }
-
-            List<PointValue> benefitPoints = new ArrayList<>(benefitOperations.size());
-            Map<Long, Float> benefitsByDay = new LinkedHashMap<>();
-            for(Operation op : benefitOperations) {
-                Long day = floorToDay(op.getTime());
-                if(benefitsByDay.containsKey(day)) {
-                    benefitsByDay.put(day, benefitsByDay.get(day) + op.getAmount().floatValue());
-                } else {
-                    benefitsByDay.put(day, op.getAmount().floatValue());
-                }
-            }
+        Calendar last3Months = Calendar.getInstance();
+        last3Months.setLenient(true);
+        last3Months.set(Calendar.DATE, last3Months.get(Calendar.DATE) - 90);
+        
+        // daily sums are read from rollup instead of loading every operation
+        final OperationRollup rollup = DbProvider.getHelper().getOperationRollup();
+        final long firstDay = OperationRollup.dayStart(last3Months.getTimeInMillis());
+        final UUID accId = acc != null ? acc.getId() : null;
+        final UUID catId = cat != null ? cat.getId() : null;
+        final Map<Long, Long> expensesByDay = rollup.daily(catId, accId, OperationRollup.Direction.OUTCOME, firstDay);
+        final Map<Long, Long> benefitsByDay = rollup.daily(catId, accId, OperationRollup.Direction.INCOME, firstDay);
+
+        // fill array of points
+        List<PointValue> expensePoints = new ArrayList<>(expensesByDay.size());
+        for(Map.Entry<Long, Long> day : expensesByDay.entrySet()) {
+            expensePoints.add(new PointValue(day.getKey(), MoneyPersister.fromMinorUnits(day.getValue()).floatValue()));
+        }
 
-            for(Long key : benefitsByDay.keySet()) {
-                benefitPoints.add(new PointValue(key, benefitsByDay.get(key)));
-            }
-            
-            // obtaining list of lines
-            Line expenses = new Line(expensePoints).setColor(getResources().getColor(R.color.red_amount))
-                    .setHasLabelsOnlyForSelected(true);
-            Line benefits = new Line(benefitPoints).setColor(getResources().getColor(R.color.green_amount))
-                    .setHasLabelsOnlyForSelected(true);
-            List<Line> lines = new ArrayList<>();
-            lines.add(expenses);
-            lines.add(benefits);
-
-            LineChartData lcd = new LineChartData(lines).setBaseValue(0);
-
-            float start, stop;
-            if(expenseOperations.size() < 2) {
-                start = last3Months.getTimeInMillis();
-                stop = System.currentTimeMillis();
-            } else {
-                start = expenseOperations.get(0).getTime().getTime();
-                stop = expenseOperations.get(expenseOperations.size() - 1).getTime().getTime();
-            }
-            
-            // fill initial zeroes
-            expensePoints.add(0, new PointValue(start, 0));
-            benefitPoints.add(0, new PointValue(start, 0));
-            
-            Axis xAxis = Axis.generateAxisFromRange(start, stop, TimeUnit.DAYS.toMillis(1))
-                .setName(getString(R.string.time))
-                    .setHasTiltedLabels(true)
-                    .setTextColor(Color.BLACK)
-                    .setMaxLabelChars(6);
-            xAxis.setFormatter(new SimpleAxisValueFormatter() {
-                private SimpleDateFormat sdf = new SimpleDateFormat("d MMM", Locale.getDefault());
-
-                @Override
-                public int formatValueForManualAxis(char[] chars, AxisValue axisValue) {
-                    char[] str = sdf.format(new Date((long) axisValue.getValue())).toCharArray();
-                    System.arraycopy(str, 0, chars, chars.length - str.length, str.length);
-                    return str.length;
-                }
-            });
-            Axis yAxis = new Axis().setName(getString(R.string.amount))
-                    .setTextColor(Color.BLACK)
-                    .setMaxLabelChars(6);
-            lcd.setAxisYLeft(yAxis);
-            lcd.setAxisXBottom(xAxis);
-            
-            mChart.setLineChartData(lcd);
-        } catch (SQLException e) {
-            e.printStackTrace();
+        List<PointValue> benefitPoints = new ArrayList<>(benefitsByDay.size());
+        for(Map.Entry<Long, Long> day : benefitsByDay.entrySet()) {
+            benefitPoints.add(new PointValue(day.getKey(), MoneyPersister.fromMinorUnits(day.getValue()).floatValue()));
+        }
+        
+        // obtaining list of lines
+        Line expenses = new Line(expensePoints).setColor(getResources().getColor(R.color.red_amount))
+                .setHasLabelsOnlyForSelected(true);
+        Line benefits = new Line(benefitPoints).setColor(getResources().getColor(R.color.green_amount))
+                .setHasLabelsOnlyForSelected(true);
+        List<Line> lines = new ArrayList<>();
+        lines.add(expenses);
+        lines.add(benefits);
+
+        LineChartData lcd = new LineChartData(lines).setBaseValue(0);
+
+        float start, stop;
+        if(expensePoints.size() < 2) {
+            start = last3Months.getTimeInMillis();
+            stop = System.currentTimeMillis();
+        } else {
+            start = expensePoints.get(0).getX();
+            stop = expensePoints.get(expensePoints.size() - 1).getX();
         }
+        
+        // fill initial zeroes
+        expensePoints.add(0, new PointValue(start, 0));
+        benefitPoints.add(0, new PointValue(start, 0));
+        
+        Axis xAxis = Axis.generateAxisFromRange(start, stop, TimeUnit.DAYS.toMillis(1))
+            .setName(getString(R.string.time))
+                .setHasTiltedLabels(true)
+                .setTextColor(Color.BLACK)
+                .setMaxLabelChars(6);
+        xAxis.setFormatter(new SimpleAxisValueFormatter() {
+            private SimpleDateFormat sdf = new SimpleDateFormat("d MMM", Locale.getDefault());
+
+            @Override
+            public int formatValueForManualAxis(char[] chars, AxisValue axisValue) {
+                char[] str = sdf.format(new Date((long) axisValue.getValue())).toCharArray();
+                System.arraycopy(str, 0, chars, chars.length - str.length, str.length);
+                return str.length;
+            }
+        });
+        Axis yAxis = new Axis().setName(getString(R.string.amount))
+                .setTextColor(Color.BLACK)
+                .setMaxLabelChars(6);
+        lcd.setAxisYLeft(yAxis);
+        lcd.setAxisXBottom(xAxis);
+        
+        mChart.setLineChartData(lcd);
     }
 
     private class SelectListener implements AdapterView.OnItemSelectedListener {
@@ -209,14 +167,4 @@ public class StatisticsShowFragment extends Fragment {
 
         }
     }
-
-    private long floorToDay(Date date) {
-        Calendar current = Calendar.getInstance();
-        current.setTime(date);
-        current.set(Calendar.HOUR, 0);
-        current.set(Calendar.MINUTE, 0);
-        current.set(Calendar.SECOND, 0);
-        current.set(Calendar.MILLISECOND, 0);
-        return current.getTimeInMillis();
-    }
 }
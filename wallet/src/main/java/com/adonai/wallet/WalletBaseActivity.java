@@ -69,23 +69,8 @@ public class WalletBaseActivity extends AppCompatActivity {
                 case AUTH_DENIED:
                     mProgressDialog.hide();
                     return true;
-                case ACC_REQ_SENT:
-                    mProgressDialog.setMessage(getString(R.string.account_request_sent));
-                    return true;
-                case ACC_REQ_ACK:
-                    mProgressDialog.setMessage(getString(R.string.account_response_received));
-                    return true;
-                case CAT_REQ_SENT:
-                    mProgressDialog.setMessage(getString(R.string.category_request_sent));
-                    return true;
-                case CAT_REQ_ACK:
-                    mProgressDialog.setMessage(getString(R.string.category_response_received));
-                    return true;
-                case OP_REQ_SENT:
-                    mProgressDialog.setMessage(getString(R.string.operation_request_sent));
-                    return true;
-                case OP_REQ_ACK:
-                    mProgressDialog.setMessage(getString(R.string.operation_response_received));
+                case ENTITY_REQ_ACK:
+                    mProgressDialog.setMessage(getString(R.string.entity_response_received));
                     return true;
             }
             return false;
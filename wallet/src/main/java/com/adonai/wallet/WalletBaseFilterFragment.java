@@ -19,6 +19,7 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.adonai.wallet.database.DbProvider;
+import com.adonai.wallet.database.OperationSearchIndex;
 import com.adonai.wallet.entities.Entity;
 import com.adonai.wallet.adapters.UUIDArrayAdapter;
 import com.j256.ormlite.stmt.QueryBuilder;
@@ -37,7 +38,7 @@ import static android.view.WindowManager.LayoutParams;
 
 /**
  * Convenient fragment for filtering any entity list.
- * Supports amounts, test equality, date after/before, foreign fields (retrieved as list).
+ * Supports amounts, test equality, full-text search, date after/before, foreign fields (retrieved as list).
  * <br/>
  * For now used only for operation filtering
  *
@@ -50,6 +51,8 @@ public class WalletBaseFilterFragment<T extends Entity> extends WalletBaseDialog
     public enum FilterType {
         AMOUNT,
         TEXT,
+        /** words of operation description, category or account names, by {@link OperationSearchIndex} */
+        FULL_TEXT,
         DATE,
         FOREIGN_ID
     }
@@ -166,9 +169,10 @@ public class WalletBaseFilterFragment<T extends Entity> extends WalletBaseDialog
                         numberInput.setTag(filterType.second);
                         break;
                     }
-                    case TEXT: {
+                    case TEXT:
+                    case FULL_TEXT: {
                         final TextView equalSign = new TextView(getActivity());
-                        equalSign.setText("=");
+                        equalSign.setText(filterType.first == FilterType.TEXT ? "=" : "~");
                         equalSign.setGravity(Gravity.CENTER);
                         final EditText textInput = new EditText(getActivity());
                         textInput.setInputType(InputType.TYPE_CLASS_TEXT);
@@ -226,7 +230,8 @@ public class WalletBaseFilterFragment<T extends Entity> extends WalletBaseDialog
     }
 
     public QueryBuilder<T, UUID> getFilterCursor() throws SQLException {
-        final QueryBuilder<T, UUID> qb = DbProvider.getHelper().getEntityDao(mEntityClass).queryBuilder();
+        // archived entities are reached only if filtered range needs them
+        final QueryBuilder<T, UUID> qb = DbProvider.getHelper().getHistoryDao(mEntityClass, getLowerDateBound()).queryBuilder();
         final Where<T, UUID> where = qb.where();
         int andClauseNum = 0;
 
@@ -262,6 +267,12 @@ public class WalletBaseFilterFragment<T extends Entity> extends WalletBaseDialog
                     }
                     break;
                 }
+                case FULL_TEXT: {
+                    final EditText textInput = (EditText) filterLayout.getChildAt(2);
+                    if (OperationSearchIndex.matching(where, textInput.getText().toString()) != null)
+                        andClauseNum++;
+                    break;
+                }
                 case DATE: {
                     final Spinner signSelector = (Spinner) filterLayout.getChildAt(1);
                     final EditText timeInput = (EditText) filterLayout.getChildAt(2);
@@ -298,4 +309,27 @@ public class WalletBaseFilterFragment<T extends Entity> extends WalletBaseDialog
 
         return qb;
     }
+
+    /**
+     * @return latest of "after" dates set in filters, null if there are none
+     */
+    private Date getLowerDateBound() {
+        Date bound = null;
+        for(int i = 0; i < mFiltersRoot.getChildCount(); ++i) {
+            final LinearLayout filterLayout = (LinearLayout) mFiltersRoot.getChildAt(i);
+            final Spinner typeSelector = (Spinner) filterLayout.getChildAt(0);
+            if(mAllowedToFilter.get(typeSelector.getSelectedItem().toString()).first != FilterType.DATE)
+                continue;
+
+            final Spinner signSelector = (Spinner) filterLayout.getChildAt(1);
+            final EditText timeInput = (EditText) filterLayout.getChildAt(2);
+            if(timeInput.getText().length() == 0 || !">".equals(signSelector.getSelectedItem().toString()))
+                continue;
+
+            final Date date = new Date(((DatePickerListener) timeInput.getOnFocusChangeListener()).getCalendar().getTimeInMillis());
+            if(bound == null || date.after(bound))
+                bound = date;
+        }
+        return bound;
+    }
 }
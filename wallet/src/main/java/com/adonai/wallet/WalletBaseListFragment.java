@@ -12,7 +12,6 @@ import com.adonai.wallet.database.DbProvider;
 import com.adonai.wallet.database.EntityDao;
 import com.adonai.wallet.entities.Entity;
 
-import java.sql.SQLException;
 
 import static com.adonai.wallet.WalletPreferencesFragment.ASK_FOR_DELETE;
 
@@ -59,11 +58,8 @@ public abstract class WalletBaseListFragment extends Fragment {
 
         @SuppressWarnings("unchecked")
         protected <T extends Entity> void deleteItem(T entity) {
-            try {
-                ((EntityDao) DbProvider.getHelper().getDao(entity.getClass())).delete(entity);
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
+            final EntityDao<T> dao = (EntityDao<T>) DbProvider.getHelper().getDao(entity.getClass());
+            DbProvider.getHelper().getWriteExecutor().delete(dao, entity);
         }
     }
 
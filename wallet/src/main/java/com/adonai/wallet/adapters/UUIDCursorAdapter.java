@@ -13,6 +13,9 @@ import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.stmt.Where;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -25,12 +28,19 @@ import java.util.UUID;
  */
 public abstract class UUIDCursorAdapter<T extends Entity> extends BaseAdapter {
 
+    /**
+     * Rows are re-read on the main thread, so only small updates are patched in place, bigger ones are re-queried
+     */
+    public static final int MAX_PATCHED_ROWS = 8;
+
     protected final EntityDao<T> mDao;
     protected final Activity mContext;
 
     protected PreparedQuery<T> mQuery = null;
     protected CloseableIterator<T> mCursor;
 
+    private final Map<UUID, T> mPatchedRows = new HashMap<>(); // fresh versions of rows updated after query
+
     private final Where<T, UUID> defaultWhere;
 
     public UUIDCursorAdapter(Activity context, Class<T> clazz) {
@@ -85,13 +95,66 @@ public abstract class UUIDCursorAdapter<T extends Entity> extends BaseAdapter {
     @Override
     public T getItem(int position) {
         try {
-            ((AndroidDatabaseResults) mCursor.getRawResults()).moveAbsolute(position);
-            return mCursor.current();
+            return getRow(position);
         } catch (SQLException e) {
             return null;
         }
     }
 
+    /**
+     * Retrieves entity at specified position, taking rows patched after query into account
+     * @param position position of row in the cursor
+     * @return entity for this row
+     * @see #patchRows(Collection)
+     */
+    protected T getRow(int position) throws SQLException {
+        ((AndroidDatabaseResults) mCursor.getRawResults()).moveAbsolute(position);
+        final T entity = mCursor.current();
+        if(entity == null || mPatchedRows.isEmpty())
+            return entity;
+
+        final T patched = mPatchedRows.get(entity.getId());
+        return patched != null ? patched : entity;
+    }
+
+    /**
+     * Re-reads specified rows with one query and shows their fresh versions without re-querying the whole list
+     * @param ids IDs of rows that were updated
+     * @return true if rows were patched, false if list must be re-queried
+     * (rows were deleted or moved, or there are more than {@link #MAX_PATCHED_ROWS} of them)
+     */
+    public boolean patchRows(Collection<UUID> ids) {
+        if(ids.isEmpty() || ids.size() > MAX_PATCHED_ROWS)
+            return false;
+
+        final Map<UUID, T> fresh = new HashMap<>(ids.size());
+        try {
+            for(T row : mDao.queryBuilder().where().in("_id", ids).query()) {
+                if(row.isDeleted() || !isPositionKept(row))
+                    return false;
+                fresh.put(row.getId(), row);
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+        if(fresh.size() != ids.size()) // some were removed
+            return false;
+
+        mPatchedRows.putAll(fresh);
+        notifyDataSetChanged();
+        return true;
+    }
+
+    /**
+     * Checks that updated row stays at the same place in this list.
+     * Override this if list is ordered or filtered by mutable columns
+     * @param fresh updated version of row
+     * @return true if row can be patched in place
+     */
+    protected boolean isPositionKept(T fresh) {
+        return true;
+    }
+
     @Override
     public long getItemId(int position) {
         try {
@@ -142,6 +205,7 @@ public abstract class UUIDCursorAdapter<T extends Entity> extends BaseAdapter {
 
     public void setQuery(PreparedQuery<T> query) {
         try {
+            mPatchedRows.clear();
             mQuery = query;
             mCursor = mQuery != null ? mDao.iterator(mQuery) : defaultWhere.iterator();
             notifyDataSetChanged();
@@ -152,6 +216,7 @@ public abstract class UUIDCursorAdapter<T extends Entity> extends BaseAdapter {
 
     public void setQuery(QueryBuilder<T, UUID> qBuilder) {
         try {
+            mPatchedRows.clear();
             mQuery = qBuilder != null ? qBuilder.prepare() : null;
             notifyDataSetChanged();
         } catch (SQLException e) {
@@ -13,11 +13,39 @@ import android.support.v4.content.AsyncTaskLoader;
 public abstract class AbstractAsyncLoader<D> extends AsyncTaskLoader<D> {
 
     protected D mData;
+    private boolean mLoadInProgress;
 
     public AbstractAsyncLoader(Context context) {
         super(context);
     }
 
+    /**
+     * Called on the main thread when observed table is changed.
+     * Tries to patch loaded data in place and reloads it fully if that's not possible
+     * @param changes rows changed since last notification
+     */
+    public void onContentChanged(ChangeSet changes) {
+        if(mData != null && !mLoadInProgress && onRowsChanged(changes))
+            return;
+
+        onContentChanged();
+    }
+
+    /**
+     * Override this to apply changed rows to the already loaded data without full reload
+     * @param changes rows changed since last notification
+     * @return true if data was patched, false if it needs to be reloaded
+     */
+    protected boolean onRowsChanged(ChangeSet changes) {
+        return false;
+    }
+
+    @Override
+    protected void onForceLoad() {
+        super.onForceLoad();
+        mLoadInProgress = true; // stale results may arrive, don't patch them
+    }
+
     @Override
     protected void onStopLoading() {
         cancelLoad();
@@ -43,6 +71,7 @@ public abstract class AbstractAsyncLoader<D> extends AsyncTaskLoader<D> {
 
     @Override
     public void deliverResult(D data) {
+        mLoadInProgress = false;
         if (isReset()) {
             // The Loader has been reset; ignore the result and invalidate the data.
             return;
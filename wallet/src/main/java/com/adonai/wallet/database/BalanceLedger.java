@@ -0,0 +1,223 @@
+package com.adonai.wallet.database;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import com.adonai.wallet.entities.Account;
+import com.adonai.wallet.entities.Category;
+import com.adonai.wallet.entities.Operation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Per-account monthly checkpoints of balance changes, for getting account balance at any date
+ * without replaying whole operation history.
+ * <br/>
+ * Each checkpoint holds net change of account amount made by operations of one calendar month (UTC).
+ * Balance at some time is current account amount minus changes of all later months, minus operations
+ * of the same month that happened after that time. So query reads at most one row per month and
+ * operations of one month, however long the history is.
+ * <br/>
+ * Checkpoints are kept current by {@link Operation#applyOperation(Operation)} and {@link Operation#revertOperation(Operation)},
+ * operations that come from server are recorded the same way by sync. Archived operations stay counted, see {@link OperationArchive}.
+ */
+public class BalanceLedger {
+
+    static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS balance_checkpoint (" +
+            "account_id BLOB NOT NULL, " +
+            "period_start BIGINT NOT NULL, " +
+            "delta BIGINT NOT NULL, " +
+            "PRIMARY KEY (account_id, period_start))";
+
+    // columns: time, amount, converting rate, category type, orderer, beneficiar; %s is operation table or view.
+    // Category type is read by subquery, so SQLite before 3.8.11 doesn't materialize the view to join it
+    private static final String OPERATIONS_SQL = "SELECT o.time, o.amount, o.converting_rate," +
+            " (SELECT c.type FROM category c WHERE c._id = o.category_id), o.orderer_id, o.beneficiar_id" +
+            " FROM %s o WHERE o.deleted = 0";
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final PersistManager mHelper;
+
+    BalanceLedger(PersistManager helper) {
+        mHelper = helper;
+    }
+
+    /**
+     * Adds changes made by operation to checkpoints. Must be called in the transaction that applies or reverts operation
+     * @param operation operation being applied or reverted, with category and accounts set
+     * @param revert true if operation is being reverted
+     */
+    public void record(Operation operation, boolean revert) {
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final long periodStart = periodStart(operation.getTime().getTime());
+        final int sign = revert ? -1 : 1;
+        final long amount = MoneyPersister.toMinorUnits(operation.getAmount());
+        switch (operation.getCategory().getType()) {
+            case TRANSFER:
+                addDelta(db, operation.getOrderer().getId(), periodStart, -sign * amount);
+                addDelta(db, operation.getBeneficiar().getId(), periodStart, sign * MoneyPersister.toMinorUnits(operation.getAmountDelivered()));
+                break;
+            case EXPENSE:
+                addDelta(db, operation.getOrderer().getId(), periodStart, -sign * amount);
+                break;
+            case INCOME:
+                addDelta(db, operation.getBeneficiar().getId(), periodStart, sign * amount);
+                break;
+        }
+    }
+
+    /**
+     * @param account account to get balance of
+     * @param time moment of interest
+     * @return account amount right after all operations up to given time were applied
+     */
+    public BigDecimal balanceAt(Account account, Date time) {
+        final SQLiteDatabase db = mHelper.getReadableDatabase();
+        final long periodStart = periodStart(time.getTime());
+        final String accountId = UuidPersister.toSqlLiteral(account.getId());
+
+        long balance = DatabaseUtils.longForQuery(db, "SELECT a.amount - COALESCE((SELECT SUM(delta) FROM balance_checkpoint" +
+                " WHERE account_id = a._id AND period_start > " + periodStart + "), 0) FROM account a WHERE a._id = " + accountId, null);
+
+        // each table is filtered by itself, so (account, time) indexes are used; archive is read only if it has such operations
+        final String timeRange = " AND o.time > " + time.getTime() + " AND o.time < " + nextPeriodStart(periodStart);
+        final String accountOperations = " AND ((o.orderer_id = " + accountId + timeRange + ") OR (o.beneficiar_id = " + accountId + timeRange + "))";
+        String sql = String.format(OPERATIONS_SQL, "operation") + accountOperations;
+        if (mHelper.getOperationArchive().isNeeded(time))
+            sql += " UNION ALL " + String.format(OPERATIONS_SQL, "operation_archive") + accountOperations;
+
+        final byte[] accountBytes = UuidPersister.toBytes(account.getId());
+        final Cursor later = db.rawQuery(sql, null);
+        try {
+            while (later.moveToNext()) {
+                if (Arrays.equals(later.getBlob(4), accountBytes))
+                    balance -= ordererDelta(later);
+                if (Arrays.equals(later.getBlob(5), accountBytes))
+                    balance -= beneficiarDelta(later);
+            }
+        } finally {
+            later.close();
+        }
+        return MoneyPersister.fromMinorUnits(balance);
+    }
+
+    /**
+     * Recomputes all checkpoints from operations. Reads tables with SQL only, so can be used by migrations
+     * @param db database to rebuild checkpoints in
+     * @param source table or view to read operations from
+     */
+    static void rebuild(SQLiteDatabase db, String source) {
+        final Map<UUID, Map<Long, Long>> deltas = new HashMap<>();
+        final Cursor operations = db.rawQuery(String.format(OPERATIONS_SQL, source), null);
+        try {
+            while (operations.moveToNext()) {
+                final long periodStart = periodStart(operations.getLong(0));
+                if (!operations.isNull(4))
+                    accumulate(deltas, UuidPersister.fromBytes(operations.getBlob(4)), periodStart, ordererDelta(operations));
+                if (!operations.isNull(5))
+                    accumulate(deltas, UuidPersister.fromBytes(operations.getBlob(5)), periodStart, beneficiarDelta(operations));
+            }
+        } finally {
+            operations.close();
+        }
+
+        db.beginTransactionNonExclusive();
+        final SQLiteStatement insert = db.compileStatement("INSERT INTO balance_checkpoint (account_id, period_start, delta) VALUES (?, ?, ?)");
+        try {
+            db.execSQL("DELETE FROM balance_checkpoint");
+            for (Map.Entry<UUID, Map<Long, Long>> account : deltas.entrySet()) {
+                for (Map.Entry<Long, Long> period : account.getValue().entrySet()) {
+                    insert.bindBlob(1, UuidPersister.toBytes(account.getKey()));
+                    insert.bindLong(2, period.getKey());
+                    insert.bindLong(3, period.getValue());
+                    insert.executeInsert();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            insert.close();
+            db.endTransaction();
+        }
+    }
+
+    private static void addDelta(SQLiteDatabase db, UUID accountId, long periodStart, long delta) {
+        final byte[] account = UuidPersister.toBytes(accountId);
+        db.execSQL("INSERT OR IGNORE INTO balance_checkpoint (account_id, period_start, delta) VALUES (?, ?, 0)", new Object[] {account, periodStart});
+        db.execSQL("UPDATE balance_checkpoint SET delta = delta + ? WHERE account_id = ? AND period_start = ?", new Object[] {delta, account, periodStart});
+    }
+
+    private static void accumulate(Map<UUID, Map<Long, Long>> deltas, UUID account, long periodStart, long delta) {
+        Map<Long, Long> periods = deltas.get(account);
+        if (periods == null) {
+            periods = new TreeMap<>();
+            deltas.put(account, periods);
+        }
+        final Long current = periods.get(periodStart);
+        periods.put(periodStart, current == null ? delta : current + delta);
+    }
+
+    /**
+     * @param row row of {@link #OPERATIONS_SQL}
+     * @return change of charge account amount made by operation
+     */
+    private static long ordererDelta(Cursor row) {
+        switch (Category.CategoryType.valueOf(row.getString(3))) {
+            case TRANSFER:
+            case EXPENSE:
+                return -row.getLong(1);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * @param row row of {@link #OPERATIONS_SQL}
+     * @return change of beneficiar account amount made by operation
+     * @see Operation#getAmountDelivered()
+     */
+    private static long beneficiarDelta(Cursor row) {
+        switch (Category.CategoryType.valueOf(row.getString(3))) {
+            case TRANSFER:
+                if (row.isNull(2))
+                    return row.getLong(1);
+                return MoneyPersister.toMinorUnits(MoneyPersister.fromMinorUnits(row.getLong(1)).divide(new BigDecimal(row.getString(2)), 2, RoundingMode.HALF_UP));
+            case INCOME:
+                return row.getLong(1);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * @return start of UTC month the time belongs to, in milliseconds
+     */
+    static long periodStart(long time) {
+        final Calendar calendar = Calendar.getInstance(UTC);
+        calendar.setTimeInMillis(time);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private static long nextPeriodStart(long periodStart) {
+        final Calendar calendar = Calendar.getInstance(UTC);
+        calendar.setTimeInMillis(periodStart);
+        calendar.add(Calendar.MONTH, 1);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,112 @@
+package com.adonai.wallet.database;
+
+import com.adonai.wallet.entities.Entity;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set of row changes in one table gathered since the last notification.
+ * <br/>
+ * Carries kinds of performed writes and IDs of inserted, updated and deleted rows, so observers
+ * can patch only affected rows instead of re-querying the whole table. If too many rows are changed
+ * at once (or IDs are not known at all) only kinds are kept and the set is marked incomplete.
+ *
+ * @see EntityDao#registerObserver(AbstractAsyncLoader)
+ * @see AbstractAsyncLoader#onRowsChanged(ChangeSet)
+ */
+public class ChangeSet {
+
+    public enum Kind {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    /**
+     * Change sets bigger than this are not tracked row-by-row, full reload is cheaper anyway
+     */
+    public static final int MAX_TRACKED_ROWS = 256;
+
+    private final Class<? extends Entity> mEntityClass;
+    private final EnumSet<Kind> mKinds = EnumSet.noneOf(Kind.class);
+    private final Set<UUID> mInserted = new HashSet<>();
+    private final Set<UUID> mUpdated = new HashSet<>();
+    private final Set<UUID> mDeleted = new HashSet<>();
+    private boolean mComplete = true;
+
+    ChangeSet(Class<? extends Entity> entityClass) {
+        mEntityClass = entityClass;
+    }
+
+    void add(Kind kind, UUID id) {
+        mKinds.add(kind);
+        if(!mComplete)
+            return;
+
+        if(id == null || mInserted.size() + mUpdated.size() + mDeleted.size() >= MAX_TRACKED_ROWS) {
+            markIncomplete();
+            return;
+        }
+
+        switch (kind) {
+            case INSERT:
+                mInserted.add(id);
+                break;
+            case UPDATE:
+                mUpdated.add(id);
+                break;
+            case DELETE:
+                mDeleted.add(id);
+                break;
+        }
+    }
+
+    private void markIncomplete() {
+        mComplete = false;
+        mInserted.clear();
+        mUpdated.clear();
+        mDeleted.clear();
+    }
+
+    public Class<? extends Entity> getEntityClass() {
+        return mEntityClass;
+    }
+
+    public Set<Kind> getKinds() {
+        return Collections.unmodifiableSet(mKinds);
+    }
+
+    public Set<UUID> getInserted() {
+        return Collections.unmodifiableSet(mInserted);
+    }
+
+    public Set<UUID> getUpdated() {
+        return Collections.unmodifiableSet(mUpdated);
+    }
+
+    public Set<UUID> getDeleted() {
+        return Collections.unmodifiableSet(mDeleted);
+    }
+
+    /**
+     * @return true if all changed rows are listed in this set, false if only kinds of changes are known
+     */
+    public boolean isComplete() {
+        return mComplete;
+    }
+
+    public boolean isEmpty() {
+        return mKinds.isEmpty();
+    }
+
+    /**
+     * @return true if rows were only updated in place and all of them are known
+     */
+    public boolean isUpdateOnly() {
+        return mComplete && mKinds.size() == 1 && mKinds.contains(Kind.UPDATE);
+    }
+}
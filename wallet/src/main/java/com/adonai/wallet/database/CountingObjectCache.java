@@ -0,0 +1,90 @@
+package com.adonai.wallet.database;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.dao.ReferenceObjectCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Identity-map cache for small reference tables (accounts, categories, currencies).
+ * <br/>
+ * Delegates storage to soft-referenced {@link ReferenceObjectCache}, so the same instance is returned
+ * for the same ID while memory allows, and counts hits and misses of lookups.
+ * DAO writes keep cached instances up to date by themselves, failed transactions must clear it.
+ *
+ * @see PersistManager#getReferenceCache()
+ */
+public class CountingObjectCache implements ObjectCache {
+
+    private final ObjectCache mDelegate = ReferenceObjectCache.makeSoftCache();
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+
+    @Override
+    public <T> void registerClass(Class<T> clazz) {
+        mDelegate.registerClass(clazz);
+    }
+
+    @Override
+    public <T, ID> T get(Class<T> clazz, ID id) {
+        final T cached = mDelegate.get(clazz, id);
+        if(cached != null)
+            mHits.incrementAndGet();
+        else
+            mMisses.incrementAndGet();
+        return cached;
+    }
+
+    @Override
+    public <T, ID> void put(Class<T> clazz, ID id, T data) {
+        mDelegate.put(clazz, id, data);
+    }
+
+    @Override
+    public <T, ID> void remove(Class<T> clazz, ID id) {
+        mDelegate.remove(clazz, id);
+    }
+
+    @Override
+    public <T, ID> T updateId(Class<T> clazz, ID oldId, ID newId) {
+        return mDelegate.updateId(clazz, oldId, newId);
+    }
+
+    @Override
+    public <T> void clear(Class<T> clazz) {
+        mDelegate.clear(clazz);
+    }
+
+    @Override
+    public void clearAll() {
+        mDelegate.clearAll();
+    }
+
+    @Override
+    public <T> int size(Class<T> clazz) {
+        return mDelegate.size(clazz);
+    }
+
+    @Override
+    public int sizeAll() {
+        return mDelegate.sizeAll();
+    }
+
+    public long getHitCount() {
+        return mHits.get();
+    }
+
+    public long getMissCount() {
+        return mMisses.get();
+    }
+
+    public void resetCounters() {
+        mHits.set(0);
+        mMisses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d cached, %d hits, %d misses", sizeAll(), getHitCount(), getMissCount());
+    }
+}
@@ -0,0 +1,99 @@
+package com.adonai.wallet.database;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import com.adonai.wallet.R;
+import com.adonai.wallet.entities.Category;
+import com.adonai.wallet.entities.Entity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.UUID;
+
+/**
+ * Fills freshly created DB with default categories and currencies.
+ * <br/>
+ * Rows are inserted through prepared statements in one transaction, bypassing DAOs:
+ * seeded rows are never synced yet and need no sync state handling, notifications or caching.
+ */
+final class DatabaseSeeder {
+
+    private static final String TAG = DatabaseSeeder.class.getSimpleName();
+
+    private static final String CURRENCIES_ASSET = "currencies.csv";
+
+    private DatabaseSeeder() {
+    }
+
+    static void seed(SQLiteDatabase db, Context context) {
+        final long started = System.currentTimeMillis();
+        int categories, currencies;
+        db.beginTransaction();
+        try {
+            categories = seedCategories(db, context);
+            currencies = seedCurrencies(db, context);
+            db.setTransactionSuccessful();
+        } catch (IOException e) {
+            throw new RuntimeException(e); // should not happen!
+        } finally {
+            db.endTransaction();
+        }
+        Log.i(TAG, String.format("Seeded %d categories and %d currencies in %d ms", categories, currencies, System.currentTimeMillis() - started));
+    }
+
+    private static int seedCategories(SQLiteDatabase db, Context context) {
+        final SQLiteStatement insert = db.compileStatement("INSERT INTO category (_id, name, type, deleted, sync_state) VALUES (?, ?, ?, 0, "
+                + Entity.SyncState.NEW.ordinal() + ")");
+        long current = 0; // prefilled categories should have predictable IDs for further sync
+        try {
+            current = insertCategories(insert, context.getResources().getStringArray(R.array.out_categories), Category.CategoryType.EXPENSE, current);
+            current = insertCategories(insert, context.getResources().getStringArray(R.array.inc_categories), Category.CategoryType.INCOME, current);
+            current = insertCategories(insert, context.getResources().getStringArray(R.array.transfer_categories), Category.CategoryType.TRANSFER, current);
+        } finally {
+            insert.close();
+        }
+        return (int) current;
+    }
+
+    private static long insertCategories(SQLiteStatement insert, String[] names, Category.CategoryType type, long lastId) {
+        for(String name : names) {
+            insert.bindBlob(1, UuidPersister.toBytes(new UUID(0, ++lastId)));
+            insert.bindString(2, name);
+            insert.bindString(3, type.name());
+            insert.executeInsert();
+        }
+        return lastId;
+    }
+
+    /**
+     * Reads currencies asset, each line is {@code code[:description[:used in]]}
+     */
+    private static int seedCurrencies(SQLiteDatabase db, Context context) throws IOException {
+        final SQLiteStatement insert = db.compileStatement("INSERT INTO currency (code, description, used_in) VALUES (?, ?, ?)");
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(context.getAssets().open(CURRENCIES_ASSET), "UTF-8"));
+        int inserted = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int descriptionStart = line.indexOf(':');
+                final int usedInStart = descriptionStart < 0 ? -1 : line.indexOf(':', descriptionStart + 1);
+                insert.clearBindings();
+                insert.bindString(1, descriptionStart < 0 ? line : line.substring(0, descriptionStart));
+                if(descriptionStart >= 0)
+                    insert.bindString(2, usedInStart < 0 ? line.substring(descriptionStart + 1) : line.substring(descriptionStart + 1, usedInStart));
+                if(usedInStart >= 0)
+                    insert.bindString(3, line.substring(usedInStart + 1));
+                insert.executeInsert();
+                ++inserted;
+            }
+        } finally {
+            reader.close();
+            insert.close();
+        }
+        return inserted;
+    }
+}
@@ -1,15 +1,26 @@
 package com.adonai.wallet.database;
 
 import android.database.Observable;
+import android.util.LruCache;
 
 import com.adonai.wallet.entities.Entity;
 import com.adonai.wallet.adapters.UUIDCursorAdapter;
 import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.UpdateBuilder;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.DatabaseTableConfig;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 /**
  * Basic dao for all entities needed for persisting changes locally
@@ -19,8 +30,39 @@ import java.util.UUID;
  */
 public class EntityDao<T extends Entity> extends BaseDaoImpl<T, UUID> {
 
+    /**
+     * Max number of rows which sync states are remembered by each DAO
+     */
+    private static final int SYNC_STATE_CACHE_SIZE = 512;
+
+    /**
+     * Max IDs in single statement, SQLite allows 999 bound arguments
+     */
+    private static final int MAX_IDS_PER_STATEMENT = 500;
+
     private DbNotifier mObservable = new DbNotifier();
 
+    // sync states of recently written rows, lets repeated edits of dirty rows skip reading their base version
+    private final LruCache<UUID, Entity.SyncState> mKnownStates = new LruCache<>(SYNC_STATE_CACHE_SIZE);
+
+    private volatile List<WriteHook<T>> mWriteHooks = Collections.emptyList();
+
+    /**
+     * Keeps data derived from rows of this DAO up to date. Called for every row write, local or by server,
+     * inside the transaction of the write
+     */
+    public interface WriteHook<T> {
+        /**
+         * @param stored version of row that was replaced or removed by write, null if there was none
+         */
+        void onRemoved(T stored);
+
+        /**
+         * @param data version of row that was written
+         */
+        void onStored(T data);
+    }
+
     public EntityDao(Class<T> dataClass) throws SQLException {
         super(dataClass);
     }
@@ -33,67 +75,174 @@ public class EntityDao<T extends Entity> extends BaseDaoImpl<T, UUID> {
         super(connectionSource, tableConfig);
     }
 
+    /**
+     * Sets hooks for derived data. With hooks set, single writes run in their own transaction
+     * and updates always read stored version of row
+     * @param hooks hooks to call on writes, in order, none to remove
+     */
+    @SafeVarargs
+    public final void setWriteHooks(WriteHook<T>... hooks) {
+        mWriteHooks = Arrays.asList(hooks);
+    }
+
     @Override
-    public int create(T data) throws SQLException {
-        int result;
-        data.setDeleted(false);
-        //data.setBackup(null);
-        result = super.create(data);
+    public int create(final T data) throws SQLException {
+        int result = mWriteHooks.isEmpty() ? createLocally(data) : callInTransaction(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return createLocally(data);
+            }
+        });
         mObservable.notifyObservers();
         return result;
     }
 
     @Override
-    public int update(T data) throws SQLException {
-        int result;
-        if(data.getLastModified() == null) { // never been synced, safe to update
-            result = super.update(data);
-        } else {                             // exists on the server side, set dirty (if not already)
-            T base = queryForSameId(data);
-            if(!base.isDirty())              // we have backed up version, no need to update it (as it's purpose is to keep original)
-                data.setBackup(base);
-            result = super.update(data);
-        }
+    public int update(final T data) throws SQLException {
+        int result = mWriteHooks.isEmpty() ? updateLocally(data) : callInTransaction(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return updateLocally(data);
+            }
+        });
         mObservable.notifyObservers();
         return result;
     }
 
     @Override
-    public int delete(T data) throws SQLException {
-        int result;
-        if(data.getLastModified() == null) { // never been synced, safe to delete
-            result = super.delete(data);
-        } else {                             // exists on the server side, set deleted
-            T base = queryForSameId(data);
-            if(!base.isDirty())              // we have backed up version, no need to update it (as it's purpose is to keep original)
-                data.setBackup(base);
-            data.setDeleted(true);
-            result = super.update(data);
-        }
+    public int delete(final T data) throws SQLException {
+        int result = mWriteHooks.isEmpty() ? deleteLocally(data) : callInTransaction(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return deleteLocally(data);
+            }
+        });
         mObservable.notifyObservers();
         return result;
     }
 
     @Override
     public int deleteById(UUID uuid) throws SQLException {
+        return delete(queryForId(uuid));
+    }
+
+    /**
+     * Creates all the entities in one transaction. Observers are notified once, after commit
+     * @param datas entities to create
+     * @return number of rows created
+     */
+    public int createAll(final Collection<T> datas) throws SQLException {
+        int result = callInTransaction(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                int created = 0;
+                for(T data : datas)
+                    created += createLocally(data);
+                return created;
+            }
+        });
+        mObservable.notifyObservers();
+        return result;
+    }
+
+    /**
+     * Updates all the entities in one transaction, backing up synced ones as {@link #update(Entity)} does.
+     * Observers are notified once, after commit
+     * @param datas entities to update
+     * @return number of rows updated
+     */
+    public int updateAll(final Collection<T> datas) throws SQLException {
+        int result = callInTransaction(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                int updated = 0;
+                for(T data : datas)
+                    updated += updateLocally(data);
+                return updated;
+            }
+        });
+        mObservable.notifyObservers();
+        return result;
+    }
+
+    /**
+     * Deletes all the entities in one transaction, marking synced ones as deleted as {@link #delete(Entity)} does.
+     * Observers are notified once, after commit
+     * @param datas entities to delete
+     * @return number of rows deleted or marked as deleted
+     */
+    public int deleteAll(final Collection<T> datas) throws SQLException {
+        int result = callInTransaction(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                int deleted = 0;
+                for(T data : datas)
+                    deleted += deleteLocally(data);
+                return deleted;
+            }
+        });
+        mObservable.notifyObservers();
+        return result;
+    }
+
+    private int createLocally(T data) throws SQLException {
+        data.setDeleted(false);
+        //data.setBackup(null);
+        updateSyncState(data);
+        int result = super.create(data);
+        mKnownStates.put(data.getId(), data.getSyncState());
+        notifyStored(data);
+        mObservable.record(ChangeSet.Kind.INSERT, data.getId());
+        return result;
+    }
+
+    private int updateLocally(T data) throws SQLException {
+        final T stored = !mWriteHooks.isEmpty() ? queryStored(data) : null;
+        if(data.getLastModified() != null && !isKnownDirty(data)) { // exists on the server side, set dirty (if not already)
+            T base = stored != null ? stored : queryStored(data);
+            if(!base.isDirty())              // we have backed up version, no need to update it (as it's purpose is to keep original)
+                data.setBackup(base);
+        }                                    // never been synced otherwise, safe to update
+        updateSyncState(data);
+        int result = super.update(data);
+        mKnownStates.put(data.getId(), data.getSyncState());
+        notifyRemoved(stored);
+        notifyStored(data);
+        mObservable.record(data.isDeleted() ? ChangeSet.Kind.DELETE : ChangeSet.Kind.UPDATE, data.getId());
+        return result;
+    }
+
+    private int deleteLocally(T data) throws SQLException {
+        final T stored = !mWriteHooks.isEmpty() ? queryStored(data) : null;
         int result;
-        T data = queryForId(uuid);
         if(data.getLastModified() == null) { // never been synced, safe to delete
-            result = super.deleteById(uuid);
+            result = super.delete(data);
+            mKnownStates.remove(data.getId());
+            notifyRemoved(stored);
         } else {                             // exists on the server side, set deleted
-            T base = queryForSameId(data);
-            if(!base.isDirty())              // we have backed up version, no need to update it (as it's purpose is to keep original)
-                data.setBackup(base);
+            if(!isKnownDirty(data)) {
+                T base = stored != null ? stored : queryStored(data);
+                if(!base.isDirty())          // we have backed up version, no need to update it (as it's purpose is to keep original)
+                    data.setBackup(base);
+            }
             data.setDeleted(true);
+            updateSyncState(data);
             result = super.update(data);
+            mKnownStates.put(data.getId(), data.getSyncState());
+            notifyRemoved(stored);
+            notifyStored(data);
         }
-        mObservable.notifyObservers();
+        mObservable.record(ChangeSet.Kind.DELETE, data.getId());
         return result;
     }
 
     public int deleteByServer(T data) { // entity should be deleted on client as on server
         try {
+            final T stored = !mWriteHooks.isEmpty() ? queryStored(data) : null;
             int result = super.delete(data);
+            mKnownStates.remove(data.getId());
+            notifyRemoved(stored);
+            mObservable.record(ChangeSet.Kind.DELETE, data.getId());
             mObservable.notifyObservers();
             return result;
         } catch (SQLException e) {
@@ -104,7 +253,11 @@ public class EntityDao<T extends Entity> extends BaseDaoImpl<T, UUID> {
     public int createByServer(T data) {
         try {
             data.setBackup(null);
+            updateSyncState(data);
             int result = super.create(data);
+            mKnownStates.put(data.getId(), data.getSyncState());
+            notifyStored(data);
+            mObservable.record(ChangeSet.Kind.INSERT, data.getId());
             mObservable.notifyObservers();
             return result;
         } catch (SQLException e) {
@@ -114,8 +267,14 @@ public class EntityDao<T extends Entity> extends BaseDaoImpl<T, UUID> {
 
     public int updateByServer(T data) {
         try {
+            final T stored = !mWriteHooks.isEmpty() ? queryStored(data) : null;
             data.setBackup(null);
+            updateSyncState(data);
             int result = super.update(data);
+            mKnownStates.put(data.getId(), data.getSyncState());
+            notifyRemoved(stored);
+            notifyStored(data);
+            mObservable.record(data.isDeleted() ? ChangeSet.Kind.DELETE : ChangeSet.Kind.UPDATE, data.getId());
             mObservable.notifyObservers();
             return result;
         } catch (SQLException e) {
@@ -123,6 +282,155 @@ public class EntityDao<T extends Entity> extends BaseDaoImpl<T, UUID> {
         }
     }
 
+    /**
+     * Marks rows with specified IDs as synced, with one {@code UPDATE ... WHERE _id IN (...)} per
+     * {@link #MAX_IDS_PER_STATEMENT} IDs in single transaction. To be called after server acknowledged them.
+     * Only sync fields change, so write hooks are not called; cached entities are dropped
+     * @param ids IDs of rows sent to or received from server
+     * @param serverTime server time from acknowledge
+     * @return number of rows marked
+     */
+    public int markSynced(final Collection<UUID> ids, final Date serverTime) {
+        if(ids.isEmpty())
+            return 0;
+
+        try {
+            final int result = callInTransaction(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    final List<UUID> all = new ArrayList<>(ids);
+                    int marked = 0;
+                    for(int from = 0; from < all.size(); from += MAX_IDS_PER_STATEMENT) {
+                        final UpdateBuilder<T, UUID> update = updateBuilder();
+                        update.updateColumnValue("last_modified", serverTime);
+                        update.updateColumnValue("backup", null);
+                        update.updateColumnValue("sync_state", Entity.SyncState.CLEAN);
+                        update.where().in("_id", all.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, all.size())));
+                        marked += update.update();
+                    }
+                    return marked;
+                }
+            });
+            if(result > 0) {
+                clearCaches();
+                mObservable.record(ChangeSet.Kind.UPDATE, null);
+                mObservable.notifyObservers();
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void notifyRemoved(T stored) {
+        for(WriteHook<T> hook : mWriteHooks)
+            hook.onRemoved(stored);
+    }
+
+    private void notifyStored(T data) {
+        for(WriteHook<T> hook : mWriteHooks)
+            hook.onStored(data);
+    }
+
+    /**
+     * Checks whether row is already dirty in DB, so its base version is backed up and should not be read again.
+     * Entity itself must carry the backup too, otherwise it would be lost on write
+     * @param data entity that is about to be written
+     * @return true if base version need not be queried
+     */
+    private boolean isKnownDirty(T data) {
+        if(!data.isDirty())
+            return false;
+
+        final Entity.SyncState known = mKnownStates.get(data.getId());
+        return known == Entity.SyncState.DIRTY || known == Entity.SyncState.DELETED;
+    }
+
+    /**
+     * Forgets all cached row states. Must be called when transaction with writes through this DAO is rolled back
+     */
+    public void clearCaches() {
+        mKnownStates.evictAll();
+        clearObjectCache();
+    }
+
+    /**
+     * Reads entity for editing. With object cache enabled {@link #queryForId(Object)} returns instance
+     * shared by all readers, so changes made to it before they're written would be seen everywhere.
+     * This reads a separate copy instead; when copy is updated, DAO copies its values into shared instance
+     * @param id ID of entity
+     * @return copy of stored entity, never the cached instance, or null if there's no such entity
+     */
+    public T queryDetached(UUID id) {
+        try {
+            return queryStored(id);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads version of entity that is currently stored in DB. With object cache enabled
+     * the cached instance may be the very one being modified, so cache is bypassed
+     * @param data entity that is about to be written
+     * @return stored version of entity, never the same instance as data
+     */
+    private T queryStored(T data) throws SQLException {
+        return queryStored(data.getId());
+    }
+
+    private T queryStored(UUID id) throws SQLException {
+        final ObjectCache cache = getObjectCache();
+        if(cache == null)
+            return queryForId(id);
+
+        final T cached = cache.get(getDataClass(), id);
+        cache.remove(getDataClass(), id);
+        try {
+            return queryForId(id);
+        } finally {
+            if(cached != null) // put shared instance back, stored version must not replace it
+                cache.put(getDataClass(), id, cached);
+            else
+                cache.remove(getDataClass(), id);
+        }
+    }
+
+    private <R> R callInTransaction(Callable<R> writes) throws SQLException {
+        try {
+            return TransactionManager.callInTransaction(connectionSource, writes);
+        } catch (SQLException e) {
+            clearCaches(); // rolled back, cached states may be ahead of DB
+            throw e;
+        }
+    }
+
+    /**
+     * Derives sync state from entity fields, so rows that should be sent on the next sync
+     * can be found by indexed column instead of scanning the whole table
+     * @param data entity that is about to be written
+     */
+    private void updateSyncState(T data) {
+        if(data.getLastModified() == null)
+            data.setSyncState(Entity.SyncState.NEW);
+        else if(!data.isDirty())
+            data.setSyncState(Entity.SyncState.CLEAN);
+        else if(data.isDeleted())
+            data.setSyncState(Entity.SyncState.DELETED);
+        else
+            data.setSyncState(Entity.SyncState.DIRTY);
+    }
+
+    /**
+     * Notifies observers about rows changed without this DAO, e.g. by bulk SQL. Changed IDs are not known,
+     * so observers reload whole list
+     * @param kind kind of performed change
+     */
+    public void notifyTableChanged(ChangeSet.Kind kind) {
+        mObservable.record(kind, null);
+        mObservable.notifyObservers();
+    }
+
     public void registerObserver(AbstractAsyncLoader observer) {
         mObservable.registerObserver(observer);
     }
@@ -135,11 +443,34 @@ public class EntityDao<T extends Entity> extends BaseDaoImpl<T, UUID> {
         mObservable.unregisterAll();
     }
 
-    private class DbNotifier extends Observable<AbstractAsyncLoader> {
+    /**
+     * Notifies registered loaders about table changes. Changed rows are gathered into {@link ChangeSet}
+     * until notification is coalesced and delivered on the main thread by {@link NotificationDispatcher}
+     */
+    private class DbNotifier extends Observable<AbstractAsyncLoader> implements Runnable {
+
+        private ChangeSet mPending = new ChangeSet(getDataClass());
+
+        public synchronized void record(ChangeSet.Kind kind, UUID id) {
+            mPending.add(kind, id);
+        }
 
         public void notifyObservers() {
-            for(AbstractAsyncLoader observer : mObservers) {
-                observer.onContentChanged();
+            NotificationDispatcher.dispatch(this);
+        }
+
+        @Override
+        public void run() {
+            final ChangeSet changes;
+            synchronized (this) {
+                changes = mPending;
+                mPending = new ChangeSet(getDataClass());
+            }
+
+            synchronized (mObservers) {
+                for (AbstractAsyncLoader observer : mObservers) {
+                    observer.onContentChanged(changes);
+                }
             }
         }
 
@@ -0,0 +1,290 @@
+package com.adonai.wallet.database;
+
+import com.adonai.wallet.entities.Account;
+import com.adonai.wallet.entities.Budget;
+import com.adonai.wallet.entities.BudgetItem;
+import com.adonai.wallet.entities.Category;
+import com.adonai.wallet.entities.Currency;
+import com.adonai.wallet.entities.Entity;
+import com.adonai.wallet.entities.Operation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary format for entity backups (see {@link Entity#getBackup()}).
+ * <br/>
+ * Layout is: format version, entity type tag, ID, state flags, optional last modified time
+ * and then list of (field tag, value) pairs for non-null fields terminated by zero tag.
+ * Foreign entities are stored by ID only, as backup is needed just for comparing fields on merge.
+ * <br/>
+ * Field tags are positions in {@link #FIELD_TAGS} arrays (starting from 1),
+ * so new fields must be appended only, never reordered or removed.
+ *
+ * @see EntitySnapshotPersister
+ */
+public final class EntitySnapshotCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    // Java serialization stream magic, backups written before snapshot format start with it
+    private static final byte LEGACY_MAGIC_0 = (byte) 0xAC;
+    private static final byte LEGACY_MAGIC_1 = (byte) 0xED;
+
+    private static final int FLAG_DELETED = 0x01;
+    private static final int FLAG_LAST_MODIFIED = 0x02;
+
+    private static final int END_OF_FIELDS = 0;
+
+    // index in this array is type tag, never reorder
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Entity>[] TYPE_TAGS = new Class[] {
+            null,
+            Account.class,
+            Category.class,
+            Operation.class,
+            Budget.class,
+            BudgetItem.class
+    };
+
+    private static final Map<Class<? extends Entity>, String[]> FIELD_TAGS = new HashMap<>(TYPE_TAGS.length);
+    static {
+        FIELD_TAGS.put(Account.class, new String[] {"name", "currency", "amount", "description", "color"});
+        FIELD_TAGS.put(Category.class, new String[] {"name", "type", "preferredAccount"});
+        FIELD_TAGS.put(Operation.class, new String[] {"time", "amount", "category", "description", "orderer", "beneficiar", "convertingRate"});
+        FIELD_TAGS.put(Budget.class, new String[] {"name", "coveredAccount", "startTime", "endTime", "flags", "repeatTimeSeconds", "warningAmount", "maxAmount", "maxDailyAmount"});
+        FIELD_TAGS.put(BudgetItem.class, new String[] {"parentBudget", "category", "maxAmount"});
+    }
+
+    private static final Map<Class<? extends Entity>, Field[]> sFieldCache = new HashMap<>(TYPE_TAGS.length);
+
+    private EntitySnapshotCodec() {
+    }
+
+    public static byte[] encode(Entity entity) throws IOException {
+        final int typeTag = typeTagOf(entity.getClass());
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(typeTag);
+        writeUUID(out, entity.getId());
+        int flags = 0;
+        if(entity.isDeleted())
+            flags |= FLAG_DELETED;
+        if(entity.getLastModified() != null)
+            flags |= FLAG_LAST_MODIFIED;
+        out.writeByte(flags);
+        if(entity.getLastModified() != null)
+            writeVarLong(out, entity.getLastModified().getTime());
+
+        final Field[] fields = fieldsOf(TYPE_TAGS[typeTag]);
+        try {
+            for (int i = 0; i < fields.length; ++i) {
+                final Object value = fields[i].get(entity);
+                if (value == null)
+                    continue;
+
+                writeVarLong(out, i + 1);
+                writeValue(out, value);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IOException(e);
+        }
+        writeVarLong(out, END_OF_FIELDS);
+
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    public static Entity decode(byte[] data) throws IOException {
+        if(isLegacy(data))
+            return decodeLegacy(data);
+
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        final byte version = in.readByte();
+        if(version != FORMAT_VERSION)
+            throw new IOException("Unknown snapshot format version: " + version);
+
+        final int typeTag = in.readByte();
+        if(typeTag <= 0 || typeTag >= TYPE_TAGS.length)
+            throw new IOException("Unknown snapshot entity type: " + typeTag);
+
+        final Entity entity = newEntity(TYPE_TAGS[typeTag]);
+        entity.setId(readUUID(in));
+        final int flags = in.readByte();
+        entity.setDeleted((flags & FLAG_DELETED) != 0);
+        if((flags & FLAG_LAST_MODIFIED) != 0)
+            entity.setLastModified(new Date(readVarLong(in)));
+
+        final Field[] fields = fieldsOf(TYPE_TAGS[typeTag]);
+        try {
+            int tag;
+            while ((tag = (int) readVarLong(in)) != END_OF_FIELDS) {
+                if (tag > fields.length)
+                    throw new IOException("Unknown field tag " + tag + " for " + TYPE_TAGS[typeTag].getSimpleName());
+
+                final Field field = fields[tag - 1];
+                field.set(entity, readValue(in, field.getType()));
+            }
+        } catch (IllegalAccessException e) {
+            throw new IOException(e);
+        }
+        return entity;
+    }
+
+    /**
+     * Checks whether data was written with Java serialization (before snapshot format was introduced)
+     * @param data stored backup
+     * @return true if data should be read with {@link ObjectInputStream}
+     */
+    public static boolean isLegacy(byte[] data) {
+        return data.length >= 2 && data[0] == LEGACY_MAGIC_0 && data[1] == LEGACY_MAGIC_1;
+    }
+
+    public static Entity decodeLegacy(byte[] data) throws IOException {
+        final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+        try {
+            return (Entity) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static int typeTagOf(Class<?> clazz) throws IOException {
+        for (int i = 1; i < TYPE_TAGS.length; ++i)
+            if (TYPE_TAGS[i] == clazz)
+                return i;
+
+        throw new IOException("No snapshot type tag for " + clazz.getName());
+    }
+
+    private static Field[] fieldsOf(Class<? extends Entity> clazz) throws IOException {
+        synchronized (sFieldCache) {
+            Field[] fields = sFieldCache.get(clazz);
+            if (fields == null) {
+                final String[] names = FIELD_TAGS.get(clazz);
+                fields = new Field[names.length];
+                try {
+                    for (int i = 0; i < names.length; ++i) {
+                        fields[i] = clazz.getDeclaredField(names[i]);
+                        fields[i].setAccessible(true);
+                    }
+                } catch (NoSuchFieldException e) {
+                    throw new IOException(e);
+                }
+                sFieldCache.put(clazz, fields);
+            }
+            return fields;
+        }
+    }
+
+    private static <T> T newEntity(Class<T> clazz) throws IOException {
+        try {
+            return clazz.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String) {
+            final byte[] utf = ((String) value).getBytes("UTF-8");
+            writeVarLong(out, utf.length);
+            out.write(utf);
+        } else if (value instanceof BigDecimal) {
+            final BigDecimal decimal = (BigDecimal) value;
+            final byte[] unscaled = decimal.unscaledValue().toByteArray();
+            writeVarLong(out, decimal.scale());
+            writeVarLong(out, unscaled.length);
+            out.write(unscaled);
+        } else if (value instanceof Date) {
+            writeVarLong(out, ((Date) value).getTime());
+        } else if (value instanceof Integer || value instanceof Long) {
+            writeVarLong(out, ((Number) value).longValue());
+        } else if (value instanceof Enum) {
+            writeVarLong(out, ((Enum) value).ordinal());
+        } else if (value instanceof Currency) {
+            writeValue(out, ((Currency) value).getCode());
+        } else if (value instanceof Entity) {
+            writeUUID(out, ((Entity) value).getId());
+        } else {
+            throw new IOException("Unsupported snapshot field type: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in, Class<?> type) throws IOException {
+        if (type == String.class) {
+            final byte[] utf = new byte[(int) readVarLong(in)];
+            in.readFully(utf);
+            return new String(utf, "UTF-8");
+        } else if (type == BigDecimal.class) {
+            final int scale = (int) readVarLong(in);
+            final byte[] unscaled = new byte[(int) readVarLong(in)];
+            in.readFully(unscaled);
+            return new BigDecimal(new BigInteger(unscaled), scale);
+        } else if (type == Date.class) {
+            return new Date(readVarLong(in));
+        } else if (type == Integer.class || type == int.class) {
+            return (int) readVarLong(in);
+        } else if (type == Long.class || type == long.class) {
+            return readVarLong(in);
+        } else if (type.isEnum()) {
+            return type.getEnumConstants()[(int) readVarLong(in)];
+        } else if (type == Currency.class) {
+            return new Currency((String) readValue(in, String.class));
+        } else if (Entity.class.isAssignableFrom(type)) { // foreign reference, only ID is known
+            final Entity ref = (Entity) newEntity(type);
+            ref.setId(readUUID(in));
+            return ref;
+        }
+
+        throw new IOException("Unsupported snapshot field type: " + type.getName());
+    }
+
+    private static void writeUUID(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUUID(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    // zigzag varint, small numbers and timestamps take less space than fixed 8 bytes
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigzag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift >= 64)
+                throw new IOException("Malformed varint in snapshot");
+            b = in.readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,94 @@
+package com.adonai.wallet.database;
+
+import com.adonai.wallet.entities.Entity;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.BaseDataType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+
+/**
+ * Persister for entity backups, stores them as BLOB in {@link EntitySnapshotCodec} format
+ * instead of Java-serialized object graph
+ *
+ * @see Entity#getBackup()
+ */
+public class EntitySnapshotPersister extends BaseDataType {
+
+    private static final EntitySnapshotPersister singleton = new EntitySnapshotPersister();
+
+    public static EntitySnapshotPersister getSingleton() {
+        return singleton;
+    }
+
+    private EntitySnapshotPersister() {
+        super(SqlType.BYTE_ARRAY, new Class<?>[0]);
+    }
+
+    @Override
+    public Object parseDefaultString(FieldType fieldType, String defaultStr) throws SQLException {
+        throw new SQLException("Default values for entity snapshots are not supported");
+    }
+
+    @Override
+    public Object resultToSqlArg(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+        return results.getBytes(columnPos);
+    }
+
+    @Override
+    public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException {
+        try {
+            return EntitySnapshotCodec.decode((byte[]) sqlArg);
+        } catch (IOException e) {
+            throw SqlExceptionUtil.create("Could not read entity snapshot", e);
+        }
+    }
+
+    @Override
+    public Object javaToSqlArg(FieldType fieldType, Object obj) throws SQLException {
+        try {
+            return EntitySnapshotCodec.encode((Entity) obj);
+        } catch (IOException e) {
+            throw SqlExceptionUtil.create("Could not write entity snapshot: " + obj, e);
+        }
+    }
+
+    @Override
+    public boolean isValidForField(Field field) {
+        return Entity.class.isAssignableFrom(field.getType());
+    }
+
+    @Override
+    public boolean isStreamType() {
+        return true;
+    }
+
+    @Override
+    public boolean isComparable() {
+        return false;
+    }
+
+    @Override
+    public boolean isAppropriateId() {
+        return false;
+    }
+
+    @Override
+    public boolean isArgumentHolderRequired() {
+        return true;
+    }
+
+    @Override
+    public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) throws SQLException {
+        throw new SQLException("Entity snapshot cannot be converted from string to Java");
+    }
+
+    @Override
+    public Class<?> getPrimaryClass() {
+        return Entity.class;
+    }
+}
@@ -0,0 +1,90 @@
+package com.adonai.wallet.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.adonai.wallet.entities.Entity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Debug helper that checks query plans of hot queries and reports ones that scan whole table
+ * or sort without index. Run by {@link PersistManager} on open in debuggable builds only.
+ * <br/>
+ * Queries are registered with sample literal values, as plans don't depend on them.
+ * Register new ones when adding queries over big tables.
+ */
+public final class IndexAdvisor {
+
+    private static final String TAG = IndexAdvisor.class.getSimpleName();
+
+    private static final String SAMPLE_ID = "X'00000000000000000000000000000001'";
+
+    private static final Map<String, String> sHotQueries = new LinkedHashMap<>();
+    static {
+        register("operations list", "SELECT * FROM operation WHERE deleted = 0 ORDER BY time DESC");
+        register("budget item progress", "SELECT SUM(amount) FROM operation WHERE category_id = " + SAMPLE_ID + " AND orderer_id = " + SAMPLE_ID + " AND time > 0 AND time < 1");
+        register("budget item daily progress", "SELECT SUM(amount) FROM operation WHERE category_id = " + SAMPLE_ID + " AND time > 0");
+        register("expenses by account", "SELECT * FROM operation WHERE time >= 0 AND orderer_id = " + SAMPLE_ID + " AND beneficiar_id IS NULL ORDER BY time");
+        register("incomes by account", "SELECT * FROM operation WHERE time >= 0 AND beneficiar_id = " + SAMPLE_ID + " AND orderer_id IS NULL ORDER BY time");
+        register("operations by category", "SELECT * FROM operation WHERE time >= 0 AND category_id = " + SAMPLE_ID + " ORDER BY time");
+        register("budget items of budget", "SELECT * FROM budget_item WHERE parent_budget = " + SAMPLE_ID);
+        register("balance checkpoints after month", "SELECT SUM(delta) FROM balance_checkpoint WHERE account_id = " + SAMPLE_ID + " AND period_start > 0");
+        register("account operations of month", "SELECT * FROM operation WHERE (orderer_id = " + SAMPLE_ID + " OR beneficiar_id = " + SAMPLE_ID + ") AND time > 0 AND time < 1");
+        register("daily rollup of category", "SELECT SUM(amount) FROM operation_daily WHERE category_id = " + SAMPLE_ID + " AND direction IN (0, 2) AND day >= 0 AND day < 1");
+        register("daily rollup chart", "SELECT day, SUM(amount) FROM operation_daily WHERE direction = 0 AND day >= 0 GROUP BY day ORDER BY day");
+        register("newest archived operation", "SELECT MAX(time) FROM operation_archive");
+        register("operation search", "SELECT * FROM operation WHERE deleted = 0 AND _id IN (SELECT d.operation_id FROM operation_search_doc d" +
+                " WHERE d.docid IN (SELECT docid FROM operation_search WHERE operation_search MATCH 'word*')) ORDER BY time DESC");
+        register("outgoing operations", "SELECT * FROM operation WHERE sync_state IN (" + Entity.SyncState.DIRTY.ordinal() + ", " + Entity.SyncState.DELETED.ordinal() + ")");
+    }
+
+    private IndexAdvisor() {
+    }
+
+    public static void register(String name, String sql) {
+        synchronized (sHotQueries) {
+            sHotQueries.put(name, sql);
+        }
+    }
+
+    /**
+     * Explains all registered queries and logs plan steps that read whole table or build temporary b-tree
+     * @param db database to check
+     * @return descriptions of found problems, empty if all queries use indexes
+     */
+    public static List<String> analyze(SQLiteDatabase db) {
+        final Map<String, String> queries;
+        synchronized (sHotQueries) {
+            queries = new LinkedHashMap<>(sHotQueries);
+        }
+
+        final List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            final Cursor plan = db.rawQuery("EXPLAIN QUERY PLAN " + query.getValue(), null);
+            try {
+                final int detailColumn = plan.getColumnIndex("detail");
+                while (plan.moveToNext()) {
+                    final String step = plan.getString(detailColumn);
+                    if (isFullScan(step) || step.contains("USE TEMP B-TREE"))
+                        problems.add(query.getKey() + ": " + step);
+                }
+            } finally {
+                plan.close();
+            }
+        }
+
+        for (String problem : problems)
+            Log.w(TAG, problem);
+        Log.i(TAG, String.format("Checked %d hot queries, found %d problems", queries.size(), problems.size()));
+        return problems;
+    }
+
+    private static boolean isFullScan(String step) {
+        return step.startsWith("SCAN") && !step.contains(" INDEX");
+    }
+}
@@ -0,0 +1,215 @@
+package com.adonai.wallet.database;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.text.TextUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One step of DB schema upgrade, bringing DB from version {@code getVersion() - 1} to {@link #getVersion()}.
+ * <br/>
+ * Provides helpers for rewriting rows in chunks (with progress reported to {@link MigrationListener})
+ * and for rebuilding tables with changed column types.
+ *
+ * @see MigrationRegistry
+ */
+public abstract class Migration {
+
+    /**
+     * Rows read and rewritten at once by {@link #rewriteRows}
+     */
+    public static final int CHUNK_ROWS = 1000;
+
+    /**
+     * Converter of rows for {@link #rewriteRows}
+     */
+    public interface RowRewriter {
+        /**
+         * @param row cursor positioned at row, holding requested columns in the same order
+         * @return new values of requested columns or null if row should be left as is
+         */
+        Object[] rewrite(Cursor row);
+    }
+
+    private final int mVersion;
+    private final String mDescription;
+
+    private MigrationListener mListener; // set by registry while step is running
+    private int mRowsProcessed;
+
+    protected Migration(int version, String description) {
+        mVersion = version;
+        mDescription = description;
+    }
+
+    public int getVersion() {
+        return mVersion;
+    }
+
+    public String getDescription() {
+        return mDescription;
+    }
+
+    /**
+     * @return rows rewritten by this step so far
+     */
+    public int getRowsProcessed() {
+        return mRowsProcessed;
+    }
+
+    /**
+     * Performs the step. Called inside upgrade transaction
+     * @param db database being upgraded
+     */
+    protected abstract void migrate(SQLiteDatabase db);
+
+    void run(SQLiteDatabase db, MigrationListener listener) {
+        mListener = listener;
+        mRowsProcessed = 0;
+        try {
+            migrate(db);
+        } finally {
+            mListener = null;
+        }
+    }
+
+    /**
+     * Rewrites rows of table chunk by chunk in rowid order, so cursor window stays small on big tables
+     * and progress is reported after each chunk. Values may be byte arrays, strings, integral numbers or nulls
+     * @param db database being upgraded
+     * @param table table to rewrite
+     * @param where additional SQL condition for rows to rewrite, may be null
+     * @param rewriter converter of rows
+     * @param columns columns to read and rewrite
+     * @return number of rewritten rows
+     */
+    protected int rewriteRows(SQLiteDatabase db, String table, String where, RowRewriter rewriter, String... columns) {
+        final StringBuilder sql = new StringBuilder("UPDATE ").append(table).append(" SET ");
+        for (int i = 0; i < columns.length; ++i)
+            sql.append(i == 0 ? "" : ", ").append(columns[i]).append(" = ?");
+        sql.append(" WHERE rowid = ?");
+
+        final String select = "SELECT " + TextUtils.join(", ", columns) + ", rowid FROM " + table + " WHERE rowid > %d"
+                + (where != null ? " AND (" + where + ")" : "") + " ORDER BY rowid LIMIT " + CHUNK_ROWS;
+        final SQLiteStatement update = db.compileStatement(sql.toString());
+        int rewritten = 0;
+        try {
+            long lastRowId = Long.MIN_VALUE;
+            int chunkRows;
+            do {
+                final Cursor rows = db.rawQuery(String.format(select, lastRowId), null);
+                try {
+                    chunkRows = rows.getCount();
+                    while (rows.moveToNext()) {
+                        lastRowId = rows.getLong(columns.length);
+                        final Object[] values = rewriter.rewrite(rows);
+                        if (values == null)
+                            continue;
+
+                        for (int i = 0; i < values.length; ++i)
+                            bindValue(update, i + 1, values[i]);
+                        update.bindLong(columns.length + 1, lastRowId);
+                        update.executeUpdateDelete();
+                        ++rewritten;
+                    }
+                } finally {
+                    rows.close();
+                }
+
+                mRowsProcessed += chunkRows;
+                if (mListener != null && chunkRows > 0)
+                    mListener.onStepProgress(this, mRowsProcessed);
+            } while (chunkRows == CHUNK_ROWS);
+        } finally {
+            update.close();
+        }
+        return rewritten;
+    }
+
+    /**
+     * Recreates table with some columns changed to another type, as SQLite can't alter column type in place.
+     * Rows are copied with values of changed columns converted, indexes are restored
+     * @param db database being upgraded
+     * @param table table to rebuild
+     * @param newType SQL type of changed columns
+     * @param conversion SQL expression for converting value, with %s in place of column name
+     * @param columns columns to change
+     */
+    protected void rebuildTable(SQLiteDatabase db, String table, String newType, String conversion, String... columns) {
+        String createSql;
+        Cursor schema = db.rawQuery("SELECT sql FROM sqlite_master WHERE type = 'table' AND name = ?", new String[] {table});
+        try {
+            schema.moveToFirst();
+            createSql = schema.getString(0);
+        } finally {
+            schema.close();
+        }
+
+        final List<String> indexNames = new ArrayList<>();
+        final List<String> indexSqls = new ArrayList<>();
+        schema = db.rawQuery("SELECT name, sql FROM sqlite_master WHERE type = 'index' AND tbl_name = ? AND sql IS NOT NULL", new String[] {table});
+        try {
+            while (schema.moveToNext()) {
+                indexNames.add(schema.getString(0));
+                indexSqls.add(schema.getString(1));
+            }
+        } finally {
+            schema.close();
+        }
+
+        final List<String> targetColumns = new ArrayList<>();
+        final List<String> sourceValues = new ArrayList<>();
+        final List<String> changed = Arrays.asList(columns);
+        schema = db.rawQuery("PRAGMA table_info(" + table + ")", null);
+        try {
+            while (schema.moveToNext()) {
+                final String column = schema.getString(schema.getColumnIndex("name"));
+                targetColumns.add(column);
+                sourceValues.add(changed.contains(column) ? String.format(conversion, column) : column);
+            }
+        } finally {
+            schema.close();
+        }
+
+        for(String column : columns) // column definitions look like `amount` VARCHAR
+            createSql = createSql.replaceFirst("((?<!\\w)[`\"]?" + column + "[`\"]?\\s+)\\w+(\\(\\d+\\))?", "$1" + newType);
+
+        for(String index : indexNames)
+            db.execSQL("DROP INDEX " + index);
+        db.execSQL("ALTER TABLE " + table + " RENAME TO " + table + "_old");
+        db.execSQL(createSql);
+        db.execSQL("INSERT INTO " + table + " (" + TextUtils.join(", ", targetColumns) + ") SELECT " + TextUtils.join(", ", sourceValues) + " FROM " + table + "_old");
+        db.execSQL("DROP TABLE " + table + "_old");
+        for(String index : indexSqls)
+            db.execSQL(index);
+    }
+
+    /**
+     * @return bytes occupied by data and indexes in DB file, not counting free pages
+     */
+    protected static long usedBytes(SQLiteDatabase db) {
+        return DatabaseUtils.longForQuery(db, "PRAGMA page_size", null)
+                * (DatabaseUtils.longForQuery(db, "PRAGMA page_count", null) - DatabaseUtils.longForQuery(db, "PRAGMA freelist_count", null));
+    }
+
+    private static void bindValue(SQLiteStatement statement, int index, Object value) {
+        if (value == null)
+            statement.bindNull(index);
+        else if (value instanceof byte[])
+            statement.bindBlob(index, (byte[]) value);
+        else if (value instanceof Number)
+            statement.bindLong(index, ((Number) value).longValue());
+        else
+            statement.bindString(index, value.toString());
+    }
+
+    @Override
+    public String toString() {
+        return mVersion + ": " + mDescription;
+    }
+}
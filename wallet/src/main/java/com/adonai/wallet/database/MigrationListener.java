@@ -0,0 +1,25 @@
+package com.adonai.wallet.database;
+
+/**
+ * Instrumentation hook for DB upgrades. Called on the thread that opens the DB,
+ * so time spent here delays application startup too
+ *
+ * @see PersistManager#setMigrationListener(MigrationListener)
+ */
+public interface MigrationListener {
+
+    void onUpgradeStarted(int oldVersion, int newVersion);
+
+    void onStepStarted(Migration step);
+
+    /**
+     * Called after each chunk of rows rewritten by step
+     * @param step running step
+     * @param rowsProcessed rows processed by step so far
+     */
+    void onStepProgress(Migration step, int rowsProcessed);
+
+    void onStepFinished(Migration step, long elapsedMillis);
+
+    void onUpgradeFinished(int oldVersion, int newVersion, long elapsedMillis);
+}
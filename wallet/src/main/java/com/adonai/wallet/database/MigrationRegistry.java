@@ -0,0 +1,80 @@
+package com.adonai.wallet.database;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Ordered set of {@link Migration} steps. Upgrade runs all steps with versions
+ * above old DB version up to new one, timing each and reporting to {@link MigrationListener}.
+ * <br/>
+ * Whole upgrade runs in the single transaction opened by {@link android.database.sqlite.SQLiteOpenHelper},
+ * so interrupted upgrade leaves DB at the old version and is simply started over on next open.
+ */
+public class MigrationRegistry {
+
+    private static final String TAG = MigrationRegistry.class.getSimpleName();
+
+    private final SortedMap<Integer, Migration> mSteps = new TreeMap<>();
+    private volatile MigrationListener mListener = new LoggingListener();
+
+    public MigrationRegistry add(Migration step) {
+        if(mSteps.containsKey(step.getVersion()))
+            throw new IllegalArgumentException("Migration to version " + step.getVersion() + " is already registered");
+
+        mSteps.put(step.getVersion(), step);
+        return this;
+    }
+
+    public void setListener(MigrationListener listener) {
+        mListener = listener != null ? listener : new LoggingListener();
+    }
+
+    public void upgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        final MigrationListener listener = mListener;
+        final long upgradeStarted = System.currentTimeMillis();
+        listener.onUpgradeStarted(oldVersion, newVersion);
+
+        for(Migration step : mSteps.subMap(oldVersion + 1, newVersion + 1).values()) {
+            final long stepStarted = System.currentTimeMillis();
+            listener.onStepStarted(step);
+            step.run(db, listener);
+            listener.onStepFinished(step, System.currentTimeMillis() - stepStarted);
+        }
+
+        listener.onUpgradeFinished(oldVersion, newVersion, System.currentTimeMillis() - upgradeStarted);
+    }
+
+    /**
+     * Default listener, writes timings to log
+     */
+    public static class LoggingListener implements MigrationListener {
+
+        @Override
+        public void onUpgradeStarted(int oldVersion, int newVersion) {
+            Log.i(TAG, String.format("Upgrading DB from version %d to %d", oldVersion, newVersion));
+        }
+
+        @Override
+        public void onStepStarted(Migration step) {
+            Log.i(TAG, "Running migration " + step);
+        }
+
+        @Override
+        public void onStepProgress(Migration step, int rowsProcessed) {
+            Log.d(TAG, String.format("Migration %s: %d rows processed", step, rowsProcessed));
+        }
+
+        @Override
+        public void onStepFinished(Migration step, long elapsedMillis) {
+            Log.i(TAG, String.format("Migration %s finished in %d ms, %d rows processed", step, elapsedMillis, step.getRowsProcessed()));
+        }
+
+        @Override
+        public void onUpgradeFinished(int oldVersion, int newVersion, long elapsedMillis) {
+            Log.i(TAG, String.format("DB upgraded from version %d to %d in %d ms", oldVersion, newVersion, elapsedMillis));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.adonai.wallet.database;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.field.types.BaseDataType;
+import com.j256.ormlite.misc.SqlExceptionUtil;
+import com.j256.ormlite.support.DatabaseResults;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+
+/**
+ * Persister for monetary amounts. Stores {@link BigDecimal} as 64-bit integer of minor units
+ * with fixed {@link #SCALE}, so amounts are compared and summed by SQLite as numbers.
+ * <br/>
+ * Scale is the same for all currencies: sums are taken over operations of different accounts,
+ * so all amounts in a column must share one unit. Four digits cover minor units of any currency.
+ *
+ * @see #toMinorUnits(BigDecimal)
+ * @see #fromMinorUnits(long)
+ */
+public class MoneyPersister extends BaseDataType {
+
+    public static final int SCALE = 4;
+
+    private static final MoneyPersister singleton = new MoneyPersister();
+
+    public static MoneyPersister getSingleton() {
+        return singleton;
+    }
+
+    private MoneyPersister() {
+        super(SqlType.LONG, new Class<?>[0]);
+    }
+
+    /**
+     * Converts amount to stored representation, rounding it to {@link #SCALE} digits
+     * @param amount amount to convert
+     * @return amount in minor units
+     * @throws ArithmeticException if amount doesn't fit in 64 bits
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        final BigInteger minor = amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue();
+        if(minor.bitLength() > 63)
+            throw new ArithmeticException("Amount is too big: " + amount.toPlainString());
+        return minor.longValue();
+    }
+
+    /**
+     * Converts stored representation back to amount
+     * @param minorUnits amount in minor units, e.g. sum returned by SQL query
+     * @return amount without trailing zeros
+     */
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        if(minorUnits == 0) // stripTrailingZeros() doesn't handle zero properly before Java 8
+            return BigDecimal.ZERO;
+        return BigDecimal.valueOf(minorUnits, SCALE).stripTrailingZeros();
+    }
+
+    @Override
+    public Object parseDefaultString(FieldType fieldType, String defaultStr) throws SQLException {
+        try {
+            return toMinorUnits(new BigDecimal(defaultStr));
+        } catch (IllegalArgumentException e) {
+            throw SqlExceptionUtil.create("Problems with field " + fieldType + " parsing default amount '" + defaultStr + "'", e);
+        }
+    }
+
+    @Override
+    public Object resultToSqlArg(FieldType fieldType, DatabaseResults results, int columnPos) throws SQLException {
+        return results.getLong(columnPos);
+    }
+
+    @Override
+    public Object sqlArgToJava(FieldType fieldType, Object sqlArg, int columnPos) throws SQLException {
+        return fromMinorUnits((Long) sqlArg);
+    }
+
+    @Override
+    public Object javaToSqlArg(FieldType fieldType, Object javaObject) throws SQLException {
+        try {
+            return toMinorUnits((BigDecimal) javaObject);
+        } catch (ArithmeticException e) {
+            throw SqlExceptionUtil.create("Could not store amount in field " + fieldType, e);
+        }
+    }
+
+    @Override
+    public Object resultStringToJava(FieldType fieldType, String stringValue, int columnPos) throws SQLException {
+        return sqlArgToJava(fieldType, Long.parseLong(stringValue), columnPos);
+    }
+
+    @Override
+    public boolean isValidForField(Field field) {
+        return field.getType() == BigDecimal.class;
+    }
+
+    @Override
+    public boolean isEscapedValue() {
+        return false;
+    }
+
+    @Override
+    public boolean isAppropriateId() {
+        return false;
+    }
+
+    @Override
+    public Class<?> getPrimaryClass() {
+        return BigDecimal.class;
+    }
+}
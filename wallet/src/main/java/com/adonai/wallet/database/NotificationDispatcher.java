@@ -0,0 +1,94 @@
+package com.adonai.wallet.database;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dispatcher for DAO change notifications.
+ * <br/>
+ * Writes to the same table that happen within {@link #COALESCE_WINDOW_MILLIS} are merged into
+ * one notification which is then delivered on the main thread. Inside a quiet scope (sync, import)
+ * notifications are held back and flushed once when the outermost scope ends.
+ *
+ * @see EntityDao#registerObserver(AbstractAsyncLoader)
+ */
+public final class NotificationDispatcher {
+
+    public static final long COALESCE_WINDOW_MILLIS = 100;
+
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+    private static final Set<Runnable> sPending = new LinkedHashSet<>(); // table notifiers waiting for flush
+    private static final Runnable sFlusher = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private static int sQuietDepth = 0;
+    private static boolean sFlushScheduled = false;
+
+    private NotificationDispatcher() {
+    }
+
+    /**
+     * Schedules notifier to be run on the main thread. If it's already pending, this call is merged with previous one
+     * @param notifier table notifier to run
+     */
+    static void dispatch(Runnable notifier) {
+        synchronized (sPending) {
+            if(!sPending.add(notifier)) // already pending
+                return;
+
+            if(sQuietDepth == 0 && !sFlushScheduled) {
+                sFlushScheduled = true;
+                sMainHandler.postDelayed(sFlusher, COALESCE_WINDOW_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Holds all notifications until matching {@link #endQuietScope()} is called. Scopes may be nested
+     */
+    public static void beginQuietScope() {
+        synchronized (sPending) {
+            ++sQuietDepth;
+        }
+    }
+
+    /**
+     * Ends quiet scope. When the outermost scope ends, all held notifications are delivered at once
+     */
+    public static void endQuietScope() {
+        synchronized (sPending) {
+            if(sQuietDepth == 0)
+                throw new IllegalStateException("Quiet scope was not started!");
+
+            if(--sQuietDepth == 0 && !sPending.isEmpty() && !sFlushScheduled) {
+                sFlushScheduled = true;
+                sMainHandler.post(sFlusher);
+            }
+        }
+    }
+
+    private static void flush() {
+        final List<Runnable> notifiers;
+        synchronized (sPending) {
+            sFlushScheduled = false;
+            if(sQuietDepth > 0) // scope was started after scheduling, its end will flush everything
+                return;
+
+            notifiers = new ArrayList<>(sPending);
+            sPending.clear();
+        }
+
+        for(Runnable notifier : notifiers) {
+            notifier.run();
+        }
+    }
+}
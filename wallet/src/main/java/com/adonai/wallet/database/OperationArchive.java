@@ -0,0 +1,236 @@
+package com.adonai.wallet.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.preference.PreferenceManager;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.adonai.wallet.entities.Entity;
+import com.adonai.wallet.entities.Operation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold storage for old operations. Synced operations that are not changed locally and are older
+ * than configured horizon are moved to {@code operation_archive} table, so everyday lists, filters
+ * and sync scans don't pay for years of history.
+ * <br/>
+ * Archived rows keep their effect: balance checkpoints and daily rollup count them, and
+ * {@link #VIEW} unites both tables for queries that reach past the horizon.
+ * Archived operation is moved back by {@link #restore(UUID)} before it's changed.
+ * <br/>
+ * Archive table copies schema of operation table, migrations changing one must change both.
+ */
+public class OperationArchive {
+
+    private static final String TAG = OperationArchive.class.getSimpleName();
+
+    public static final String HORIZON_PREFERENCE = "archive.horizon.days";
+    public static final int DEFAULT_HORIZON_DAYS = 365;
+
+    /**
+     * View with both live and archived operations
+     */
+    public static final String VIEW = "operation_all";
+
+    static final String CREATE_VIEW = "CREATE VIEW IF NOT EXISTS " + VIEW + " AS SELECT * FROM operation UNION ALL SELECT * FROM operation_archive";
+
+    static final String[] CREATE_INDEXES = {
+            "CREATE INDEX IF NOT EXISTS operation_archive_time_idx ON operation_archive (time)",
+            "CREATE INDEX IF NOT EXISTS operation_archive_category_time_idx ON operation_archive (category_id, time)",
+            "CREATE INDEX IF NOT EXISTS operation_archive_orderer_time_idx ON operation_archive (orderer_id, time)",
+            "CREATE INDEX IF NOT EXISTS operation_archive_beneficiar_time_idx ON operation_archive (beneficiar_id, time)"
+    };
+
+    /**
+     * Max IDs bound to single statement, SQLite allows 999 bound arguments
+     */
+    private static final int MAX_IDS_PER_STATEMENT = 500;
+
+    private static final String ARCHIVABLE = "sync_state = " + Entity.SyncState.CLEAN.ordinal() + " AND deleted = 0 AND time < ?";
+
+    private final PersistManager mHelper;
+    private final SharedPreferences mPreferences;
+    private volatile Long mNewestArchived; // time of newest archived operation, null if not known yet
+
+    OperationArchive(PersistManager helper, Context context) {
+        mHelper = helper;
+        mPreferences = PreferenceManager.getDefaultSharedPreferences(context);
+    }
+
+    /**
+     * Creates archive table with the same columns as operation table has, its indexes and united view
+     * @param db database to create table in
+     */
+    static void createTable(SQLiteDatabase db) {
+        final Cursor schema = db.rawQuery("SELECT sql FROM sqlite_master WHERE type = 'table' AND name = 'operation'", null);
+        try {
+            schema.moveToFirst(); // CREATE TABLE `operation` (...)
+            db.execSQL(schema.getString(0).replaceFirst("[`\"]?operation[`\"]?", "`operation_archive`"));
+        } finally {
+            schema.close();
+        }
+        for(String index : CREATE_INDEXES)
+            db.execSQL(index);
+        db.execSQL(CREATE_VIEW);
+    }
+
+    /**
+     * Archives operations older than horizon set in preferences
+     * @return number of archived operations
+     */
+    public int archiveOld() {
+        int days;
+        try {
+            days = Integer.parseInt(mPreferences.getString(HORIZON_PREFERENCE, String.valueOf(DEFAULT_HORIZON_DAYS)));
+        } catch (NumberFormatException e) {
+            days = DEFAULT_HORIZON_DAYS;
+        }
+        if(days <= 0) // archiving is turned off
+            return 0;
+
+        return archive(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days));
+    }
+
+    /**
+     * Moves synced, not changed and not deleted operations older than specified time to archive
+     * @param before time of oldest operation to keep, in milliseconds
+     * @return number of archived operations
+     */
+    public int archive(long before) {
+        final long started = System.currentTimeMillis();
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final SQLiteStatement copy = db.compileStatement("INSERT INTO operation_archive SELECT * FROM operation WHERE " + ARCHIVABLE);
+        final SQLiteStatement delete = db.compileStatement("DELETE FROM operation WHERE " + ARCHIVABLE);
+        int archived;
+        db.beginTransactionNonExclusive();
+        try {
+            copy.bindLong(1, before);
+            copy.executeInsert();
+            delete.bindLong(1, before);
+            archived = delete.executeUpdateDelete();
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            copy.close();
+            delete.close();
+        }
+
+        if(archived > 0) {
+            mNewestArchived = null;
+            mHelper.getEntityDao(Operation.class).notifyTableChanged(ChangeSet.Kind.DELETE);
+        }
+        Log.i(TAG, String.format("Archived %d operations older than %tF in %d ms", archived, new Date(before), System.currentTimeMillis() - started));
+        return archived;
+    }
+
+    /**
+     * Moves operation back from archive, so it can be changed
+     * @param id ID of operation
+     * @return restored operation or null if it's not in archive
+     */
+    public Operation restore(UUID id) {
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final SQLiteStatement copy = db.compileStatement("INSERT INTO operation SELECT * FROM operation_archive WHERE _id = ?");
+        final SQLiteStatement delete = db.compileStatement("DELETE FROM operation_archive WHERE _id = ?");
+        int restored;
+        db.beginTransactionNonExclusive();
+        try {
+            copy.bindBlob(1, UuidPersister.toBytes(id));
+            copy.executeInsert();
+            delete.bindBlob(1, UuidPersister.toBytes(id));
+            restored = delete.executeUpdateDelete();
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            copy.close();
+            delete.close();
+        }
+
+        if(restored == 0)
+            return null;
+
+        mNewestArchived = null;
+        return mHelper.getOperationDao().queryForId(id);
+    }
+
+    /**
+     * Moves operations with specified IDs back from archive, those not in archive are skipped.
+     * Takes two statements per few hundreds of IDs, for restoring whole chunk of operations changed on server
+     * @param ids IDs of operations
+     * @return number of restored operations
+     */
+    public int restoreAll(Collection<UUID> ids) {
+        if(ids.isEmpty() || getNewestArchivedTime() == Long.MIN_VALUE) // nothing to restore
+            return 0;
+
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final List<UUID> all = new ArrayList<>(ids);
+        int restored = 0;
+        db.beginTransactionNonExclusive();
+        try {
+            for(int from = 0; from < all.size(); from += MAX_IDS_PER_STATEMENT) {
+                final List<UUID> part = all.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, all.size()));
+                final String matching = "_id IN (" + TextUtils.join(", ", Collections.nCopies(part.size(), "?")) + ")";
+                final SQLiteStatement copy = db.compileStatement("INSERT INTO operation SELECT * FROM operation_archive WHERE " + matching);
+                final SQLiteStatement delete = db.compileStatement("DELETE FROM operation_archive WHERE " + matching);
+                try {
+                    for(int i = 0; i < part.size(); ++i) {
+                        copy.bindBlob(i + 1, UuidPersister.toBytes(part.get(i)));
+                        delete.bindBlob(i + 1, UuidPersister.toBytes(part.get(i)));
+                    }
+                    copy.executeInsert();
+                    restored += delete.executeUpdateDelete();
+                } finally {
+                    copy.close();
+                    delete.close();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        if(restored > 0)
+            mNewestArchived = null;
+        return restored;
+    }
+
+    /**
+     * Checks whether query for operations after specified time should include archived ones
+     * @param after lower bound of operation time, exclusive, null if query has none
+     * @return true if archive has operations later than specified time
+     */
+    public boolean isNeeded(Date after) {
+        final long newest = getNewestArchivedTime();
+        return newest != Long.MIN_VALUE && (after == null || after.getTime() < newest);
+    }
+
+    /**
+     * @return time of newest archived operation or {@link Long#MIN_VALUE} if archive is empty
+     */
+    private long getNewestArchivedTime() {
+        Long newest = mNewestArchived;
+        if(newest == null) {
+            final Cursor max = mHelper.getReadableDatabase().rawQuery("SELECT MAX(time) FROM operation_archive", null);
+            try {
+                max.moveToFirst();
+                newest = max.isNull(0) ? Long.MIN_VALUE : max.getLong(0);
+            } finally {
+                max.close();
+            }
+            mNewestArchived = newest;
+        }
+        return newest;
+    }
+}
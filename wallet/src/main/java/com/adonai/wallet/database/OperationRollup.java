@@ -0,0 +1,374 @@
+package com.adonai.wallet.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.preference.PreferenceManager;
+import android.util.Log;
+
+import com.adonai.wallet.entities.Operation;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Daily totals of operations, for charts and budgets that would otherwise sum whole operation table on every view.
+ * <br/>
+ * Each row holds sum of amounts and count of not deleted operations of one local day, category, account and
+ * {@link Direction}. Rows are kept current by {@link EntityDao.WriteHook} of operation DAO, so local writes,
+ * apply/revert and writes by server all update them in the same transaction.
+ * <br/>
+ * Days depend on time zone, so rollup is rebuilt on {@link WriteExecutor} when zone it was built for changes.
+ * Until rebuild completes (e.g. right after migration) sums are computed from operations themselves.
+ */
+public class OperationRollup implements EntityDao.WriteHook<Operation> {
+
+    private static final String TAG = OperationRollup.class.getSimpleName();
+
+    private static final String ZONE_PREFERENCE = "operation.daily.zone";
+
+    static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS operation_daily (" +
+            "day BIGINT NOT NULL, " +
+            "category_id BLOB NOT NULL, " +
+            "account_id BLOB NOT NULL, " +
+            "direction INTEGER NOT NULL, " +
+            "amount BIGINT NOT NULL, " +
+            "count INTEGER NOT NULL, " +
+            "PRIMARY KEY (day, category_id, account_id, direction))";
+
+    static final String CREATE_INDEX = "CREATE INDEX IF NOT EXISTS operation_daily_category_idx ON operation_daily (category_id, day)";
+
+    /**
+     * Side of operation the row accounts for. Operation with both accounts set is a transfer and has two rows,
+     * so sum over all directions but {@link #TRANSFER_IN} counts each operation once
+     */
+    public enum Direction {
+        /** charge account only */
+        OUTCOME,
+        /** beneficiar account only */
+        INCOME,
+        /** charge account of transfer */
+        TRANSFER_OUT,
+        /** beneficiar account of transfer */
+        TRANSFER_IN;
+
+        /** directions where account is charge account of operation */
+        public static final EnumSet<Direction> CHARGED = EnumSet.of(OUTCOME, TRANSFER_OUT);
+        /** directions holding each operation exactly once */
+        public static final EnumSet<Direction> ALL_OPERATIONS = EnumSet.of(OUTCOME, INCOME, TRANSFER_OUT);
+    }
+
+    private final PersistManager mHelper;
+    private final SharedPreferences mPreferences;
+
+    OperationRollup(PersistManager helper, Context context) {
+        mHelper = helper;
+        mPreferences = PreferenceManager.getDefaultSharedPreferences(context);
+    }
+
+    @Override
+    public void onRemoved(Operation stored) {
+        record(stored, -1);
+    }
+
+    @Override
+    public void onStored(Operation data) {
+        record(data, 1);
+    }
+
+    private void record(Operation operation, int sign) {
+        if(operation == null || operation.isDeleted())
+            return;
+
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final long day = dayStart(operation.getTime().getTime());
+        final byte[] category = UuidPersister.toBytes(operation.getCategory().getId());
+        final long amount = sign * MoneyPersister.toMinorUnits(operation.getAmount());
+        if(operation.getOrderer() != null) {
+            final Direction direction = operation.getBeneficiar() == null ? Direction.OUTCOME : Direction.TRANSFER_OUT;
+            addToDay(db, day, category, UuidPersister.toBytes(operation.getOrderer().getId()), direction, amount, sign);
+        }
+        if(operation.getBeneficiar() != null) {
+            final Direction direction = operation.getOrderer() == null ? Direction.INCOME : Direction.TRANSFER_IN;
+            addToDay(db, day, category, UuidPersister.toBytes(operation.getBeneficiar().getId()), direction, amount, sign);
+        }
+    }
+
+    private static void addToDay(SQLiteDatabase db, long day, byte[] category, byte[] account, Direction direction, long amount, int count) {
+        final Object[] key = {day, category, account, direction.ordinal()};
+        db.execSQL("INSERT OR IGNORE INTO operation_daily (day, category_id, account_id, direction, amount, count) VALUES (?, ?, ?, ?, 0, 0)", key);
+        db.execSQL("UPDATE operation_daily SET amount = amount + " + amount + ", count = count + " + count +
+                " WHERE day = ? AND category_id = ? AND account_id = ? AND direction = ?", key);
+        if(count < 0)
+            db.execSQL("DELETE FROM operation_daily WHERE count = 0 AND day = ? AND category_id = ? AND account_id = ? AND direction = ?", key);
+    }
+
+    /**
+     * Sums amounts of operations in time range. Whole days are read from rollup,
+     * parts of days at range edges from operations themselves, so result is exact
+     * @param category category of operations
+     * @param account account of operations, null for any
+     * @param directions sides of operations to count
+     * @param after start of range, exclusive, null for unbounded
+     * @param before end of range, exclusive, null for unbounded
+     * @return sum in minor units
+     */
+    public long sum(UUID category, UUID account, EnumSet<Direction> directions, Long after, Long before) {
+        final SQLiteDatabase db = mHelper.getReadableDatabase();
+        if(!isBuilt()) // rebuild is pending, rollup is empty or counts days of other zone
+            return sumOperations(db, category, account, directions, after == null ? Long.MIN_VALUE : after, before == null ? Long.MAX_VALUE : before);
+
+        final Long firstDay = after == null ? null : nextDayStart(after);
+        final Long endDay = before == null ? null : dayStart(before);
+        if(firstDay != null && endDay != null && firstDay >= endDay) // no whole days in range
+            return sumOperations(db, category, account, directions, after, before);
+
+        final StringBuilder sql = new StringBuilder("SELECT COALESCE(SUM(amount), 0) FROM operation_daily WHERE category_id = ")
+                .append(UuidPersister.toSqlLiteral(category))
+                .append(" AND direction IN (").append(ordinals(directions)).append(")");
+        if(account != null)
+            sql.append(" AND account_id = ").append(UuidPersister.toSqlLiteral(account));
+        if(firstDay != null)
+            sql.append(" AND day >= ").append(firstDay);
+        if(endDay != null)
+            sql.append(" AND day < ").append(endDay);
+
+        long sum = DatabaseUtils.longForQuery(db, sql.toString(), null);
+        if(after != null)
+            sum += sumOperations(db, category, account, directions, after, firstDay);
+        if(before != null)
+            sum += sumOperations(db, category, account, directions, endDay - 1, before);
+        return sum;
+    }
+
+    /**
+     * @param category category of operations, null for any
+     * @param account account of operations, null for any
+     * @param direction side of operations
+     * @param fromDay first day to include, as returned by {@link #dayStart(long)}
+     * @return day start to sum of amounts in minor units, ordered by day, only days with operations
+     */
+    public Map<Long, Long> daily(UUID category, UUID account, Direction direction, long fromDay) {
+        if(!isBuilt())
+            return dailyOperations(category, account, direction, fromDay);
+
+        final StringBuilder sql = new StringBuilder("SELECT day, SUM(amount) FROM operation_daily WHERE direction = ")
+                .append(direction.ordinal()).append(" AND day >= ").append(fromDay);
+        if(category != null)
+            sql.append(" AND category_id = ").append(UuidPersister.toSqlLiteral(category));
+        if(account != null)
+            sql.append(" AND account_id = ").append(UuidPersister.toSqlLiteral(account));
+        sql.append(" GROUP BY day ORDER BY day");
+
+        final Map<Long, Long> result = new LinkedHashMap<>();
+        final Cursor days = mHelper.getReadableDatabase().rawQuery(sql.toString(), null);
+        try {
+            while (days.moveToNext())
+                result.put(days.getLong(0), days.getLong(1));
+        } finally {
+            days.close();
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #daily(UUID, UUID, Direction, long)}, but reads operations themselves
+     */
+    private Map<Long, Long> dailyOperations(UUID category, UUID account, Direction direction, long fromDay) {
+        final StringBuilder sql = new StringBuilder("SELECT time, amount, orderer_id, beneficiar_id FROM " + OperationArchive.VIEW + " WHERE deleted = 0 AND time >= ")
+                .append(fromDay);
+        if(category != null)
+            sql.append(" AND category_id = ").append(UuidPersister.toSqlLiteral(category));
+        if(account != null)
+            sql.append(" AND (orderer_id = ").append(UuidPersister.toSqlLiteral(account))
+               .append(" OR beneficiar_id = ").append(UuidPersister.toSqlLiteral(account)).append(")");
+        sql.append(" ORDER BY time");
+
+        final byte[] accountBytes = account == null ? null : UuidPersister.toBytes(account);
+        final Map<Long, Long> result = new LinkedHashMap<>();
+        final Cursor operations = mHelper.getReadableDatabase().rawQuery(sql.toString(), null);
+        try {
+            while (operations.moveToNext()) {
+                final boolean hasOrderer = !operations.isNull(2), hasBeneficiar = !operations.isNull(3);
+                long amount = 0;
+                if(hasOrderer && direction == (hasBeneficiar ? Direction.TRANSFER_OUT : Direction.OUTCOME)
+                        && (accountBytes == null || Arrays.equals(accountBytes, operations.getBlob(2))))
+                    amount += operations.getLong(1);
+                if(hasBeneficiar && direction == (hasOrderer ? Direction.TRANSFER_IN : Direction.INCOME)
+                        && (accountBytes == null || Arrays.equals(accountBytes, operations.getBlob(3))))
+                    amount += operations.getLong(1);
+                if(amount == 0)
+                    continue;
+
+                final long day = dayStart(operations.getLong(0));
+                final Long current = result.get(day);
+                result.put(day, current == null ? amount : current + amount);
+            }
+        } finally {
+            operations.close();
+        }
+        return result;
+    }
+
+    private static long sumOperations(SQLiteDatabase db, UUID category, UUID account, EnumSet<Direction> directions, long after, long before) {
+        final StringBuilder sql = new StringBuilder("SELECT amount, orderer_id, beneficiar_id FROM " + OperationArchive.VIEW + " WHERE deleted = 0 AND category_id = ")
+                .append(UuidPersister.toSqlLiteral(category));
+        if(account != null)
+            sql.append(" AND (orderer_id = ").append(UuidPersister.toSqlLiteral(account))
+               .append(" OR beneficiar_id = ").append(UuidPersister.toSqlLiteral(account)).append(")");
+        sql.append(" AND time > ").append(after).append(" AND time < ").append(before);
+
+        final byte[] accountBytes = account == null ? null : UuidPersister.toBytes(account);
+        long sum = 0;
+        final Cursor operations = db.rawQuery(sql.toString(), null);
+        try {
+            while (operations.moveToNext()) {
+                final boolean hasOrderer = !operations.isNull(1), hasBeneficiar = !operations.isNull(2);
+                if(hasOrderer && directions.contains(hasBeneficiar ? Direction.TRANSFER_OUT : Direction.OUTCOME)
+                        && (accountBytes == null || Arrays.equals(accountBytes, operations.getBlob(1))))
+                    sum += operations.getLong(0);
+                if(hasBeneficiar && directions.contains(hasOrderer ? Direction.TRANSFER_IN : Direction.INCOME)
+                        && (accountBytes == null || Arrays.equals(accountBytes, operations.getBlob(2))))
+                    sum += operations.getLong(0);
+            }
+        } finally {
+            operations.close();
+        }
+        return sum;
+    }
+
+    /**
+     * @return true if rollup was built for current time zone and can be read
+     */
+    private boolean isBuilt() {
+        return TimeZone.getDefault().getID().equals(mPreferences.getString(ZONE_PREFERENCE, null));
+    }
+
+    /**
+     * Queues rebuild if rollup was built for another time zone or never built at all
+     */
+    void checkZone() {
+        if(!isBuilt())
+            startRebuild();
+    }
+
+    /**
+     * Queues recomputing rollup from operation table on {@link WriteExecutor}, so it's ordered with other writes.
+     * Readers fall back to operations until it's done
+     */
+    public void startRebuild() {
+        mHelper.getWriteExecutor().submit("rebuild daily rollup", new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                if(!isBuilt()) // may be queued more than once
+                    rebuild();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Recomputes rollup from operation table in one transaction
+     */
+    public void rebuild() {
+        final long started = System.currentTimeMillis();
+        final String zone = TimeZone.getDefault().getID();
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final SQLiteStatement insert = db.compileStatement("INSERT INTO operation_daily (day, category_id, account_id, direction, amount, count) VALUES (?, ?, ?, ?, ?, ?)");
+        int rows = 0;
+        db.beginTransactionNonExclusive();
+        try {
+            db.execSQL("DELETE FROM operation_daily");
+            final Cursor operations = db.rawQuery("SELECT time, category_id, orderer_id, beneficiar_id, amount FROM " + OperationArchive.VIEW + " WHERE deleted = 0 ORDER BY time", null);
+            try {
+                final Map<List<Object>, long[]> dayTotals = new HashMap<>(); // (category, account, direction) -> amount, count
+                long currentDay = Long.MIN_VALUE;
+                while (operations.moveToNext()) {
+                    final long day = dayStart(operations.getLong(0));
+                    if(day != currentDay) {
+                        rows += flushDay(insert, currentDay, dayTotals);
+                        currentDay = day;
+                    }
+                    final boolean hasOrderer = !operations.isNull(2), hasBeneficiar = !operations.isNull(3);
+                    if(hasOrderer)
+                        accumulate(dayTotals, operations.getBlob(1), operations.getBlob(2), hasBeneficiar ? Direction.TRANSFER_OUT : Direction.OUTCOME, operations.getLong(4));
+                    if(hasBeneficiar)
+                        accumulate(dayTotals, operations.getBlob(1), operations.getBlob(3), hasOrderer ? Direction.TRANSFER_IN : Direction.INCOME, operations.getLong(4));
+                }
+                rows += flushDay(insert, currentDay, dayTotals);
+            } finally {
+                operations.close();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+        mPreferences.edit().putString(ZONE_PREFERENCE, zone).apply();
+        Log.i(TAG, String.format("Rebuilt daily rollup for zone %s: %d rows in %d ms", zone, rows, System.currentTimeMillis() - started));
+    }
+
+    private static void accumulate(Map<List<Object>, long[]> dayTotals, byte[] category, byte[] account, Direction direction, long amount) {
+        final List<Object> key = Arrays.<Object>asList(UuidPersister.fromBytes(category), UuidPersister.fromBytes(account), direction);
+        long[] totals = dayTotals.get(key);
+        if(totals == null) {
+            totals = new long[2];
+            dayTotals.put(key, totals);
+        }
+        totals[0] += amount;
+        ++totals[1];
+    }
+
+    private static int flushDay(SQLiteStatement insert, long day, Map<List<Object>, long[]> dayTotals) {
+        final int flushed = dayTotals.size();
+        for(Map.Entry<List<Object>, long[]> total : dayTotals.entrySet()) {
+            insert.bindLong(1, day);
+            insert.bindBlob(2, UuidPersister.toBytes((UUID) total.getKey().get(0)));
+            insert.bindBlob(3, UuidPersister.toBytes((UUID) total.getKey().get(1)));
+            insert.bindLong(4, ((Direction) total.getKey().get(2)).ordinal());
+            insert.bindLong(5, total.getValue()[0]);
+            insert.bindLong(6, total.getValue()[1]);
+            insert.executeInsert();
+        }
+        dayTotals.clear();
+        return flushed;
+    }
+
+    private static String ordinals(EnumSet<Direction> directions) {
+        final StringBuilder result = new StringBuilder();
+        for(Direction direction : directions)
+            result.append(result.length() == 0 ? "" : ", ").append(direction.ordinal());
+        return result.toString();
+    }
+
+    /**
+     * @return start of local day the time belongs to, in milliseconds
+     */
+    public static long dayStart(long time) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    private static long nextDayStart(long time) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(dayStart(time));
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,208 @@
+package com.adonai.wallet.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import com.adonai.wallet.entities.Account;
+import com.adonai.wallet.entities.Category;
+import com.adonai.wallet.entities.Operation;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.stmt.Where;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text index of operations by description, category and account names, for searching
+ * without scanning whole operation table.
+ * <br/>
+ * FTS4 rows are keyed by integer docid, so {@code operation_search_doc} maps them to operation IDs.
+ * Mapping is by ID rather than by rowid, so moving operations to and from {@link OperationArchive} keeps index valid.
+ * Text is lower-cased and split to words here rather than by SQLite tokenizer, which folds ASCII case only.
+ * <br/>
+ * Rows are kept current by {@link EntityDao.WriteHook}s of operation DAO, and of category and account DAOs for renames.
+ */
+public class OperationSearchIndex implements EntityDao.WriteHook<Operation> {
+
+    private static final String TAG = OperationSearchIndex.class.getSimpleName();
+
+    static final String CREATE_DOCS = "CREATE TABLE IF NOT EXISTS operation_search_doc (" +
+            "docid INTEGER PRIMARY KEY, " +
+            "operation_id BLOB NOT NULL UNIQUE)";
+
+    static final String CREATE_INDEX = "CREATE VIRTUAL TABLE IF NOT EXISTS operation_search USING fts4(description, category, orderer, beneficiar)";
+
+    /**
+     * Selects IDs of operations matching full-text query bound as the only argument
+     */
+    private static final String MATCHING_IDS = "SELECT d.operation_id FROM operation_search_doc d WHERE d.docid IN " +
+            "(SELECT docid FROM operation_search WHERE operation_search MATCH ?)";
+
+    private static final Pattern NOT_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final PersistManager mHelper;
+
+    OperationSearchIndex(PersistManager helper) {
+        mHelper = helper;
+    }
+
+    /**
+     * Creates index tables and fills them from all operations, live and archived. Reads tables with SQL only,
+     * so can be used by migrations
+     * @param db database to create index in
+     */
+    static void createTables(SQLiteDatabase db) {
+        final long started = System.currentTimeMillis();
+        db.execSQL(CREATE_DOCS);
+        db.execSQL(CREATE_INDEX);
+
+        final SQLiteStatement doc = db.compileStatement("INSERT INTO operation_search_doc (operation_id) VALUES (?)");
+        final SQLiteStatement insert = db.compileStatement("INSERT INTO operation_search (docid, description, category, orderer, beneficiar) VALUES (?, ?, ?, ?, ?)");
+        final Cursor operations = db.rawQuery("SELECT o._id, o.description, c.name, ao.name, ab.name FROM " + OperationArchive.VIEW + " o" +
+                " LEFT JOIN category c ON c._id = o.category_id" +
+                " LEFT JOIN account ao ON ao._id = o.orderer_id" +
+                " LEFT JOIN account ab ON ab._id = o.beneficiar_id" +
+                " WHERE o.deleted = 0", null);
+        int indexed = 0;
+        try {
+            while (operations.moveToNext()) {
+                doc.bindBlob(1, operations.getBlob(0));
+                insert.bindLong(1, doc.executeInsert());
+                for (int i = 1; i < 5; ++i)
+                    insert.bindString(i + 1, normalize(operations.getString(i)));
+                insert.executeInsert();
+                ++indexed;
+            }
+        } finally {
+            operations.close();
+            doc.close();
+            insert.close();
+        }
+        Log.i(TAG, String.format("Indexed %d operations in %d ms", indexed, System.currentTimeMillis() - started));
+    }
+
+    @Override
+    public void onRemoved(Operation stored) {
+        if(stored == null)
+            return;
+
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final byte[] id = UuidPersister.toBytes(stored.getId());
+        db.execSQL("DELETE FROM operation_search WHERE docid IN (SELECT docid FROM operation_search_doc WHERE operation_id = ?)", new Object[] {id});
+        db.execSQL("DELETE FROM operation_search_doc WHERE operation_id = ?", new Object[] {id});
+    }
+
+    @Override
+    public void onStored(Operation data) {
+        if(data.isDeleted())
+            return;
+
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final SQLiteStatement doc = db.compileStatement("INSERT INTO operation_search_doc (operation_id) VALUES (?)");
+        try {
+            doc.bindBlob(1, UuidPersister.toBytes(data.getId()));
+            db.execSQL("INSERT INTO operation_search (docid, description, category, orderer, beneficiar) VALUES (?, ?, ?, ?, ?)", new Object[] {
+                    doc.executeInsert(),
+                    normalize(data.getDescription()),
+                    normalize(data.getCategory() == null ? null : data.getCategory().getName()),
+                    normalize(data.getOrderer() == null ? null : data.getOrderer().getName()),
+                    normalize(data.getBeneficiar() == null ? null : data.getBeneficiar().getName())});
+        } finally {
+            doc.close();
+        }
+    }
+
+    /**
+     * @return hook updating indexed category names of operations when category is renamed
+     */
+    EntityDao.WriteHook<Category> categoryNames() {
+        return new EntityDao.WriteHook<Category>() {
+            private Category mStored;
+
+            @Override
+            public void onRemoved(Category stored) {
+                mStored = stored;
+            }
+
+            @Override
+            public void onStored(Category data) {
+                if(mStored != null && mStored.getId().equals(data.getId()) && !normalize(mStored.getName()).equals(normalize(data.getName())))
+                    rename("category", "category_id", data.getId(), data.getName());
+                mStored = null;
+            }
+        };
+    }
+
+    /**
+     * @return hook updating indexed account names of operations when account is renamed
+     */
+    EntityDao.WriteHook<Account> accountNames() {
+        return new EntityDao.WriteHook<Account>() {
+            private Account mStored;
+
+            @Override
+            public void onRemoved(Account stored) {
+                mStored = stored;
+            }
+
+            @Override
+            public void onStored(Account data) {
+                if(mStored != null && mStored.getId().equals(data.getId()) && !normalize(mStored.getName()).equals(normalize(data.getName()))) {
+                    rename("orderer", "orderer_id", data.getId(), data.getName());
+                    rename("beneficiar", "beneficiar_id", data.getId(), data.getName());
+                }
+                mStored = null;
+            }
+        };
+    }
+
+    private void rename(String indexColumn, String operationColumn, UUID id, String name) {
+        // tables are filtered one by one, older SQLite can't push condition into compound view
+        final byte[] referenced = UuidPersister.toBytes(id);
+        final StringBuilder renamed = new StringBuilder("SELECT _id FROM operation WHERE ").append(operationColumn).append(" = ?");
+        Object[] args = new Object[] {normalize(name), referenced};
+        if(mHelper.getOperationArchive().isNeeded(null)) {
+            renamed.append(" UNION ALL SELECT _id FROM operation_archive WHERE ").append(operationColumn).append(" = ?");
+            args = new Object[] {normalize(name), referenced, referenced};
+        }
+        mHelper.getWritableDatabase().execSQL("UPDATE operation_search SET " + indexColumn + " = ? WHERE docid IN" +
+                " (SELECT docid FROM operation_search_doc WHERE operation_id IN (" + renamed + "))", args);
+    }
+
+    /**
+     * Adds condition that operation matches search text: each word of text must start some word
+     * of description, category or account names
+     * @param where where clause of query over operations or {@link OperationArchive#VIEW}
+     * @param text text entered by user
+     * @return the same where clause, or null if text has no words to search for
+     */
+    public static <T> Where<T, UUID> matching(Where<T, UUID> where, String text) {
+        final String query = toMatchQuery(text);
+        if(query == null)
+            return null;
+
+        return where.raw("_id IN (" + MATCHING_IDS + ")", new SelectArg(SqlType.STRING, query));
+    }
+
+    /**
+     * @return FTS query with prefix term for each word of text, null if text has no words
+     */
+    static String toMatchQuery(String text) {
+        final String words = normalize(text);
+        if(words.isEmpty())
+            return null;
+
+        return words.replace(" ", "* ") + "*";
+    }
+
+    private static String normalize(String text) {
+        if(text == null)
+            return "";
+
+        return NOT_WORD.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -1,10 +1,10 @@
 package com.adonai.wallet.database;
 
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
 import android.database.sqlite.SQLiteDatabase;
 import android.util.Log;
 
-import com.adonai.wallet.R;
 import com.adonai.wallet.entities.Account;
 import com.adonai.wallet.entities.Budget;
 import com.adonai.wallet.entities.BudgetItem;
@@ -15,16 +15,20 @@ import com.adonai.wallet.entities.Operation;
 import com.j256.ormlite.android.apptools.OrmLiteSqliteOpenHelper;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.RuntimeExceptionDao;
+import com.j256.ormlite.misc.TransactionManager;
 import com.j256.ormlite.support.ConnectionSource;
-import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.DatabaseTableConfig;
 import com.j256.ormlite.table.TableUtils;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Base database manager for providing {@link EntityDao}'s
@@ -37,7 +41,7 @@ public class PersistManager extends OrmLiteSqliteOpenHelper {
     private static final String DATABASE_NAME ="wallet.db";
 
     //с каждым увеличением версии, при нахождении в устройстве БД с предыдущей версией будет выполнен метод onUpgrade();
-    private static final int DATABASE_VERSION = 7;
+    private static final int DATABASE_VERSION = 16;
 
     //ссылки на DAO соответсвующие сущностям, хранимым в БД
     private EntityDao<Account> accountDao = null;
@@ -48,14 +52,56 @@ public class PersistManager extends OrmLiteSqliteOpenHelper {
     private EntityDao<Operation> operationDao = null;
     private final Context mContext;
 
+    // small tables that are referenced by almost every row of others
+    private static final Class<?>[] REFERENCE_TABLES = {Account.class, Category.class, Currency.class};
+
+    // tables of synced entities, DAOs of which cache row data
+    private static final List<Class<? extends Entity>> ENTITY_CLASSES = Arrays.<Class<? extends Entity>>asList(
+            Account.class, Budget.class, BudgetItem.class, Category.class, Operation.class);
+    private final CountingObjectCache mReferenceCache = new CountingObjectCache();
+
+    // DAOs that already have their cache and hooks set, checked on every getDao call
+    private final Set<Dao<?, ?>> mWiredDaos = Collections.newSetFromMap(new ConcurrentHashMap<Dao<?, ?>, Boolean>());
+
+    private static final MigrationRegistry sMigrations = SchemaMigrations.create();
+
+    private final BalanceLedger mBalanceLedger = new BalanceLedger(this);
+    private final OperationRollup mOperationRollup;
+    private final OperationArchive mOperationArchive;
+    private final TombstoneCompactor mTombstoneCompactor;
+    private final WriteExecutor mWriteExecutor;
+    private final OperationSearchIndex mOperationSearch = new OperationSearchIndex(this);
+    private final EntityDao.WriteHook<Category> mCategoryNames = mOperationSearch.categoryNames();
+    private final EntityDao.WriteHook<Account> mAccountNames = mOperationSearch.accountNames();
+    private EntityDao<Operation> operationHistoryDao = null;
+
+    /**
+     * Composite indexes for hot operation queries: filter by category or account, then by time range, ordered by time.
+     * ORMLite annotations can't put one column into several indexes, so they're created with SQL.
+     * Created on DB creation and by migration, add new ones in a new {@link SchemaMigrations} step too
+     * @see IndexAdvisor
+     */
+    static final String[] OPERATION_INDEXES = {
+            "CREATE INDEX IF NOT EXISTS operation_time_idx ON operation (time)",
+            "CREATE INDEX IF NOT EXISTS operation_category_time_idx ON operation (category_id, time)",
+            "CREATE INDEX IF NOT EXISTS operation_orderer_time_idx ON operation (orderer_id, time)",
+            "CREATE INDEX IF NOT EXISTS operation_beneficiar_time_idx ON operation (beneficiar_id, time)",
+            "CREATE INDEX IF NOT EXISTS budget_item_parent_budget_idx ON budget_item (parent_budget)"
+    };
+
     public PersistManager(Context context){
         super(context,DATABASE_NAME, null, DATABASE_VERSION);
         mContext = context;
+        mOperationRollup = new OperationRollup(this, context);
+        mOperationArchive = new OperationArchive(this, context);
+        mTombstoneCompactor = new TombstoneCompactor(this, context);
+        mWriteExecutor = new WriteExecutor(context);
     }
 
     //Выполняется, когда файл с БД не найден на устройстве
     @Override
     public void onCreate(SQLiteDatabase db, ConnectionSource connectionSource) {
+        final long started = System.currentTimeMillis();
         try {
             TableUtils.createTable(connectionSource, Account.class);
             TableUtils.createTable(connectionSource, Budget.class);
@@ -63,80 +109,48 @@ public class PersistManager extends OrmLiteSqliteOpenHelper {
             TableUtils.createTable(connectionSource, Category.class);
             TableUtils.createTable(connectionSource, Currency.class);
             TableUtils.createTable(connectionSource, Operation.class);
+            for(String index : OPERATION_INDEXES)
+                db.execSQL(index);
+            db.execSQL(BalanceLedger.CREATE_TABLE);
+            db.execSQL(OperationRollup.CREATE_TABLE);
+            db.execSQL(OperationRollup.CREATE_INDEX);
+            OperationArchive.createTable(db);
+            OperationSearchIndex.createTables(db);
 
-            DatabaseConnection conn = connectionSource.getReadWriteConnection();
-            conn.setAutoCommit(false);
-            // fill Categories
-            final String[] defaultOutcomeCategories = mContext.getResources().getStringArray(R.array.out_categories);
-            final String[] defaultIncomeCategories = mContext.getResources().getStringArray(R.array.inc_categories);
-            final String[] defaultTransCategories = mContext.getResources().getStringArray(R.array.transfer_categories);
-
-            Category outAdd = null;
-            long current = 0; // prefilled categories should have predictable IDs for further sync
-            for(final String outCategory : defaultOutcomeCategories) {
-                outAdd = new Category();
-                outAdd.setId(new UUID(0, ++current));
-                outAdd.setName(outCategory);
-                outAdd.setType(Category.CategoryType.EXPENSE);
-                getCategoryDao().create(outAdd);
-            }
-            Category inAdd = null;
-            for(final String inCategory : defaultIncomeCategories) {
-                inAdd = new Category();
-                inAdd.setId(new UUID(0, ++current));
-                inAdd.setName(inCategory);
-                inAdd.setType(Category.CategoryType.INCOME);
-                getCategoryDao().create(inAdd);
-            }
-            Category transAdd = null;
-            for(final String transCategory : defaultTransCategories) {
-                transAdd = new Category();
-                transAdd.setId(new UUID(0, ++current));
-                transAdd.setName(transCategory);
-                transAdd.setType(Category.CategoryType.TRANSFER);
-                getCategoryDao().create(transAdd);
-            }
-
-            //fill Currencies
-            final InputStream allCurrencies = getClass().getResourceAsStream("/assets/currencies.csv");
-            final BufferedReader reader = new BufferedReader(new InputStreamReader(allCurrencies));
-            String line;
-            try {
-                while ((line = reader.readLine()) != null) {
-                    final String[] tokens = line.split(":");
-                    final Currency curr = new Currency();
-                    switch (tokens.length) { // switch-case-no-break magic!
-                        case 3:
-                            curr.setUsedIn(tokens[2]);
-                        /* falls through */
-                        case 2:
-                            curr.setDescription(tokens[1]);
-                        /* falls through */
-                        case 1:
-                            curr.setCode(tokens[0]);
-                            break;
-                    }
-                    getCurrencyDao().create(curr);
-                }
-            } catch (IOException e) {
-                throw new RuntimeException(e); // should not happen!
-            }
-
+            DatabaseSeeder.seed(db, mContext);
         } catch (SQLException e) {
             Log.e(TAG, "error creating DB " + DATABASE_NAME);
             throw new RuntimeException(e);
         }
+        Log.i(TAG, String.format("Created DB %s in %d ms", DATABASE_NAME, System.currentTimeMillis() - started));
+    }
+
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        super.onOpen(db);
+        // with write-ahead log each thread outside of transaction reads through its own pooled connection,
+        // seeing last committed state, so loaders are not blocked while sync holds its long write transaction
+        if(!db.isReadOnly()) {
+            db.enableWriteAheadLogging();
+            mOperationRollup.checkZone(); // daily rollup depends on time zone
+        }
+        if((mContext.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) // check plans of hot queries in debug builds
+            IndexAdvisor.analyze(db);
     }
 
     //Выполняется, когда БД имеет версию отличную от текущей
     @Override
     public void onUpgrade(SQLiteDatabase db, ConnectionSource connectionSource, int oldVer, int newVer) {
-        switch (oldVer) {
-            case 6:
-                db.execSQL("UPDATE account SET backup = NULL");
-                db.execSQL("UPDATE category SET backup = NULL");
-                db.execSQL("UPDATE operation SET backup = NULL");
-        }
+        sMigrations.upgrade(db, oldVer, newVer);
+    }
+
+    /**
+     * Sets hook that receives timings and progress of DB upgrade steps.
+     * Must be called before DB is first opened to take effect
+     * @param listener listener to set, null resets to logging one
+     */
+    public static void setMigrationListener(MigrationListener listener) {
+        sMigrations.setListener(listener);
     }
 
     public RuntimeExceptionDao<Account, UUID> getAccountDao() {
@@ -185,15 +199,138 @@ public class PersistManager extends OrmLiteSqliteOpenHelper {
         return getDao(clazz);
     }
 
+    /**
+     * Drops cached row data of all entity DAOs. Call this after rolling back transaction that wrote through them
+     */
+    public void clearCaches() {
+        for(Class<? extends Entity> clazz : ENTITY_CLASSES)
+            getEntityDao(clazz).clearCaches();
+        mReferenceCache.clearAll();
+    }
+
+    /**
+     * Runs writes in one transaction. If it's rolled back, caches are cleared
+     * as instances in them may already hold values that never reached DB
+     * @param writes writes to perform
+     * @return result of callable
+     */
+    public <T> T callInTransaction(Callable<T> writes) throws SQLException {
+        try {
+            return TransactionManager.callInTransaction(getConnectionSource(), writes);
+        } catch (SQLException e) {
+            clearCaches();
+            throw e;
+        }
+    }
+
+    /**
+     * Loads all reference entities (currencies, accounts, categories) into identity-map cache.
+     * Call this in background before materializing many operations: their foreign fields are then
+     * resolved from cache instead of firing extra SELECT for each row.
+     * <br/>
+     * Reference tables are tiny, so this costs three short queries per load.
+     * Rows created later are put in cache by DAO itself.
+     */
+    public void preloadReferences() {
+        getCurrencyDao().queryForAll(); // first, accounts refer to currencies
+        getAccountDao().queryForAll();  // then accounts, categories refer to them
+        getCategoryDao().queryForAll();
+    }
+
+    public BalanceLedger getBalanceLedger() {
+        return mBalanceLedger;
+    }
+
+    public OperationRollup getOperationRollup() {
+        return mOperationRollup;
+    }
+
+    public OperationArchive getOperationArchive() {
+        return mOperationArchive;
+    }
+
+    public TombstoneCompactor getTombstoneCompactor() {
+        return mTombstoneCompactor;
+    }
+
+    /**
+     * @return executor that UI should submit all its writes to
+     */
+    public WriteExecutor getWriteExecutor() {
+        return mWriteExecutor;
+    }
+
+    /**
+     * Returns DAO for querying entities in time range. For operations reaching past archive horizon
+     * this is read-only DAO over {@link OperationArchive#VIEW}, otherwise usual entity DAO
+     * @param clazz class of entities
+     * @param after lower bound of time in query, null if there's none
+     * @return DAO to build query on
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> EntityDao<T> getHistoryDao(Class<T> clazz, Date after) {
+        if(clazz != Operation.class || !mOperationArchive.isNeeded(after))
+            return getEntityDao(clazz);
+
+        if(operationHistoryDao == null) {
+            try {
+                final DatabaseTableConfig<Operation> config = DatabaseTableConfig.fromClass(getConnectionSource(), Operation.class);
+                config.setTableName(OperationArchive.VIEW);
+                operationHistoryDao = new EntityDao<>(getConnectionSource(), config);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return (EntityDao<T>) operationHistoryDao;
+    }
+
+    /**
+     * @return identity-map cache shared by accounts, categories and currencies DAOs, with its hit/miss counters
+     */
+    public CountingObjectCache getReferenceCache() {
+        return mReferenceCache;
+    }
+
     @Override
     public <D extends Dao<T, ?>, T> D getDao(Class<T> clazz) {
         try {
-            return super.getDao(clazz);
+            final D dao = super.getDao(clazz);
+            if(!mWiredDaos.contains(dao))
+                wireUp(clazz, dao);
+            return dao;
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Sets reference cache and write hooks of DAO once, when it's first requested
+     * @param clazz class of entities of DAO
+     * @param dao DAO returned by {@link com.j256.ormlite.dao.DaoManager}
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized void wireUp(Class<?> clazz, Dao<?, ?> dao) throws SQLException {
+        if(mWiredDaos.contains(dao))
+            return;
+
+        if(dao.getObjectCache() == null && isReferenceTable(clazz))
+            dao.setObjectCache(mReferenceCache);
+        if(clazz == Operation.class) // every write of operation updates daily rollup and search index
+            ((EntityDao<Operation>) dao).setWriteHooks(mOperationRollup, mOperationSearch);
+        else if(clazz == Category.class) // names are indexed with operations
+            ((EntityDao<Category>) dao).setWriteHooks(mCategoryNames);
+        else if(clazz == Account.class)
+            ((EntityDao<Account>) dao).setWriteHooks(mAccountNames);
+        mWiredDaos.add(dao);
+    }
+
+    private static boolean isReferenceTable(Class<?> clazz) {
+        for(Class<?> reference : REFERENCE_TABLES)
+            if(reference == clazz)
+                return true;
+        return false;
+    }
+
     //выполняется при закрытии приложения
     @Override
     public void close() {
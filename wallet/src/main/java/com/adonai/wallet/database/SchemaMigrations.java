@@ -0,0 +1,174 @@
+package com.adonai.wallet.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.adonai.wallet.entities.Entity;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * All schema upgrade steps of wallet DB, in version order.
+ * <br/>
+ * To change schema, bump DB version in {@link PersistManager} and add step with that version here.
+ * Steps must not use DAOs and entity classes for reading rows, as those describe the newest schema only
+ */
+final class SchemaMigrations {
+
+    private static final String TAG = SchemaMigrations.class.getSimpleName();
+
+    private static final String[] ENTITY_TABLES = {"account", "category", "operation", "budget", "budget_item"};
+
+    private SchemaMigrations() {
+    }
+
+    static MigrationRegistry create() {
+        return new MigrationRegistry()
+            .add(new Migration(7, "reset Java-serialized backups") {
+                @Override
+                protected void migrate(SQLiteDatabase db) {
+                    db.execSQL("UPDATE account SET backup = NULL");
+                    db.execSQL("UPDATE category SET backup = NULL");
+                    db.execSQL("UPDATE operation SET backup = NULL");
+                }
+            })
+            .add(new Migration(8, "convert backups to snapshot format") {
+                @Override
+                protected void migrate(SQLiteDatabase db) {
+                    for(String table : ENTITY_TABLES)
+                        convertBackups(this, db, table);
+                }
+            })
+            .add(new Migration(9, "add sync state column") {
+                @Override
+                protected void migrate(SQLiteDatabase db) {
+                    for(String table : ENTITY_TABLES)
+                        addSyncState(db, table);
+                }
+            })
+            .add(new Migration(10, "store amounts as minor units") {
+                @Override
+                protected void migrate(SQLiteDatabase db) { // column type must be numeric for comparisons to work
+                    final String toMinorUnits = "CAST(ROUND(%s * " + BigDecimal.ONE.scaleByPowerOfTen(MoneyPersister.SCALE).toPlainString() + ") AS INTEGER)";
+                    rebuildTable(db, "account", "BIGINT", toMinorUnits, "amount");
+                    rebuildTable(db, "operation", "BIGINT", toMinorUnits, "amount");
+                    rebuildTable(db, "budget", "BIGINT", toMinorUnits, "warning_amount", "max_amount", "max_daily_amount");
+                    rebuildTable(db, "budget_item", "BIGINT", toMinorUnits, "max_amount");
+                }
+            })
+            .add(new Migration(11, "store IDs as 16-byte blobs") {
+                @Override
+                protected void migrate(SQLiteDatabase db) { // in primary keys and in foreign key columns
+                    final long usedBefore = usedBytes(db);
+                    convertIds(this, db, "account", "_id");
+                    convertIds(this, db, "category", "_id", "preferred_account");
+                    convertIds(this, db, "operation", "_id", "category_id", "orderer_id", "beneficiar_id");
+                    convertIds(this, db, "budget", "_id", "covered_account");
+                    convertIds(this, db, "budget_item", "_id", "parent_budget", "category_id");
+                    Log.i(TAG, String.format("Converted IDs to blobs, used space %d -> %d bytes", usedBefore, usedBytes(db)));
+                }
+            })
+            .add(new Migration(12, "add composite operation indexes") {
+                @Override
+                protected void migrate(SQLiteDatabase db) {
+                    for(String index : PersistManager.OPERATION_INDEXES)
+                        db.execSQL(index);
+                }
+            })
+            .add(new Migration(13, "add balance checkpoints") {
+                @Override
+                protected void migrate(SQLiteDatabase db) {
+                    db.execSQL(BalanceLedger.CREATE_TABLE);
+                    BalanceLedger.rebuild(db, "operation"); // no archive yet
+                }
+            })
+            .add(new Migration(14, "add daily operation rollup") {
+                @Override
+                protected void migrate(SQLiteDatabase db) { // filled by rebuild on open, as days depend on time zone
+                    db.execSQL(OperationRollup.CREATE_TABLE);
+                    db.execSQL(OperationRollup.CREATE_INDEX);
+                }
+            })
+            .add(new Migration(15, "add operation archive") {
+                @Override
+                protected void migrate(SQLiteDatabase db) {
+                    OperationArchive.createTable(db);
+                }
+            })
+            .add(new Migration(16, "add operation search index") {
+                @Override
+                protected void migrate(SQLiteDatabase db) {
+                    OperationSearchIndex.createTables(db);
+                }
+            });
+    }
+
+    /**
+     * Changes type of ID columns to BLOB and rewrites their values from strings to {@link UuidPersister} format.
+     * SQLite has no function to parse hex, so values are converted row by row
+     * @param step running migration step
+     * @param db database being upgraded
+     * @param table table to convert
+     * @param columns ID columns of table
+     */
+    private static void convertIds(Migration step, SQLiteDatabase db, String table, final String... columns) {
+        step.rebuildTable(db, table, "BLOB", "%s", columns);
+        step.rewriteRows(db, table, null, new Migration.RowRewriter() {
+            @Override
+            public Object[] rewrite(Cursor row) {
+                final Object[] ids = new Object[columns.length];
+                for (int i = 0; i < columns.length; ++i)
+                    ids[i] = row.isNull(i) ? null : UuidPersister.toBytes(UUID.fromString(row.getString(i)));
+                return ids;
+            }
+        }, columns);
+    }
+
+    /**
+     * Adds indexed sync state column to table and fills it from last modified time, backup and deletion mark
+     * @param db database being upgraded
+     * @param table table to add column to
+     * @see Entity.SyncState
+     */
+    private static void addSyncState(SQLiteDatabase db, String table) {
+        db.execSQL("ALTER TABLE " + table + " ADD COLUMN sync_state INTEGER");
+        db.execSQL("UPDATE " + table + " SET sync_state = CASE" +
+                " WHEN last_modified IS NULL THEN " + Entity.SyncState.NEW.ordinal() +
+                " WHEN backup IS NULL THEN " + Entity.SyncState.CLEAN.ordinal() +
+                " WHEN deleted THEN " + Entity.SyncState.DELETED.ordinal() +
+                " ELSE " + Entity.SyncState.DIRTY.ordinal() + " END");
+        db.execSQL("CREATE INDEX " + table + "_sync_state_idx ON " + table + " (sync_state)");
+    }
+
+    /**
+     * Rewrites Java-serialized backups in table to {@link EntitySnapshotCodec} format
+     * @param step running migration step
+     * @param db database being upgraded
+     * @param table table to convert
+     */
+    private static void convertBackups(Migration step, SQLiteDatabase db, final String table) {
+        final long[] bytes = new long[2]; // before, after
+        final int converted = step.rewriteRows(db, table, "backup IS NOT NULL", new Migration.RowRewriter() {
+            @Override
+            public Object[] rewrite(Cursor row) {
+                final byte[] legacy = row.getBlob(0);
+                if(!EntitySnapshotCodec.isLegacy(legacy))
+                    return null;
+
+                try {
+                    final byte[] snapshot = EntitySnapshotCodec.encode(EntitySnapshotCodec.decodeLegacy(legacy));
+                    bytes[0] += legacy.length;
+                    bytes[1] += snapshot.length;
+                    return new Object[] {snapshot};
+                } catch (IOException e) {
+                    Log.e(TAG, "error converting backups in " + table);
+                    throw new RuntimeException(e);
+                }
+            }
+        }, "backup");
+        Log.i(TAG, String.format("Converted %d backups in %s: %d bytes -> %d bytes", converted, table, bytes[0], bytes[1]));
+    }
+}
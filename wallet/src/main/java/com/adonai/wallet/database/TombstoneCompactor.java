@@ -0,0 +1,126 @@
+package com.adonai.wallet.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteStatement;
+import android.preference.PreferenceManager;
+import android.util.Log;
+
+import com.adonai.wallet.entities.Entity;
+
+/**
+ * Purges tombstones of deleted entities. Synced entity deleted locally is only marked as deleted,
+ * so the deletion can be sent to server; once server acknowledged it, row is {@link Entity.SyncState#CLEAN}
+ * and is kept for nothing but making every list filter it out.
+ * <br/>
+ * Tombstones still referenced by other rows (e.g. deleted category of kept operation) are left,
+ * they are purged by later runs after referencing rows are gone.
+ * After purging, free pages are optionally returned to file system with incremental vacuum.
+ */
+public class TombstoneCompactor {
+
+    private static final String TAG = TombstoneCompactor.class.getSimpleName();
+
+    public static final String VACUUM_PREFERENCE = "compaction.vacuum";
+
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    private static final String TOMBSTONE = "deleted = 1 AND sync_state = " + Entity.SyncState.CLEAN.ordinal();
+
+    /**
+     * Purge statements, referencing tables go first so their tombstones don't keep referenced ones
+     */
+    private static final String[] PURGES = {
+            "DELETE FROM operation WHERE " + TOMBSTONE,
+            "DELETE FROM budget_item WHERE " + TOMBSTONE,
+            "DELETE FROM budget WHERE " + TOMBSTONE +
+                    " AND NOT EXISTS (SELECT 1 FROM budget_item i WHERE i.parent_budget = budget._id)",
+            "DELETE FROM category WHERE " + TOMBSTONE +
+                    " AND NOT EXISTS (SELECT 1 FROM operation o WHERE o.category_id = category._id)" +
+                    " AND NOT EXISTS (SELECT 1 FROM operation_archive o WHERE o.category_id = category._id)" +
+                    " AND NOT EXISTS (SELECT 1 FROM budget_item i WHERE i.category_id = category._id)",
+            "DELETE FROM account WHERE " + TOMBSTONE +
+                    " AND NOT EXISTS (SELECT 1 FROM operation o WHERE o.orderer_id = account._id OR o.beneficiar_id = account._id)" +
+                    " AND NOT EXISTS (SELECT 1 FROM operation_archive o WHERE o.orderer_id = account._id OR o.beneficiar_id = account._id)" +
+                    " AND NOT EXISTS (SELECT 1 FROM category c WHERE c.preferred_account = account._id)" +
+                    " AND NOT EXISTS (SELECT 1 FROM budget b WHERE b.covered_account = account._id)",
+            "DELETE FROM balance_checkpoint WHERE account_id NOT IN (SELECT _id FROM account)"
+    };
+
+    private final PersistManager mHelper;
+    private final SharedPreferences mPreferences;
+
+    TombstoneCompactor(PersistManager helper, Context context) {
+        mHelper = helper;
+        mPreferences = PreferenceManager.getDefaultSharedPreferences(context);
+    }
+
+    /**
+     * Purges acknowledged tombstones and vacuums DB if enabled in preferences.
+     * Must not be called inside transaction, vacuum can't run there
+     * @return number of purged rows
+     */
+    public int compact() {
+        final long started = System.currentTimeMillis();
+        final SQLiteDatabase db = mHelper.getWritableDatabase();
+        final long sizeBefore = fileBytes(db);
+
+        final int purged = purge(db);
+        if(purged > 0)
+            mHelper.clearCaches(); // purged rows may still be cached
+        if(mPreferences.getBoolean(VACUUM_PREFERENCE, true))
+            vacuum(db);
+
+        Log.i(TAG, String.format("Purged %d tombstones, reclaimed %d bytes in %d ms", purged, sizeBefore - fileBytes(db), System.currentTimeMillis() - started));
+        return purged;
+    }
+
+    private static int purge(SQLiteDatabase db) {
+        int purged = 0;
+        db.beginTransactionNonExclusive();
+        try {
+            for(String sql : PURGES) {
+                final SQLiteStatement purge = db.compileStatement(sql);
+                try {
+                    purged += purge.executeUpdateDelete();
+                } finally {
+                    purge.close();
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return purged;
+    }
+
+    /**
+     * Returns free pages to file system. DB created without incremental auto vacuum is switched to it,
+     * that takes one full vacuum
+     */
+    private static void vacuum(SQLiteDatabase db) {
+        if(DatabaseUtils.longForQuery(db, "PRAGMA freelist_count", null) == 0)
+            return;
+
+        try {
+            if(DatabaseUtils.longForQuery(db, "PRAGMA auto_vacuum", null) == AUTO_VACUUM_INCREMENTAL) {
+                db.execSQL("PRAGMA incremental_vacuum");
+            } else {
+                db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+                db.execSQL("VACUUM");
+            }
+        } catch (SQLiteException e) { // DB is busy with other connection, next run will do
+            Log.w(TAG, "vacuum skipped", e);
+        }
+    }
+
+    /**
+     * @return size of DB file, free pages included
+     */
+    private static long fileBytes(SQLiteDatabase db) {
+        return DatabaseUtils.longForQuery(db, "PRAGMA page_size", null) * DatabaseUtils.longForQuery(db, "PRAGMA page_count", null);
+    }
+}
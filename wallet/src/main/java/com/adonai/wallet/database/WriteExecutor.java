@@ -0,0 +1,213 @@
+package com.adonai.wallet.database;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.widget.Toast;
+
+import com.adonai.wallet.R;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.RuntimeExceptionDao;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single background thread that performs all DB writes requested by UI, one after another.
+ * UI thread only submits writes and never waits for SQLite locks, e.g. while sync holds its write transaction.
+ * <br/>
+ * Writes are serialized, so ones submitted later see results of earlier ones. Loaders learn about
+ * changes from DAO notifications as usual. Failed writes are logged and reported to the user with a toast,
+ * callers interested in result use returned future.
+ * <br/>
+ * Tracks queue depth and latency from submission to completion of each write; slow writes are logged.
+ */
+public class WriteExecutor {
+
+    private static final String TAG = WriteExecutor.class.getSimpleName();
+
+    /**
+     * Writes completing later than this after submission are logged
+     */
+    private static final long SLOW_WRITE_MILLIS = 200;
+
+    private static final long IDLE_THREAD_SECONDS = 30;
+
+    private final ThreadPoolExecutor mExecutor;
+    private final Context mContext;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    private final AtomicLong mMaxQueueDepth = new AtomicLong();
+    private final AtomicLong mCompleted = new AtomicLong();
+    private final AtomicLong mFailed = new AtomicLong();
+    private final AtomicLong mTotalLatency = new AtomicLong();
+    private final AtomicLong mMaxLatency = new AtomicLong();
+
+    WriteExecutor(Context context) {
+        mContext = context.getApplicationContext();
+        mExecutor = new ThreadPoolExecutor(1, 1, IDLE_THREAD_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                return new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        r.run();
+                    }
+                }, "DB writer");
+            }
+        });
+        mExecutor.allowCoreThreadTimeOut(true); // don't keep thread when nothing is written
+    }
+
+    /**
+     * Queues write for execution on writer thread
+     * @param name short description of write, for logs
+     * @param write write to perform, multi-statement ones should run their own transaction
+     * @return future result of write
+     */
+    public <R> Future<R> submit(final String name, final Callable<R> write) {
+        final long submitted = SystemClock.elapsedRealtime();
+        final Future<R> result = mExecutor.submit(new Callable<R>() {
+            @Override
+            public R call() throws Exception {
+                final long started = SystemClock.elapsedRealtime();
+                try {
+                    return write.call();
+                } catch (Exception e) {
+                    mFailed.incrementAndGet();
+                    Log.e(TAG, "write failed: " + name, e);
+                    reportFailure(e);
+                    throw e;
+                } finally {
+                    finished(name, submitted, started);
+                }
+            }
+        });
+
+        raise(mMaxQueueDepth, mExecutor.getQueue().size());
+        return result;
+    }
+
+    public <T, ID> Future<Dao.CreateOrUpdateStatus> createOrUpdate(final RuntimeExceptionDao<T, ID> dao, final T data) {
+        return submit("create or update " + dao.getDataClass().getSimpleName(), new Callable<Dao.CreateOrUpdateStatus>() {
+            @Override
+            public Dao.CreateOrUpdateStatus call() throws Exception {
+                return dao.createOrUpdate(data);
+            }
+        });
+    }
+
+    public <T, ID> Future<Integer> create(final RuntimeExceptionDao<T, ID> dao, final T data) {
+        return submit("create " + dao.getDataClass().getSimpleName(), new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return dao.create(data);
+            }
+        });
+    }
+
+    public <T, ID> Future<Integer> update(final RuntimeExceptionDao<T, ID> dao, final T data) {
+        return submit("update " + dao.getDataClass().getSimpleName(), new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return dao.update(data);
+            }
+        });
+    }
+
+    public <T, ID> Future<Integer> delete(final Dao<T, ID> dao, final T data) {
+        return submit("delete " + dao.getDataClass().getSimpleName(), new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return dao.delete(data);
+            }
+        });
+    }
+
+    public <T, ID> Future<Integer> deleteById(final RuntimeExceptionDao<T, ID> dao, final ID id) {
+        return submit("delete " + dao.getDataClass().getSimpleName(), new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return dao.deleteById(id);
+            }
+        });
+    }
+
+    /**
+     * Shows toast about failed write, caller that submitted it may be long gone
+     */
+    private void reportFailure(final Exception e) {
+        mMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                final String reason = e.getLocalizedMessage() != null ? e.getLocalizedMessage() : e.getClass().getSimpleName();
+                Toast.makeText(mContext, mContext.getString(R.string.write_failed) + ": " + reason, Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    private void finished(String name, long submitted, long started) {
+        final long finished = SystemClock.elapsedRealtime();
+        final long latency = finished - submitted;
+        mCompleted.incrementAndGet();
+        mTotalLatency.addAndGet(latency);
+        raise(mMaxLatency, latency);
+        if(latency > SLOW_WRITE_MILLIS)
+            Log.w(TAG, String.format("Slow write %s: waited %d ms, ran %d ms, %d more queued", name, started - submitted, finished - started, getQueueDepth()));
+    }
+
+    private static void raise(AtomicLong max, long value) {
+        long current = max.get();
+        while(value > current && !max.compareAndSet(current, value))
+            current = max.get();
+    }
+
+    /**
+     * @return number of writes waiting for execution, not counting running one
+     */
+    public int getQueueDepth() {
+        return mExecutor.getQueue().size();
+    }
+
+    /**
+     * @return the most writes ever waiting for execution at once
+     */
+    public int getMaxQueueDepth() {
+        return (int) mMaxQueueDepth.get();
+    }
+
+    /**
+     * @return number of finished writes, failed ones included
+     */
+    public long getCompletedCount() {
+        return mCompleted.get();
+    }
+
+    public long getFailedCount() {
+        return mFailed.get();
+    }
+
+    /**
+     * @return mean time from submission to completion of write, in milliseconds
+     */
+    public long getAverageLatency() {
+        final long completed = mCompleted.get();
+        return completed == 0 ? 0 : mTotalLatency.get() / completed;
+    }
+
+    /**
+     * @return the longest time from submission to completion of write, in milliseconds
+     */
+    public long getMaxLatency() {
+        return mMaxLatency.get();
+    }
+}
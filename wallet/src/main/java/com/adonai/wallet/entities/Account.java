@@ -1,6 +1,7 @@
 package com.adonai.wallet.entities;
 
 import com.adonai.wallet.database.EntityDao;
+import com.adonai.wallet.database.MoneyPersister;
 import com.adonai.wallet.sync.SyncProtocol;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
@@ -30,13 +31,15 @@ import java.util.UUID;
 @DatabaseTable(daoClass = EntityDao.class)
 public class Account extends Entity {
 
+    private static final long serialVersionUID = -5488305999346775867L;
+
     @DatabaseField(canBeNull = false)
     private String name;
 
     @DatabaseField(canBeNull = false, foreign = true, foreignAutoRefresh = true)
     private Currency currency;
 
-    @DatabaseField(canBeNull = false)
+    @DatabaseField(canBeNull = false, persisterClass = MoneyPersister.class)
     private BigDecimal amount;
 
     @DatabaseField
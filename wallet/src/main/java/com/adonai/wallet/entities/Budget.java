@@ -1,6 +1,9 @@
 package com.adonai.wallet.entities;
 
 import com.adonai.wallet.database.EntityDao;
+import com.adonai.wallet.database.MoneyPersister;
+import com.adonai.wallet.sync.EntityLookup;
+import com.adonai.wallet.sync.SyncProtocol;
 import com.j256.ormlite.dao.ForeignCollection;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
@@ -8,7 +11,9 @@ import com.j256.ormlite.field.ForeignCollectionField;
 import com.j256.ormlite.table.DatabaseTable;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Entity representing a budget
@@ -19,7 +24,7 @@ import java.util.Date;
  * Budgets may also have flags that describe its behaviour and expiration conditions
  *
  * <br/><br/>
- * For now budgets are local items not being synchronized with server
+ * Budgets are synchronized with server after accounts, their items are synchronized as separate entities
  *
  * @see com.adonai.wallet.entities.BudgetItem
  * @author Adonai
@@ -27,6 +32,8 @@ import java.util.Date;
 @DatabaseTable(daoClass = EntityDao.class)
 public class Budget extends Entity {
 
+    private static final long serialVersionUID = -169662305035622350L;
+
     @DatabaseField(canBeNull = false)
     private String name;
 
@@ -48,13 +55,13 @@ public class Budget extends Entity {
     @DatabaseField(columnName = "repeat_time_seconds")
     private Long repeatTimeSeconds;
 
-    @DatabaseField(columnName = "warning_amount")
+    @DatabaseField(columnName = "warning_amount", persisterClass = MoneyPersister.class)
     private BigDecimal warningAmount;
 
-    @DatabaseField(columnName = "max_amount")
+    @DatabaseField(columnName = "max_amount", persisterClass = MoneyPersister.class)
     private BigDecimal maxAmount; // maximum amount for the whole budget
 
-    @DatabaseField(columnName = "max_daily_amount")
+    @DatabaseField(columnName = "max_daily_amount", persisterClass = MoneyPersister.class)
     private BigDecimal maxDailyAmount; // maximum amount for a day
 
     public String getName() {
@@ -202,6 +209,56 @@ public class Budget extends Entity {
         this.maxDailyAmount = maxDailyAmount;
     }
 
+    public static Budget fromProtoEntity(SyncProtocol.Entity entity, EntityLookup lookup) throws SQLException {
+        final Budget temp = new Budget();
+        temp.setId(UUID.fromString(entity.getID()));
+        temp.setDeleted(entity.getDeleted());
+
+        final SyncProtocol.Budget budget = entity.getBudget();
+        temp.setName(budget.getName());
+        temp.setStartTime(new Date(budget.getFrom()));
+        if(budget.hasTill())
+            temp.setEndTime(new Date(budget.getTill()));
+        if(budget.hasCoveredAccountId())
+            temp.setCoveredAccount(lookup.get(Account.class, budget.getCoveredAccountId()));
+        temp.setFlags(budget.getFlags());
+        if(budget.hasRepeatTimeSeconds())
+            temp.setRepeatTimeSeconds(budget.getRepeatTimeSeconds());
+        if(budget.hasWarningAmount())
+            temp.setWarningAmount(new BigDecimal(budget.getWarningAmount()));
+        if(budget.hasMaxAmount())
+            temp.setMaxAmount(new BigDecimal(budget.getMaxAmount()));
+        if(budget.hasMaxDailyAmount())
+            temp.setMaxDailyAmount(new BigDecimal(budget.getMaxDailyAmount()));
+        return temp;
+    }
+
+    public SyncProtocol.Entity toProtoEntity() {
+        final SyncProtocol.Budget.Builder builder = SyncProtocol.Budget.newBuilder()
+                .setName(getName())
+                .setFrom(getStartTime().getTime())
+                .setFlags(getFlags());
+        if(getEndTime() != null)
+            builder.setTill(getEndTime().getTime());
+        if(getCoveredAccount() != null)
+            builder.setCoveredAccountId(getCoveredAccount().getId().toString());
+        if(getRepeatTimeSeconds() != null)
+            builder.setRepeatTimeSeconds(getRepeatTimeSeconds());
+        if(getWarningAmount() != null)
+            builder.setWarningAmount(getWarningAmount().toPlainString());
+        if(hasExplicitMaxAmount()) // computed amount is derived from items, don't send it
+            builder.setMaxAmount(maxAmount.toPlainString());
+        if(getMaxDailyAmount() != null)
+            builder.setMaxDailyAmount(getMaxDailyAmount().toPlainString());
+
+        return SyncProtocol.Entity.newBuilder()
+                .setID(getId().toString())
+                .setDeleted(isDeleted())
+                //.setLastModified(getLastModified().getTime()) // don't send server time to itself
+                .setBudget(builder.build())
+                .build();
+    }
+
     public enum Flags {
         REPEATING                       (0x1),             // repeatable budgets (daily, weekly, monthly)
         AUTO_EXPANDING                  (0x2),        // auto-expanding budgets (child items automatically match the size)
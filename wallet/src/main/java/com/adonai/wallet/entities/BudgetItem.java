@@ -2,17 +2,18 @@ package com.adonai.wallet.entities;
 
 import com.adonai.wallet.database.DbProvider;
 import com.adonai.wallet.database.EntityDao;
-import com.j256.ormlite.dao.GenericRawResults;
+import com.adonai.wallet.database.MoneyPersister;
+import com.adonai.wallet.database.OperationRollup;
+import com.adonai.wallet.sync.EntityLookup;
+import com.adonai.wallet.sync.SyncProtocol;
 import com.j256.ormlite.dao.RuntimeExceptionDao;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 
 import java.math.BigDecimal;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,6 +26,8 @@ import java.util.UUID;
 @DatabaseTable(tableName = "budget_item", daoClass = EntityDao.class)
 public class BudgetItem extends Entity {
 
+    private static final long serialVersionUID = -267622647917299064L;
+
     public BudgetItem() {
     }
 
@@ -38,7 +41,7 @@ public class BudgetItem extends Entity {
     @DatabaseField(canBeNull = false, foreign = true, foreignAutoRefresh = true)
     private Category category;
 
-    @DatabaseField(columnName = "max_amount")
+    @DatabaseField(columnName = "max_amount", persisterClass = MoneyPersister.class)
     private BigDecimal maxAmount;
 
     public Budget getParentBudget() {
@@ -65,6 +68,34 @@ public class BudgetItem extends Entity {
         this.maxAmount = maxAmount;
     }
 
+    public static BudgetItem fromProtoEntity(SyncProtocol.Entity entity, EntityLookup lookup) throws SQLException {
+        final BudgetItem temp = new BudgetItem();
+        temp.setId(UUID.fromString(entity.getID()));
+        temp.setDeleted(entity.getDeleted());
+
+        final SyncProtocol.BudgetItem item = entity.getBudgetItem();
+        temp.setParentBudget(lookup.get(Budget.class, item.getParentBudgetId()));
+        temp.setCategory(lookup.get(Category.class, item.getCategoryId()));
+        if(item.hasMaxAmount())
+            temp.setMaxAmount(new BigDecimal(item.getMaxAmount()));
+        return temp;
+    }
+
+    public SyncProtocol.Entity toProtoEntity() {
+        final SyncProtocol.BudgetItem.Builder builder = SyncProtocol.BudgetItem.newBuilder()
+                .setParentBudgetId(getParentBudget().getId().toString())
+                .setCategoryId(getCategory().getId().toString());
+        if(getMaxAmount() != null)
+            builder.setMaxAmount(getMaxAmount().toPlainString());
+
+        return SyncProtocol.Entity.newBuilder()
+                .setID(getId().toString())
+                .setDeleted(isDeleted())
+                //.setLastModified(getLastModified().getTime()) // don't send server time to itself
+                .setBudgetItem(builder.build())
+                .build();
+    }
+
     public BigDecimal getProgress() {
         final BigDecimal result = BigDecimal.ZERO;
         if(parentBudget == null) // parent budget is not set, nothing to count
@@ -78,70 +109,26 @@ public class BudgetItem extends Entity {
      * @return BigDecimal representing spent amount today
      */
     public BigDecimal getDailyProgress() {
-        final BigDecimal sum;
-        GenericRawResults<String[]> results;
-        EntityDao<Operation> dao = DbProvider.getHelper().getEntityDao(Operation.class);
-        StringBuilder sb = new StringBuilder("SELECT SUM(amount) FROM operation WHERE category_id = ?");
-        List<String> args = new ArrayList<>();
-        args.add(category.getId().toString());
-
-        if(parentBudget.getCoveredAccount() != null) {
-            sb.append(" AND orderer_id = ?");
-            args.add(parentBudget.getCoveredAccount().getId().toString());
-        }
-        
         // counting the beginning of current day
         Calendar currentDay = Calendar.getInstance();
         currentDay.set(Calendar.HOUR_OF_DAY, 0);
         currentDay.set(Calendar.MINUTE, 0);
         currentDay.set(Calendar.SECOND, 0);
-        sb.append(" AND time > ?");
-        args.add(String.valueOf(currentDay.getTimeInMillis()));
-
-        try {
-            results = dao.queryRaw(sb.toString(), args.toArray(new String[args.size()]));
-            String[] res = results.getFirstResult();
-            sum = res[0] == null ? BigDecimal.ZERO : new BigDecimal(res[0]);
-            results.close();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-        return sum;
+        return sumOperations(parentBudget, category, currentDay.getTimeInMillis(), null);
     }
 
     public BigDecimal getAmountForBudget(Budget budget, Category category) {
-        final BigDecimal sum;
-        GenericRawResults<String[]> results;
-        EntityDao<Operation> dao = DbProvider.getHelper().getEntityDao(Operation.class);
-        StringBuilder sb = new StringBuilder("SELECT SUM(amount) FROM operation WHERE category_id = ?");
-        List<String> args = new ArrayList<>();
-        args.add(category.getId().toString());
-        
-        if(budget.getCoveredAccount() != null) {
-            sb.append(" AND orderer_id = ?");
-            args.add(budget.getCoveredAccount().getId().toString());
-        }
-        
-        if(budget.getStartTime() != null) {
-            sb.append(" AND time > ?");
-            args.add(String.valueOf(budget.getStartTime().getTime()));
-        }
-
-        if(budget.getEndTime() != null) {
-            sb.append(" AND time < ?");
-            args.add(String.valueOf(budget.getEndTime().getTime()));
-        }
-        
-        try {
-            results = dao.queryRaw(sb.toString(), args.toArray(new String[args.size()]));
-            String[] res = results.getFirstResult();
-            sum = res[0] == null ? BigDecimal.ZERO : new BigDecimal(res[0]);
-            results.close();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-        return sum;
+        return sumOperations(budget, category,
+                budget.getStartTime() != null ? budget.getStartTime().getTime() : null,
+                budget.getEndTime() != null ? budget.getEndTime().getTime() : null);
+    }
+
+    private static BigDecimal sumOperations(Budget budget, Category category, Long after, Long before) {
+        // whole days are summed from daily rollup, only operations of edge days are read
+        final OperationRollup rollup = DbProvider.getHelper().getOperationRollup();
+        if(budget.getCoveredAccount() != null)
+            return MoneyPersister.fromMinorUnits(rollup.sum(category.getId(), budget.getCoveredAccount().getId(), OperationRollup.Direction.CHARGED, after, before));
+        else
+            return MoneyPersister.fromMinorUnits(rollup.sum(category.getId(), null, OperationRollup.Direction.ALL_OPERATIONS, after, before));
     }
 }
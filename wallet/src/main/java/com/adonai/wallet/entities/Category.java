@@ -1,7 +1,7 @@
 package com.adonai.wallet.entities;
 
-import com.adonai.wallet.database.DbProvider;
 import com.adonai.wallet.database.EntityDao;
+import com.adonai.wallet.sync.EntityLookup;
 import com.adonai.wallet.sync.SyncProtocol;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
@@ -30,6 +30,8 @@ import java.util.UUID;
 @DatabaseTable(daoClass = EntityDao.class)
 public class Category extends Entity {
 
+    private static final long serialVersionUID = 2556875748510118695L;
+
     public enum CategoryType {
         EXPENSE,
         INCOME,
@@ -77,7 +79,7 @@ public class Category extends Entity {
         this.preferredAccount = preferredAccount;
     }
 
-    public static Category fromProtoEntity(SyncProtocol.Entity entity) throws SQLException {
+    public static Category fromProtoEntity(SyncProtocol.Entity entity, EntityLookup lookup) throws SQLException {
         final Category tempCategory = new Category();
         tempCategory.setId(UUID.fromString(entity.getID()));
         tempCategory.setDeleted(entity.getDeleted());
@@ -85,7 +87,7 @@ public class Category extends Entity {
         tempCategory.setName(entity.getCategory().getName());
         tempCategory.setType(CategoryType.values()[entity.getCategory().getType()]);
         if(entity.getCategory().hasPreferredAccount())
-            tempCategory.setPreferredAccount(DbProvider.getHelper().getAccountDao().queryForId(UUID.fromString(entity.getCategory().getPreferredAccount())));
+            tempCategory.setPreferredAccount(lookup.get(Account.class, entity.getCategory().getPreferredAccount()));
 
         return tempCategory;
     }
@@ -21,6 +21,8 @@ import java.io.Serializable;
 @DatabaseTable
 public class Currency implements Serializable {
 
+    private static final long serialVersionUID = -1755518204364336729L;
+
     @DatabaseField(id = true)
     private String code;
 
@@ -1,5 +1,7 @@
 package com.adonai.wallet.entities;
 
+import com.adonai.wallet.database.EntitySnapshotPersister;
+import com.adonai.wallet.database.UuidPersister;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 
@@ -19,7 +21,21 @@ import java.util.UUID;
  */
 public class Entity implements Serializable {
 
-    @DatabaseField(columnName = "_id", generatedId = true, allowGeneratedIdInsert = true)
+    // Backups written before the snapshot format are Java-serialized, keep UIDs of all entities
+    // as computed for classes of that version so old backups stay readable
+    private static final long serialVersionUID = -688379678204810563L;
+
+    /**
+     * State of entity relative to the server side. Ordinals are stored in DB, only append new ones
+     */
+    public enum SyncState {
+        NEW,        // never been synced
+        CLEAN,      // same as on server
+        DIRTY,      // modified locally after last sync
+        DELETED     // deleted locally after last sync
+    }
+
+    @DatabaseField(columnName = "_id", generatedId = true, allowGeneratedIdInsert = true, persisterClass = UuidPersister.class)
     private UUID id;
 
     @DatabaseField(columnName = "last_modified", index = true, dataType = DataType.DATE_LONG)
@@ -28,9 +44,12 @@ public class Entity implements Serializable {
     @DatabaseField
     private boolean deleted;
 
-    @DatabaseField(dataType = DataType.SERIALIZABLE)
+    @DatabaseField(persisterClass = EntitySnapshotPersister.class)
     private Entity backup; // indicates the synced entity is changed locally or not
 
+    @DatabaseField(columnName = "sync_state", index = true, dataType = DataType.ENUM_INTEGER)
+    private SyncState syncState = SyncState.NEW;
+
     public UUID getId() {
         return id;
     }
@@ -59,6 +78,14 @@ public class Entity implements Serializable {
         return backup != null;
     }
 
+    public SyncState getSyncState() {
+        return syncState;
+    }
+
+    public void setSyncState(SyncState syncState) {
+        this.syncState = syncState;
+    }
+
     public Entity getBackup() {
         return backup;
     }
@@ -2,10 +2,11 @@ package com.adonai.wallet.entities;
 
 import com.adonai.wallet.database.DbProvider;
 import com.adonai.wallet.database.EntityDao;
+import com.adonai.wallet.database.MoneyPersister;
+import com.adonai.wallet.sync.EntityLookup;
 import com.adonai.wallet.sync.SyncProtocol;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
-import com.j256.ormlite.misc.TransactionManager;
 import com.j256.ormlite.table.DatabaseTable;
 
 import java.math.BigDecimal;
@@ -40,10 +41,12 @@ import java.util.concurrent.Callable;
 @DatabaseTable(daoClass = EntityDao.class)
 public class Operation extends Entity {
 
+    private static final long serialVersionUID = 5576131461363850281L;
+
     @DatabaseField(canBeNull = false, dataType = DataType.DATE_LONG)
     private Date time;
 
-    @DatabaseField(canBeNull = false)
+    @DatabaseField(canBeNull = false, persisterClass = MoneyPersister.class)
     private BigDecimal amount;
 
     @DatabaseField(canBeNull = false, foreign = true, foreignAutoRefresh = true)
@@ -132,18 +135,18 @@ public class Operation extends Entity {
             return getAmount();
     }
 
-    public static Operation fromProtoEntity(SyncProtocol.Entity entity) throws SQLException {
+    public static Operation fromProtoEntity(SyncProtocol.Entity entity, EntityLookup lookup) throws SQLException {
         final Operation temp = new Operation();
         temp.setId(UUID.fromString(entity.getID()));
         temp.setDeleted(entity.getDeleted());
 
         temp.setDescription(entity.getOperation().getDescription());
-        temp.setCategory(DbProvider.getHelper().getCategoryDao().queryForId(UUID.fromString(entity.getOperation().getCategoryId())));
+        temp.setCategory(lookup.get(Category.class, entity.getOperation().getCategoryId()));
         temp.setTime(new Date(entity.getOperation().getTime()));
         if(entity.getOperation().hasOrdererId())
-            temp.setOrderer(DbProvider.getHelper().getAccountDao().queryForId(UUID.fromString(entity.getOperation().getOrdererId())));
+            temp.setOrderer(lookup.get(Account.class, entity.getOperation().getOrdererId()));
         if(entity.getOperation().hasBeneficiarId())
-            temp.setBeneficiar(DbProvider.getHelper().getAccountDao().queryForId(UUID.fromString(entity.getOperation().getBeneficiarId())));
+            temp.setBeneficiar(lookup.get(Account.class, entity.getOperation().getBeneficiarId()));
         temp.setAmount(new BigDecimal(entity.getOperation().getAmount()));
         if(entity.getOperation().hasConvertingRate())
             temp.setConvertingRate(BigDecimal.valueOf(entity.getOperation().getConvertingRate()));
@@ -181,13 +184,14 @@ public class Operation extends Entity {
         final Account chargeAcc = operation.getOrderer();
         final Account benefAcc = operation.getBeneficiar();
         final BigDecimal amount = operation.getAmount();
-        return  TransactionManager.callInTransaction(DbProvider.getHelper().getConnectionSource(),
+        return  DbProvider.getHelper().callInTransaction(
                 new Callable<Boolean>() {
                     public Boolean call() throws Exception {
                         EntityDao<Operation> opDao = DbProvider.getHelper().getDao(Operation.class);
                         if(opDao.delete(operation) == 0) {
                             throw new IllegalStateException();
                         }
+                        DbProvider.getHelper().getBalanceLedger().record(operation, true);
 
                         switch (operation.getCategory().getType()) {
                             case TRANSFER:
@@ -224,11 +228,12 @@ public class Operation extends Entity {
         final Account benefAcc = operation.getBeneficiar();
         final BigDecimal amount = operation.getAmount();
 
-        return  TransactionManager.callInTransaction(DbProvider.getHelper().getConnectionSource(),
+        return  DbProvider.getHelper().callInTransaction(
                 new Callable<Boolean>() {
                     public Boolean call() throws Exception {
                         if(DbProvider.getHelper().getOperationDao().createOrUpdate(operation).getNumLinesChanged() == 0)
                             throw new IllegalStateException();
+                        DbProvider.getHelper().getBalanceLedger().record(operation, false);
 
                         switch (operation.getCategory().getType()) {
                             case TRANSFER:
@@ -0,0 +1,111 @@
+package com.adonai.wallet.sync;
+
+import com.adonai.wallet.database.PersistManager;
+import com.adonai.wallet.entities.Entity;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Local entities needed to store one chunk of server changes. IDs of changed entities and of entities
+ * they reference are gathered from the whole chunk first and loaded with few {@code IN} queries,
+ * so storing the chunk runs in memory instead of querying each entity and reference by ID.
+ * <br/>
+ * Entities that were not gathered are queried by ID on first request.
+ */
+public class EntityLookup {
+
+    /**
+     * Max IDs in single query, SQLite allows 999 bound arguments
+     */
+    static final int MAX_IDS_PER_QUERY = 500;
+
+    private final PersistManager mPersist;
+    private final Map<Class<? extends Entity>, Set<UUID>> mWanted = new HashMap<>();
+    private final Map<Class<? extends Entity>, Map<UUID, Entity>> mLoaded = new HashMap<>(); // null values for missing ones
+
+    EntityLookup(PersistManager persist) {
+        mPersist = persist;
+    }
+
+    /**
+     * Gathers ID of entity to be loaded by {@link #load()}
+     */
+    void want(Class<? extends Entity> clazz, String id) {
+        Set<UUID> ids = mWanted.get(clazz);
+        if(ids == null) {
+            ids = new HashSet<>();
+            mWanted.put(clazz, ids);
+        }
+        ids.add(UUID.fromString(id));
+    }
+
+    /**
+     * @return gathered IDs of entities of specified class that are not loaded yet
+     */
+    Set<UUID> getWanted(Class<? extends Entity> clazz) {
+        final Set<UUID> ids = mWanted.get(clazz);
+        return ids != null ? ids : new HashSet<UUID>();
+    }
+
+    /**
+     * Loads all gathered entities, those not found locally are remembered as missing
+     */
+    void load() throws SQLException {
+        for(Map.Entry<Class<? extends Entity>, Set<UUID>> wanted : mWanted.entrySet())
+            load(wanted.getKey(), wanted.getValue());
+        mWanted.clear();
+    }
+
+    private <T extends Entity> void load(Class<T> clazz, Set<UUID> ids) throws SQLException {
+        final Map<UUID, Entity> loaded = loadedOf(clazz);
+        final List<UUID> all = new ArrayList<>(ids);
+        for(int from = 0; from < all.size(); from += MAX_IDS_PER_QUERY) {
+            final List<UUID> part = all.subList(from, Math.min(from + MAX_IDS_PER_QUERY, all.size()));
+            for(UUID id : part)
+                loaded.put(id, null);
+            for(T entity : mPersist.getEntityDao(clazz).queryBuilder().where().in("_id", part).query())
+                loaded.put(entity.getId(), entity);
+        }
+    }
+
+    /**
+     * @return local entity with specified ID or null if there's none
+     */
+    public <T extends Entity> T get(Class<T> clazz, UUID id) throws SQLException {
+        final Map<UUID, Entity> loaded = loadedOf(clazz);
+        if(!loaded.containsKey(id)) // not gathered, query it alone
+            loaded.put(id, mPersist.getEntityDao(clazz).queryForId(id));
+        return clazz.cast(loaded.get(id));
+    }
+
+    /**
+     * @param id ID as sent in proto
+     * @return local entity with specified ID or null if there's none
+     */
+    public <T extends Entity> T get(Class<T> clazz, String id) throws SQLException {
+        return get(clazz, UUID.fromString(id));
+    }
+
+    /**
+     * Remembers entity stored while storing the chunk, so later requests see it
+     */
+    void put(Entity entity) {
+        loadedOf(entity.getClass()).put(entity.getId(), entity);
+    }
+
+    private Map<UUID, Entity> loadedOf(Class<? extends Entity> clazz) {
+        Map<UUID, Entity> loaded = mLoaded.get(clazz);
+        if(loaded == null) {
+            loaded = new HashMap<>();
+            mLoaded.put(clazz, loaded);
+        }
+        return loaded;
+    }
+}
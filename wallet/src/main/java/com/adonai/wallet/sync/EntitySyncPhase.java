@@ -0,0 +1,346 @@
+package com.adonai.wallet.sync;
+
+import com.adonai.wallet.database.EntityDao;
+import com.adonai.wallet.database.PersistManager;
+import com.adonai.wallet.entities.Entity;
+import com.j256.ormlite.dao.CloseableIterator;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One round of sync exchange for single entity type, as described in {@link SyncStateMachine}.
+ * <br/>
+ * Round itself is the same for every type, subclasses only supply proto codec of entity and,
+ * where needed, references to load with each chunk, the way to resolve conflicts and react to server changes.
+ *
+ * @param <T> synced entity type
+ * @see SyncPhaseRegistry
+ */
+public abstract class EntitySyncPhase<T extends Entity> {
+
+    /**
+     * Max number of entities in each chunk, in chunked mode
+     */
+    static final int CHUNK_SIZE = 200;
+
+    private final Class<T> mEntityClass;
+    private final List<Class<? extends Entity>> mDependencies;
+    private final SyncProtocol.SyncRequest.Capability mRequiredCapability;
+
+    /**
+     * @param entityClass class of synced entities
+     * @param dependencies entity classes referenced by synced ones, they must be synced in earlier phases
+     */
+    @SafeVarargs
+    protected EntitySyncPhase(Class<T> entityClass, Class<? extends Entity>... dependencies) {
+        this(null, entityClass, dependencies);
+    }
+
+    /**
+     * @param requiredCapability capability server must accept for this phase to run, older servers don't know the entity
+     * @param entityClass class of synced entities
+     * @param dependencies entity classes referenced by synced ones, they must be synced in earlier phases
+     */
+    @SafeVarargs
+    protected EntitySyncPhase(SyncProtocol.SyncRequest.Capability requiredCapability, Class<T> entityClass, Class<? extends Entity>... dependencies) {
+        mRequiredCapability = requiredCapability;
+        mEntityClass = entityClass;
+        mDependencies = Collections.unmodifiableList(Arrays.asList(dependencies));
+    }
+
+    public Class<T> getEntityClass() {
+        return mEntityClass;
+    }
+
+    public List<Class<? extends Entity>> getDependencies() {
+        return mDependencies;
+    }
+
+    /**
+     * @return capability server must accept for this phase to run, null if every server syncs it
+     */
+    public SyncProtocol.SyncRequest.Capability getRequiredCapability() {
+        return mRequiredCapability;
+    }
+
+    /**
+     * @param lookup local entities of the chunk, to resolve references with
+     */
+    protected abstract T fromProto(SyncProtocol.Entity entity, EntityLookup lookup) throws SQLException;
+
+    protected abstract SyncProtocol.Entity toProto(T entity);
+
+    /**
+     * Gathers IDs of local entities referenced by entity changed on server, so they are loaded
+     * with the whole chunk. Entity's own ID is gathered anyway
+     */
+    protected void collectReferences(SyncProtocol.Entity entity, EntityLookup lookup) {
+    }
+
+    /**
+     * Called for each chunk of server changes before local entities are loaded
+     * @param ids IDs of entities changed on server
+     */
+    protected void beforeChunk(PersistManager persist, Set<UUID> ids) {
+    }
+
+    /**
+     * Stores entity changed both on server and on client. Default is to just take server version
+     * @param remote server version
+     * @param local client version, with backup of last synced state
+     * @return stored entity, it's stamped with new server time after acknowledge
+     */
+    protected T resolveConflict(EntityDao<T> dao, T remote, T local) {
+        dao.updateByServer(remote);
+        return remote;
+    }
+
+    /**
+     * Called in sync transaction after entity changed on server is stored locally
+     * @param local client version that was replaced, null if client didn't have it
+     * @param stored stored version
+     */
+    protected void afterRemoteStored(PersistManager persist, T local, T stored) {
+    }
+
+    /**
+     * @return name of table or view to look for latest known server time in
+     */
+    protected String getTimestampSource(PersistManager persist) {
+        return persist.getEntityDao(mEntityClass).getTableInfo().getTableName();
+    }
+
+    /**
+     * Performs whole exchange round: sends last known server time, stores server changes,
+     * sends local ones and stamps all of them with server time from acknowledge.
+     * <br/>
+     * In chunked mode entities are sent both ways in chunks of {@link #CHUNK_SIZE}, each chunk is stored
+     * as it arrives and local entities are read from cursor while sending, so only IDs of sent ones are kept till acknowledge
+     * @param chunked whether server accepted {@link SyncProtocol.SyncRequest.Capability#CHUNKED_ENTITIES}
+     */
+    public void sync(PersistManager persist, InputStream is, OutputStream os, boolean chunked) throws IOException, SQLException {
+        final EntityDao<T> dao = persist.getEntityDao(mEntityClass);
+
+        sendRequest(persist, os, chunked);
+        final List<T> changed = receiveChanges(persist, is, chunked);
+
+        if(chunked) {
+            final Set<UUID> sent = sendChanges(persist, os);
+            final SyncProtocol.EntityAck ack = readAck(is);
+            markSynced(persist, sent, new Date(ack.getNewServerTimestamp()));
+            return;
+        }
+
+        // prepare response
+        final SyncProtocol.EntityResponse.Builder serverUpdate = SyncProtocol.EntityResponse.newBuilder();
+
+        // adding newly inserted entities
+        final List<T> added = dao.queryBuilder().where().eq("sync_state", Entity.SyncState.NEW).query();
+        added.removeAll(changed);
+        for(T entity : added)
+            serverUpdate.addAdded(toProto(entity));
+        // adding modified entities
+        final List<T> modified = dao.queryBuilder().where().in("sync_state", Entity.SyncState.DIRTY, Entity.SyncState.DELETED).query();
+        for(T entity : modified)
+            serverUpdate.addModified(toProto(entity));
+
+        serverUpdate.build().writeDelimitedTo(os);
+        final SyncProtocol.EntityAck ack = readAck(is);
+        final Date newTimestamp = new Date(ack.getNewServerTimestamp());
+        // updating local entities with new timestamp, all at once
+        final Set<UUID> synced = new HashSet<>();
+        for(T entity : added)
+            synced.add(entity.getId());
+        for(T entity : modified)
+            synced.add(entity.getId());
+        for(T entity : changed)
+            synced.add(entity.getId());
+        markSynced(persist, synced, newTimestamp);
+    }
+
+    /**
+     * Sends request for entities changed on server after latest known server time
+     */
+    void sendRequest(PersistManager persist, OutputStream os, boolean chunked) throws IOException, SQLException {
+        final SyncProtocol.EntityRequest.Builder request = SyncProtocol.EntityRequest.newBuilder()
+                .setLastKnownServerTimestamp(getLastServerTimestamp(persist));
+        if(chunked)
+            request.setChunkSize(CHUNK_SIZE);
+        request.build().writeDelimitedTo(os); // sent request
+    }
+
+    /**
+     * Receives and stores entities changed on server, chunk by chunk
+     * @return stored entities, to be stamped after acknowledge, or null in chunked mode
+     */
+    List<T> receiveChanges(PersistManager persist, InputStream is, boolean chunked) throws IOException, SQLException {
+        final EntityDao<T> dao = persist.getEntityDao(mEntityClass);
+
+        // handle modified entities - check if we updated them too...
+        // chunked server sends its change times, stored entities are clean then and need not be kept till acknowledge
+        final List<T> changed = chunked ? null : new ArrayList<T>();
+        SyncProtocol.EntityResponse serverSide;
+        do {
+            serverSide = SyncProtocol.EntityResponse.parseDelimitedFrom(is);
+            if(serverSide == null)
+                throw new EOFException("Server closed connection before sending " + this);
+
+            // load local versions and references of whole chunk at once
+            final EntityLookup lookup = new EntityLookup(persist);
+            for(final SyncProtocol.Entity entity : serverSide.getModifiedList()) {
+                lookup.want(mEntityClass, entity.getID());
+                collectReferences(entity, lookup);
+            }
+            beforeChunk(persist, lookup.getWanted(mEntityClass));
+            lookup.load();
+
+            for(final SyncProtocol.Entity entity : serverSide.getModifiedList()) {
+                final T remote = storeRemote(persist, lookup, dao, entity);
+                if(changed != null)
+                    changed.add(remote);
+            }
+        } while (serverSide.hasContinuation());
+        return changed;
+    }
+
+    /**
+     * Stores entity changed on server, resolving conflict with local changes if needed
+     * @return stored entity
+     */
+    private T storeRemote(PersistManager persist, EntityLookup lookup, EntityDao<T> dao, SyncProtocol.Entity entity) throws SQLException {
+        T remote = fromProto(entity, lookup);
+        if(entity.hasLastModified())
+            remote.setLastModified(new Date(entity.getLastModified()));
+
+        final T local = lookup.get(mEntityClass, remote.getId());
+        if(local == null) { // not found on client, but exists remotely, should create on client
+            dao.createByServer(remote);
+        } else if (!local.isDirty()) { // updated on server but not on client, replace local with remote
+            dao.updateByServer(remote);
+        } else { // update on server and on client, should resolve conflicts
+            remote = resolveConflict(dao, remote, local);
+        }
+        afterRemoteStored(persist, local, remote);
+        lookup.put(remote);
+        return remote;
+    }
+
+    /**
+     * Sends added, then modified entities in chunks, reading them from cursor
+     * @return IDs of sent entities, to be marked synced after acknowledge
+     */
+    Set<UUID> sendChanges(PersistManager persist, OutputStream os) throws IOException, SQLException {
+        final EntityDao<T> dao = persist.getEntityDao(mEntityClass);
+        final ChunkWriter chunks = new ChunkWriter(os);
+        final CloseableIterator<T> added = dao.iterator(dao.queryBuilder().where().eq("sync_state", Entity.SyncState.NEW).prepare());
+        try {
+            while (added.hasNext()) {
+                final T entity = added.next();
+                chunks.next(entity.getId()).addAdded(toProto(entity));
+            }
+        } finally {
+            added.closeQuietly();
+        }
+
+        final CloseableIterator<T> modified = dao.iterator(dao.queryBuilder().where().in("sync_state", Entity.SyncState.DIRTY, Entity.SyncState.DELETED).prepare());
+        try {
+            while (modified.hasNext()) {
+                final T entity = modified.next();
+                chunks.next(entity.getId()).addModified(toProto(entity));
+            }
+        } finally {
+            modified.closeQuietly();
+        }
+        chunks.finish();
+        return chunks.getSent();
+    }
+
+    /**
+     * Marks entities sent to server as synced.
+     * <br/>
+     * Must be called in the sync transaction that sent them: it keeps other writers out, so sent rows
+     * are still the versions server acknowledged and none of them is marked clean with unsent changes
+     * @param sent IDs of sent entities
+     * @param serverTime server time from acknowledge
+     */
+    void markSynced(PersistManager persist, Set<UUID> sent, Date serverTime) {
+        if(!persist.getWritableDatabase().inTransaction())
+            throw new IllegalStateException("Sent entities must be marked synced in the transaction that sent them");
+
+        persist.getEntityDao(mEntityClass).markSynced(sent, serverTime);
+    }
+
+    /**
+     * Writes entity response chunks, starting next one when current is full
+     */
+    static class ChunkWriter {
+        private final OutputStream mOutput;
+        private final Set<UUID> mSent = new HashSet<>();
+        private SyncProtocol.EntityResponse.Builder mChunk = SyncProtocol.EntityResponse.newBuilder();
+        private UUID mLastId;
+
+        ChunkWriter(OutputStream output) {
+            mOutput = output;
+        }
+
+        /**
+         * @param id ID of entity to be added next
+         * @return chunk to add entity to
+         */
+        SyncProtocol.EntityResponse.Builder next(UUID id) throws IOException {
+            if(mChunk.getAddedCount() + mChunk.getModifiedCount() >= CHUNK_SIZE) { // full, more follow
+                mChunk.setContinuation(mLastId.toString()).build().writeDelimitedTo(mOutput);
+                mChunk = SyncProtocol.EntityResponse.newBuilder();
+            }
+            mLastId = id;
+            mSent.add(id);
+            return mChunk;
+        }
+
+        /**
+         * @return IDs of all entities added to chunks
+         */
+        Set<UUID> getSent() {
+            return mSent;
+        }
+
+        /**
+         * Writes last chunk, without continuation. It's written even if empty, server waits for it
+         */
+        void finish() throws IOException {
+            mChunk.build().writeDelimitedTo(mOutput);
+        }
+    }
+
+    /**
+     * Reads acknowledge of sent entities
+     * @throws EOFException if server closed connection instead
+     */
+    static SyncProtocol.EntityAck readAck(InputStream is) throws IOException {
+        final SyncProtocol.EntityAck ack = SyncProtocol.EntityAck.parseDelimitedFrom(is);
+        if(ack == null)
+            throw new EOFException("Server closed connection before acknowledge");
+        return ack;
+    }
+
+    private long getLastServerTimestamp(PersistManager persist) throws SQLException {
+        return persist.getEntityDao(mEntityClass).queryRawValue("select ifnull(max(last_modified), 0) from " + getTimestampSource(persist));
+    }
+
+    @Override
+    public String toString() {
+        return mEntityClass.getSimpleName();
+    }
+}
@@ -0,0 +1,174 @@
+package com.adonai.wallet.sync;
+
+import com.adonai.wallet.database.EntityDao;
+import com.adonai.wallet.database.OperationArchive;
+import com.adonai.wallet.database.PersistManager;
+import com.adonai.wallet.entities.Account;
+import com.adonai.wallet.entities.Budget;
+import com.adonai.wallet.entities.BudgetItem;
+import com.adonai.wallet.entities.Category;
+import com.adonai.wallet.entities.Operation;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * All synced entity types, in sync order.
+ * <br/>
+ * To sync new entity type, add proto message for it to {@link SyncProtocol.Entity}, add phase here
+ * and teach server to handle it in the same position. Phase should require new capability,
+ * so servers that don't know the type are still synced without it
+ */
+final class EntitySyncPhases {
+
+    private EntitySyncPhases() {
+    }
+
+    static SyncPhaseRegistry create() {
+        return new SyncPhaseRegistry()
+            .add(new EntitySyncPhase<Account>(Account.class) {
+                @Override
+                protected Account fromProto(SyncProtocol.Entity entity, EntityLookup lookup) {
+                    return Account.fromProtoEntity(entity);
+                }
+
+                @Override
+                protected SyncProtocol.Entity toProto(Account entity) {
+                    return entity.toProtoEntity();
+                }
+
+                @Override
+                protected Account resolveConflict(EntityDao<Account> dao, Account remote, Account local) {
+                    final Account merged = mergeAccounts(remote, local, (Account) local.getBackup());
+                    dao.update(merged); // do not reset dirty flag, merged account is sent to server
+                    return merged;
+                }
+            })
+            .add(new EntitySyncPhase<Category>(Category.class, Account.class) {
+                @Override
+                protected Category fromProto(SyncProtocol.Entity entity, EntityLookup lookup) throws SQLException {
+                    return Category.fromProtoEntity(entity, lookup);
+                }
+
+                @Override
+                protected void collectReferences(SyncProtocol.Entity entity, EntityLookup lookup) {
+                    if(entity.getCategory().hasPreferredAccount())
+                        lookup.want(Account.class, entity.getCategory().getPreferredAccount());
+                }
+
+                @Override
+                protected SyncProtocol.Entity toProto(Category entity) {
+                    return entity.toProtoEntity();
+                }
+            })
+            .add(new EntitySyncPhase<Operation>(Operation.class, Account.class, Category.class) {
+                @Override
+                protected Operation fromProto(SyncProtocol.Entity entity, EntityLookup lookup) throws SQLException {
+                    return Operation.fromProtoEntity(entity, lookup);
+                }
+
+                @Override
+                protected void collectReferences(SyncProtocol.Entity entity, EntityLookup lookup) {
+                    lookup.want(Category.class, entity.getOperation().getCategoryId());
+                    if(entity.getOperation().hasOrdererId())
+                        lookup.want(Account.class, entity.getOperation().getOrdererId());
+                    if(entity.getOperation().hasBeneficiarId())
+                        lookup.want(Account.class, entity.getOperation().getBeneficiarId());
+                }
+
+                @Override
+                protected SyncProtocol.Entity toProto(Operation entity) {
+                    return entity.toProtoEntity();
+                }
+
+                @Override
+                protected void beforeChunk(PersistManager persist, Set<UUID> ids) {
+                    persist.getOperationArchive().restoreAll(ids); // changed on server after they were archived here
+                }
+
+                @Override
+                protected void afterRemoteStored(PersistManager persist, Operation local, Operation stored) {
+                    // server operations don't pass through apply/revert, move balance checkpoints the same way
+                    if(local != null && !local.isDeleted())
+                        persist.getBalanceLedger().record(local, true);
+                    if(!stored.isDeleted())
+                        persist.getBalanceLedger().record(stored, false);
+                }
+
+                @Override
+                protected String getTimestampSource(PersistManager persist) {
+                    return OperationArchive.VIEW; // archived operations were synced too
+                }
+            })
+            .add(new EntitySyncPhase<Budget>(SyncProtocol.SyncRequest.Capability.BUDGETS, Budget.class, Account.class) {
+                @Override
+                protected Budget fromProto(SyncProtocol.Entity entity, EntityLookup lookup) throws SQLException {
+                    return Budget.fromProtoEntity(entity, lookup);
+                }
+
+                @Override
+                protected void collectReferences(SyncProtocol.Entity entity, EntityLookup lookup) {
+                    if(entity.getBudget().hasCoveredAccountId())
+                        lookup.want(Account.class, entity.getBudget().getCoveredAccountId());
+                }
+
+                @Override
+                protected SyncProtocol.Entity toProto(Budget entity) {
+                    return entity.toProtoEntity();
+                }
+            })
+            .add(new EntitySyncPhase<BudgetItem>(SyncProtocol.SyncRequest.Capability.BUDGETS, BudgetItem.class, Budget.class, Category.class) {
+                @Override
+                protected BudgetItem fromProto(SyncProtocol.Entity entity, EntityLookup lookup) throws SQLException {
+                    return BudgetItem.fromProtoEntity(entity, lookup);
+                }
+
+                @Override
+                protected void collectReferences(SyncProtocol.Entity entity, EntityLookup lookup) {
+                    lookup.want(Budget.class, entity.getBudgetItem().getParentBudgetId());
+                    lookup.want(Category.class, entity.getBudgetItem().getCategoryId());
+                }
+
+                @Override
+                protected SyncProtocol.Entity toProto(BudgetItem entity) {
+                    return entity.toProtoEntity();
+                }
+            });
+    }
+
+    private static Account mergeAccounts(Account remote, Account local, Account base) {
+        final Account result = new Account();
+        result.setId(local.getId());
+        result.setDeleted(remote.isDeleted());
+        result.setLastModified(local.getLastModified());
+        result.setBackup(base);
+
+        if(local.getName().equals(base.getName())) // name wasn't changed
+            result.setName(remote.getName()); // set name to remote's
+        else // name changed locally
+            result.setName(local.getName()); // set name to local
+
+        if(local.getDescription().equals(base.getDescription()))
+            result.setDescription(remote.getDescription());
+        else
+            result.setDescription(local.getDescription());
+
+        if(local.getColor().equals(base.getColor()))
+            result.setColor(remote.getColor());
+        else
+            result.setColor(local.getColor());
+
+        if(local.getCurrency().equals(base.getCurrency()))
+            result.setCurrency(remote.getCurrency());
+        else
+            result.setCurrency(local.getCurrency());
+
+        if(local.getAmount().equals(base.getAmount())) // amount wasn't changed locally
+            result.setAmount(remote.getAmount());
+        else // amount changed locally and remotely - get diff!
+            result.setAmount(local.getAmount().subtract(base.getAmount()).add(remote.getAmount()));
+
+        return result;
+    }
+}
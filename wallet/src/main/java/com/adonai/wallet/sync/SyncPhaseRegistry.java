@@ -0,0 +1,93 @@
+package com.adonai.wallet.sync;
+
+import com.adonai.wallet.database.PersistManager;
+import com.adonai.wallet.entities.Entity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ordered list of {@link EntitySyncPhase}s. Phases run in order they are added,
+ * so each phase must be added after phases of entities it references.
+ */
+public class SyncPhaseRegistry {
+
+    private final List<EntitySyncPhase<?>> mPhases = new ArrayList<>();
+
+    public SyncPhaseRegistry add(EntitySyncPhase<?> phase) {
+        if(find(phase.getEntityClass()) != null)
+            throw new IllegalArgumentException("Sync phase for " + phase + " is already registered");
+
+        for(Class<? extends Entity> dependency : phase.getDependencies())
+            if(find(dependency) == null)
+                throw new IllegalArgumentException("Sync phase for " + phase + " depends on " + dependency.getSimpleName() + " which is not synced before it");
+
+        mPhases.add(phase);
+        return this;
+    }
+
+    /**
+     * @param accepted capabilities accepted by server
+     * @return registry of phases server can sync, in the same order
+     */
+    public SyncPhaseRegistry select(Collection<SyncProtocol.SyncRequest.Capability> accepted) {
+        final SyncPhaseRegistry selected = new SyncPhaseRegistry();
+        for(EntitySyncPhase<?> phase : mPhases)
+            if(phase.getRequiredCapability() == null || accepted.contains(phase.getRequiredCapability()))
+                selected.add(phase);
+        return selected;
+    }
+
+    public EntitySyncPhase<?> get(int index) {
+        return mPhases.get(index);
+    }
+
+    public int size() {
+        return mPhases.size();
+    }
+
+    public List<EntitySyncPhase<?>> getPhases() {
+        return Collections.unmodifiableList(mPhases);
+    }
+
+    /**
+     * Performs all phases over a single round trip: requests of all phases are sent at once, server changes
+     * of all phases are received, then local changes of all phases are sent and acknowledged with one ack.
+     * Server must have accepted both {@link SyncProtocol.SyncRequest.Capability#PIPELINED}
+     * and {@link SyncProtocol.SyncRequest.Capability#CHUNKED_ENTITIES}
+     */
+    public void syncPipelined(PersistManager persist, InputStream is, OutputStream os) throws IOException, SQLException {
+        for(EntitySyncPhase<?> phase : mPhases)
+            phase.sendRequest(persist, os, true);
+        os.flush();
+
+        for(EntitySyncPhase<?> phase : mPhases) // in order, so referenced entities are stored first
+            phase.receiveChanges(persist, is, true);
+
+        final List<Set<UUID>> sent = new ArrayList<>(mPhases.size());
+        for(EntitySyncPhase<?> phase : mPhases)
+            sent.add(phase.sendChanges(persist, os));
+        os.flush();
+
+        final SyncProtocol.EntityAck ack = EntitySyncPhase.readAck(is);
+        final Date newTimestamp = new Date(ack.getNewServerTimestamp());
+        for(int i = 0; i < mPhases.size(); ++i)
+            mPhases.get(i).markSynced(persist, sent.get(i), newTimestamp);
+    }
+
+    private EntitySyncPhase<?> find(Class<? extends Entity> entityClass) {
+        for(EntitySyncPhase<?> phase : mPhases)
+            if(phase.getEntityClass() == entityClass)
+                return phase;
+        return null;
+    }
+}
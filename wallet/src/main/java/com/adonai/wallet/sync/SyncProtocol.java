@@ -48,6 +48,31 @@ public final class SyncProtocol {
      * <code>required .com.adonai.wallet.sync.SyncRequest.SyncType syncType = 3;</code>
      */
     com.adonai.wallet.sync.SyncProtocol.SyncRequest.SyncType getSyncType();
+
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+     *
+     * <pre>
+     * protocol extensions client supports
+     * </pre>
+     */
+    java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> getCapabilitiesList();
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+     *
+     * <pre>
+     * protocol extensions client supports
+     * </pre>
+     */
+    int getCapabilitiesCount();
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+     *
+     * <pre>
+     * protocol extensions client supports
+     * </pre>
+     */
+    com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability getCapabilities(int index);
   }
   /**
    * Protobuf type {@code com.adonai.wallet.sync.SyncRequest}
@@ -124,6 +149,39 @@ public final class SyncProtocol {
               }
               break;
             }
+            case 32: {
+              int rawValue = input.readEnum();
+              com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability value = com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(4, rawValue);
+                } else {
+                if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+                  capabilities_ = new java.util.ArrayList<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability>();
+                  mutable_bitField0_ |= 0x00000008;
+                }
+                capabilities_.add(value);
+              }
+              break;
+            }
+            case 34: {
+              int length = input.readRawVarint32();
+              int oldLimit = input.pushLimit(length);
+              while(input.getBytesUntilLimit() > 0) {
+                int rawValue = input.readEnum();
+                com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability value = com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability.valueOf(rawValue);
+                if (value == null) {
+                  unknownFields.mergeVarintField(4, rawValue);
+                  } else {
+                  if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+                    capabilities_ = new java.util.ArrayList<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability>();
+                    mutable_bitField0_ |= 0x00000008;
+                  }
+                  capabilities_.add(value);
+                }
+              }
+              input.popLimit(oldLimit);
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -132,6 +190,9 @@ public final class SyncProtocol {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+          capabilities_ = java.util.Collections.unmodifiableList(capabilities_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -253,6 +314,121 @@ public final class SyncProtocol {
       // @@protoc_insertion_point(enum_scope:com.adonai.wallet.sync.SyncRequest.SyncType)
     }
 
+    /**
+     * Protobuf enum {@code com.adonai.wallet.sync.SyncRequest.Capability}
+     */
+    public enum Capability
+        implements com.google.protobuf.ProtocolMessageEnum {
+      /**
+       * <code>CHUNKED_ENTITIES = 1;</code>
+       *
+       * <pre>
+       * entity responses are sent in chunks, see EntityRequest.chunkSize
+       * </pre>
+       */
+      CHUNKED_ENTITIES(0, 1),
+      /**
+       * <code>PIPELINED = 2;</code>
+       *
+       * <pre>
+       * requests of all entity types are sent at once, then responses of all of them, with one ack at the end
+       * </pre>
+       */
+      PIPELINED(1, 2),
+      /**
+       * <code>BUDGETS = 3;</code>
+       *
+       * <pre>
+       * budgets and budget items are synced after operations
+       * </pre>
+       */
+      BUDGETS(2, 3),
+      ;
+
+      /**
+       * <code>CHUNKED_ENTITIES = 1;</code>
+       *
+       * <pre>
+       * entity responses are sent in chunks, see EntityRequest.chunkSize
+       * </pre>
+       */
+      public static final int CHUNKED_ENTITIES_VALUE = 1;
+      /**
+       * <code>PIPELINED = 2;</code>
+       *
+       * <pre>
+       * requests of all entity types are sent at once, then responses of all of them, with one ack at the end
+       * </pre>
+       */
+      public static final int PIPELINED_VALUE = 2;
+      /**
+       * <code>BUDGETS = 3;</code>
+       *
+       * <pre>
+       * budgets and budget items are synced after operations
+       * </pre>
+       */
+      public static final int BUDGETS_VALUE = 3;
+
+
+      public final int getNumber() { return value; }
+
+      public static Capability valueOf(int value) {
+        switch (value) {
+          case 1: return CHUNKED_ENTITIES;
+          case 2: return PIPELINED;
+          case 3: return BUDGETS;
+          default: return null;
+        }
+      }
+
+      public static com.google.protobuf.Internal.EnumLiteMap<Capability>
+          internalGetValueMap() {
+        return internalValueMap;
+      }
+      private static com.google.protobuf.Internal.EnumLiteMap<Capability>
+          internalValueMap =
+            new com.google.protobuf.Internal.EnumLiteMap<Capability>() {
+              public Capability findValueByNumber(int number) {
+                return Capability.valueOf(number);
+              }
+            };
+
+      public final com.google.protobuf.Descriptors.EnumValueDescriptor
+          getValueDescriptor() {
+        return getDescriptor().getValues().get(index);
+      }
+      public final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptorForType() {
+        return getDescriptor();
+      }
+      public static final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptor() {
+        return com.adonai.wallet.sync.SyncProtocol.SyncRequest.getDescriptor().getEnumTypes().get(1);
+      }
+
+      private static final Capability[] VALUES = values();
+
+      public static Capability valueOf(
+          com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+        if (desc.getType() != getDescriptor()) {
+          throw new java.lang.IllegalArgumentException(
+            "EnumValueDescriptor is not for this type.");
+        }
+        return VALUES[desc.getIndex()];
+      }
+
+      private final int index;
+      private final int value;
+
+      private Capability(int index, int value) {
+        this.index = index;
+        this.value = value;
+      }
+
+      // @@protoc_insertion_point(enum_scope:com.adonai.wallet.sync.SyncRequest.Capability)
+    }
+
     private int bitField0_;
     public static final int ACCOUNT_FIELD_NUMBER = 1;
     private java.lang.Object account_;
@@ -353,10 +529,44 @@ public final class SyncProtocol {
       return syncType_;
     }
 
+    public static final int CAPABILITIES_FIELD_NUMBER = 4;
+    private java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> capabilities_;
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+     *
+     * <pre>
+     * protocol extensions client supports
+     * </pre>
+     */
+    public java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> getCapabilitiesList() {
+      return capabilities_;
+    }
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+     *
+     * <pre>
+     * protocol extensions client supports
+     * </pre>
+     */
+    public int getCapabilitiesCount() {
+      return capabilities_.size();
+    }
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+     *
+     * <pre>
+     * protocol extensions client supports
+     * </pre>
+     */
+    public com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability getCapabilities(int index) {
+      return capabilities_.get(index);
+    }
+
     private void initFields() {
       account_ = "";
       password_ = "";
       syncType_ = com.adonai.wallet.sync.SyncProtocol.SyncRequest.SyncType.REGISTER;
+      capabilities_ = java.util.Collections.emptyList();
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -392,6 +602,9 @@ public final class SyncProtocol {
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
         output.writeEnum(3, syncType_.getNumber());
       }
+      for (int i = 0; i < capabilities_.size(); i++) {
+        output.writeEnum(4, capabilities_.get(i).getNumber());
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -413,6 +626,15 @@ public final class SyncProtocol {
         size += com.google.protobuf.CodedOutputStream
           .computeEnumSize(3, syncType_.getNumber());
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < capabilities_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeEnumSizeNoTag(capabilities_.get(i).getNumber());
+        }
+        size += dataSize;
+        size += 1 * capabilities_.size();
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -536,6 +758,8 @@ public final class SyncProtocol {
         bitField0_ = (bitField0_ & ~0x00000002);
         syncType_ = com.adonai.wallet.sync.SyncProtocol.SyncRequest.SyncType.REGISTER;
         bitField0_ = (bitField0_ & ~0x00000004);
+        capabilities_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000008);
         return this;
       }
 
@@ -576,6 +800,11 @@ public final class SyncProtocol {
           to_bitField0_ |= 0x00000004;
         }
         result.syncType_ = syncType_;
+        if (((bitField0_ & 0x00000008) == 0x00000008)) {
+          capabilities_ = java.util.Collections.unmodifiableList(capabilities_);
+          bitField0_ = (bitField0_ & ~0x00000008);
+        }
+        result.capabilities_ = capabilities_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -605,6 +834,16 @@ public final class SyncProtocol {
         if (other.hasSyncType()) {
           setSyncType(other.getSyncType());
         }
+        if (!other.capabilities_.isEmpty()) {
+          if (capabilities_.isEmpty()) {
+            capabilities_ = other.capabilities_;
+            bitField0_ = (bitField0_ & ~0x00000008);
+          } else {
+            ensureCapabilitiesIsMutable();
+            capabilities_.addAll(other.capabilities_);
+          }
+          onChanged();
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -831,6 +1070,106 @@ public final class SyncProtocol {
         return this;
       }
 
+      private java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> capabilities_ =
+        java.util.Collections.emptyList();
+      private void ensureCapabilitiesIsMutable() {
+        if (!((bitField0_ & 0x00000008) == 0x00000008)) {
+          capabilities_ = new java.util.ArrayList<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability>(capabilities_);
+          bitField0_ |= 0x00000008;
+        }
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+       *
+       * <pre>
+       * protocol extensions client supports
+       * </pre>
+       */
+      public java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> getCapabilitiesList() {
+        return java.util.Collections.unmodifiableList(capabilities_);
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+       *
+       * <pre>
+       * protocol extensions client supports
+       * </pre>
+       */
+      public int getCapabilitiesCount() {
+        return capabilities_.size();
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+       *
+       * <pre>
+       * protocol extensions client supports
+       * </pre>
+       */
+      public com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability getCapabilities(int index) {
+        return capabilities_.get(index);
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+       *
+       * <pre>
+       * protocol extensions client supports
+       * </pre>
+       */
+      public Builder setCapabilities(
+          int index, com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureCapabilitiesIsMutable();
+        capabilities_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+       *
+       * <pre>
+       * protocol extensions client supports
+       * </pre>
+       */
+      public Builder addCapabilities(com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureCapabilitiesIsMutable();
+        capabilities_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+       *
+       * <pre>
+       * protocol extensions client supports
+       * </pre>
+       */
+      public Builder addAllCapabilities(
+          java.lang.Iterable<? extends com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> values) {
+        ensureCapabilitiesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, capabilities_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 4;</code>
+       *
+       * <pre>
+       * protocol extensions client supports
+       * </pre>
+       */
+      public Builder clearCapabilities() {
+        capabilities_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000008);
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:com.adonai.wallet.sync.SyncRequest)
     }
 
@@ -854,6 +1193,31 @@ public final class SyncProtocol {
      * <code>required .com.adonai.wallet.sync.SyncResponse.SyncAck syncAck = 1;</code>
      */
     com.adonai.wallet.sync.SyncProtocol.SyncResponse.SyncAck getSyncAck();
+
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+     *
+     * <pre>
+     * protocol extensions both sides will use
+     * </pre>
+     */
+    java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> getCapabilitiesList();
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+     *
+     * <pre>
+     * protocol extensions both sides will use
+     * </pre>
+     */
+    int getCapabilitiesCount();
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+     *
+     * <pre>
+     * protocol extensions both sides will use
+     * </pre>
+     */
+    com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability getCapabilities(int index);
   }
   /**
    * Protobuf type {@code com.adonai.wallet.sync.SyncResponse}
@@ -918,6 +1282,39 @@ public final class SyncProtocol {
               }
               break;
             }
+            case 16: {
+              int rawValue = input.readEnum();
+              com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability value = com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(2, rawValue);
+                } else {
+                if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                  capabilities_ = new java.util.ArrayList<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability>();
+                  mutable_bitField0_ |= 0x00000002;
+                }
+                capabilities_.add(value);
+              }
+              break;
+            }
+            case 18: {
+              int length = input.readRawVarint32();
+              int oldLimit = input.pushLimit(length);
+              while(input.getBytesUntilLimit() > 0) {
+                int rawValue = input.readEnum();
+                com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability value = com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability.valueOf(rawValue);
+                if (value == null) {
+                  unknownFields.mergeVarintField(2, rawValue);
+                  } else {
+                  if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                    capabilities_ = new java.util.ArrayList<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability>();
+                    mutable_bitField0_ |= 0x00000002;
+                  }
+                  capabilities_.add(value);
+                }
+              }
+              input.popLimit(oldLimit);
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -926,6 +1323,9 @@ public final class SyncProtocol {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+          capabilities_ = java.util.Collections.unmodifiableList(capabilities_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -1082,8 +1482,42 @@ public final class SyncProtocol {
       return syncAck_;
     }
 
+    public static final int CAPABILITIES_FIELD_NUMBER = 2;
+    private java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> capabilities_;
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+     *
+     * <pre>
+     * protocol extensions both sides will use
+     * </pre>
+     */
+    public java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> getCapabilitiesList() {
+      return capabilities_;
+    }
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+     *
+     * <pre>
+     * protocol extensions both sides will use
+     * </pre>
+     */
+    public int getCapabilitiesCount() {
+      return capabilities_.size();
+    }
+    /**
+     * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+     *
+     * <pre>
+     * protocol extensions both sides will use
+     * </pre>
+     */
+    public com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability getCapabilities(int index) {
+      return capabilities_.get(index);
+    }
+
     private void initFields() {
       syncAck_ = com.adonai.wallet.sync.SyncProtocol.SyncResponse.SyncAck.OK;
+      capabilities_ = java.util.Collections.emptyList();
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -1105,6 +1539,9 @@ public final class SyncProtocol {
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         output.writeEnum(1, syncAck_.getNumber());
       }
+      for (int i = 0; i < capabilities_.size(); i++) {
+        output.writeEnum(2, capabilities_.get(i).getNumber());
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -1118,6 +1555,15 @@ public final class SyncProtocol {
         size += com.google.protobuf.CodedOutputStream
           .computeEnumSize(1, syncAck_.getNumber());
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < capabilities_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeEnumSizeNoTag(capabilities_.get(i).getNumber());
+        }
+        size += dataSize;
+        size += 1 * capabilities_.size();
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -1237,6 +1683,8 @@ public final class SyncProtocol {
         super.clear();
         syncAck_ = com.adonai.wallet.sync.SyncProtocol.SyncResponse.SyncAck.OK;
         bitField0_ = (bitField0_ & ~0x00000001);
+        capabilities_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
 
@@ -1269,6 +1717,11 @@ public final class SyncProtocol {
           to_bitField0_ |= 0x00000001;
         }
         result.syncAck_ = syncAck_;
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          capabilities_ = java.util.Collections.unmodifiableList(capabilities_);
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.capabilities_ = capabilities_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -1288,6 +1741,16 @@ public final class SyncProtocol {
         if (other.hasSyncAck()) {
           setSyncAck(other.getSyncAck());
         }
+        if (!other.capabilities_.isEmpty()) {
+          if (capabilities_.isEmpty()) {
+            capabilities_ = other.capabilities_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureCapabilitiesIsMutable();
+            capabilities_.addAll(other.capabilities_);
+          }
+          onChanged();
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -1354,6 +1817,106 @@ public final class SyncProtocol {
         return this;
       }
 
+      private java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> capabilities_ =
+        java.util.Collections.emptyList();
+      private void ensureCapabilitiesIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          capabilities_ = new java.util.ArrayList<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability>(capabilities_);
+          bitField0_ |= 0x00000002;
+        }
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+       *
+       * <pre>
+       * protocol extensions both sides will use
+       * </pre>
+       */
+      public java.util.List<com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> getCapabilitiesList() {
+        return java.util.Collections.unmodifiableList(capabilities_);
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+       *
+       * <pre>
+       * protocol extensions both sides will use
+       * </pre>
+       */
+      public int getCapabilitiesCount() {
+        return capabilities_.size();
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+       *
+       * <pre>
+       * protocol extensions both sides will use
+       * </pre>
+       */
+      public com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability getCapabilities(int index) {
+        return capabilities_.get(index);
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+       *
+       * <pre>
+       * protocol extensions both sides will use
+       * </pre>
+       */
+      public Builder setCapabilities(
+          int index, com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureCapabilitiesIsMutable();
+        capabilities_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+       *
+       * <pre>
+       * protocol extensions both sides will use
+       * </pre>
+       */
+      public Builder addCapabilities(com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureCapabilitiesIsMutable();
+        capabilities_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+       *
+       * <pre>
+       * protocol extensions both sides will use
+       * </pre>
+       */
+      public Builder addAllCapabilities(
+          java.lang.Iterable<? extends com.adonai.wallet.sync.SyncProtocol.SyncRequest.Capability> values) {
+        ensureCapabilitiesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, capabilities_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated .com.adonai.wallet.sync.SyncRequest.Capability capabilities = 2;</code>
+       *
+       * <pre>
+       * protocol extensions both sides will use
+       * </pre>
+       */
+      public Builder clearCapabilities() {
+        capabilities_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:com.adonai.wallet.sync.SyncResponse)
     }
 
@@ -1385,6 +1948,23 @@ public final class SyncProtocol {
      * </pre>
      */
     long getLastKnownServerTimestamp();
+
+    /**
+     * <code>optional uint32 chunkSize = 2;</code>
+     *
+     * <pre>
+     * max entities in each response chunk, for CHUNKED_ENTITIES only
+     * </pre>
+     */
+    boolean hasChunkSize();
+    /**
+     * <code>optional uint32 chunkSize = 2;</code>
+     *
+     * <pre>
+     * max entities in each response chunk, for CHUNKED_ENTITIES only
+     * </pre>
+     */
+    int getChunkSize();
   }
   /**
    * Protobuf type {@code com.adonai.wallet.sync.EntityRequest}
@@ -1443,6 +2023,11 @@ public final class SyncProtocol {
               lastKnownServerTimestamp_ = input.readUInt64();
               break;
             }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              chunkSize_ = input.readUInt32();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -1506,8 +2091,32 @@ public final class SyncProtocol {
       return lastKnownServerTimestamp_;
     }
 
+    public static final int CHUNKSIZE_FIELD_NUMBER = 2;
+    private int chunkSize_;
+    /**
+     * <code>optional uint32 chunkSize = 2;</code>
+     *
+     * <pre>
+     * max entities in each response chunk, for CHUNKED_ENTITIES only
+     * </pre>
+     */
+    public boolean hasChunkSize() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional uint32 chunkSize = 2;</code>
+     *
+     * <pre>
+     * max entities in each response chunk, for CHUNKED_ENTITIES only
+     * </pre>
+     */
+    public int getChunkSize() {
+      return chunkSize_;
+    }
+
     private void initFields() {
       lastKnownServerTimestamp_ = 0L;
+      chunkSize_ = 0;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -1529,6 +2138,9 @@ public final class SyncProtocol {
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         output.writeUInt64(1, lastKnownServerTimestamp_);
       }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeUInt32(2, chunkSize_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -1542,6 +2154,10 @@ public final class SyncProtocol {
         size += com.google.protobuf.CodedOutputStream
           .computeUInt64Size(1, lastKnownServerTimestamp_);
       }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(2, chunkSize_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -1661,6 +2277,8 @@ public final class SyncProtocol {
         super.clear();
         lastKnownServerTimestamp_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000001);
+        chunkSize_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
 
@@ -1693,6 +2311,10 @@ public final class SyncProtocol {
           to_bitField0_ |= 0x00000001;
         }
         result.lastKnownServerTimestamp_ = lastKnownServerTimestamp_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.chunkSize_ = chunkSize_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -1712,6 +2334,9 @@ public final class SyncProtocol {
         if (other.hasLastKnownServerTimestamp()) {
           setLastKnownServerTimestamp(other.getLastKnownServerTimestamp());
         }
+        if (other.hasChunkSize()) {
+          setChunkSize(other.getChunkSize());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -1791,6 +2416,54 @@ public final class SyncProtocol {
         return this;
       }
 
+      private int chunkSize_ ;
+      /**
+       * <code>optional uint32 chunkSize = 2;</code>
+       *
+       * <pre>
+       * max entities in each response chunk, for CHUNKED_ENTITIES only
+       * </pre>
+       */
+      public boolean hasChunkSize() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional uint32 chunkSize = 2;</code>
+       *
+       * <pre>
+       * max entities in each response chunk, for CHUNKED_ENTITIES only
+       * </pre>
+       */
+      public int getChunkSize() {
+        return chunkSize_;
+      }
+      /**
+       * <code>optional uint32 chunkSize = 2;</code>
+       *
+       * <pre>
+       * max entities in each response chunk, for CHUNKED_ENTITIES only
+       * </pre>
+       */
+      public Builder setChunkSize(int value) {
+        bitField0_ |= 0x00000002;
+        chunkSize_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional uint32 chunkSize = 2;</code>
+       *
+       * <pre>
+       * max entities in each response chunk, for CHUNKED_ENTITIES only
+       * </pre>
+       */
+      public Builder clearChunkSize() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        chunkSize_ = 0;
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:com.adonai.wallet.sync.EntityRequest)
     }
 
@@ -1893,6 +2566,32 @@ public final class SyncProtocol {
      */
     com.adonai.wallet.sync.SyncProtocol.EntityOrBuilder getAddedOrBuilder(
         int index);
+
+    /**
+     * <code>optional string continuation = 3;</code>
+     *
+     * <pre>
+     * position after last entity of this chunk, set if more chunks follow
+     * </pre>
+     */
+    boolean hasContinuation();
+    /**
+     * <code>optional string continuation = 3;</code>
+     *
+     * <pre>
+     * position after last entity of this chunk, set if more chunks follow
+     * </pre>
+     */
+    java.lang.String getContinuation();
+    /**
+     * <code>optional string continuation = 3;</code>
+     *
+     * <pre>
+     * position after last entity of this chunk, set if more chunks follow
+     * </pre>
+     */
+    com.google.protobuf.ByteString
+        getContinuationBytes();
   }
   /**
    * Protobuf type {@code com.adonai.wallet.sync.EntityResponse}
@@ -1962,6 +2661,12 @@ public final class SyncProtocol {
               added_.add(input.readMessage(com.adonai.wallet.sync.SyncProtocol.Entity.PARSER, extensionRegistry));
               break;
             }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000001;
+              continuation_ = bs;
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -2007,6 +2712,7 @@ public final class SyncProtocol {
       return PARSER;
     }
 
+    private int bitField0_;
     public static final int MODIFIED_FIELD_NUMBER = 1;
     private java.util.List<com.adonai.wallet.sync.SyncProtocol.Entity> modified_;
     /**
@@ -2117,9 +2823,64 @@ public final class SyncProtocol {
       return added_.get(index);
     }
 
+    public static final int CONTINUATION_FIELD_NUMBER = 3;
+    private java.lang.Object continuation_;
+    /**
+     * <code>optional string continuation = 3;</code>
+     *
+     * <pre>
+     * position after last entity of this chunk, set if more chunks follow
+     * </pre>
+     */
+    public boolean hasContinuation() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional string continuation = 3;</code>
+     *
+     * <pre>
+     * position after last entity of this chunk, set if more chunks follow
+     * </pre>
+     */
+    public java.lang.String getContinuation() {
+      java.lang.Object ref = continuation_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          continuation_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string continuation = 3;</code>
+     *
+     * <pre>
+     * position after last entity of this chunk, set if more chunks follow
+     * </pre>
+     */
+    public com.google.protobuf.ByteString
+        getContinuationBytes() {
+      java.lang.Object ref = continuation_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        continuation_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private void initFields() {
       modified_ = java.util.Collections.emptyList();
       added_ = java.util.Collections.emptyList();
+      continuation_ = "";
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -2152,6 +2913,9 @@ public final class SyncProtocol {
       for (int i = 0; i < added_.size(); i++) {
         output.writeMessage(2, added_.get(i));
       }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(3, getContinuationBytes());
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -2169,6 +2933,10 @@ public final class SyncProtocol {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(2, added_.get(i));
       }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, getContinuationBytes());
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -2300,6 +3068,8 @@ public final class SyncProtocol {
         } else {
           addedBuilder_.clear();
         }
+        continuation_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
 
@@ -2327,6 +3097,7 @@ public final class SyncProtocol {
       public com.adonai.wallet.sync.SyncProtocol.EntityResponse buildPartial() {
         com.adonai.wallet.sync.SyncProtocol.EntityResponse result = new com.adonai.wallet.sync.SyncProtocol.EntityResponse(this);
         int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
         if (modifiedBuilder_ == null) {
           if (((bitField0_ & 0x00000001) == 0x00000001)) {
             modified_ = java.util.Collections.unmodifiableList(modified_);
@@ -2345,6 +3116,11 @@ public final class SyncProtocol {
         } else {
           result.added_ = addedBuilder_.build();
         }
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.continuation_ = continuation_;
+        result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
@@ -2412,6 +3188,11 @@ public final class SyncProtocol {
             }
           }
         }
+        if (other.hasContinuation()) {
+          bitField0_ |= 0x00000004;
+          continuation_ = other.continuation_;
+          onChanged();
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -3075,52 +3856,152 @@ public final class SyncProtocol {
         return addedBuilder_;
       }
 
-      // @@protoc_insertion_point(builder_scope:com.adonai.wallet.sync.EntityResponse)
-    }
-
-    static {
-      defaultInstance = new EntityResponse(true);
-      defaultInstance.initFields();
-    }
-
-    // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.EntityResponse)
-  }
-
-  public interface EntityAckOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:com.adonai.wallet.sync.EntityAck)
-      com.google.protobuf.MessageOrBuilder {
-
-    /**
-     * <code>required uint64 newServerTimestamp = 1;</code>
-     */
-    boolean hasNewServerTimestamp();
-    /**
-     * <code>required uint64 newServerTimestamp = 1;</code>
-     */
-    long getNewServerTimestamp();
-  }
-  /**
-   * Protobuf type {@code com.adonai.wallet.sync.EntityAck}
-   */
-  public static final class EntityAck extends
-      com.google.protobuf.GeneratedMessage implements
-      // @@protoc_insertion_point(message_implements:com.adonai.wallet.sync.EntityAck)
-      EntityAckOrBuilder {
-    // Use EntityAck.newBuilder() to construct.
-    private EntityAck(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
-      super(builder);
-      this.unknownFields = builder.getUnknownFields();
-    }
-    private EntityAck(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
-
-    private static final EntityAck defaultInstance;
-    public static EntityAck getDefaultInstance() {
-      return defaultInstance;
-    }
-
-    public EntityAck getDefaultInstanceForType() {
-      return defaultInstance;
-    }
+      private java.lang.Object continuation_ = "";
+      /**
+       * <code>optional string continuation = 3;</code>
+       *
+       * <pre>
+       * position after last entity of this chunk, set if more chunks follow
+       * </pre>
+       */
+      public boolean hasContinuation() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional string continuation = 3;</code>
+       *
+       * <pre>
+       * position after last entity of this chunk, set if more chunks follow
+       * </pre>
+       */
+      public java.lang.String getContinuation() {
+        java.lang.Object ref = continuation_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            continuation_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string continuation = 3;</code>
+       *
+       * <pre>
+       * position after last entity of this chunk, set if more chunks follow
+       * </pre>
+       */
+      public com.google.protobuf.ByteString
+          getContinuationBytes() {
+        java.lang.Object ref = continuation_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          continuation_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string continuation = 3;</code>
+       *
+       * <pre>
+       * position after last entity of this chunk, set if more chunks follow
+       * </pre>
+       */
+      public Builder setContinuation(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        continuation_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string continuation = 3;</code>
+       *
+       * <pre>
+       * position after last entity of this chunk, set if more chunks follow
+       * </pre>
+       */
+      public Builder clearContinuation() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        continuation_ = getDefaultInstance().getContinuation();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string continuation = 3;</code>
+       *
+       * <pre>
+       * position after last entity of this chunk, set if more chunks follow
+       * </pre>
+       */
+      public Builder setContinuationBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        continuation_ = value;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:com.adonai.wallet.sync.EntityResponse)
+    }
+
+    static {
+      defaultInstance = new EntityResponse(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.EntityResponse)
+  }
+
+  public interface EntityAckOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:com.adonai.wallet.sync.EntityAck)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required uint64 newServerTimestamp = 1;</code>
+     */
+    boolean hasNewServerTimestamp();
+    /**
+     * <code>required uint64 newServerTimestamp = 1;</code>
+     */
+    long getNewServerTimestamp();
+  }
+  /**
+   * Protobuf type {@code com.adonai.wallet.sync.EntityAck}
+   */
+  public static final class EntityAck extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:com.adonai.wallet.sync.EntityAck)
+      EntityAckOrBuilder {
+    // Use EntityAck.newBuilder() to construct.
+    private EntityAck(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private EntityAck(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final EntityAck defaultInstance;
+    public static EntityAck getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public EntityAck getDefaultInstanceForType() {
+      return defaultInstance;
+    }
 
     private final com.google.protobuf.UnknownFieldSet unknownFields;
     @java.lang.Override
@@ -3569,6 +4450,36 @@ public final class SyncProtocol {
      * <code>optional .com.adonai.wallet.sync.Budget budget = 6;</code>
      */
     com.adonai.wallet.sync.SyncProtocol.BudgetOrBuilder getBudgetOrBuilder();
+
+    /**
+     * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+     */
+    boolean hasBudgetItem();
+    /**
+     * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+     */
+    com.adonai.wallet.sync.SyncProtocol.BudgetItem getBudgetItem();
+    /**
+     * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+     */
+    com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder getBudgetItemOrBuilder();
+
+    /**
+     * <code>optional uint64 lastModified = 8;</code>
+     *
+     * <pre>
+     * server time of last change, sent by server only
+     * </pre>
+     */
+    boolean hasLastModified();
+    /**
+     * <code>optional uint64 lastModified = 8;</code>
+     *
+     * <pre>
+     * server time of last change, sent by server only
+     * </pre>
+     */
+    long getLastModified();
   }
   /**
    * Protobuf type {@code com.adonai.wallet.sync.Entity}
@@ -3685,6 +4596,24 @@ public final class SyncProtocol {
               bitField0_ |= 0x00000020;
               break;
             }
+            case 58: {
+              com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000040) == 0x00000040)) {
+                subBuilder = budgetItem_.toBuilder();
+              }
+              budgetItem_ = input.readMessage(com.adonai.wallet.sync.SyncProtocol.BudgetItem.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(budgetItem_);
+                budgetItem_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000040;
+              break;
+            }
+            case 64: {
+              bitField0_ |= 0x00000080;
+              lastModified_ = input.readUInt64();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -3866,6 +4795,50 @@ public final class SyncProtocol {
       return budget_;
     }
 
+    public static final int BUDGETITEM_FIELD_NUMBER = 7;
+    private com.adonai.wallet.sync.SyncProtocol.BudgetItem budgetItem_;
+    /**
+     * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+     */
+    public boolean hasBudgetItem() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    /**
+     * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+     */
+    public com.adonai.wallet.sync.SyncProtocol.BudgetItem getBudgetItem() {
+      return budgetItem_;
+    }
+    /**
+     * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+     */
+    public com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder getBudgetItemOrBuilder() {
+      return budgetItem_;
+    }
+
+    public static final int LASTMODIFIED_FIELD_NUMBER = 8;
+    private long lastModified_;
+    /**
+     * <code>optional uint64 lastModified = 8;</code>
+     *
+     * <pre>
+     * server time of last change, sent by server only
+     * </pre>
+     */
+    public boolean hasLastModified() {
+      return ((bitField0_ & 0x00000080) == 0x00000080);
+    }
+    /**
+     * <code>optional uint64 lastModified = 8;</code>
+     *
+     * <pre>
+     * server time of last change, sent by server only
+     * </pre>
+     */
+    public long getLastModified() {
+      return lastModified_;
+    }
+
     private void initFields() {
       iD_ = "";
       deleted_ = false;
@@ -3873,6 +4846,8 @@ public final class SyncProtocol {
       operation_ = com.adonai.wallet.sync.SyncProtocol.Operation.getDefaultInstance();
       category_ = com.adonai.wallet.sync.SyncProtocol.Category.getDefaultInstance();
       budget_ = com.adonai.wallet.sync.SyncProtocol.Budget.getDefaultInstance();
+      budgetItem_ = com.adonai.wallet.sync.SyncProtocol.BudgetItem.getDefaultInstance();
+      lastModified_ = 0L;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -3912,6 +4887,12 @@ public final class SyncProtocol {
           return false;
         }
       }
+      if (hasBudgetItem()) {
+        if (!getBudgetItem().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -3937,6 +4918,12 @@ public final class SyncProtocol {
       if (((bitField0_ & 0x00000020) == 0x00000020)) {
         output.writeMessage(6, budget_);
       }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeMessage(7, budgetItem_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        output.writeUInt64(8, lastModified_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -3970,6 +4957,14 @@ public final class SyncProtocol {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(6, budget_);
       }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(7, budgetItem_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(8, lastModified_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -4083,6 +5078,7 @@ public final class SyncProtocol {
           getOperationFieldBuilder();
           getCategoryFieldBuilder();
           getBudgetFieldBuilder();
+          getBudgetItemFieldBuilder();
         }
       }
       private static Builder create() {
@@ -4119,6 +5115,14 @@ public final class SyncProtocol {
           budgetBuilder_.clear();
         }
         bitField0_ = (bitField0_ & ~0x00000020);
+        if (budgetItemBuilder_ == null) {
+          budgetItem_ = com.adonai.wallet.sync.SyncProtocol.BudgetItem.getDefaultInstance();
+        } else {
+          budgetItemBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000040);
+        lastModified_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000080);
         return this;
       }
 
@@ -4187,6 +5191,18 @@ public final class SyncProtocol {
         } else {
           result.budget_ = budgetBuilder_.build();
         }
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        if (budgetItemBuilder_ == null) {
+          result.budgetItem_ = budgetItem_;
+        } else {
+          result.budgetItem_ = budgetItemBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000080;
+        }
+        result.lastModified_ = lastModified_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -4223,6 +5239,12 @@ public final class SyncProtocol {
         if (other.hasBudget()) {
           mergeBudget(other.getBudget());
         }
+        if (other.hasBudgetItem()) {
+          mergeBudgetItem(other.getBudgetItem());
+        }
+        if (other.hasLastModified()) {
+          setLastModified(other.getLastModified());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -4260,6 +5282,12 @@ public final class SyncProtocol {
             return false;
           }
         }
+        if (hasBudgetItem()) {
+          if (!getBudgetItem().isInitialized()) {
+            
+            return false;
+          }
+        }
         return true;
       }
 
@@ -4854,64 +5882,228 @@ public final class SyncProtocol {
         return budgetBuilder_;
       }
 
-      // @@protoc_insertion_point(builder_scope:com.adonai.wallet.sync.Entity)
-    }
-
-    static {
-      defaultInstance = new Entity(true);
-      defaultInstance.initFields();
-    }
-
-    // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.Entity)
-  }
-
-  public interface AccountOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:com.adonai.wallet.sync.Account)
-      com.google.protobuf.MessageOrBuilder {
-
-    /**
-     * <code>required string name = 2;</code>
-     */
-    boolean hasName();
-    /**
-     * <code>required string name = 2;</code>
-     */
-    java.lang.String getName();
-    /**
-     * <code>required string name = 2;</code>
-     */
-    com.google.protobuf.ByteString
-        getNameBytes();
-
-    /**
-     * <code>required string currency = 3;</code>
-     */
-    boolean hasCurrency();
-    /**
-     * <code>required string currency = 3;</code>
-     */
-    java.lang.String getCurrency();
-    /**
-     * <code>required string currency = 3;</code>
-     */
-    com.google.protobuf.ByteString
-        getCurrencyBytes();
-
-    /**
-     * <code>required string amount = 4;</code>
-     *
-     * <pre>
-     * BigDecimal for Java
-     * </pre>
-     */
-    boolean hasAmount();
-    /**
-     * <code>required string amount = 4;</code>
-     *
-     * <pre>
-     * BigDecimal for Java
-     * </pre>
-     */
+      private com.adonai.wallet.sync.SyncProtocol.BudgetItem budgetItem_ = com.adonai.wallet.sync.SyncProtocol.BudgetItem.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          com.adonai.wallet.sync.SyncProtocol.BudgetItem, com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder, com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder> budgetItemBuilder_;
+      /**
+       * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+       */
+      public boolean hasBudgetItem() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
+      }
+      /**
+       * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+       */
+      public com.adonai.wallet.sync.SyncProtocol.BudgetItem getBudgetItem() {
+        if (budgetItemBuilder_ == null) {
+          return budgetItem_;
+        } else {
+          return budgetItemBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+       */
+      public Builder setBudgetItem(com.adonai.wallet.sync.SyncProtocol.BudgetItem value) {
+        if (budgetItemBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          budgetItem_ = value;
+          onChanged();
+        } else {
+          budgetItemBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000040;
+        return this;
+      }
+      /**
+       * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+       */
+      public Builder setBudgetItem(
+          com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder builderForValue) {
+        if (budgetItemBuilder_ == null) {
+          budgetItem_ = builderForValue.build();
+          onChanged();
+        } else {
+          budgetItemBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000040;
+        return this;
+      }
+      /**
+       * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+       */
+      public Builder mergeBudgetItem(com.adonai.wallet.sync.SyncProtocol.BudgetItem value) {
+        if (budgetItemBuilder_ == null) {
+          if (((bitField0_ & 0x00000040) == 0x00000040) &&
+              budgetItem_ != com.adonai.wallet.sync.SyncProtocol.BudgetItem.getDefaultInstance()) {
+            budgetItem_ =
+              com.adonai.wallet.sync.SyncProtocol.BudgetItem.newBuilder(budgetItem_).mergeFrom(value).buildPartial();
+          } else {
+            budgetItem_ = value;
+          }
+          onChanged();
+        } else {
+          budgetItemBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000040;
+        return this;
+      }
+      /**
+       * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+       */
+      public Builder clearBudgetItem() {
+        if (budgetItemBuilder_ == null) {
+          budgetItem_ = com.adonai.wallet.sync.SyncProtocol.BudgetItem.getDefaultInstance();
+          onChanged();
+        } else {
+          budgetItemBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000040);
+        return this;
+      }
+      /**
+       * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+       */
+      public com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder getBudgetItemBuilder() {
+        bitField0_ |= 0x00000040;
+        onChanged();
+        return getBudgetItemFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+       */
+      public com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder getBudgetItemOrBuilder() {
+        if (budgetItemBuilder_ != null) {
+          return budgetItemBuilder_.getMessageOrBuilder();
+        } else {
+          return budgetItem_;
+        }
+      }
+      /**
+       * <code>optional .com.adonai.wallet.sync.BudgetItem budgetItem = 7;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          com.adonai.wallet.sync.SyncProtocol.BudgetItem, com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder, com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder> 
+          getBudgetItemFieldBuilder() {
+        if (budgetItemBuilder_ == null) {
+          budgetItemBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              com.adonai.wallet.sync.SyncProtocol.BudgetItem, com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder, com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder>(
+                  getBudgetItem(),
+                  getParentForChildren(),
+                  isClean());
+          budgetItem_ = null;
+        }
+        return budgetItemBuilder_;
+      }
+
+      private long lastModified_ ;
+      /**
+       * <code>optional uint64 lastModified = 8;</code>
+       *
+       * <pre>
+       * server time of last change, sent by server only
+       * </pre>
+       */
+      public boolean hasLastModified() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
+      }
+      /**
+       * <code>optional uint64 lastModified = 8;</code>
+       *
+       * <pre>
+       * server time of last change, sent by server only
+       * </pre>
+       */
+      public long getLastModified() {
+        return lastModified_;
+      }
+      /**
+       * <code>optional uint64 lastModified = 8;</code>
+       *
+       * <pre>
+       * server time of last change, sent by server only
+       * </pre>
+       */
+      public Builder setLastModified(long value) {
+        bitField0_ |= 0x00000080;
+        lastModified_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional uint64 lastModified = 8;</code>
+       *
+       * <pre>
+       * server time of last change, sent by server only
+       * </pre>
+       */
+      public Builder clearLastModified() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        lastModified_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:com.adonai.wallet.sync.Entity)
+    }
+
+    static {
+      defaultInstance = new Entity(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:com.adonai.wallet.sync.Entity)
+  }
+
+  public interface AccountOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:com.adonai.wallet.sync.Account)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required string name = 2;</code>
+     */
+    boolean hasName();
+    /**
+     * <code>required string name = 2;</code>
+     */
+    java.lang.String getName();
+    /**
+     * <code>required string name = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getNameBytes();
+
+    /**
+     * <code>required string currency = 3;</code>
+     */
+    boolean hasCurrency();
+    /**
+     * <code>required string currency = 3;</code>
+     */
+    java.lang.String getCurrency();
+    /**
+     * <code>required string currency = 3;</code>
+     */
+    com.google.protobuf.ByteString
+        getCurrencyBytes();
+
+    /**
+     * <code>required string amount = 4;</code>
+     *
+     * <pre>
+     * BigDecimal for Java
+     * </pre>
+     */
+    boolean hasAmount();
+    /**
+     * <code>required string amount = 4;</code>
+     *
+     * <pre>
+     * BigDecimal for Java
+     * </pre>
+     */
     java.lang.String getAmount();
     /**
      * <code>required string amount = 4;</code>
@@ -8033,30 +9225,21 @@ public final class SyncProtocol {
     long getFrom();
 
     /**
-     * <code>required string till = 4;</code>
+     * <code>optional uint64 till = 4;</code>
      *
      * <pre>
-     * end time
+     * end time, open-ended if not set
      * </pre>
      */
     boolean hasTill();
     /**
-     * <code>required string till = 4;</code>
-     *
-     * <pre>
-     * end time
-     * </pre>
-     */
-    java.lang.String getTill();
-    /**
-     * <code>required string till = 4;</code>
+     * <code>optional uint64 till = 4;</code>
      *
      * <pre>
-     * end time
+     * end time, open-ended if not set
      * </pre>
      */
-    com.google.protobuf.ByteString
-        getTillBytes();
+    long getTill();
 
     /**
      * <code>optional string coveredAccountId = 5;</code>
@@ -8085,48 +9268,72 @@ public final class SyncProtocol {
         getCoveredAccountIdBytes();
 
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
+     * <code>optional uint64 flags = 7;</code>
      *
      * <pre>
-     * array of items
+     * 6 is not used, budget items are synced as separate entities
      * </pre>
      */
-    java.util.List<com.adonai.wallet.sync.SyncProtocol.BudgetItem> 
-        getContentList();
+    boolean hasFlags();
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
+     * <code>optional uint64 flags = 7;</code>
      *
      * <pre>
-     * array of items
+     * 6 is not used, budget items are synced as separate entities
      * </pre>
      */
-    com.adonai.wallet.sync.SyncProtocol.BudgetItem getContent(int index);
+    long getFlags();
+
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-     *
-     * <pre>
-     * array of items
-     * </pre>
+     * <code>optional uint64 repeatTimeSeconds = 8;</code>
      */
-    int getContentCount();
+    boolean hasRepeatTimeSeconds();
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-     *
-     * <pre>
-     * array of items
-     * </pre>
+     * <code>optional uint64 repeatTimeSeconds = 8;</code>
      */
-    java.util.List<? extends com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder> 
-        getContentOrBuilderList();
+    long getRepeatTimeSeconds();
+
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-     *
-     * <pre>
-     * array of items
-     * </pre>
+     * <code>optional string warningAmount = 9;</code>
      */
-    com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder getContentOrBuilder(
-        int index);
+    boolean hasWarningAmount();
+    /**
+     * <code>optional string warningAmount = 9;</code>
+     */
+    java.lang.String getWarningAmount();
+    /**
+     * <code>optional string warningAmount = 9;</code>
+     */
+    com.google.protobuf.ByteString
+        getWarningAmountBytes();
+
+    /**
+     * <code>optional string maxAmount = 10;</code>
+     */
+    boolean hasMaxAmount();
+    /**
+     * <code>optional string maxAmount = 10;</code>
+     */
+    java.lang.String getMaxAmount();
+    /**
+     * <code>optional string maxAmount = 10;</code>
+     */
+    com.google.protobuf.ByteString
+        getMaxAmountBytes();
+
+    /**
+     * <code>optional string maxDailyAmount = 11;</code>
+     */
+    boolean hasMaxDailyAmount();
+    /**
+     * <code>optional string maxDailyAmount = 11;</code>
+     */
+    java.lang.String getMaxDailyAmount();
+    /**
+     * <code>optional string maxDailyAmount = 11;</code>
+     */
+    com.google.protobuf.ByteString
+        getMaxDailyAmountBytes();
   }
   /**
    * Protobuf type {@code com.adonai.wallet.sync.Budget}
@@ -8195,10 +9402,9 @@ public final class SyncProtocol {
               from_ = input.readUInt64();
               break;
             }
-            case 34: {
-              com.google.protobuf.ByteString bs = input.readBytes();
+            case 32: {
               bitField0_ |= 0x00000004;
-              till_ = bs;
+              till_ = input.readUInt64();
               break;
             }
             case 42: {
@@ -8207,12 +9413,32 @@ public final class SyncProtocol {
               coveredAccountId_ = bs;
               break;
             }
-            case 50: {
-              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
-                content_ = new java.util.ArrayList<com.adonai.wallet.sync.SyncProtocol.BudgetItem>();
-                mutable_bitField0_ |= 0x00000010;
-              }
-              content_.add(input.readMessage(com.adonai.wallet.sync.SyncProtocol.BudgetItem.PARSER, extensionRegistry));
+            case 56: {
+              bitField0_ |= 0x00000010;
+              flags_ = input.readUInt64();
+              break;
+            }
+            case 64: {
+              bitField0_ |= 0x00000020;
+              repeatTimeSeconds_ = input.readUInt64();
+              break;
+            }
+            case 74: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000040;
+              warningAmount_ = bs;
+              break;
+            }
+            case 82: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000080;
+              maxAmount_ = bs;
+              break;
+            }
+            case 90: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000100;
+              maxDailyAmount_ = bs;
               break;
             }
           }
@@ -8223,9 +9449,6 @@ public final class SyncProtocol {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
-        if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
-          content_ = java.util.Collections.unmodifiableList(content_);
-        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -8324,57 +9547,26 @@ public final class SyncProtocol {
     }
 
     public static final int TILL_FIELD_NUMBER = 4;
-    private java.lang.Object till_;
+    private long till_;
     /**
-     * <code>required string till = 4;</code>
+     * <code>optional uint64 till = 4;</code>
      *
      * <pre>
-     * end time
+     * end time, open-ended if not set
      * </pre>
      */
     public boolean hasTill() {
       return ((bitField0_ & 0x00000004) == 0x00000004);
     }
     /**
-     * <code>required string till = 4;</code>
-     *
-     * <pre>
-     * end time
-     * </pre>
-     */
-    public java.lang.String getTill() {
-      java.lang.Object ref = till_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        if (bs.isValidUtf8()) {
-          till_ = s;
-        }
-        return s;
-      }
-    }
-    /**
-     * <code>required string till = 4;</code>
+     * <code>optional uint64 till = 4;</code>
      *
      * <pre>
-     * end time
+     * end time, open-ended if not set
      * </pre>
      */
-    public com.google.protobuf.ByteString
-        getTillBytes() {
-      java.lang.Object ref = till_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        till_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
+    public long getTill() {
+      return till_;
     }
 
     public static final int COVEREDACCOUNTID_FIELD_NUMBER = 5;
@@ -8431,67 +9623,180 @@ public final class SyncProtocol {
       }
     }
 
-    public static final int CONTENT_FIELD_NUMBER = 6;
-    private java.util.List<com.adonai.wallet.sync.SyncProtocol.BudgetItem> content_;
+    public static final int FLAGS_FIELD_NUMBER = 7;
+    private long flags_;
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
+     * <code>optional uint64 flags = 7;</code>
      *
      * <pre>
-     * array of items
+     * 6 is not used, budget items are synced as separate entities
      * </pre>
      */
-    public java.util.List<com.adonai.wallet.sync.SyncProtocol.BudgetItem> getContentList() {
-      return content_;
+    public boolean hasFlags() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
     }
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
+     * <code>optional uint64 flags = 7;</code>
      *
      * <pre>
-     * array of items
+     * 6 is not used, budget items are synced as separate entities
      * </pre>
      */
-    public java.util.List<? extends com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder> 
-        getContentOrBuilderList() {
-      return content_;
+    public long getFlags() {
+      return flags_;
     }
+
+    public static final int REPEATTIMESECONDS_FIELD_NUMBER = 8;
+    private long repeatTimeSeconds_;
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-     *
-     * <pre>
-     * array of items
-     * </pre>
+     * <code>optional uint64 repeatTimeSeconds = 8;</code>
      */
-    public int getContentCount() {
-      return content_.size();
+    public boolean hasRepeatTimeSeconds() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
     }
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-     *
-     * <pre>
-     * array of items
-     * </pre>
+     * <code>optional uint64 repeatTimeSeconds = 8;</code>
      */
-    public com.adonai.wallet.sync.SyncProtocol.BudgetItem getContent(int index) {
-      return content_.get(index);
+    public long getRepeatTimeSeconds() {
+      return repeatTimeSeconds_;
     }
+
+    public static final int WARNINGAMOUNT_FIELD_NUMBER = 9;
+    private java.lang.Object warningAmount_;
     /**
-     * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-     *
-     * <pre>
-     * array of items
-     * </pre>
+     * <code>optional string warningAmount = 9;</code>
      */
-    public com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder getContentOrBuilder(
-        int index) {
-      return content_.get(index);
+    public boolean hasWarningAmount() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
     }
-
+    /**
+     * <code>optional string warningAmount = 9;</code>
+     */
+    public java.lang.String getWarningAmount() {
+      java.lang.Object ref = warningAmount_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          warningAmount_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string warningAmount = 9;</code>
+     */
+    public com.google.protobuf.ByteString
+        getWarningAmountBytes() {
+      java.lang.Object ref = warningAmount_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        warningAmount_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int MAXAMOUNT_FIELD_NUMBER = 10;
+    private java.lang.Object maxAmount_;
+    /**
+     * <code>optional string maxAmount = 10;</code>
+     */
+    public boolean hasMaxAmount() {
+      return ((bitField0_ & 0x00000080) == 0x00000080);
+    }
+    /**
+     * <code>optional string maxAmount = 10;</code>
+     */
+    public java.lang.String getMaxAmount() {
+      java.lang.Object ref = maxAmount_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          maxAmount_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string maxAmount = 10;</code>
+     */
+    public com.google.protobuf.ByteString
+        getMaxAmountBytes() {
+      java.lang.Object ref = maxAmount_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        maxAmount_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int MAXDAILYAMOUNT_FIELD_NUMBER = 11;
+    private java.lang.Object maxDailyAmount_;
+    /**
+     * <code>optional string maxDailyAmount = 11;</code>
+     */
+    public boolean hasMaxDailyAmount() {
+      return ((bitField0_ & 0x00000100) == 0x00000100);
+    }
+    /**
+     * <code>optional string maxDailyAmount = 11;</code>
+     */
+    public java.lang.String getMaxDailyAmount() {
+      java.lang.Object ref = maxDailyAmount_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          maxDailyAmount_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string maxDailyAmount = 11;</code>
+     */
+    public com.google.protobuf.ByteString
+        getMaxDailyAmountBytes() {
+      java.lang.Object ref = maxDailyAmount_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        maxDailyAmount_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private void initFields() {
       name_ = "";
       from_ = 0L;
-      till_ = "";
+      till_ = 0L;
       coveredAccountId_ = "";
-      content_ = java.util.Collections.emptyList();
+      flags_ = 0L;
+      repeatTimeSeconds_ = 0L;
+      warningAmount_ = "";
+      maxAmount_ = "";
+      maxDailyAmount_ = "";
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -8507,16 +9812,6 @@ public final class SyncProtocol {
         memoizedIsInitialized = 0;
         return false;
       }
-      if (!hasTill()) {
-        memoizedIsInitialized = 0;
-        return false;
-      }
-      for (int i = 0; i < getContentCount(); i++) {
-        if (!getContent(i).isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
-        }
-      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -8531,13 +9826,25 @@ public final class SyncProtocol {
         output.writeUInt64(3, from_);
       }
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
-        output.writeBytes(4, getTillBytes());
+        output.writeUInt64(4, till_);
       }
       if (((bitField0_ & 0x00000008) == 0x00000008)) {
         output.writeBytes(5, getCoveredAccountIdBytes());
       }
-      for (int i = 0; i < content_.size(); i++) {
-        output.writeMessage(6, content_.get(i));
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeUInt64(7, flags_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeUInt64(8, repeatTimeSeconds_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeBytes(9, getWarningAmountBytes());
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        output.writeBytes(10, getMaxAmountBytes());
+      }
+      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+        output.writeBytes(11, getMaxDailyAmountBytes());
       }
       getUnknownFields().writeTo(output);
     }
@@ -8558,15 +9865,31 @@ public final class SyncProtocol {
       }
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(4, getTillBytes());
+          .computeUInt64Size(4, till_);
       }
       if (((bitField0_ & 0x00000008) == 0x00000008)) {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(5, getCoveredAccountIdBytes());
       }
-      for (int i = 0; i < content_.size(); i++) {
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(7, flags_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(8, repeatTimeSeconds_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(9, getWarningAmountBytes());
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(6, content_.get(i));
+          .computeBytesSize(10, getMaxAmountBytes());
+      }
+      if (((bitField0_ & 0x00000100) == 0x00000100)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(11, getMaxDailyAmountBytes());
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -8681,7 +10004,6 @@ public final class SyncProtocol {
       }
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
-          getContentFieldBuilder();
         }
       }
       private static Builder create() {
@@ -8694,16 +10016,20 @@ public final class SyncProtocol {
         bitField0_ = (bitField0_ & ~0x00000001);
         from_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000002);
-        till_ = "";
+        till_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000004);
         coveredAccountId_ = "";
         bitField0_ = (bitField0_ & ~0x00000008);
-        if (contentBuilder_ == null) {
-          content_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000010);
-        } else {
-          contentBuilder_.clear();
-        }
+        flags_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        repeatTimeSeconds_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        warningAmount_ = "";
+        bitField0_ = (bitField0_ & ~0x00000040);
+        maxAmount_ = "";
+        bitField0_ = (bitField0_ & ~0x00000080);
+        maxDailyAmount_ = "";
+        bitField0_ = (bitField0_ & ~0x00000100);
         return this;
       }
 
@@ -8748,15 +10074,26 @@ public final class SyncProtocol {
           to_bitField0_ |= 0x00000008;
         }
         result.coveredAccountId_ = coveredAccountId_;
-        if (contentBuilder_ == null) {
-          if (((bitField0_ & 0x00000010) == 0x00000010)) {
-            content_ = java.util.Collections.unmodifiableList(content_);
-            bitField0_ = (bitField0_ & ~0x00000010);
-          }
-          result.content_ = content_;
-        } else {
-          result.content_ = contentBuilder_.build();
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.flags_ = flags_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.repeatTimeSeconds_ = repeatTimeSeconds_;
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        result.warningAmount_ = warningAmount_;
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000080;
+        }
+        result.maxAmount_ = maxAmount_;
+        if (((from_bitField0_ & 0x00000100) == 0x00000100)) {
+          to_bitField0_ |= 0x00000100;
         }
+        result.maxDailyAmount_ = maxDailyAmount_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -8782,40 +10119,33 @@ public final class SyncProtocol {
           setFrom(other.getFrom());
         }
         if (other.hasTill()) {
-          bitField0_ |= 0x00000004;
-          till_ = other.till_;
-          onChanged();
+          setTill(other.getTill());
         }
         if (other.hasCoveredAccountId()) {
           bitField0_ |= 0x00000008;
           coveredAccountId_ = other.coveredAccountId_;
           onChanged();
         }
-        if (contentBuilder_ == null) {
-          if (!other.content_.isEmpty()) {
-            if (content_.isEmpty()) {
-              content_ = other.content_;
-              bitField0_ = (bitField0_ & ~0x00000010);
-            } else {
-              ensureContentIsMutable();
-              content_.addAll(other.content_);
-            }
-            onChanged();
-          }
-        } else {
-          if (!other.content_.isEmpty()) {
-            if (contentBuilder_.isEmpty()) {
-              contentBuilder_.dispose();
-              contentBuilder_ = null;
-              content_ = other.content_;
-              bitField0_ = (bitField0_ & ~0x00000010);
-              contentBuilder_ = 
-                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
-                   getContentFieldBuilder() : null;
-            } else {
-              contentBuilder_.addAllMessages(other.content_);
-            }
-          }
+        if (other.hasFlags()) {
+          setFlags(other.getFlags());
+        }
+        if (other.hasRepeatTimeSeconds()) {
+          setRepeatTimeSeconds(other.getRepeatTimeSeconds());
+        }
+        if (other.hasWarningAmount()) {
+          bitField0_ |= 0x00000040;
+          warningAmount_ = other.warningAmount_;
+          onChanged();
+        }
+        if (other.hasMaxAmount()) {
+          bitField0_ |= 0x00000080;
+          maxAmount_ = other.maxAmount_;
+          onChanged();
+        }
+        if (other.hasMaxDailyAmount()) {
+          bitField0_ |= 0x00000100;
+          maxDailyAmount_ = other.maxDailyAmount_;
+          onChanged();
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -8830,16 +10160,6 @@ public final class SyncProtocol {
           
           return false;
         }
-        if (!hasTill()) {
-          
-          return false;
-        }
-        for (int i = 0; i < getContentCount(); i++) {
-          if (!getContent(i).isInitialized()) {
-            
-            return false;
-          }
-        }
         return true;
       }
 
@@ -8986,102 +10306,50 @@ public final class SyncProtocol {
         return this;
       }
 
-      private java.lang.Object till_ = "";
+      private long till_ ;
       /**
-       * <code>required string till = 4;</code>
+       * <code>optional uint64 till = 4;</code>
        *
        * <pre>
-       * end time
+       * end time, open-ended if not set
        * </pre>
        */
       public boolean hasTill() {
         return ((bitField0_ & 0x00000004) == 0x00000004);
       }
       /**
-       * <code>required string till = 4;</code>
-       *
-       * <pre>
-       * end time
-       * </pre>
-       */
-      public java.lang.String getTill() {
-        java.lang.Object ref = till_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          if (bs.isValidUtf8()) {
-            till_ = s;
-          }
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>required string till = 4;</code>
+       * <code>optional uint64 till = 4;</code>
        *
        * <pre>
-       * end time
+       * end time, open-ended if not set
        * </pre>
        */
-      public com.google.protobuf.ByteString
-          getTillBytes() {
-        java.lang.Object ref = till_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          till_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
+      public long getTill() {
+        return till_;
       }
       /**
-       * <code>required string till = 4;</code>
+       * <code>optional uint64 till = 4;</code>
        *
        * <pre>
-       * end time
+       * end time, open-ended if not set
        * </pre>
        */
-      public Builder setTill(
-          java.lang.String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000004;
+      public Builder setTill(long value) {
+        bitField0_ |= 0x00000004;
         till_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required string till = 4;</code>
+       * <code>optional uint64 till = 4;</code>
        *
        * <pre>
-       * end time
+       * end time, open-ended if not set
        * </pre>
        */
       public Builder clearTill() {
         bitField0_ = (bitField0_ & ~0x00000004);
-        till_ = getDefaultInstance().getTill();
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>required string till = 4;</code>
-       *
-       * <pre>
-       * end time
-       * </pre>
-       */
-      public Builder setTillBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000004;
-        till_ = value;
+        till_ = 0L;
         onChanged();
         return this;
       }
@@ -9186,316 +10454,312 @@ public final class SyncProtocol {
         return this;
       }
 
-      private java.util.List<com.adonai.wallet.sync.SyncProtocol.BudgetItem> content_ =
-        java.util.Collections.emptyList();
-      private void ensureContentIsMutable() {
-        if (!((bitField0_ & 0x00000010) == 0x00000010)) {
-          content_ = new java.util.ArrayList<com.adonai.wallet.sync.SyncProtocol.BudgetItem>(content_);
-          bitField0_ |= 0x00000010;
-         }
-      }
-
-      private com.google.protobuf.RepeatedFieldBuilder<
-          com.adonai.wallet.sync.SyncProtocol.BudgetItem, com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder, com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder> contentBuilder_;
-
+      private long flags_ ;
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
+       * <code>optional uint64 flags = 7;</code>
        *
        * <pre>
-       * array of items
+       * 6 is not used, budget items are synced as separate entities
        * </pre>
        */
-      public java.util.List<com.adonai.wallet.sync.SyncProtocol.BudgetItem> getContentList() {
-        if (contentBuilder_ == null) {
-          return java.util.Collections.unmodifiableList(content_);
-        } else {
-          return contentBuilder_.getMessageList();
-        }
+      public boolean hasFlags() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
+       * <code>optional uint64 flags = 7;</code>
        *
        * <pre>
-       * array of items
+       * 6 is not used, budget items are synced as separate entities
        * </pre>
        */
-      public int getContentCount() {
-        if (contentBuilder_ == null) {
-          return content_.size();
-        } else {
-          return contentBuilder_.getCount();
-        }
+      public long getFlags() {
+        return flags_;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
+       * <code>optional uint64 flags = 7;</code>
        *
        * <pre>
-       * array of items
+       * 6 is not used, budget items are synced as separate entities
        * </pre>
        */
-      public com.adonai.wallet.sync.SyncProtocol.BudgetItem getContent(int index) {
-        if (contentBuilder_ == null) {
-          return content_.get(index);
-        } else {
-          return contentBuilder_.getMessage(index);
-        }
+      public Builder setFlags(long value) {
+        bitField0_ |= 0x00000010;
+        flags_ = value;
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
+       * <code>optional uint64 flags = 7;</code>
        *
        * <pre>
-       * array of items
+       * 6 is not used, budget items are synced as separate entities
        * </pre>
        */
-      public Builder setContent(
-          int index, com.adonai.wallet.sync.SyncProtocol.BudgetItem value) {
-        if (contentBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
+      public Builder clearFlags() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        flags_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long repeatTimeSeconds_ ;
+      /**
+       * <code>optional uint64 repeatTimeSeconds = 8;</code>
+       */
+      public boolean hasRepeatTimeSeconds() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <code>optional uint64 repeatTimeSeconds = 8;</code>
+       */
+      public long getRepeatTimeSeconds() {
+        return repeatTimeSeconds_;
+      }
+      /**
+       * <code>optional uint64 repeatTimeSeconds = 8;</code>
+       */
+      public Builder setRepeatTimeSeconds(long value) {
+        bitField0_ |= 0x00000020;
+        repeatTimeSeconds_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional uint64 repeatTimeSeconds = 8;</code>
+       */
+      public Builder clearRepeatTimeSeconds() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        repeatTimeSeconds_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object warningAmount_ = "";
+      /**
+       * <code>optional string warningAmount = 9;</code>
+       */
+      public boolean hasWarningAmount() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
+      }
+      /**
+       * <code>optional string warningAmount = 9;</code>
+       */
+      public java.lang.String getWarningAmount() {
+        java.lang.Object ref = warningAmount_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            warningAmount_ = s;
           }
-          ensureContentIsMutable();
-          content_.set(index, value);
-          onChanged();
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string warningAmount = 9;</code>
+       */
+      public com.google.protobuf.ByteString
+          getWarningAmountBytes() {
+        java.lang.Object ref = warningAmount_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          warningAmount_ = b;
+          return b;
         } else {
-          contentBuilder_.setMessage(index, value);
+          return (com.google.protobuf.ByteString) ref;
         }
-        return this;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string warningAmount = 9;</code>
        */
-      public Builder setContent(
-          int index, com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder builderForValue) {
-        if (contentBuilder_ == null) {
-          ensureContentIsMutable();
-          content_.set(index, builderForValue.build());
-          onChanged();
-        } else {
-          contentBuilder_.setMessage(index, builderForValue.build());
-        }
+      public Builder setWarningAmount(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000040;
+        warningAmount_ = value;
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string warningAmount = 9;</code>
        */
-      public Builder addContent(com.adonai.wallet.sync.SyncProtocol.BudgetItem value) {
-        if (contentBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureContentIsMutable();
-          content_.add(value);
-          onChanged();
-        } else {
-          contentBuilder_.addMessage(value);
-        }
+      public Builder clearWarningAmount() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        warningAmount_ = getDefaultInstance().getWarningAmount();
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string warningAmount = 9;</code>
        */
-      public Builder addContent(
-          int index, com.adonai.wallet.sync.SyncProtocol.BudgetItem value) {
-        if (contentBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureContentIsMutable();
-          content_.add(index, value);
-          onChanged();
-        } else {
-          contentBuilder_.addMessage(index, value);
-        }
+      public Builder setWarningAmountBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000040;
+        warningAmount_ = value;
+        onChanged();
         return this;
       }
+
+      private java.lang.Object maxAmount_ = "";
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxAmount = 10;</code>
        */
-      public Builder addContent(
-          com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder builderForValue) {
-        if (contentBuilder_ == null) {
-          ensureContentIsMutable();
-          content_.add(builderForValue.build());
-          onChanged();
-        } else {
-          contentBuilder_.addMessage(builderForValue.build());
-        }
-        return this;
+      public boolean hasMaxAmount() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxAmount = 10;</code>
        */
-      public Builder addContent(
-          int index, com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder builderForValue) {
-        if (contentBuilder_ == null) {
-          ensureContentIsMutable();
-          content_.add(index, builderForValue.build());
-          onChanged();
+      public java.lang.String getMaxAmount() {
+        java.lang.Object ref = maxAmount_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            maxAmount_ = s;
+          }
+          return s;
         } else {
-          contentBuilder_.addMessage(index, builderForValue.build());
+          return (java.lang.String) ref;
         }
-        return this;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxAmount = 10;</code>
        */
-      public Builder addAllContent(
-          java.lang.Iterable<? extends com.adonai.wallet.sync.SyncProtocol.BudgetItem> values) {
-        if (contentBuilder_ == null) {
-          ensureContentIsMutable();
-          com.google.protobuf.AbstractMessageLite.Builder.addAll(
-              values, content_);
-          onChanged();
+      public com.google.protobuf.ByteString
+          getMaxAmountBytes() {
+        java.lang.Object ref = maxAmount_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          maxAmount_ = b;
+          return b;
         } else {
-          contentBuilder_.addAllMessages(values);
+          return (com.google.protobuf.ByteString) ref;
         }
+      }
+      /**
+       * <code>optional string maxAmount = 10;</code>
+       */
+      public Builder setMaxAmount(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000080;
+        maxAmount_ = value;
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxAmount = 10;</code>
        */
-      public Builder clearContent() {
-        if (contentBuilder_ == null) {
-          content_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000010);
-          onChanged();
-        } else {
-          contentBuilder_.clear();
-        }
+      public Builder clearMaxAmount() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        maxAmount_ = getDefaultInstance().getMaxAmount();
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxAmount = 10;</code>
        */
-      public Builder removeContent(int index) {
-        if (contentBuilder_ == null) {
-          ensureContentIsMutable();
-          content_.remove(index);
-          onChanged();
-        } else {
-          contentBuilder_.remove(index);
-        }
+      public Builder setMaxAmountBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000080;
+        maxAmount_ = value;
+        onChanged();
         return this;
       }
+
+      private java.lang.Object maxDailyAmount_ = "";
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxDailyAmount = 11;</code>
        */
-      public com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder getContentBuilder(
-          int index) {
-        return getContentFieldBuilder().getBuilder(index);
+      public boolean hasMaxDailyAmount() {
+        return ((bitField0_ & 0x00000100) == 0x00000100);
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxDailyAmount = 11;</code>
        */
-      public com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder getContentOrBuilder(
-          int index) {
-        if (contentBuilder_ == null) {
-          return content_.get(index);  } else {
-          return contentBuilder_.getMessageOrBuilder(index);
+      public java.lang.String getMaxDailyAmount() {
+        java.lang.Object ref = maxDailyAmount_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            maxDailyAmount_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
         }
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxDailyAmount = 11;</code>
        */
-      public java.util.List<? extends com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder> 
-           getContentOrBuilderList() {
-        if (contentBuilder_ != null) {
-          return contentBuilder_.getMessageOrBuilderList();
+      public com.google.protobuf.ByteString
+          getMaxDailyAmountBytes() {
+        java.lang.Object ref = maxDailyAmount_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          maxDailyAmount_ = b;
+          return b;
         } else {
-          return java.util.Collections.unmodifiableList(content_);
+          return (com.google.protobuf.ByteString) ref;
         }
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxDailyAmount = 11;</code>
        */
-      public com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder addContentBuilder() {
-        return getContentFieldBuilder().addBuilder(
-            com.adonai.wallet.sync.SyncProtocol.BudgetItem.getDefaultInstance());
+      public Builder setMaxDailyAmount(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000100;
+        maxDailyAmount_ = value;
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxDailyAmount = 11;</code>
        */
-      public com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder addContentBuilder(
-          int index) {
-        return getContentFieldBuilder().addBuilder(
-            index, com.adonai.wallet.sync.SyncProtocol.BudgetItem.getDefaultInstance());
+      public Builder clearMaxDailyAmount() {
+        bitField0_ = (bitField0_ & ~0x00000100);
+        maxDailyAmount_ = getDefaultInstance().getMaxDailyAmount();
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .com.adonai.wallet.sync.BudgetItem content = 6;</code>
-       *
-       * <pre>
-       * array of items
-       * </pre>
+       * <code>optional string maxDailyAmount = 11;</code>
        */
-      public java.util.List<com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder> 
-           getContentBuilderList() {
-        return getContentFieldBuilder().getBuilderList();
-      }
-      private com.google.protobuf.RepeatedFieldBuilder<
-          com.adonai.wallet.sync.SyncProtocol.BudgetItem, com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder, com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder> 
-          getContentFieldBuilder() {
-        if (contentBuilder_ == null) {
-          contentBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
-              com.adonai.wallet.sync.SyncProtocol.BudgetItem, com.adonai.wallet.sync.SyncProtocol.BudgetItem.Builder, com.adonai.wallet.sync.SyncProtocol.BudgetItemOrBuilder>(
-                  content_,
-                  ((bitField0_ & 0x00000010) == 0x00000010),
-                  getParentForChildren(),
-                  isClean());
-          content_ = null;
-        }
-        return contentBuilder_;
+      public Builder setMaxDailyAmountBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000100;
+        maxDailyAmount_ = value;
+        onChanged();
+        return this;
       }
 
       // @@protoc_insertion_point(builder_scope:com.adonai.wallet.sync.Budget)
@@ -9542,7 +10806,7 @@ public final class SyncProtocol {
         getCategoryIdBytes();
 
     /**
-     * <code>required uint64 maxAmount = 4;</code>
+     * <code>optional string maxAmount = 4;</code>
      *
      * <pre>
      * ... to spend
@@ -9550,13 +10814,22 @@ public final class SyncProtocol {
      */
     boolean hasMaxAmount();
     /**
-     * <code>required uint64 maxAmount = 4;</code>
+     * <code>optional string maxAmount = 4;</code>
+     *
+     * <pre>
+     * ... to spend
+     * </pre>
+     */
+    java.lang.String getMaxAmount();
+    /**
+     * <code>optional string maxAmount = 4;</code>
      *
      * <pre>
      * ... to spend
      * </pre>
      */
-    long getMaxAmount();
+    com.google.protobuf.ByteString
+        getMaxAmountBytes();
   }
   /**
    * Protobuf type {@code com.adonai.wallet.sync.BudgetItem}
@@ -9626,9 +10899,10 @@ public final class SyncProtocol {
               categoryId_ = bs;
               break;
             }
-            case 32: {
+            case 34: {
+              com.google.protobuf.ByteString bs = input.readBytes();
               bitField0_ |= 0x00000004;
-              maxAmount_ = input.readUInt64();
+              maxAmount_ = bs;
               break;
             }
           }
@@ -9756,9 +11030,9 @@ public final class SyncProtocol {
     }
 
     public static final int MAXAMOUNT_FIELD_NUMBER = 4;
-    private long maxAmount_;
+    private java.lang.Object maxAmount_;
     /**
-     * <code>required uint64 maxAmount = 4;</code>
+     * <code>optional string maxAmount = 4;</code>
      *
      * <pre>
      * ... to spend
@@ -9768,20 +11042,51 @@ public final class SyncProtocol {
       return ((bitField0_ & 0x00000004) == 0x00000004);
     }
     /**
-     * <code>required uint64 maxAmount = 4;</code>
+     * <code>optional string maxAmount = 4;</code>
+     *
+     * <pre>
+     * ... to spend
+     * </pre>
+     */
+    public java.lang.String getMaxAmount() {
+      java.lang.Object ref = maxAmount_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          maxAmount_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string maxAmount = 4;</code>
      *
      * <pre>
      * ... to spend
      * </pre>
      */
-    public long getMaxAmount() {
-      return maxAmount_;
+    public com.google.protobuf.ByteString
+        getMaxAmountBytes() {
+      java.lang.Object ref = maxAmount_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        maxAmount_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
     }
 
     private void initFields() {
       parentBudgetId_ = "";
       categoryId_ = "";
-      maxAmount_ = 0L;
+      maxAmount_ = "";
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -9797,10 +11102,6 @@ public final class SyncProtocol {
         memoizedIsInitialized = 0;
         return false;
       }
-      if (!hasMaxAmount()) {
-        memoizedIsInitialized = 0;
-        return false;
-      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -9815,7 +11116,7 @@ public final class SyncProtocol {
         output.writeBytes(3, getCategoryIdBytes());
       }
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
-        output.writeUInt64(4, maxAmount_);
+        output.writeBytes(4, getMaxAmountBytes());
       }
       getUnknownFields().writeTo(output);
     }
@@ -9836,7 +11137,7 @@ public final class SyncProtocol {
       }
       if (((bitField0_ & 0x00000004) == 0x00000004)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeUInt64Size(4, maxAmount_);
+          .computeBytesSize(4, getMaxAmountBytes());
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -9963,7 +11264,7 @@ public final class SyncProtocol {
         bitField0_ = (bitField0_ & ~0x00000001);
         categoryId_ = "";
         bitField0_ = (bitField0_ & ~0x00000002);
-        maxAmount_ = 0L;
+        maxAmount_ = "";
         bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
@@ -10032,7 +11333,9 @@ public final class SyncProtocol {
           onChanged();
         }
         if (other.hasMaxAmount()) {
-          setMaxAmount(other.getMaxAmount());
+          bitField0_ |= 0x00000004;
+          maxAmount_ = other.maxAmount_;
+          onChanged();
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
@@ -10047,10 +11350,6 @@ public final class SyncProtocol {
           
           return false;
         }
-        if (!hasMaxAmount()) {
-          
-          return false;
-        }
         return true;
       }
 
@@ -10225,9 +11524,9 @@ public final class SyncProtocol {
         return this;
       }
 
-      private long maxAmount_ ;
+      private java.lang.Object maxAmount_ = "";
       /**
-       * <code>required uint64 maxAmount = 4;</code>
+       * <code>optional string maxAmount = 4;</code>
        *
        * <pre>
        * ... to spend
@@ -10237,30 +11536,65 @@ public final class SyncProtocol {
         return ((bitField0_ & 0x00000004) == 0x00000004);
       }
       /**
-       * <code>required uint64 maxAmount = 4;</code>
+       * <code>optional string maxAmount = 4;</code>
        *
        * <pre>
        * ... to spend
        * </pre>
        */
-      public long getMaxAmount() {
-        return maxAmount_;
+      public java.lang.String getMaxAmount() {
+        java.lang.Object ref = maxAmount_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            maxAmount_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
       }
       /**
-       * <code>required uint64 maxAmount = 4;</code>
+       * <code>optional string maxAmount = 4;</code>
        *
        * <pre>
        * ... to spend
        * </pre>
        */
-      public Builder setMaxAmount(long value) {
-        bitField0_ |= 0x00000004;
+      public com.google.protobuf.ByteString
+          getMaxAmountBytes() {
+        java.lang.Object ref = maxAmount_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          maxAmount_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string maxAmount = 4;</code>
+       *
+       * <pre>
+       * ... to spend
+       * </pre>
+       */
+      public Builder setMaxAmount(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
         maxAmount_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required uint64 maxAmount = 4;</code>
+       * <code>optional string maxAmount = 4;</code>
        *
        * <pre>
        * ... to spend
@@ -10268,7 +11602,24 @@ public final class SyncProtocol {
        */
       public Builder clearMaxAmount() {
         bitField0_ = (bitField0_ & ~0x00000004);
-        maxAmount_ = 0L;
+        maxAmount_ = getDefaultInstance().getMaxAmount();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string maxAmount = 4;</code>
+       *
+       * <pre>
+       * ... to spend
+       * </pre>
+       */
+      public Builder setMaxAmountBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        maxAmount_ = value;
         onChanged();
         return this;
       }
@@ -10349,39 +11700,49 @@ public final class SyncProtocol {
   static {
     java.lang.String[] descriptorData = {
       "\n\023sync_protocol.proto\022\026com.adonai.wallet" +
-      ".sync\"\225\001\n\013SyncRequest\022\017\n\007account\030\001 \002(\t\022\020" +
+      ".sync\"\233\002\n\013SyncRequest\022\017\n\007account\030\001 \002(\t\022\020" +
       "\n\010password\030\002 \002(\t\022>\n\010syncType\030\003 \002(\0162,.com" +
       ".adonai.wallet.sync.SyncRequest.SyncType" +
-      "\"#\n\010SyncType\022\014\n\010REGISTER\020\000\022\t\n\005MERGE\020\001\"\261\001" +
-      "\n\014SyncResponse\022=\n\007syncAck\030\001 \002(\0162,.com.ad" +
-      "onai.wallet.sync.SyncResponse.SyncAck\"b\n" +
-      "\007SyncAck\022\007\n\002OK\020\310\001\022\023\n\016ACCOUNT_EXISTS\020\222\003\022\017" +
-      "\n\nAUTH_WRONG\020\223\003\022\024\n\017ALREADY_SYNCING\020\231\003\022\022\n" +
-      "\rUNKNOWN_ERROR\020\347\007\"1\n\rEntityRequest\022 \n\030la",
-      "stKnownServerTimestamp\030\001 \002(\004\"q\n\016EntityRe" +
-      "sponse\0220\n\010modified\030\001 \003(\0132\036.com.adonai.wa" +
-      "llet.sync.Entity\022-\n\005added\030\002 \003(\0132\036.com.ad" +
-      "onai.wallet.sync.Entity\"\'\n\tEntityAck\022\032\n\022" +
-      "newServerTimestamp\030\001 \002(\004\"\361\001\n\006Entity\022\n\n\002I" +
-      "D\030\001 \002(\t\022\017\n\007deleted\030\002 \002(\010\0220\n\007account\030\003 \001(" +
-      "\0132\037.com.adonai.wallet.sync.Account\0224\n\top" +
-      "eration\030\004 \001(\0132!.com.adonai.wallet.sync.O" +
-      "peration\0222\n\010category\030\005 \001(\0132 .com.adonai." +
-      "wallet.sync.Category\022.\n\006budget\030\006 \001(\0132\036.c",
-      "om.adonai.wallet.sync.Budget\"]\n\007Account\022" +
-      "\014\n\004name\030\002 \002(\t\022\020\n\010currency\030\003 \002(\t\022\016\n\006amoun" +
-      "t\030\004 \002(\t\022\023\n\013description\030\005 \001(\t\022\r\n\005color\030\006 " +
-      "\001(\005\"\223\001\n\tOperation\022\014\n\004time\030\002 \002(\004\022\022\n\ncateg" +
-      "oryId\030\003 \002(\t\022\016\n\006amount\030\004 \002(\t\022\023\n\013descripti" +
-      "on\030\005 \001(\t\022\021\n\tordererId\030\006 \001(\t\022\024\n\014beneficia" +
-      "rId\030\007 \001(\t\022\026\n\016convertingRate\030\010 \001(\001\"@\n\010Cat" +
-      "egory\022\014\n\004name\030\002 \002(\t\022\014\n\004type\030\003 \002(\r\022\030\n\020pre" +
-      "ferredAccount\030\004 \001(\t\"\201\001\n\006Budget\022\014\n\004name\030\002" +
-      " \002(\t\022\014\n\004from\030\003 \002(\004\022\014\n\004till\030\004 \002(\t\022\030\n\020cove",
-      "redAccountId\030\005 \001(\t\0223\n\007content\030\006 \003(\0132\".co" +
-      "m.adonai.wallet.sync.BudgetItem\"K\n\nBudge" +
-      "tItem\022\026\n\016parentBudgetId\030\002 \002(\t\022\022\n\ncategor" +
-      "yId\030\003 \002(\t\022\021\n\tmaxAmount\030\004 \002(\004"
+      "\022D\n\014capabilities\030\004 \003(\0162..com.adonai.wall" +
+      "et.sync.SyncRequest.Capability\"#\n\010SyncTy" +
+      "pe\022\014\n\010REGISTER\020\000\022\t\n\005MERGE\020\001\">\n\nCapabilit" +
+      "y\022\024\n\020CHUNKED_ENTITIES\020\001\022\r\n\tPIPELINED\020\002\022\013" +
+      "\n\007BUDGETS\020\003\"\367\001\n\014SyncResponse\022=\n\007syncAck\030" +
+      "\001 \002(\0162,.com.adonai.wallet.sync.SyncRespo",
+      "nse.SyncAck\022D\n\014capabilities\030\002 \003(\0162..com." +
+      "adonai.wallet.sync.SyncRequest.Capabilit" +
+      "y\"b\n\007SyncAck\022\007\n\002OK\020\310\001\022\023\n\016ACCOUNT_EXISTS\020" +
+      "\222\003\022\017\n\nAUTH_WRONG\020\223\003\022\024\n\017ALREADY_SYNCING\020\231" +
+      "\003\022\022\n\rUNKNOWN_ERROR\020\347\007\"D\n\rEntityRequest\022 " +
+      "\n\030lastKnownServerTimestamp\030\001 \002(\004\022\021\n\tchun" +
+      "kSize\030\002 \001(\r\"\207\001\n\016EntityResponse\0220\n\010modifi" +
+      "ed\030\001 \003(\0132\036.com.adonai.wallet.sync.Entity" +
+      "\022-\n\005added\030\002 \003(\0132\036.com.adonai.wallet.sync" +
+      ".Entity\022\024\n\014continuation\030\003 \001(\t\"\'\n\tEntityA",
+      "ck\022\032\n\022newServerTimestamp\030\001 \002(\004\"\277\002\n\006Entit" +
+      "y\022\n\n\002ID\030\001 \002(\t\022\017\n\007deleted\030\002 \002(\010\0220\n\007accoun" +
+      "t\030\003 \001(\0132\037.com.adonai.wallet.sync.Account" +
+      "\0224\n\toperation\030\004 \001(\0132!.com.adonai.wallet." +
+      "sync.Operation\0222\n\010category\030\005 \001(\0132 .com.a" +
+      "donai.wallet.sync.Category\022.\n\006budget\030\006 \001" +
+      "(\0132\036.com.adonai.wallet.sync.Budget\0226\n\nbu" +
+      "dgetItem\030\007 \001(\0132\".com.adonai.wallet.sync." +
+      "BudgetItem\022\024\n\014lastModified\030\010 \001(\004\"]\n\007Acco" +
+      "unt\022\014\n\004name\030\002 \002(\t\022\020\n\010currency\030\003 \002(\t\022\016\n\006a",
+      "mount\030\004 \002(\t\022\023\n\013description\030\005 \001(\t\022\r\n\005colo" +
+      "r\030\006 \001(\005\"\223\001\n\tOperation\022\014\n\004time\030\002 \002(\004\022\022\n\nc" +
+      "ategoryId\030\003 \002(\t\022\016\n\006amount\030\004 \002(\t\022\023\n\013descr" +
+      "iption\030\005 \001(\t\022\021\n\tordererId\030\006 \001(\t\022\024\n\014benef" +
+      "iciarId\030\007 \001(\t\022\026\n\016convertingRate\030\010 \001(\001\"@\n" +
+      "\010Category\022\014\n\004name\030\002 \002(\t\022\014\n\004type\030\003 \002(\r\022\030\n" +
+      "\020preferredAccount\030\004 \001(\t\"\270\001\n\006Budget\022\014\n\004na" +
+      "me\030\002 \002(\t\022\014\n\004from\030\003 \002(\004\022\014\n\004till\030\004 \001(\004\022\030\n\020" +
+      "coveredAccountId\030\005 \001(\t\022\r\n\005flags\030\007 \001(\004\022\031\n" +
+      "\021repeatTimeSeconds\030\010 \001(\004\022\025\n\rwarningAmoun",
+      "t\030\t \001(\t\022\021\n\tmaxAmount\030\n \001(\t\022\026\n\016maxDailyAm" +
+      "ount\030\013 \001(\t\"K\n\nBudgetItem\022\026\n\016parentBudget" +
+      "Id\030\002 \002(\t\022\022\n\ncategoryId\030\003 \002(\t\022\021\n\tmaxAmoun" +
+      "t\030\004 \001(\t"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -10400,25 +11761,25 @@ public final class SyncProtocol {
     internal_static_com_adonai_wallet_sync_SyncRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_com_adonai_wallet_sync_SyncRequest_descriptor,
-        new java.lang.String[] { "Account", "Password", "SyncType", });
+        new java.lang.String[] { "Account", "Password", "SyncType", "Capabilities", });
     internal_static_com_adonai_wallet_sync_SyncResponse_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_com_adonai_wallet_sync_SyncResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_com_adonai_wallet_sync_SyncResponse_descriptor,
-        new java.lang.String[] { "SyncAck", });
+        new java.lang.String[] { "SyncAck", "Capabilities", });
     internal_static_com_adonai_wallet_sync_EntityRequest_descriptor =
       getDescriptor().getMessageTypes().get(2);
     internal_static_com_adonai_wallet_sync_EntityRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_com_adonai_wallet_sync_EntityRequest_descriptor,
-        new java.lang.String[] { "LastKnownServerTimestamp", });
+        new java.lang.String[] { "LastKnownServerTimestamp", "ChunkSize", });
     internal_static_com_adonai_wallet_sync_EntityResponse_descriptor =
       getDescriptor().getMessageTypes().get(3);
     internal_static_com_adonai_wallet_sync_EntityResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_com_adonai_wallet_sync_EntityResponse_descriptor,
-        new java.lang.String[] { "Modified", "Added", });
+        new java.lang.String[] { "Modified", "Added", "Continuation", });
     internal_static_com_adonai_wallet_sync_EntityAck_descriptor =
       getDescriptor().getMessageTypes().get(4);
     internal_static_com_adonai_wallet_sync_EntityAck_fieldAccessorTable = new
@@ -10430,7 +11791,7 @@ public final class SyncProtocol {
     internal_static_com_adonai_wallet_sync_Entity_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_com_adonai_wallet_sync_Entity_descriptor,
-        new java.lang.String[] { "ID", "Deleted", "Account", "Operation", "Category", "Budget", });
+        new java.lang.String[] { "ID", "Deleted", "Account", "Operation", "Category", "Budget", "BudgetItem", "LastModified", });
     internal_static_com_adonai_wallet_sync_Account_descriptor =
       getDescriptor().getMessageTypes().get(6);
     internal_static_com_adonai_wallet_sync_Account_fieldAccessorTable = new
@@ -10454,7 +11815,7 @@ public final class SyncProtocol {
     internal_static_com_adonai_wallet_sync_Budget_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_com_adonai_wallet_sync_Budget_descriptor,
-        new java.lang.String[] { "Name", "From", "Till", "CoveredAccountId", "Content", });
+        new java.lang.String[] { "Name", "From", "Till", "CoveredAccountId", "Flags", "RepeatTimeSeconds", "WarningAmount", "MaxAmount", "MaxDailyAmount", });
     internal_static_com_adonai_wallet_sync_BudgetItem_descriptor =
       getDescriptor().getMessageTypes().get(10);
     internal_static_com_adonai_wallet_sync_BudgetItem_fieldAccessorTable = new
@@ -16,12 +16,8 @@ import android.widget.Toast;
 import com.adonai.wallet.R;
 import com.adonai.wallet.WalletConstants;
 import com.adonai.wallet.database.DbProvider;
+import com.adonai.wallet.database.NotificationDispatcher;
 import com.adonai.wallet.database.PersistManager;
-import com.adonai.wallet.entities.Account;
-import com.adonai.wallet.entities.Category;
-import com.adonai.wallet.entities.Entity;
-import com.adonai.wallet.entities.Operation;
-import com.j256.ormlite.table.DatabaseTable;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -29,9 +25,6 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
 import java.util.Objects;
 
 import static com.adonai.wallet.sync.SyncProtocol.SyncRequest;
@@ -66,7 +59,10 @@ import static com.adonai.wallet.sync.SyncProtocol.SyncResponse;
  *|                                                                                                              |
  * *** Now we are synced
  *
- * *** This procedure is repeated for each entity type (accounts, operations, categories)
+ * *** This procedure is repeated for each entity type, in order of {@link EntitySyncPhases}
+ *
+ * *** If server supports pipelining, requests of all entity types are sent at once, then responses
+ * *** of all types follow, and all of them are acknowledged once, see {@link SyncPhaseRegistry#syncPipelined}
  *
  *
  */
@@ -83,17 +79,8 @@ public class SyncStateMachine {
         AUTH_ACK,
         AUTH_DENIED,
 
-        ACC_REQ(true),
-        ACC_REQ_SENT,
-        ACC_REQ_ACK,
-
-        CAT_REQ(true),
-        CAT_REQ_SENT,
-        CAT_REQ_ACK,
-
-        OP_REQ(true),
-        OP_REQ_SENT,
-        OP_REQ_ACK;
+        ENTITY_REQ(true),
+        ENTITY_REQ_ACK;
 
 
         private boolean needsAction;
@@ -111,12 +98,22 @@ public class SyncStateMachine {
         }
     }
 
+    /**
+     * All entity types client can sync, in order
+     */
+    private static final SyncPhaseRegistry PHASES = EntitySyncPhases.create();
+
     /**
      * These fields are updated during syncing
      */
     private State state;                    // to know our state
+    private SyncPhaseRegistry mPhases;      // entity types server can sync
+    private int mPhase;                     // index of current entity sync phase
+    private boolean mChunked;               // whether server sends and accepts entities in chunks
+    private boolean mPipelined;             // whether all phases are done over a single round trip
     private Socket mSocket;                 // to communicate with server
     private PersistManager mPersistContext; // to make DB calls
+    private boolean mScopeOpen;             // whether sync transaction and quiet scope are not ended yet
 
     private final Context mContext;
     private final SyncResult mSyncResult;
@@ -192,186 +189,22 @@ public class SyncStateMachine {
                         handleAuthResponse(is);
                         break;
                     }
-                    case ACC_REQ: { // at this state we must be authorized on server
-                        final InputStream is = mSocket.getInputStream();
-                        final OutputStream os = mSocket.getOutputStream();
-
-                        sendLastTimestamp(os, Account.class);
-                        setState(State.ACC_REQ_SENT);
-
-                        final SyncProtocol.EntityResponse serverSide = SyncProtocol.EntityResponse.parseDelimitedFrom(is);
-                        setState(State.ACC_REQ_ACK);
-
-                        // handle modified entities - check if we updated them too...
-                        List<Account> changedAccs = new ArrayList<>(serverSide.getModifiedList().size());
-                        for(final SyncProtocol.Entity entity : serverSide.getModifiedList()) {
-                            Account remote = Account.fromProtoEntity(entity);
-                            Account local = mPersistContext.getAccountDao().queryForId(remote.getId());
-                            if(local == null) { // not found on client, but exists remotely, should create on client
-                                mPersistContext.getEntityDao(Account.class).createByServer(remote);
-                            } else if (!local.isDirty()) { // updated on server but not on client, replace local with remote
-                                mPersistContext.getEntityDao(Account.class).updateByServer(remote);
-                            } else { // update on server and on client, should resolve conflicts
-                                remote = mergeAccounts(remote, local, (Account) local.getBackup());
-                                mPersistContext.getEntityDao(Account.class).update(remote); // do not reset dirty flag
-                            }
-                            changedAccs.add(remote);
-                        }
-
-                        // prepare response
-                        SyncProtocol.EntityResponse.Builder serverUpdate = SyncProtocol.EntityResponse.newBuilder();
-
-                        // adding newly inserted entities
-                        List<Account> newAccounts = mPersistContext.getAccountDao().queryBuilder().where().isNull("last_modified").query();
-                        newAccounts.removeAll(changedAccs);
-                        for(Account newAcc : newAccounts) {
-                            serverUpdate.addAdded(newAcc.toProtoEntity());
-                        }
-                        // adding modified entities
-                        //List<Account> dirtyAccounts = mPersistContext.getAccountDao().queryBuilder().where().isNotNull("backup").query(); // TODO: restore with 4.49
-                        List<Account> dirtyAccounts = mPersistContext.getAccountDao().queryBuilder().where().raw("backup IS NOT NULL").query();
-                        for(Account dirtyAcc : dirtyAccounts) {
-                            serverUpdate.addModified(dirtyAcc.toProtoEntity());
-                        }
-
-                        serverUpdate.build().writeDelimitedTo(os);
-                        final SyncProtocol.EntityAck ack = SyncProtocol.EntityAck.parseDelimitedFrom(is);
-                        Date newTimestamp = new Date(ack.getNewServerTimestamp());
-                        // updating local entities with new timestamp
-                        for(Account newAcc : newAccounts) {
-                            newAcc.setLastModified(newTimestamp);
-                            mPersistContext.getEntityDao(Account.class).updateByServer(newAcc);
-                        }
-                        for(Account dirtyAcc : dirtyAccounts) {
-                            dirtyAcc.setLastModified(newTimestamp);
-                            mPersistContext.getEntityDao(Account.class).updateByServer(dirtyAcc);
-                        }
-                        for(Account changedAcc : changedAccs) {
-                            changedAcc.setLastModified(newTimestamp);
-                            mPersistContext.getEntityDao(Account.class).updateByServer(changedAcc);
-                        }
-                        setState(State.CAT_REQ);
-                        break;
-                    }
-                    case CAT_REQ: {
-                        final InputStream is = mSocket.getInputStream();
-                        final OutputStream os = mSocket.getOutputStream();
-
-                        sendLastTimestamp(os, Category.class);
-                        setState(State.CAT_REQ_SENT);
-
-                        final SyncProtocol.EntityResponse serverSide = SyncProtocol.EntityResponse.parseDelimitedFrom(is);
-                        setState(State.CAT_REQ_ACK);
-
-                        // handle modified entities - check if we updated them too...
-                        List<Category> changedCategories = new ArrayList<>(serverSide.getModifiedList().size());
-                        for(final SyncProtocol.Entity entity : serverSide.getModifiedList()) {
-                            final Category remote = Category.fromProtoEntity(entity);
-                            final Category local = mPersistContext.getCategoryDao().queryForId(remote.getId());
-                            if(local == null) { // not found on client, but exists remotely, should create on client
-                                mPersistContext.getEntityDao(Category.class).createByServer(remote);
-                            } else if (!local.isDirty()) { // updated on server but not on client, replace local with remote
-                                mPersistContext.getEntityDao(Category.class).updateByServer(remote);
-                            } else { // update on server and on client, should resolve conflicts (just take server version for now)
-                                mPersistContext.getEntityDao(Category.class).updateByServer(remote);
-                            }
-                            changedCategories.add(remote);
-                        }
-
-                        // prepare response
-                        SyncProtocol.EntityResponse.Builder serverUpdate = SyncProtocol.EntityResponse.newBuilder();
-
-                        // adding newly inserted entities
-                        List<Category> newCategories = mPersistContext.getCategoryDao().queryBuilder().where().isNull("last_modified").query();
-                        newCategories.removeAll(changedCategories);
-                        for(Category newCategory : newCategories) {
-                            serverUpdate.addAdded(newCategory.toProtoEntity());
-                        }
-                        // adding modified entities
-                        //List<Category> dirtyCategories = mPersistContext.getCategoryDao().queryBuilder().where().isNotNull("backup").query(); // TODO: restore with 4.49
-                        List<Category> dirtyCategories = mPersistContext.getCategoryDao().queryBuilder().where().raw("backup IS NOT NULL").query();
-                        for(Category dirtyCategory : dirtyCategories) {
-                            serverUpdate.addModified(dirtyCategory.toProtoEntity());
-                        }
-
-                        serverUpdate.build().writeDelimitedTo(os);
-                        final SyncProtocol.EntityAck ack = SyncProtocol.EntityAck.parseDelimitedFrom(is);
-                        Date newTimestamp = new Date(ack.getNewServerTimestamp());
-                        // updating local entities with new timestamp
-                        for(Category newCategory : newCategories) {
-                            newCategory.setLastModified(newTimestamp);
-                            mPersistContext.getEntityDao(Category.class).updateByServer(newCategory);
-                        }
-                        for(Category dirtyCategory : dirtyCategories) {
-                            dirtyCategory.setLastModified(newTimestamp);
-                            mPersistContext.getEntityDao(Category.class).updateByServer(dirtyCategory);
-                        }
-                        for(Category changedCategory : changedCategories) {
-                            changedCategory.setLastModified(newTimestamp);
-                            mPersistContext.getEntityDao(Category.class).updateByServer(changedCategory);
-                        }
-                        setState(State.OP_REQ);
-                        break;
-                    }
-                    case OP_REQ: {
-                        final InputStream is = mSocket.getInputStream();
-                        final OutputStream os = mSocket.getOutputStream();
-
-                        sendLastTimestamp(os, Operation.class);
-                        setState(State.OP_REQ_SENT);
-
-                        final SyncProtocol.EntityResponse serverSide = SyncProtocol.EntityResponse.parseDelimitedFrom(is);
-                        setState(State.OP_REQ_ACK);
-
-                        // handle modified entities - check if we updated them too...
-                        List<Operation> changedOps = new ArrayList<>(serverSide.getModifiedList().size());
-                        for(final SyncProtocol.Entity entity : serverSide.getModifiedList()) {
-                            final Operation remote = Operation.fromProtoEntity(entity);
-                            final Operation local = mPersistContext.getOperationDao().queryForId(remote.getId());
-                            if(local == null) { // not found on client, but exists remotely, should create on client
-                                mPersistContext.getEntityDao(Operation.class).createByServer(remote);
-                            } else if (!local.isDirty()) { // updated on server but not on client, replace local with remote
-                                mPersistContext.getEntityDao(Operation.class).updateByServer(remote);
-                            } else { // update on server and on client, should resolve conflicts
-                                mPersistContext.getEntityDao(Operation.class).updateByServer(remote); // just take server version
-                            }
-                            changedOps.add(remote);
+                    case ENTITY_REQ: { // at this state we must be authorized on server
+                        if(mPipelined) {
+                            mPhases.syncPipelined(mPersistContext, mSocket.getInputStream(), mSocket.getOutputStream());
+                            setState(State.ENTITY_REQ_ACK);
+                            finishSync();
+                            break;
                         }
 
-                        // prepare response
-                        SyncProtocol.EntityResponse.Builder serverUpdate = SyncProtocol.EntityResponse.newBuilder();
+                        final EntitySyncPhase<?> phase = mPhases.get(mPhase);
+                        phase.sync(mPersistContext, mSocket.getInputStream(), mSocket.getOutputStream(), mChunked);
+                        setState(State.ENTITY_REQ_ACK);
 
-                        // adding newly inserted entities
-                        List<Operation> newOperations = mPersistContext.getOperationDao().queryBuilder().where().isNull("last_modified").query();
-                        newOperations.removeAll(changedOps);
-                        for(Operation newOp : newOperations) {
-                            serverUpdate.addAdded(newOp.toProtoEntity());
-                        }
-                        // adding modified entities
-                        //List<Operation> dirtyOperations = mPersistContext.getAccountDao().queryBuilder().where().isNotNull("backup").query(); // TODO: restore with 4.49
-                        List<Operation> dirtyOperations = mPersistContext.getOperationDao().queryBuilder().where().raw("backup IS NOT NULL").query();
-                        for(Operation dirtyOp : dirtyOperations) {
-                            serverUpdate.addModified(dirtyOp.toProtoEntity());
-                        }
-
-                        serverUpdate.build().writeDelimitedTo(os);
-                        final SyncProtocol.EntityAck ack = SyncProtocol.EntityAck.parseDelimitedFrom(is);
-                        Date newTimestamp = new Date(ack.getNewServerTimestamp());
-                        // updating local entities with new timestamp
-                        for(Operation newOp : newOperations) {
-                            newOp.setLastModified(newTimestamp);
-                            mPersistContext.getEntityDao(Operation.class).updateByServer(newOp);
-                        }
-                        for(Operation dirtyOp : dirtyOperations) {
-                            dirtyOp.setLastModified(newTimestamp);
-                            mPersistContext.getEntityDao(Operation.class).updateByServer(dirtyOp);
-                        }
-                        for(Operation changedOp : changedOps) {
-                            changedOp.setLastModified(newTimestamp);
-                            mPersistContext.getEntityDao(Operation.class).updateByServer(changedOp);
-                        }
-
-                        finishSync();
+                        if(++mPhase < mPhases.size())
+                            setState(State.ENTITY_REQ);
+                        else
+                            finishSync();
                         break;
                     }
                 }
@@ -381,25 +214,25 @@ public class SyncStateMachine {
             } catch (SQLException sql) {
                 mSyncResult.databaseError = true;
                 interruptSync(sql.getLocalizedMessage());
+            } catch (RuntimeException re) { // DAO errors, broken stream - transaction and quiet scope must be ended anyway
+                Log.e("SYNC", "Unexpected error while syncing", re);
+                mSyncResult.databaseError = true;
+                interruptSync(re.toString());
             }
             return true;
         }
 
-        private void sendLastTimestamp(OutputStream os, Class<? extends Entity> clazz) throws IOException, SQLException {
-            final Long lastServerTime = getLastServerTimestamp(clazz);
-
-            SyncProtocol.EntityRequest.newBuilder()
-                    .setLastKnownServerTimestamp(lastServerTime)
-                    .build().writeDelimitedTo(os); // sent request
-        }
-
         private void handleAuthResponse(InputStream is) throws IOException {
             final SyncResponse response = SyncResponse.parseDelimitedFrom(is);
             AccountManager accountManager = (AccountManager) mContext.getSystemService(Context.ACCOUNT_SERVICE);
             switch (response.getSyncAck()) {
                 case OK:
                     setState(State.AUTH_ACK);
-                    setState(State.ACC_REQ);
+                    mPhases = PHASES.select(response.getCapabilitiesList()); // old servers don't sync budgets
+                    mPhase = 0;
+                    mChunked = response.getCapabilitiesList().contains(SyncRequest.Capability.CHUNKED_ENTITIES); // old servers don't know it
+                    mPipelined = mChunked && response.getCapabilitiesList().contains(SyncRequest.Capability.PIPELINED);
+                    setState(State.ENTITY_REQ);
 
                     accountManager.setUserData(mAccount, WalletConstants.ACCOUNT_SYNC_KEY, "true");
                     break;
@@ -423,7 +256,10 @@ public class SyncStateMachine {
             String isSyncedAlready = accountManager.getUserData(mAccount, WalletConstants.ACCOUNT_SYNC_KEY);
             final SyncRequest.Builder request = SyncRequest.newBuilder()
                     .setAccount(mAccount.name)
-                    .setPassword(password);
+                    .setPassword(password)
+                    .addCapabilities(SyncRequest.Capability.CHUNKED_ENTITIES)
+                    .addCapabilities(SyncRequest.Capability.PIPELINED)
+                    .addCapabilities(SyncRequest.Capability.BUDGETS);
             if(isSyncedAlready.equals("true")) // already synchronized
                 request.setSyncType(SyncRequest.SyncType.MERGE);
             else
@@ -441,8 +277,11 @@ public class SyncStateMachine {
      */
     private void interruptSync(String error) {
         safeCloseSocket();
-        mPersistContext.getWritableDatabase().endTransaction();
-        DbProvider.releaseTempHelper();
+        if(mPersistContext != null) {
+            closeSyncScope(false); // let loaders re-read what was rolled back
+            mPersistContext.clearCaches(); // cached rows may be ahead of rolled back DB
+            DbProvider.releaseTempHelper();
+        }
         setState(State.INIT);
         
         // notify about error
@@ -462,8 +301,13 @@ public class SyncStateMachine {
      */
     private void finishSync() {
         safeCloseSocket();
-        mPersistContext.getWritableDatabase().setTransactionSuccessful();
-        mPersistContext.getWritableDatabase().endTransaction();
+        closeSyncScope(true); // loaders are notified once for the whole sync
+        try {
+            mPersistContext.getOperationArchive().archiveOld(); // operations are clean now, old ones can go to archive
+            mPersistContext.getTombstoneCompactor().compact(); // deletions are acknowledged by server now
+        } catch (RuntimeException e) { // sync is already committed, housekeeping will be retried next time
+            Log.e("SYNC", "Post-sync housekeeping failed", e);
+        }
         DbProvider.releaseTempHelper();
         setState(State.INIT);
 
@@ -479,11 +323,29 @@ public class SyncStateMachine {
         safeQuitThread();
     }
     
+    /**
+     * Ends DB transaction and quiet scope started in {@link #initSync()}, if they are still open
+     * @param successful whether synced changes should be committed
+     */
+    private void closeSyncScope(boolean successful) {
+        if(!mScopeOpen)
+            return;
+
+        mScopeOpen = false;
+        try {
+            if(successful)
+                mPersistContext.getWritableDatabase().setTransactionSuccessful();
+            mPersistContext.getWritableDatabase().endTransaction();
+        } finally {
+            NotificationDispatcher.endQuietScope();
+        }
+    }
+
     private void safeCloseSocket() {
         if(state == State.INIT)
             return; // nothing to do
         
-        if(!mSocket.isClosed())
+        if(mSocket != null && !mSocket.isClosed())
             try {
                 mSocket.close();
             } catch (IOException e) {
@@ -505,53 +367,13 @@ public class SyncStateMachine {
 
     private void initSync() throws IOException {
         mPersistContext = DbProvider.getTempHelper(mContext);
-        mPersistContext.getWritableDatabase().beginTransaction();
+        mPersistContext.getWritableDatabase().beginTransactionNonExclusive(); // readers on other threads are not blocked
+        NotificationDispatcher.beginQuietScope(); // don't restart loaders on each synced entity
+        mScopeOpen = true;
             /*DatabaseDAO.getInstance().beginTransaction();*/
         mSocket = new Socket(); // creating socket here!
         //mSocket.setSoTimeout(10000);
         //mSocket.connect(new InetSocketAddress(mPreferences.getString("sync.server", "anticitizen.dhis.org"), 17001));
         mSocket.connect(new InetSocketAddress(mPreferences.getString("sync.server", "192.168.1.165"), 17001));
     }
-
-    private Account mergeAccounts(Account remote, Account local, Account base) {
-        final Account result = new Account();
-        result.setId(local.getId());
-        result.setDeleted(remote.isDeleted());
-        result.setLastModified(local.getLastModified());
-        result.setBackup(base);
-
-        if(local.getName().equals(base.getName())) // name wasn't changed
-            result.setName(remote.getName()); // set name to remote's
-        else // name changed locally
-            result.setName(local.getName()); // set name to local
-
-        if(local.getDescription().equals(base.getDescription()))
-            result.setDescription(remote.getDescription());
-        else
-            result.setDescription(local.getDescription());
-
-        if(local.getColor().equals(base.getColor()))
-            result.setColor(remote.getColor());
-        else
-            result.setColor(local.getColor());
-
-        if(local.getCurrency().equals(base.getCurrency()))
-            result.setCurrency(remote.getCurrency());
-        else
-            result.setCurrency(local.getCurrency());
-
-        if(local.getAmount().equals(base.getAmount())) // amount wasn't changed locally
-            result.setAmount(remote.getAmount());
-        else // amount changed locally and remotely - get diff!
-            result.setAmount(local.getAmount().subtract(base.getAmount()).add(remote.getAmount()));
-
-        return result;
-    }
-
-    private <T extends Entity> long getLastServerTimestamp(Class<T> clazz) throws SQLException {
-        String tableName = clazz.getAnnotation(DatabaseTable.class).tableName();
-        if(tableName.isEmpty())
-            tableName = clazz.getSimpleName().toLowerCase();
-        return mPersistContext.getEntityDao(clazz).queryRawValue("select ifnull(max(last_modified), 0) from " + tableName);
-    }
 }
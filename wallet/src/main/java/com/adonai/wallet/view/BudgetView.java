@@ -177,7 +177,7 @@ public class BudgetView extends LinearLayout {
                     budgetModify.show(((WalletBaseActivity) getContext()).getSupportFragmentManager(), "budgetModify");
                     break;
                 case 1: // delete
-                    DbProvider.getHelper().getBudgetItemDao().delete(budgetItem);
+                    DbProvider.getHelper().getWriteExecutor().delete(DbProvider.getHelper().getEntityDao(BudgetItem.class), budgetItem);
                     break;
             }
         }
@@ -293,8 +293,7 @@ public class BudgetView extends LinearLayout {
                 view = convertView;
 
             try {
-                mCursor.first();
-                final BudgetItem bItem = mCursor.moveRelative(position);
+                final BudgetItem bItem = getRow(position);
                 bItem.setParentBudget(mBudget);
                 final TextView categoryText = (TextView) view.findViewById(R.id.title_label);
                 categoryText.setText(bItem.getCategory().getName());
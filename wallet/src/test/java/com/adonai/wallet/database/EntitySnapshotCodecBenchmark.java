@@ -0,0 +1,135 @@
+package com.adonai.wallet.database;
+
+import com.adonai.wallet.entities.Account;
+import com.adonai.wallet.entities.Category;
+import com.adonai.wallet.entities.Currency;
+import com.adonai.wallet.entities.Entity;
+import com.adonai.wallet.entities.Operation;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares snapshot format of entity backups with Java serialization they were stored in before:
+ * bytes per row and time to encode and decode one backup. Results are printed, only size is asserted,
+ * as timings depend on machine
+ */
+public class EntitySnapshotCodecBenchmark {
+
+    private static final int WARMUP_ROUNDS = 10000;
+    private static final int MEASURED_ROUNDS = 20000;
+
+    @Test
+    public void operationBackup() throws IOException {
+        compare("operation", newOperation());
+    }
+
+    @Test
+    public void accountBackup() throws IOException {
+        compare("account", newAccount("Wallet"));
+    }
+
+    @Test
+    public void storedLegacyBackups() throws IOException {
+        for (String legacy : new String[] {EntitySnapshotCodecTest.LEGACY_ACCOUNT, EntitySnapshotCodecTest.LEGACY_OPERATION}) {
+            final byte[] stored = EntitySnapshotCodecTest.hex(legacy);
+            final Entity entity = EntitySnapshotCodec.decodeLegacy(stored);
+            final int converted = EntitySnapshotCodec.encode(entity).length;
+            System.out.println(String.format("stored %s backup of DB version 7: %d bytes, converted: %d bytes",
+                    entity.getClass().getSimpleName(), stored.length, converted));
+            assertTrue(converted < stored.length);
+        }
+    }
+
+    private static void compare(String name, Entity entity) throws IOException {
+        final byte[] serialized = serialize(entity);
+        final byte[] snapshot = EntitySnapshotCodec.encode(entity);
+
+        // warm up both paths, so JIT compiles them before measuring
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+            sink += serialize(entity).length + EntitySnapshotCodec.encode(entity).length;
+            sink += EntitySnapshotCodec.decodeLegacy(serialized).hashCode() + EntitySnapshotCodec.decode(snapshot).hashCode();
+        }
+
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; ++i)
+            sink += serialize(entity).length;
+        final long serializeNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; ++i)
+            sink += EntitySnapshotCodec.decodeLegacy(serialized).hashCode();
+        final long deserializeNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; ++i)
+            sink += EntitySnapshotCodec.encode(entity).length;
+        final long encodeNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; ++i)
+            sink += EntitySnapshotCodec.decode(snapshot).hashCode();
+        final long decodeNanos = System.nanoTime() - started;
+
+        System.out.println(String.format("%s backup, %d rounds (checksum %d)", name, MEASURED_ROUNDS, sink));
+        System.out.println(String.format("  java serialization: %4d bytes/row, encode %6.2f us, decode %6.2f us",
+                serialized.length, micros(serializeNanos), micros(deserializeNanos)));
+        System.out.println(String.format("  snapshot codec:     %4d bytes/row, encode %6.2f us, decode %6.2f us",
+                snapshot.length, micros(encodeNanos), micros(decodeNanos)));
+
+        assertTrue(snapshot.length < serialized.length);
+    }
+
+    private static double micros(long totalNanos) {
+        return totalNanos / 1000.0 / MEASURED_ROUNDS;
+    }
+
+    private static byte[] serialize(Entity entity) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(entity);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static Account newAccount(String name) {
+        final Currency currency = new Currency("USD");
+        currency.setDescription("US Dollar");
+        currency.setUsedIn("United States");
+
+        final Account account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setName(name);
+        account.setDescription("everyday spending");
+        account.setCurrency(currency);
+        account.setAmount(new BigDecimal("1520.75"));
+        account.setColor(0xFF336699);
+        account.setLastModified(new Date(1420070400000L));
+        return account;
+    }
+
+    private static Operation newOperation() {
+        final Category category = new Category("Groceries", Category.CategoryType.TRANSFER);
+        category.setId(UUID.randomUUID());
+        category.setLastModified(new Date(1420070400000L));
+
+        final Operation operation = new Operation(new BigDecimal("42.10"), category);
+        operation.setId(UUID.randomUUID());
+        operation.setTime(new Date(1420156800000L));
+        operation.setDescription("weekly shopping");
+        operation.setOrderer(newAccount("Card"));
+        operation.setBeneficiar(newAccount("Cash"));
+        operation.setConvertingRate(new BigDecimal("1.25"));
+        operation.setLastModified(new Date(1420243200000L));
+        return operation;
+    }
+}
@@ -0,0 +1,212 @@
+package com.adonai.wallet.database;
+
+import com.adonai.wallet.entities.Account;
+import com.adonai.wallet.entities.Budget;
+import com.adonai.wallet.entities.Category;
+import com.adonai.wallet.entities.Currency;
+import com.adonai.wallet.entities.Entity;
+import com.adonai.wallet.entities.Operation;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EntitySnapshotCodecTest {
+
+    // Java-serialized backups as written by entity classes of database version 7, before snapshot format
+    static final String LEGACY_ACCOUNT =
+            "aced000573720022636f6d2e61646f6e61692e77616c6c65742e656e7469746965732e4163636f756e74b3d59ec59a4a" +
+            "48c50200054c0006616d6f756e747400164c6a6176612f6d6174682f426967446563696d616c3b4c0005636f6c6f7274" +
+            "00134c6a6176612f6c616e672f496e74656765723b4c000863757272656e63797400254c636f6d2f61646f6e61692f77" +
+            "616c6c65742f656e7469746965732f43757272656e63793b4c000b6465736372697074696f6e7400124c6a6176612f6c" +
+            "616e672f537472696e673b4c00046e616d6571007e000478720021636f6d2e61646f6e61692e77616c6c65742e656e74" +
+            "69746965732e456e74697479f672625472012abd0200045a000764656c657465644c00066261636b75707400234c636f" +
+            "6d2f61646f6e61692f77616c6c65742f656e7469746965732f456e746974793b4c000269647400104c6a6176612f7574" +
+            "696c2f555549443b4c000c6c6173744d6f6469666965647400104c6a6176612f7574696c2f446174653b787000707372" +
+            "000e6a6176612e7574696c2e55554944bc9903f7986d852f0200024a000c6c65617374536967426974734a000b6d6f73" +
+            "745369674269747378709d3e1f2a3b4c5d6e0c9d8b4e3f4a4a577372000e6a6176612e7574696c2e44617465686a8101" +
+            "4b597419030000787077080000014aa2cab00078737200146a6176612e6d6174682e426967446563696d616c54c71557" +
+            "f981284f0300024900057363616c654c0006696e7456616c7400164c6a6176612f6d6174682f426967496e7465676572" +
+            "3b787200106a6176612e6c616e672e4e756d62657286ac951d0b94e08b020000787000000002737200146a6176612e6d" +
+            "6174682e426967496e74656765728cfc9f1fa93bfb1d030006490008626974436f756e744900096269744c656e677468" +
+            "49001366697273744e6f6e7a65726f427974654e756d49000c6c6f776573745365744269744900067369676e756d5b00" +
+            "096d61676e69747564657400025b427871007e0010fffffffffffffffffffffffefffffffe00000001757200025b42ac" +
+            "f317f8060854e002000078700000000231067878737200116a6176612e6c616e672e496e746567657212e2a0a4f78187" +
+            "3802000149000576616c75657871007e0010ff00ff0073720023636f6d2e61646f6e61692e77616c6c65742e656e7469" +
+            "746965732e43757272656e6379e7a3257e8821d1a70200034c0004636f646571007e00044c000b646573637269707469" +
+            "6f6e71007e00044c000675736564496e71007e0004787074000355534470707400046361736874000657616c6c6574";
+
+    static final String LEGACY_OPERATION =
+            "aced000573720024636f6d2e61646f6e61692e77616c6c65742e656e7469746965732e4f7065726174696f6e4d626605" +
+            "3f78dc290200074c0006616d6f756e747400164c6a6176612f6d6174682f426967446563696d616c3b4c000a62656e65" +
+            "6669636961727400244c636f6d2f61646f6e61692f77616c6c65742f656e7469746965732f4163636f756e743b4c0008" +
+            "63617465676f72797400254c636f6d2f61646f6e61692f77616c6c65742f656e7469746965732f43617465676f72793b" +
+            "4c000e636f6e76657274696e675261746571007e00014c000b6465736372697074696f6e7400124c6a6176612f6c616e" +
+            "672f537472696e673b4c00076f72646572657271007e00024c000474696d657400104c6a6176612f7574696c2f446174" +
+            "653b78720021636f6d2e61646f6e61692e77616c6c65742e656e7469746965732e456e74697479f672625472012abd02" +
+            "00045a000764656c657465644c00066261636b75707400234c636f6d2f61646f6e61692f77616c6c65742f656e746974" +
+            "6965732f456e746974793b4c000269647400104c6a6176612f7574696c2f555549443b4c000c6c6173744d6f64696669" +
+            "656471007e0005787000707372000e6a6176612e7574696c2e55554944bc9903f7986d852f0200024a000c6c65617374" +
+            "536967426974734a000b6d6f737453696742697473787095a6b7c8d9eafb012e3f4051627348497372000e6a6176612e" +
+            "7574696c2e44617465686a81014b597419030000787077080000014aad17680078737200146a6176612e6d6174682e42" +
+            "6967446563696d616c54c71557f981284f0300024900057363616c654c0006696e7456616c7400164c6a6176612f6d61" +
+            "74682f426967496e74656765723b787200106a6176612e6c616e672e4e756d62657286ac951d0b94e08b020000787000" +
+            "000002737200146a6176612e6d6174682e426967496e74656765728cfc9f1fa93bfb1d030006490008626974436f756e" +
+            "744900096269744c656e67746849001366697273744e6f6e7a65726f427974654e756d49000c6c6f7765737453657442" +
+            "69744900067369676e756d5b00096d61676e69747564657400025b427871007e0010fffffffffffffffffffffffeffff" +
+            "fffe00000001757200025b42acf317f8060854e002000078700000000204ce78787073720023636f6d2e61646f6e6169" +
+            "2e77616c6c65742e656e7469746965732e43617465676f7279237bd8f244c1b3270200034c00046e616d6571007e0004" +
+            "4c00107072656665727265644163636f756e7471007e00024c0004747970657400324c636f6d2f61646f6e61692f7761" +
+            "6c6c65742f656e7469746965732f43617465676f72792443617465676f7279547970653b7871007e000600707371007e" +
+            "000a8495a6b7c8d9eaf01d2e3f405162473870740004466f6f64707e720030636f6d2e61646f6e61692e77616c6c6574" +
+            "2e656e7469746965732e43617465676f72792443617465676f72795479706500000000000000001200007872000e6a61" +
+            "76612e6c616e672e456e756d00000000000000001200007870740007455850454e5345707400056c756e636873720022" +
+            "636f6d2e61646f6e61692e77616c6c65742e656e7469746965732e4163636f756e74b3d59ec59a4a48c50200054c0006" +
+            "616d6f756e7471007e00014c0005636f6c6f727400134c6a6176612f6c616e672f496e74656765723b4c000863757272" +
+            "656e63797400254c636f6d2f61646f6e61692f77616c6c65742f656e7469746965732f43757272656e63793b4c000b64" +
+            "65736372697074696f6e71007e00044c00046e616d6571007e00047871007e000600707371007e000a9d3e1f2a3b4c5d" +
+            "6e0c9d8b4e3f4a4a577371007e000c77080000014aa2cab000787371007e000e000000027371007e0012ffffffffffff" +
+            "fffffffffffefffffffe000000017571007e00150000000231067878737200116a6176612e6c616e672e496e74656765" +
+            "7212e2a0a4f781873802000149000576616c75657871007e0010ff00ff0073720023636f6d2e61646f6e61692e77616c" +
+            "6c65742e656e7469746965732e43757272656e6379e7a3257e8821d1a70200034c0004636f646571007e00044c000b64" +
+            "65736372697074696f6e71007e00044c000675736564496e71007e000478707400035553447070740004636173687400" +
+            "0657616c6c65747371007e000c77080000014aa7f10c0078";
+
+    @Test
+    public void accountRoundTrip() throws IOException {
+        final Account account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setName("Wallet");
+        account.setDescription("cash");
+        account.setCurrency(new Currency("EUR"));
+        account.setAmount(new BigDecimal("-12.3456"));
+        account.setColor(0xFF112233);
+        account.setLastModified(new Date(1420070400123L));
+
+        final Account decoded = (Account) EntitySnapshotCodec.decode(EntitySnapshotCodec.encode(account));
+        assertEquals(account.getId(), decoded.getId());
+        assertEquals("Wallet", decoded.getName());
+        assertEquals("cash", decoded.getDescription());
+        assertEquals("EUR", decoded.getCurrency().getCode());
+        assertEquals(new BigDecimal("-12.3456"), decoded.getAmount());
+        assertEquals(Integer.valueOf(0xFF112233), decoded.getColor());
+        assertEquals(account.getLastModified(), decoded.getLastModified());
+        assertFalse(decoded.isDeleted());
+    }
+
+    @Test
+    public void operationRoundTripKeepsReferencesById() throws IOException {
+        final Category category = new Category("Food", Category.CategoryType.EXPENSE);
+        category.setId(UUID.randomUUID());
+        final Account orderer = new Account();
+        orderer.setId(UUID.randomUUID());
+
+        final Operation operation = new Operation(new BigDecimal("7.50"), category);
+        operation.setId(UUID.randomUUID());
+        operation.setTime(new Date(1420156800000L));
+        operation.setOrderer(orderer);
+        operation.setDeleted(true);
+
+        final Operation decoded = (Operation) EntitySnapshotCodec.decode(EntitySnapshotCodec.encode(operation));
+        assertEquals(operation.getId(), decoded.getId());
+        assertEquals(new BigDecimal("7.50"), decoded.getAmount());
+        assertEquals(operation.getTime(), decoded.getTime());
+        assertEquals(category.getId(), decoded.getCategory().getId());
+        assertNull(decoded.getCategory().getName()); // only ID is stored
+        assertEquals(orderer.getId(), decoded.getOrderer().getId());
+        assertNull(decoded.getBeneficiar());
+        assertNull(decoded.getDescription());
+        assertNull(decoded.getLastModified());
+        assertTrue(decoded.isDeleted());
+    }
+
+    @Test
+    public void budgetRoundTrip() throws IOException {
+        final Budget budget = new Budget();
+        budget.setId(UUID.randomUUID());
+        budget.setName("Monthly");
+        budget.setStartTime(new Date(1420070400000L));
+        budget.setFlags(3);
+        budget.setRepeatTimeSeconds(2592000L);
+        budget.setWarningAmount(new BigDecimal("100"));
+
+        final Budget decoded = (Budget) EntitySnapshotCodec.decode(EntitySnapshotCodec.encode(budget));
+        assertEquals(budget.getId(), decoded.getId());
+        assertEquals("Monthly", decoded.getName());
+        assertEquals(budget.getStartTime(), decoded.getStartTime());
+        assertNull(decoded.getEndTime());
+        assertEquals(3, decoded.getFlags());
+        assertEquals(Long.valueOf(2592000L), decoded.getRepeatTimeSeconds());
+        assertEquals(new BigDecimal("100"), decoded.getWarningAmount());
+    }
+
+    @Test
+    public void snapshotIsNotLegacy() throws IOException {
+        final Account account = new Account();
+        account.setId(UUID.randomUUID());
+        assertFalse(EntitySnapshotCodec.isLegacy(EntitySnapshotCodec.encode(account)));
+        assertTrue(EntitySnapshotCodec.isLegacy(hex(LEGACY_ACCOUNT)));
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownVersionIsRejected() throws IOException {
+        final Account account = new Account();
+        account.setId(UUID.randomUUID());
+        final byte[] data = EntitySnapshotCodec.encode(account);
+        data[0] = 42;
+        EntitySnapshotCodec.decode(data);
+    }
+
+    @Test
+    public void legacyAccountIsReadable() throws IOException {
+        final Account account = (Account) EntitySnapshotCodec.decode(hex(LEGACY_ACCOUNT));
+        assertEquals(UUID.fromString("0c9d8b4e-3f4a-4a57-9d3e-1f2a3b4c5d6e"), account.getId());
+        assertEquals("Wallet", account.getName());
+        assertEquals("cash", account.getDescription());
+        assertEquals("USD", account.getCurrency().getCode());
+        assertEquals(new BigDecimal("125.50"), account.getAmount());
+        assertEquals(Integer.valueOf(0xFF00FF00), account.getColor());
+        assertEquals(new Date(1420070400000L), account.getLastModified());
+    }
+
+    @Test
+    public void legacyOperationIsReadable() throws IOException {
+        final Operation operation = (Operation) EntitySnapshotCodec.decode(hex(LEGACY_OPERATION));
+        assertEquals(UUID.fromString("2e3f4051-6273-4849-95a6-b7c8d9eafb01"), operation.getId());
+        assertEquals(new BigDecimal("12.30"), operation.getAmount());
+        assertEquals("lunch", operation.getDescription());
+        assertEquals(new Date(1420156800000L), operation.getTime());
+        assertEquals("Food", operation.getCategory().getName());
+        assertEquals(Category.CategoryType.EXPENSE, operation.getCategory().getType());
+        assertEquals(UUID.fromString("0c9d8b4e-3f4a-4a57-9d3e-1f2a3b4c5d6e"), operation.getOrderer().getId());
+    }
+
+    @Test
+    public void legacyBackupConvertsToSnapshot() throws IOException {
+        final Entity legacy = EntitySnapshotCodec.decodeLegacy(hex(LEGACY_OPERATION));
+        final byte[] snapshot = EntitySnapshotCodec.encode(legacy);
+        assertTrue(snapshot.length < hex(LEGACY_OPERATION).length);
+
+        final Operation converted = (Operation) EntitySnapshotCodec.decode(snapshot);
+        assertEquals(legacy.getId(), converted.getId());
+        assertEquals(new BigDecimal("12.30"), converted.getAmount());
+        assertEquals(UUID.fromString("1d2e3f40-5162-4738-8495-a6b7c8d9eaf0"), converted.getCategory().getId());
+        assertArrayEquals(snapshot, EntitySnapshotCodec.encode(converted));
+    }
+
+    static byte[] hex(String hex) {
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; ++i)
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        return bytes;
+    }
+}
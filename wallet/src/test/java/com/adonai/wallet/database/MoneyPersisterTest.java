@@ -0,0 +1,69 @@
+package com.adonai.wallet.database;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MoneyPersisterTest {
+
+    @Test
+    public void amountsAreStoredInMinorUnits() {
+        assertEquals(1234500L, MoneyPersister.toMinorUnits(new BigDecimal("123.45")));
+        assertEquals(-10000L, MoneyPersister.toMinorUnits(new BigDecimal("-1")));
+        assertEquals(1L, MoneyPersister.toMinorUnits(new BigDecimal("0.0001")));
+        assertEquals(0L, MoneyPersister.toMinorUnits(BigDecimal.ZERO));
+    }
+
+    @Test
+    public void extraDigitsAreRoundedHalfEven() {
+        assertEquals(2L, MoneyPersister.toMinorUnits(new BigDecimal("0.00015")));
+        assertEquals(2L, MoneyPersister.toMinorUnits(new BigDecimal("0.00025")));
+        assertEquals(-2L, MoneyPersister.toMinorUnits(new BigDecimal("-0.00025")));
+    }
+
+    @Test
+    public void storedAmountsAreReadWithoutTrailingZeros() {
+        assertEquals(new BigDecimal("123.45"), MoneyPersister.fromMinorUnits(1234500L));
+        assertEquals(new BigDecimal("-1"), MoneyPersister.fromMinorUnits(-10000L));
+        assertEquals(new BigDecimal("0.0001"), MoneyPersister.fromMinorUnits(1L));
+        assertSame(BigDecimal.ZERO, MoneyPersister.fromMinorUnits(0L));
+    }
+
+    @Test
+    public void roundTripKeepsValue() {
+        for (String amount : new String[] {"0.01", "999999999.9999", "-42.5", "1000000"}) {
+            final BigDecimal value = new BigDecimal(amount);
+            assertEquals(0, value.compareTo(MoneyPersister.fromMinorUnits(MoneyPersister.toMinorUnits(value))));
+        }
+    }
+
+    @Test
+    public void limitsOf64BitsAreKept() {
+        final BigDecimal max = BigDecimal.valueOf(Long.MAX_VALUE, MoneyPersister.SCALE);
+        assertEquals(Long.MAX_VALUE, MoneyPersister.toMinorUnits(max));
+        assertEquals(Long.MIN_VALUE, MoneyPersister.toMinorUnits(BigDecimal.valueOf(Long.MIN_VALUE, MoneyPersister.SCALE)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void tooBigAmountIsRejected() {
+        MoneyPersister.toMinorUnits(BigDecimal.valueOf(Long.MAX_VALUE, MoneyPersister.SCALE).add(new BigDecimal("0.0001")));
+    }
+
+    @Test(expected = SQLException.class)
+    public void tooBigAmountIsNotStored() throws SQLException {
+        MoneyPersister.getSingleton().javaToSqlArg(null, new BigDecimal("1e30"));
+    }
+
+    @Test
+    public void persisterConvertsBothWays() throws SQLException {
+        final MoneyPersister persister = MoneyPersister.getSingleton();
+        assertEquals(55000L, persister.javaToSqlArg(null, new BigDecimal("5.5")));
+        assertEquals(new BigDecimal("5.5"), persister.sqlArgToJava(null, 55000L, 0));
+        assertEquals(new BigDecimal("5.5"), persister.resultStringToJava(null, "55000", 0));
+        assertEquals(12500L, persister.parseDefaultString(null, "1.25"));
+    }
+}
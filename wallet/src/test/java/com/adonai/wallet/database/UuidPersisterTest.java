@@ -0,0 +1,65 @@
+package com.adonai.wallet.database;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UuidPersisterTest {
+
+    private static final UUID ID = UUID.fromString("01234567-89ab-cdef-fedc-ba9876543210");
+
+    @Test
+    public void idIsStoredAsSixteenBigEndianBytes() {
+        final byte[] bytes = UuidPersister.toBytes(ID);
+        assertEquals(UuidPersister.UUID_BYTES, bytes.length);
+        assertEquals((byte) 0x01, bytes[0]);
+        assertEquals((byte) 0xEF, bytes[7]);
+        assertEquals((byte) 0xFE, bytes[8]);
+        assertEquals((byte) 0x10, bytes[15]);
+        assertEquals(ID, UuidPersister.fromBytes(bytes));
+    }
+
+    @Test
+    public void randomIdsSurviveRoundTrip() {
+        for (int i = 0; i < 100; ++i) {
+            final UUID id = UUID.randomUUID();
+            assertEquals(id, UuidPersister.fromBytes(UuidPersister.toBytes(id)));
+        }
+    }
+
+    @Test
+    public void sqlLiteralIsUppercaseBlob() {
+        assertEquals("X'0123456789ABCDEFFEDCBA9876543210'", UuidPersister.toSqlLiteral(ID));
+        assertEquals("X'00000000000000000000000000000000'", UuidPersister.toSqlLiteral(new UUID(0, 0)));
+    }
+
+    @Test
+    public void persisterConvertsBothWays() throws SQLException {
+        final UuidPersister persister = UuidPersister.getSingleton();
+        final Object stored = persister.javaToSqlArg(null, ID);
+        assertArrayEquals(UuidPersister.toBytes(ID), (byte[]) stored);
+        assertEquals(ID, persister.sqlArgToJava(null, stored, 0));
+        assertEquals(ID, persister.resultStringToJava(null, ID.toString(), 0));
+    }
+
+    @Test(expected = SQLException.class)
+    public void storedIdOfWrongLengthIsRejected() throws SQLException {
+        UuidPersister.getSingleton().sqlArgToJava(null, new byte[36], 0);
+    }
+
+    @Test
+    public void storedBytesAreComparedByContent() {
+        final UuidPersister persister = UuidPersister.getSingleton();
+        assertTrue(persister.dataIsEqual(UuidPersister.toBytes(ID), UuidPersister.toBytes(ID)));
+        assertFalse(persister.dataIsEqual(UuidPersister.toBytes(ID), UuidPersister.toBytes(new UUID(0, 0))));
+        assertTrue(persister.dataIsEqual(ID, UUID.fromString(ID.toString())));
+        assertTrue(persister.dataIsEqual(null, null));
+        assertFalse(persister.dataIsEqual(null, ID));
+    }
+}
@@ -0,0 +1,125 @@
+package com.adonai.wallet.sync;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkWriterTest {
+
+    @Test
+    public void emptyWriterSendsOneEmptyChunk() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final EntitySyncPhase.ChunkWriter writer = new EntitySyncPhase.ChunkWriter(output);
+        writer.finish();
+
+        final List<SyncProtocol.EntityResponse> chunks = readChunks(output);
+        assertEquals(1, chunks.size());
+        assertEquals(0, chunks.get(0).getAddedCount() + chunks.get(0).getModifiedCount());
+        assertFalse(chunks.get(0).hasContinuation());
+        assertTrue(writer.getSent().isEmpty());
+    }
+
+    @Test
+    public void fullChunkWithNothingMoreHasNoContinuation() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final List<UUID> ids = write(output, EntitySyncPhase.CHUNK_SIZE);
+
+        final List<SyncProtocol.EntityResponse> chunks = readChunks(output);
+        assertEquals(1, chunks.size());
+        assertEquals(EntitySyncPhase.CHUNK_SIZE, chunks.get(0).getAddedCount());
+        assertFalse(chunks.get(0).hasContinuation());
+        assertEquals(ids.get(ids.size() - 1).toString(), chunks.get(0).getAdded(ids.size() - 1).getID());
+    }
+
+    @Test
+    public void overflowStartsNextChunkAfterLastSentId() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final List<UUID> ids = write(output, EntitySyncPhase.CHUNK_SIZE + 1);
+
+        final List<SyncProtocol.EntityResponse> chunks = readChunks(output);
+        assertEquals(2, chunks.size());
+        assertEquals(EntitySyncPhase.CHUNK_SIZE, chunks.get(0).getAddedCount());
+        assertEquals(ids.get(EntitySyncPhase.CHUNK_SIZE - 1).toString(), chunks.get(0).getContinuation());
+
+        assertEquals(1, chunks.get(1).getAddedCount());
+        assertEquals(ids.get(EntitySyncPhase.CHUNK_SIZE).toString(), chunks.get(1).getAdded(0).getID());
+        assertFalse(chunks.get(1).hasContinuation());
+    }
+
+    @Test
+    public void addedAndModifiedShareChunkLimit() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final EntitySyncPhase.ChunkWriter writer = new EntitySyncPhase.ChunkWriter(output);
+        final List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < EntitySyncPhase.CHUNK_SIZE + 1; ++i) {
+            final UUID id = UUID.randomUUID();
+            ids.add(id);
+            if (i % 2 == 0)
+                writer.next(id).addAdded(entity(id));
+            else
+                writer.next(id).addModified(entity(id));
+        }
+        writer.finish();
+
+        final List<SyncProtocol.EntityResponse> chunks = readChunks(output);
+        assertEquals(2, chunks.size());
+        assertEquals(EntitySyncPhase.CHUNK_SIZE, chunks.get(0).getAddedCount() + chunks.get(0).getModifiedCount());
+        assertEquals(1, chunks.get(1).getAddedCount() + chunks.get(1).getModifiedCount());
+        assertEquals(new HashSet<>(ids), writer.getSent());
+    }
+
+    @Test
+    public void allWrittenIdsAreReportedSent() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final EntitySyncPhase.ChunkWriter writer = new EntitySyncPhase.ChunkWriter(output);
+        final List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < EntitySyncPhase.CHUNK_SIZE * 2 + 5; ++i) {
+            final UUID id = UUID.randomUUID();
+            ids.add(id);
+            writer.next(id).addAdded(entity(id));
+        }
+        writer.finish();
+
+        assertEquals(new HashSet<>(ids), writer.getSent());
+        final List<SyncProtocol.EntityResponse> chunks = readChunks(output);
+        assertEquals(3, chunks.size());
+        assertFalse(chunks.get(2).hasContinuation());
+    }
+
+    private static List<UUID> write(ByteArrayOutputStream output, int count) throws IOException {
+        final EntitySyncPhase.ChunkWriter writer = new EntitySyncPhase.ChunkWriter(output);
+        final List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            final UUID id = UUID.randomUUID();
+            ids.add(id);
+            writer.next(id).addAdded(entity(id));
+        }
+        writer.finish();
+        assertEquals(new HashSet<>(ids), writer.getSent());
+        return ids;
+    }
+
+    private static SyncProtocol.Entity entity(UUID id) {
+        return SyncProtocol.Entity.newBuilder().setID(id.toString()).setDeleted(false).build();
+    }
+
+    private static List<SyncProtocol.EntityResponse> readChunks(ByteArrayOutputStream output) throws IOException {
+        final InputStream input = new ByteArrayInputStream(output.toByteArray());
+        final List<SyncProtocol.EntityResponse> chunks = new ArrayList<>();
+        SyncProtocol.EntityResponse chunk;
+        while ((chunk = SyncProtocol.EntityResponse.parseDelimitedFrom(input)) != null)
+            chunks.add(chunk);
+        return chunks;
+    }
+}